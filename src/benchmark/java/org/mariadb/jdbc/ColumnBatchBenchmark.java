@@ -0,0 +1,91 @@
+// SPDX-License-Identifier: LGPL-2.1-or-later
+// Copyright (c) 2012-2014 Monty Program Ab
+// Copyright (c) 2015-2026 MariaDB Corporation Ab
+package org.mariadb.jdbc;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.concurrent.TimeUnit;
+import org.mariadb.jdbc.client.DataType;
+import org.mariadb.jdbc.client.result.ColumnBatch;
+import org.mariadb.jdbc.client.result.Result;
+import org.mariadb.jdbc.fake.FakeResult;
+import org.mariadb.jdbc.fake.FakeServer;
+import org.openjdk.jmh.annotations.*;
+
+/**
+ * Benchmark: copying a BIGINT, DOUBLE, VARCHAR result-set into column arrays, using row cursor
+ * with per-cell getters, compared to column vectors decoding. Result-set is read once from an
+ * in-process fake server, then scrolled, so only decoding is measured. Scores are per row.
+ *
+ * <p>Run with: mvn clean package -P bench -DskipTests java -Duser.country=US -Duser.language=en
+ * -jar target/benchmarks.jar "ColumnBatchBenchmark"
+ */
+@State(Scope.Thread)
+@Warmup(iterations = 5, timeUnit = TimeUnit.SECONDS, time = 1)
+@Measurement(iterations = 5, timeUnit = TimeUnit.SECONDS, time = 1)
+@Fork(value = 3)
+@Threads(value = 1)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class ColumnBatchBenchmark {
+
+  private static final String SQL = "SELECT * FROM facts";
+  private static final int ROWS = 1000;
+
+  private FakeServer server;
+  private Connection connection;
+  private ResultSet rs;
+
+  @Setup(Level.Trial)
+  public void setup() throws Exception {
+    FakeResult.Builder result =
+        FakeResult.resultSet()
+            .column("id", DataType.BIGINT)
+            .column("amount", DataType.DOUBLE)
+            .column("label", DataType.VARSTRING);
+    for (int row = 0; row < ROWS; row++) {
+      result.row(1_000_000_000L + row, row * 1.25, "label" + row);
+    }
+    server = new FakeServer().when(SQL, result.build());
+    connection =
+        DriverManager.getConnection(
+            String.format(
+                "jdbc:mariadb://%s:%s/testj?user=root", server.getHost(), server.getPort()));
+    rs =
+        connection
+            .createStatement(ResultSet.TYPE_SCROLL_INSENSITIVE, ResultSet.CONCUR_READ_ONLY)
+            .executeQuery(SQL);
+  }
+
+  @TearDown(Level.Trial)
+  public void tearDown() throws Exception {
+    connection.close();
+    server.close();
+  }
+
+  @Benchmark
+  @OperationsPerInvocation(ROWS)
+  public Object rowCursor() throws SQLException {
+    long[] ids = new long[ROWS];
+    double[] amounts = new double[ROWS];
+    String[] labels = new String[ROWS];
+    int row = 0;
+    rs.beforeFirst();
+    while (rs.next()) {
+      ids[row] = rs.getLong(1);
+      amounts[row] = rs.getDouble(2);
+      labels[row++] = rs.getString(3);
+    }
+    return new Object[] {ids, amounts, labels};
+  }
+
+  @Benchmark
+  @OperationsPerInvocation(ROWS)
+  public ColumnBatch columnBatch() throws SQLException {
+    rs.beforeFirst();
+    return rs.unwrap(Result.class).nextColumnBatch();
+  }
+}
@@ -3,12 +3,17 @@
 // Copyright (c) 2015-2023 MariaDB Corporation Ab
 package org.mariadb.jdbc;
 
+import java.io.IOException;
+import java.io.UncheckedIOException;
 import java.sql.Connection;
 import java.sql.DriverManager;
 import java.sql.SQLException;
 import java.sql.Statement;
 import java.util.Properties;
 import java.util.concurrent.TimeUnit;
+import org.mariadb.jdbc.client.DataType;
+import org.mariadb.jdbc.fake.FakeResult;
+import org.mariadb.jdbc.fake.FakeServer;
 import org.openjdk.jmh.annotations.*;
 
 @State(Scope.Benchmark)
@@ -20,16 +25,48 @@ import org.openjdk.jmh.annotations.*;
 @OutputTimeUnit(TimeUnit.SECONDS)
 public class Common {
 
+  // in-process server replaying canned results, instead of a real server
+  public static final FakeServer fakeServer =
+      Boolean.getBoolean("TEST_FAKE_SERVER") ? startFakeServer() : null;
+
   // conf
-  public static final String host = System.getProperty("TEST_HOST", "localhost");
-  public static final int port = Integer.parseInt(System.getProperty("TEST_PORT", "3306"));
+  public static final String host =
+      fakeServer != null ? fakeServer.getHost() : System.getProperty("TEST_HOST", "localhost");
+  public static final int port =
+      fakeServer != null
+          ? fakeServer.getPort()
+          : Integer.parseInt(System.getProperty("TEST_PORT", "3306"));
   public static final String username = System.getProperty("TEST_USERNAME", "root");
   public static final String password = System.getProperty("TEST_PASSWORD", "");
   public static final String database = System.getProperty("TEST_DATABASE", "testj");
   public static final String other = System.getProperty("TEST_OTHER", "");
 
   static {
-    new SetupData();
+    if (fakeServer == null) new SetupData();
+  }
+
+  private static FakeServer startFakeServer() {
+    FakeResult.Builder test100 = FakeResult.resultSet();
+    Object[] test100Row = new Object[100];
+    for (int i = 1; i <= 100; i++) {
+      test100.column("i" + i, DataType.INTEGER);
+      test100Row[i - 1] = i;
+    }
+    FakeResult.Builder seq =
+        FakeResult.resultSet()
+            .column("seq", DataType.BIGINT)
+            .column("abcdefghijabcdefghijabcdefghijaa", DataType.VARSTRING);
+    for (int i = 1; i <= 1000; i++) seq.row(i, "abcdefghijabcdefghijabcdefghijaa");
+
+    try {
+      // other commands (DO, INSERT, session variables) get an OK packet
+      return new FakeServer()
+          .when("select 1", FakeResult.resultSet().column("1", DataType.INTEGER).row(1).build())
+          .when(Select_1000_Rows.sql, seq.build())
+          .when("select * FROM test100", test100.row(test100Row).build());
+    } catch (IOException e) {
+      throw new UncheckedIOException(e);
+    }
   }
 
   @State(Scope.Thread)
@@ -50,6 +87,10 @@ public class Common {
     @Setup(Level.Trial)
     public void createConnections() throws Exception {
 
+      if (fakeServer != null && !"mariadb".equals(driver)) {
+        throw new IllegalArgumentException(
+            "fake server only supports mariadb driver, use option \"-p driver=mariadb\"");
+      }
       String className;
       switch (driver) {
         case "mysql":
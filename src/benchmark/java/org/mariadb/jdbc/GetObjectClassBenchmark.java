@@ -0,0 +1,115 @@
+// SPDX-License-Identifier: LGPL-2.1-or-later
+// Copyright (c) 2012-2014 Monty Program Ab
+// Copyright (c) 2015-2026 MariaDB Corporation Ab
+package org.mariadb.jdbc;
+
+import java.math.BigDecimal;
+import java.sql.Connection;
+import java.sql.Date;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.concurrent.TimeUnit;
+import org.mariadb.jdbc.client.DataType;
+import org.mariadb.jdbc.fake.FakeResult;
+import org.mariadb.jdbc.fake.FakeServer;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * Benchmark: codec lookup cost of getObject(index, Class) and setObject, with mixed column types
+ * and requested classes. Row is read from an in-process fake server once, so only decoding and
+ * codec lookup are measured.
+ *
+ * <p>Run the same benchmark on previous driver versions to compare with former implementation.
+ *
+ * <p>Run with: mvn clean package -P bench -DskipTests java -Duser.country=US -Duser.language=en
+ * -jar target/benchmarks.jar "GetObjectClassBenchmark"
+ */
+@State(Scope.Thread)
+@Warmup(iterations = 5, timeUnit = TimeUnit.SECONDS, time = 1)
+@Measurement(iterations = 5, timeUnit = TimeUnit.SECONDS, time = 1)
+@Fork(value = 3)
+@Threads(value = 1)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class GetObjectClassBenchmark {
+
+  private static final String SQL = "SELECT * FROM mixed_types";
+
+  private final Object[] values =
+      new Object[] {
+        1,
+        2L,
+        "string",
+        3.5d,
+        new BigDecimal("4.5"),
+        LocalDate.of(2020, 1, 1),
+        LocalDateTime.of(2020, 1, 1, 10, 0),
+        Boolean.TRUE
+      };
+
+  private FakeServer server;
+  private Connection connection;
+  private ResultSet rs;
+  private PreparedStatement prep;
+
+  @Setup(Level.Trial)
+  public void setup() throws Exception {
+    server =
+        new FakeServer()
+            .when(
+                SQL,
+                FakeResult.resultSet()
+                    .column("i", DataType.INTEGER)
+                    .column("l", DataType.BIGINT)
+                    .column("s", DataType.VARSTRING)
+                    .column("d", DataType.DOUBLE)
+                    .column("dec", DataType.DECIMAL)
+                    .column("dt", DataType.DATE)
+                    .column("ts", DataType.DATETIME)
+                    .row(1, 2L, "string", 3.5d, "4.5", "2020-01-01", "2020-01-01 10:00:00")
+                    .build());
+    connection =
+        DriverManager.getConnection(
+            String.format(
+                "jdbc:mariadb://%s:%s/testj?user=root", server.getHost(), server.getPort()));
+    rs = connection.createStatement().executeQuery(SQL);
+    rs.next();
+    prep = connection.prepareStatement("INSERT INTO mixed_types VALUES (?,?,?,?,?,?,?,?)");
+  }
+
+  @TearDown(Level.Trial)
+  public void tearDown() throws Exception {
+    connection.close();
+    server.close();
+  }
+
+  @Benchmark
+  public void getObjectClass(Blackhole bh) throws SQLException {
+    bh.consume(rs.getObject(1, Integer.class));
+    bh.consume(rs.getObject(1, Long.class));
+    bh.consume(rs.getObject(2, Long.class));
+    bh.consume(rs.getObject(2, String.class));
+    bh.consume(rs.getObject(3, String.class));
+    bh.consume(rs.getObject(4, Double.class));
+    bh.consume(rs.getObject(4, BigDecimal.class));
+    bh.consume(rs.getObject(5, BigDecimal.class));
+    bh.consume(rs.getObject(6, LocalDate.class));
+    bh.consume(rs.getObject(6, Date.class));
+    bh.consume(rs.getObject(7, LocalDateTime.class));
+    bh.consume(rs.getObject(7, Timestamp.class));
+  }
+
+  @Benchmark
+  public void setObject(Blackhole bh) throws SQLException {
+    for (int i = 0; i < values.length; i++) {
+      prep.setObject(i + 1, values[i]);
+    }
+    bh.consume(prep);
+  }
+}
@@ -0,0 +1,108 @@
+// SPDX-License-Identifier: LGPL-2.1-or-later
+// Copyright (c) 2012-2014 Monty Program Ab
+// Copyright (c) 2015-2026 MariaDB Corporation Ab
+package org.mariadb.jdbc;
+
+import java.io.ByteArrayInputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.sql.SQLException;
+import java.util.concurrent.TimeUnit;
+import org.mariadb.jdbc.fake.FakeResult;
+import org.mariadb.jdbc.fake.FakeServer;
+import org.openjdk.jmh.annotations.*;
+
+/**
+ * Benchmark: LOAD DATA LOCAL INFILE throughput, sending file content to an in-process fake server
+ * that discards it. Content is sent from a file, from an input stream, or generated as CSV rows by
+ * a producer.
+ *
+ * <p>Run with: mvn clean package -P bench -DskipTests java -Duser.country=US -Duser.language=en
+ * -jar target/benchmarks.jar "LoadDataLocalInfile"
+ */
+@State(Scope.Benchmark)
+@Warmup(iterations = 5, timeUnit = TimeUnit.SECONDS, time = 1)
+@Measurement(iterations = 5, timeUnit = TimeUnit.SECONDS, time = 1)
+@Fork(value = 3)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class LoadDataLocalInfile {
+
+  private static final byte[] ROW =
+      "123456\tsome text value\t2024-01-01 12:00:00\n".getBytes(StandardCharsets.UTF_8);
+
+  @Param({"64"})
+  int megabytes;
+
+  private FakeServer server;
+  private Connection connection;
+  private File file;
+  private String fileName;
+  private byte[] content;
+
+  @Setup(Level.Trial)
+  public void setup() throws Exception {
+    file = File.createTempFile("infile", ".csv");
+    file.deleteOnExit();
+    content = new byte[megabytes * 1024 * 1024];
+    for (int i = 0; i < content.length; i++) content[i] = ROW[i % ROW.length];
+    try (FileOutputStream out = new FileOutputStream(file)) {
+      out.write(content);
+    }
+
+    fileName = file.getCanonicalPath().replace("\\", "/");
+    server =
+        new FakeServer()
+            .when(loadSql(fileName), FakeResult.localInfile(fileName))
+            .when(loadSql("data"), FakeResult.localInfile("data"));
+    connection =
+        (Connection)
+            new Driver()
+                .connect(
+                    String.format(
+                        "jdbc:mariadb://%s:%s/testj?user=root&allowLocalInfile=true",
+                        server.getHost(), server.getPort()),
+                    null);
+  }
+
+  private static String loadSql(String fileName) {
+    return "LOAD DATA LOCAL INFILE '" + fileName + "' INTO TABLE t";
+  }
+
+  @TearDown(Level.Trial)
+  public void tearDown() throws IOException, SQLException {
+    connection.close();
+    server.close();
+    file.delete();
+  }
+
+  @Benchmark
+  public long file() throws SQLException {
+    try (Statement stmt = connection.createStatement()) {
+      return stmt.executeLargeUpdate(loadSql(fileName));
+    }
+  }
+
+  @Benchmark
+  public long inputStream() throws SQLException {
+    try (Statement stmt = connection.createStatement()) {
+      stmt.setLocalInfileInputStream(new ByteArrayInputStream(content));
+      return stmt.executeLargeUpdate(loadSql("data"));
+    }
+  }
+
+  @Benchmark
+  public long producer() throws SQLException {
+    int rows = content.length / ROW.length;
+    try (Statement stmt = connection.createStatement()) {
+      stmt.setLocalInfileProducer(
+          (OutputStream out) -> {
+            for (int i = 0; i < rows; i++) out.write(ROW);
+          });
+      return stmt.executeLargeUpdate(loadSql("data"));
+    }
+  }
+}
@@ -0,0 +1,68 @@
+// SPDX-License-Identifier: LGPL-2.1-or-later
+// Copyright (c) 2012-2014 Monty Program Ab
+// Copyright (c) 2015-2026 MariaDB Corporation Ab
+package org.mariadb.jdbc;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.concurrent.TimeUnit;
+import org.mariadb.jdbc.fake.FakeResult;
+import org.mariadb.jdbc.fake.FakeServer;
+import org.openjdk.jmh.annotations.*;
+
+/**
+ * Benchmark: 100k statements batch against an in-process fake server, depending on pipeline window
+ * size (number of commands sent before reading responses, 0 meaning all commands are sent before
+ * reading any response).
+ *
+ * <p>Run with: mvn clean package -P bench -DskipTests java -Duser.country=US -Duser.language=en
+ * -jar target/benchmarks.jar "PipelineWindowBenchmark"
+ */
+@State(Scope.Thread)
+@Warmup(iterations = 5, timeUnit = TimeUnit.SECONDS, time = 1)
+@Measurement(iterations = 5, timeUnit = TimeUnit.SECONDS, time = 1)
+@Fork(value = 3)
+@Threads(value = 1)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class PipelineWindowBenchmark {
+
+  private static final int STATEMENTS = 100_000;
+
+  @Param({"0", "100", "1000", "10000"})
+  int pipelineWindowSize;
+
+  private FakeServer server;
+  private Connection connection;
+  private String[] queries;
+
+  @Setup(Level.Trial)
+  public void setup() throws Exception {
+    server = new FakeServer().otherwise(FakeResult.ok(1, 0));
+    connection =
+        DriverManager.getConnection(
+            String.format(
+                "jdbc:mariadb://%s:%s/testj?user=root&pipelineWindowSize=%s&pipelineWindowBytes=0",
+                server.getHost(), server.getPort(), pipelineWindowSize));
+    queries = new String[STATEMENTS];
+    for (int i = 0; i < STATEMENTS; i++) {
+      queries[i] = "INSERT INTO t VALUES (" + i + ", 'some value')";
+    }
+  }
+
+  @TearDown(Level.Trial)
+  public void tearDown() throws Exception {
+    connection.close();
+    server.close();
+  }
+
+  @Benchmark
+  public int[] batch() throws SQLException {
+    try (Statement stmt = connection.createStatement()) {
+      for (String query : queries) stmt.addBatch(query);
+      return stmt.executeBatch();
+    }
+  }
+}
@@ -0,0 +1,83 @@
+// SPDX-License-Identifier: LGPL-2.1-or-later
+// Copyright (c) 2012-2014 Monty Program Ab
+// Copyright (c) 2015-2026 MariaDB Corporation Ab
+package org.mariadb.jdbc;
+
+import com.zaxxer.hikari.HikariConfig;
+import com.zaxxer.hikari.HikariDataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.concurrent.TimeUnit;
+import org.mariadb.jdbc.fake.FakeServer;
+import org.openjdk.jmh.annotations.*;
+
+/**
+ * Benchmark: pool borrow/return throughput under contention, with more threads than connections.
+ * Connections are made to an in-process fake server, so only pool cost is measured.
+ *
+ * <p>HikariCP is used as reference. Run the same benchmark on previous driver versions to compare
+ * with former implementation.
+ *
+ * <p>Run with: mvn clean package -P bench -DskipTests java -Duser.country=US -Duser.language=en
+ * -jar target/benchmarks.jar "PoolBorrowBenchmark"
+ */
+@State(Scope.Benchmark)
+@Warmup(iterations = 5, timeUnit = TimeUnit.SECONDS, time = 1)
+@Measurement(iterations = 5, timeUnit = TimeUnit.SECONDS, time = 1)
+@Fork(value = 3)
+@Threads(value = 64)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class PoolBorrowBenchmark {
+
+  @Param({"8", "32"})
+  int poolSize;
+
+  private FakeServer server;
+  private MariaDbPoolDataSource mariadbPool;
+  private HikariDataSource hikariPool;
+
+  @Setup(Level.Trial)
+  public void setup() throws Exception {
+    server = new FakeServer();
+    String url =
+        String.format(
+            "jdbc:mariadb://%s:%s/testj?user=root&minPoolSize=%s&maxPoolSize=%s",
+            server.getHost(), server.getPort(), poolSize, poolSize);
+    mariadbPool = new MariaDbPoolDataSource(url);
+
+    HikariConfig config = new HikariConfig();
+    config.setJdbcUrl(url);
+    config.setMinimumIdle(poolSize);
+    config.setMaximumPoolSize(poolSize);
+    hikariPool = new HikariDataSource(config);
+
+    // fill pools before measurement
+    Connection[] connections = new Connection[poolSize];
+    for (int i = 0; i < poolSize; i++) connections[i] = mariadbPool.getConnection();
+    for (Connection connection : connections) connection.close();
+    for (int i = 0; i < poolSize; i++) connections[i] = hikariPool.getConnection();
+    for (Connection connection : connections) connection.close();
+  }
+
+  @TearDown(Level.Trial)
+  public void tearDown() throws Exception {
+    mariadbPool.close();
+    hikariPool.close();
+    server.close();
+  }
+
+  @Benchmark
+  public boolean mariadb() throws SQLException {
+    try (Connection connection = mariadbPool.getConnection()) {
+      return connection.getAutoCommit();
+    }
+  }
+
+  @Benchmark
+  public boolean hikari() throws SQLException {
+    try (Connection connection = hikariPool.getConnection()) {
+      return connection.getAutoCommit();
+    }
+  }
+}
@@ -10,7 +10,7 @@ import org.openjdk.jmh.annotations.Benchmark;
 import org.openjdk.jmh.infra.Blackhole;
 
 public class Select_1000_Rows extends Common {
-  private static final String sql =
+  static final String sql =
       "select seq, 'abcdefghijabcdefghijabcdefghijaa' from seq_1_to_1000";
 
   @Benchmark
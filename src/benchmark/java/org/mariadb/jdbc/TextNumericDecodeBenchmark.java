@@ -0,0 +1,143 @@
+// SPDX-License-Identifier: LGPL-2.1-or-later
+// Copyright (c) 2012-2014 Monty Program Ab
+// Copyright (c) 2015-2026 MariaDB Corporation Ab
+package org.mariadb.jdbc;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.concurrent.TimeUnit;
+import org.mariadb.jdbc.client.DataType;
+import org.mariadb.jdbc.fake.FakeResult;
+import org.mariadb.jdbc.fake.FakeServer;
+import org.openjdk.jmh.annotations.*;
+
+/**
+ * Benchmark: text protocol numeric getters (getInt, getLong, getDouble) on a wide result-set of
+ * INT, BIGINT, DOUBLE and DECIMAL columns. Result-set is read once from an in-process fake server,
+ * then scrolled, so only decoding is measured. Scores are per cell.
+ *
+ * <p>Add "-prof gc" to show bytes allocated per cell.
+ *
+ * <p>Run with: mvn clean package -P bench -DskipTests java -Duser.country=US -Duser.language=en
+ * -jar target/benchmarks.jar "TextNumericDecodeBenchmark"
+ */
+@State(Scope.Thread)
+@Warmup(iterations = 5, timeUnit = TimeUnit.SECONDS, time = 1)
+@Measurement(iterations = 5, timeUnit = TimeUnit.SECONDS, time = 1)
+@Fork(value = 3)
+@Threads(value = 1)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class TextNumericDecodeBenchmark {
+
+  private static final String SQL = "SELECT * FROM numeric_cols";
+  private static final int ROWS = 100;
+  private static final int COLS_PER_TYPE = 25;
+  private static final int CELLS = ROWS * COLS_PER_TYPE;
+
+  private FakeServer server;
+  private Connection connection;
+  private ResultSet rs;
+
+  @Setup(Level.Trial)
+  public void setup() throws Exception {
+    FakeResult.Builder result = FakeResult.resultSet();
+    for (int i = 0; i < COLS_PER_TYPE; i++) result.column("i" + i, DataType.INTEGER);
+    for (int i = 0; i < COLS_PER_TYPE; i++) result.column("l" + i, DataType.BIGINT);
+    for (int i = 0; i < COLS_PER_TYPE; i++) result.column("d" + i, DataType.DOUBLE);
+    for (int i = 0; i < COLS_PER_TYPE; i++) result.column("dec" + i, DataType.DECIMAL);
+    for (int row = 0; row < ROWS; row++) {
+      Object[] values = new Object[4 * COLS_PER_TYPE];
+      for (int i = 0; i < COLS_PER_TYPE; i++) {
+        values[i] = row * 1000 + i;
+        values[COLS_PER_TYPE + i] = 1_000_000_000_000L * row + i;
+        values[2 * COLS_PER_TYPE + i] = row * 1.25 + i / 100d;
+        values[3 * COLS_PER_TYPE + i] = String.format("%d.%02d", row * 1000 + i, i);
+      }
+      result.row(values);
+    }
+    server = new FakeServer().when(SQL, result.build());
+    connection =
+        DriverManager.getConnection(
+            String.format(
+                "jdbc:mariadb://%s:%s/testj?user=root", server.getHost(), server.getPort()));
+    rs =
+        connection
+            .createStatement(ResultSet.TYPE_SCROLL_INSENSITIVE, ResultSet.CONCUR_READ_ONLY)
+            .executeQuery(SQL);
+  }
+
+  @TearDown(Level.Trial)
+  public void tearDown() throws Exception {
+    connection.close();
+    server.close();
+  }
+
+  @Benchmark
+  @OperationsPerInvocation(CELLS)
+  public long getIntFromInt() throws SQLException {
+    long sum = 0;
+    rs.beforeFirst();
+    while (rs.next()) {
+      for (int i = 1; i <= COLS_PER_TYPE; i++) sum += rs.getInt(i);
+    }
+    return sum;
+  }
+
+  @Benchmark
+  @OperationsPerInvocation(CELLS)
+  public long getLongFromBigint() throws SQLException {
+    long sum = 0;
+    rs.beforeFirst();
+    while (rs.next()) {
+      for (int i = COLS_PER_TYPE + 1; i <= 2 * COLS_PER_TYPE; i++) sum += rs.getLong(i);
+    }
+    return sum;
+  }
+
+  @Benchmark
+  @OperationsPerInvocation(CELLS)
+  public double getDoubleFromInt() throws SQLException {
+    double sum = 0;
+    rs.beforeFirst();
+    while (rs.next()) {
+      for (int i = 1; i <= COLS_PER_TYPE; i++) sum += rs.getDouble(i);
+    }
+    return sum;
+  }
+
+  @Benchmark
+  @OperationsPerInvocation(CELLS)
+  public double getDoubleFromDouble() throws SQLException {
+    double sum = 0;
+    rs.beforeFirst();
+    while (rs.next()) {
+      for (int i = 2 * COLS_PER_TYPE + 1; i <= 3 * COLS_PER_TYPE; i++) sum += rs.getDouble(i);
+    }
+    return sum;
+  }
+
+  @Benchmark
+  @OperationsPerInvocation(CELLS)
+  public long getLongFromDecimal() throws SQLException {
+    long sum = 0;
+    rs.beforeFirst();
+    while (rs.next()) {
+      for (int i = 3 * COLS_PER_TYPE + 1; i <= 4 * COLS_PER_TYPE; i++) sum += rs.getLong(i);
+    }
+    return sum;
+  }
+
+  @Benchmark
+  @OperationsPerInvocation(CELLS)
+  public double getDoubleFromDecimal() throws SQLException {
+    double sum = 0;
+    rs.beforeFirst();
+    while (rs.next()) {
+      for (int i = 3 * COLS_PER_TYPE + 1; i <= 4 * COLS_PER_TYPE; i++) sum += rs.getDouble(i);
+    }
+    return sum;
+  }
+}
@@ -0,0 +1,56 @@
+// SPDX-License-Identifier: LGPL-2.1-or-later
+// Copyright (c) 2012-2014 Monty Program Ab
+// Copyright (c) 2015-2026 MariaDB Corporation Ab
+package org.mariadb.jdbc;
+
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import org.mariadb.jdbc.client.util.TimerWheel;
+import org.openjdk.jmh.annotations.*;
+
+/**
+ * Benchmark: query timeout scheduling (schedule, then cancel when query ends) with the driver timer
+ * wheel vs a ScheduledThreadPoolExecutor, under contention.
+ *
+ * <p>Run with: mvn clean package -P bench -DskipTests java -Duser.country=US -Duser.language=en
+ * -jar target/benchmarks.jar "TimeoutSchedulerBenchmark"
+ */
+@State(Scope.Benchmark)
+@Warmup(iterations = 5, timeUnit = TimeUnit.SECONDS, time = 1)
+@Measurement(iterations = 5, timeUnit = TimeUnit.SECONDS, time = 1)
+@Fork(value = 3)
+@Threads(value = 16)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class TimeoutSchedulerBenchmark {
+
+  private static final Runnable NO_OP = () -> {};
+
+  private ScheduledThreadPoolExecutor executor;
+  private TimerWheel timerWheel;
+
+  @Setup(Level.Trial)
+  public void setup() {
+    executor = new ScheduledThreadPoolExecutor(1);
+    executor.setRemoveOnCancelPolicy(true);
+    timerWheel = TimerWheel.getInstance();
+  }
+
+  @TearDown(Level.Trial)
+  public void tearDown() {
+    executor.shutdownNow();
+  }
+
+  @Benchmark
+  public boolean scheduledExecutor() {
+    ScheduledFuture<?> future = executor.schedule(NO_OP, 30, TimeUnit.SECONDS);
+    return future.cancel(true);
+  }
+
+  @Benchmark
+  public boolean timerWheel() {
+    TimerWheel.Timeout timeout = timerWheel.schedule(NO_OP, 30, TimeUnit.SECONDS);
+    return timeout.cancel();
+  }
+}
@@ -0,0 +1,135 @@
+// SPDX-License-Identifier: LGPL-2.1-or-later
+// Copyright (c) 2012-2014 Monty Program Ab
+// Copyright (c) 2015-2026 MariaDB Corporation Ab
+package org.mariadb.jdbc;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.Statement;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordedFrame;
+import jdk.jfr.consumer.RecordingFile;
+import org.mariadb.jdbc.client.DataType;
+import org.mariadb.jdbc.fake.FakeResult;
+import org.mariadb.jdbc.fake.FakeServer;
+import org.openjdk.jmh.annotations.*;
+
+/**
+ * Benchmark: many virtual threads sharing a small pool, each borrowing a connection and executing a
+ * query against an in-process fake server.
+ *
+ * <p>A JFR recording of {@code jdk.VirtualThreadPinned} events runs for the whole trial, and trial
+ * fails if a virtual thread has been pinned while blocking in driver code. Requires JDK 21+.
+ *
+ * <p>Run with: mvn clean package -P bench -DskipTests java -Duser.country=US -Duser.language=en
+ * -jar target/benchmarks.jar "VirtualThreadPoolBenchmark"
+ */
+@State(Scope.Benchmark)
+@Warmup(iterations = 5, timeUnit = TimeUnit.SECONDS, time = 1)
+@Measurement(iterations = 5, timeUnit = TimeUnit.SECONDS, time = 1)
+@Fork(value = 3)
+@Threads(value = 1)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class VirtualThreadPoolBenchmark {
+
+  private static final String PINNED_EVENT = "jdk.VirtualThreadPinned";
+
+  @Param({"10000"})
+  int virtualThreads;
+
+  @Param({"16"})
+  int poolSize;
+
+  private FakeServer server;
+  private MariaDbPoolDataSource pool;
+  private ExecutorService executor;
+  private Recording recording;
+
+  @Setup(Level.Trial)
+  public void setup() throws Exception {
+    executor =
+        (ExecutorService) Executors.class.getMethod("newVirtualThreadPerTaskExecutor").invoke(null);
+
+    recording = new Recording();
+    recording.enable(PINNED_EVENT).withThreshold(Duration.ZERO).withStackTrace();
+    recording.start();
+
+    server = new FakeServer();
+    server.when("SELECT 1", FakeResult.resultSet().column("1", DataType.INTEGER).row(1).build());
+    pool =
+        new MariaDbPoolDataSource(
+            String.format(
+                "jdbc:mariadb://%s:%s/testj?user=root&minPoolSize=%s&maxPoolSize=%s",
+                server.getHost(), server.getPort(), poolSize, poolSize));
+  }
+
+  @TearDown(Level.Trial)
+  public void tearDown() throws Exception {
+    executor.shutdown();
+    executor.awaitTermination(10, TimeUnit.SECONDS);
+    pool.close();
+    server.close();
+
+    recording.stop();
+    Path dump = Files.createTempFile("virtual-thread-pinning", ".jfr");
+    try {
+      recording.dump(dump);
+      List<String> pinned = new ArrayList<>();
+      for (RecordedEvent event : RecordingFile.readAllEvents(dump)) {
+        if (PINNED_EVENT.equals(event.getEventType().getName()) && isDriverFrame(event)) {
+          pinned.add(String.valueOf(event.getStackTrace()));
+        }
+      }
+      if (!pinned.isEmpty()) {
+        throw new IllegalStateException(
+            pinned.size() + " virtual thread pinning event(s), first:\n" + pinned.get(0));
+      }
+    } finally {
+      recording.close();
+      Files.deleteIfExists(dump);
+    }
+  }
+
+  private static boolean isDriverFrame(RecordedEvent event) {
+    if (event.getStackTrace() == null) return true;
+    for (RecordedFrame frame : event.getStackTrace().getFrames()) {
+      String className = frame.getMethod().getType().getName();
+      if (className.startsWith("org.mariadb.jdbc.")
+          && !className.startsWith("org.mariadb.jdbc.fake.")) {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  @Benchmark
+  public int borrowAndQuery() throws Exception {
+    List<Future<Integer>> futures = new ArrayList<>(virtualThreads);
+    for (int i = 0; i < virtualThreads; i++) {
+      futures.add(
+          executor.submit(
+              () -> {
+                try (Connection connection = pool.getConnection();
+                    Statement stmt = connection.createStatement()) {
+                  ResultSet rs = stmt.executeQuery("SELECT 1");
+                  rs.next();
+                  return rs.getInt(1);
+                }
+              }));
+    }
+    int sum = 0;
+    for (Future<Integer> future : futures) sum += future.get();
+    return sum;
+  }
+}
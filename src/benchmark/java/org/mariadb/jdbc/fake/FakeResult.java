@@ -0,0 +1,411 @@
+// SPDX-License-Identifier: LGPL-2.1-or-later
+// Copyright (c) 2012-2014 Monty Program Ab
+// Copyright (c) 2015-2026 MariaDB Corporation Ab
+package org.mariadb.jdbc.fake;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import org.mariadb.jdbc.client.DataType;
+
+/**
+ * Canned server response, replayed by {@link FakeServer}.
+ *
+ * <p>Responses are encoded once, when registered: replaying a result only copies bytes, so server
+ * side costs stay out of benchmark measurements (including {@code -prof gc} allocation rates).
+ */
+public final class FakeResult {
+
+  static final short STATUS_AUTOCOMMIT = 2;
+  private static final int CHARSET_BINARY = 63;
+  private static final int CHARSET_UTF8MB4 = 224;
+  private static final int BINARY_FLAG = 128;
+
+  private final Column[] columns;
+  private final List<Object[]> rows;
+  private final long affectedRows;
+  private final long insertId;
+  private final int errorCode;
+  private final String sqlState;
+  private final String errorMessage;
+  private final String localInfileName;
+
+  // encoded responses, sequence starting at 1
+  private final byte[] textResponse;
+  private final byte[] binaryResponse;
+
+  private FakeResult(
+      Column[] columns,
+      List<Object[]> rows,
+      long affectedRows,
+      long insertId,
+      int errorCode,
+      String sqlState,
+      String errorMessage,
+      String localInfileName) {
+    this.columns = columns;
+    this.rows = rows;
+    this.affectedRows = affectedRows;
+    this.insertId = insertId;
+    this.errorCode = errorCode;
+    this.sqlState = sqlState;
+    this.errorMessage = errorMessage;
+    this.localInfileName = localInfileName;
+    this.textResponse = encode(false);
+    this.binaryResponse = columns == null ? textResponse : encode(true);
+  }
+
+  /**
+   * OK response.
+   *
+   * @param affectedRows affected rows
+   * @param insertId last insert id
+   * @return OK response
+   */
+  public static FakeResult ok(long affectedRows, long insertId) {
+    return new FakeResult(null, null, affectedRows, insertId, 0, null, null, null);
+  }
+
+  /**
+   * Error response.
+   *
+   * @param errorCode error code
+   * @param sqlState sql state
+   * @param message error message
+   * @return error response
+   */
+  public static FakeResult error(int errorCode, String sqlState, String message) {
+    return new FakeResult(null, null, 0, 0, errorCode, sqlState, message, null);
+  }
+
+  /**
+   * LOAD DATA LOCAL INFILE request. Server reads file content, then answers with an OK packet,
+   * affected rows being the number of bytes received.
+   *
+   * @param fileName file name asked to client
+   * @return local infile request
+   */
+  public static FakeResult localInfile(String fileName) {
+    return new FakeResult(null, null, 0, 0, 0, null, null, fileName);
+  }
+
+  /**
+   * Result-set response builder.
+   *
+   * @return builder
+   */
+  public static Builder resultSet() {
+    return new Builder();
+  }
+
+  boolean isError() {
+    return errorMessage != null;
+  }
+
+  boolean isLocalInfile() {
+    return localInfileName != null;
+  }
+
+  int columnCount() {
+    return columns == null ? 0 : columns.length;
+  }
+
+  byte[] textResponse() {
+    return textResponse;
+  }
+
+  byte[] binaryResponse() {
+    return binaryResponse;
+  }
+
+  /**
+   * Encode COM_STMT_PREPARE response. Parameters are described as generic VARCHAR columns, like
+   * server does.
+   *
+   * @param statementId statement id
+   * @param paramCount number of parameters
+   * @return encoded response, sequence starting at 1
+   */
+  byte[] prepareResponse(int statementId, int paramCount) {
+    if (isError()) return textResponse;
+    PacketBuilder out = new PacketBuilder();
+    out.startPacket();
+    out.writeByte(0x00);
+    out.writeInt(statementId);
+    out.writeShort(columnCount());
+    out.writeShort(paramCount);
+    out.writeByte(0x00);
+    out.writeShort(0);
+    out.endPacket();
+    Column param = new Column("?", DataType.VARSTRING);
+    for (int i = 0; i < paramCount; i++) param.encode(out);
+    for (int i = 0; i < columnCount(); i++) columns[i].encode(out);
+    return out.toByteArray();
+  }
+
+  private byte[] encode(boolean binary) {
+    PacketBuilder out = new PacketBuilder();
+    if (isError()) {
+      out.startPacket();
+      out.writeByte(0xff);
+      out.writeShort(errorCode);
+      out.writeByte('#');
+      out.writeBytes(sqlState.getBytes(StandardCharsets.US_ASCII));
+      out.writeBytes(errorMessage.getBytes(StandardCharsets.UTF_8));
+      out.endPacket();
+      return out.toByteArray();
+    }
+    if (isLocalInfile()) {
+      out.startPacket();
+      out.writeByte(0xfb);
+      out.writeBytes(localInfileName.getBytes(StandardCharsets.UTF_8));
+      out.endPacket();
+      return out.toByteArray();
+    }
+    if (columns == null) {
+      writeOk(out, 0x00, affectedRows, insertId);
+      return out.toByteArray();
+    }
+
+    out.startPacket();
+    out.writeLength(columns.length);
+    out.endPacket();
+    for (Column column : columns) column.encode(out);
+    for (Object[] row : rows) {
+      out.startPacket();
+      if (binary) {
+        writeBinaryRow(out, row);
+      } else {
+        writeTextRow(out, row);
+      }
+      out.endPacket();
+    }
+    // CLIENT_DEPRECATE_EOF: result-set ends with an OK packet with 0xFE header
+    writeOk(out, 0xfe, 0, 0);
+    return out.toByteArray();
+  }
+
+  private static void writeOk(PacketBuilder out, int header, long affectedRows, long insertId) {
+    out.startPacket();
+    out.writeByte(header);
+    out.writeLength(affectedRows);
+    out.writeLength(insertId);
+    out.writeShort(STATUS_AUTOCOMMIT);
+    out.writeShort(0);
+    out.endPacket();
+  }
+
+  private void writeTextRow(PacketBuilder out, Object[] row) {
+    for (Object value : row) {
+      if (value == null) {
+        out.writeByte(0xfb);
+      } else {
+        byte[] bytes =
+            value instanceof byte[]
+                ? (byte[]) value
+                : String.valueOf(value).getBytes(StandardCharsets.UTF_8);
+        out.writeLength(bytes.length);
+        out.writeBytes(bytes);
+      }
+    }
+  }
+
+  private void writeBinaryRow(PacketBuilder out, Object[] row) {
+    out.writeByte(0x00);
+    // null bitmap has an offset of 2 bits
+    byte[] nullBitmap = new byte[(columns.length + 9) / 8];
+    for (int i = 0; i < row.length; i++) {
+      if (row[i] == null) nullBitmap[(i + 2) / 8] |= (byte) (1 << ((i + 2) % 8));
+    }
+    out.writeBytes(nullBitmap);
+    for (int i = 0; i < row.length; i++) {
+      Object value = row[i];
+      if (value == null) continue;
+      switch (columns[i].type) {
+        case TINYINT:
+          out.writeByte(((Number) value).intValue());
+          break;
+        case SMALLINT:
+        case YEAR:
+          out.writeShort(((Number) value).intValue());
+          break;
+        case INTEGER:
+        case MEDIUMINT:
+          out.writeInt(((Number) value).intValue());
+          break;
+        case BIGINT:
+          out.writeLong(((Number) value).longValue());
+          break;
+        case DOUBLE:
+          out.writeLong(Double.doubleToLongBits(((Number) value).doubleValue()));
+          break;
+        case FLOAT:
+          out.writeInt(Float.floatToIntBits(((Number) value).floatValue()));
+          break;
+        default:
+          byte[] bytes =
+              value instanceof byte[]
+                  ? (byte[]) value
+                  : String.valueOf(value).getBytes(StandardCharsets.UTF_8);
+          out.writeLength(bytes.length);
+          out.writeBytes(bytes);
+          break;
+      }
+    }
+  }
+
+  /** Result-set builder */
+  public static final class Builder {
+    private final List<Column> columns = new ArrayList<>();
+    private final List<Object[]> rows = new ArrayList<>();
+
+    private Builder() {}
+
+    /**
+     * Add a column.
+     *
+     * @param name column name
+     * @param type column type. Binary rows support integer, floating and string types.
+     * @return this builder
+     */
+    public Builder column(String name, DataType type) {
+      columns.add(new Column(name, type));
+      return this;
+    }
+
+    /**
+     * Add a row. Values are encoded using {@code String.valueOf} for text protocol.
+     *
+     * @param values row values, null for SQL NULL
+     * @return this builder
+     */
+    public Builder row(Object... values) {
+      if (values.length != columns.size()) {
+        throw new IllegalArgumentException(
+            String.format("expected %s values, got %s", columns.size(), values.length));
+      }
+      rows.add(values);
+      return this;
+    }
+
+    /**
+     * Build response.
+     *
+     * @return result-set response
+     */
+    public FakeResult build() {
+      return new FakeResult(
+          columns.toArray(new Column[0]), new ArrayList<>(rows), 0, 0, 0, null, null, null);
+    }
+  }
+
+  private static final class Column {
+    private final String name;
+    private final DataType type;
+
+    Column(String name, DataType type) {
+      this.name = name;
+      this.type = type;
+    }
+
+    void encode(PacketBuilder out) {
+      boolean stringType =
+          type == DataType.VARSTRING
+              || type == DataType.STRING
+              || type == DataType.VARCHAR
+              || type == DataType.BLOB;
+      out.startPacket();
+      out.writeLengthString("def");
+      out.writeLengthString(""); // schema
+      out.writeLengthString(""); // table alias
+      out.writeLengthString(""); // table
+      out.writeLengthString(name); // column alias
+      out.writeLengthString(name); // column
+      out.writeByte(0x0c);
+      out.writeShort(stringType ? CHARSET_UTF8MB4 : CHARSET_BINARY);
+      out.writeInt(stringType ? 1024 : 20);
+      out.writeByte(type.get());
+      out.writeShort(stringType ? 0 : BINARY_FLAG);
+      out.writeByte(type == DataType.DOUBLE || type == DataType.FLOAT ? 31 : 0);
+      out.writeShort(0);
+      out.endPacket();
+    }
+  }
+
+  /** Packet encoder: writes 4 bytes headers with sequence starting at 1 */
+  private static final class PacketBuilder {
+    private final ByteArrayOutputStream out = new ByteArrayOutputStream();
+    private final ByteArrayOutputStream packet = new ByteArrayOutputStream();
+    private int sequence = 1;
+
+    void startPacket() {
+      packet.reset();
+    }
+
+    void endPacket() {
+      byte[] payload = packet.toByteArray();
+      int off = 0;
+      // packets bigger than 16M are split, ending with a packet smaller than 16M
+      while (true) {
+        int len = Math.min(0xffffff, payload.length - off);
+        out.write(len);
+        out.write(len >>> 8);
+        out.write(len >>> 16);
+        out.write(sequence++);
+        out.write(payload, off, len);
+        off += len;
+        if (len < 0xffffff) return;
+      }
+    }
+
+    void writeByte(int value) {
+      packet.write(value);
+    }
+
+    void writeShort(int value) {
+      packet.write(value);
+      packet.write(value >>> 8);
+    }
+
+    void writeInt(int value) {
+      writeShort(value);
+      writeShort(value >>> 16);
+    }
+
+    void writeLong(long value) {
+      writeInt((int) value);
+      writeInt((int) (value >>> 32));
+    }
+
+    void writeBytes(byte[] bytes) {
+      packet.write(bytes, 0, bytes.length);
+    }
+
+    void writeLength(long length) {
+      if (length < 251) {
+        packet.write((int) length);
+      } else if (length < 65536) {
+        packet.write(0xfc);
+        writeShort((int) length);
+      } else if (length < 16777216) {
+        packet.write(0xfd);
+        writeShort((int) length);
+        packet.write((int) (length >>> 16));
+      } else {
+        packet.write(0xfe);
+        writeLong(length);
+      }
+    }
+
+    void writeLengthString(String value) {
+      byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+      writeLength(bytes.length);
+      writeBytes(bytes);
+    }
+
+    byte[] toByteArray() {
+      return out.toByteArray();
+    }
+  }
+}
@@ -0,0 +1,519 @@
+// SPDX-License-Identifier: LGPL-2.1-or-later
+// Copyright (c) 2012-2014 Monty Program Ab
+// Copyright (c) 2015-2026 MariaDB Corporation Ab
+package org.mariadb.jdbc.fake;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.Closeable;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.regex.Pattern;
+import org.mariadb.jdbc.message.client.CommandConstants;
+import org.mariadb.jdbc.util.constants.Capabilities;
+
+/**
+ * In-process MariaDB protocol stand-in, replaying canned results.
+ *
+ * <p>Server listens on loopback, and supports handshake (any credential is accepted), COM_QUERY,
+ * COM_STMT_PREPARE / EXECUTE / CLOSE, COM_STMT_BULK_EXECUTE, LOAD DATA LOCAL INFILE and
+ * pipelining. Commands are matched against registered SQL: exact matches first, then patterns,
+ * then default result (OK packet).
+ *
+ * <p>Session handling doesn't allocate for exact matches, so client side CPU and allocation can be
+ * measured without server noise.
+ *
+ * <pre>{@code
+ * FakeServer server = new FakeServer()
+ *     .when("select 1", FakeResult.resultSet().column("1", DataType.INTEGER).row(1).build());
+ * String url = "jdbc:mariadb://" + server.getHost() + ":" + server.getPort() + "/db";
+ * }</pre>
+ */
+public final class FakeServer implements Closeable {
+
+  /** server version sent in handshake */
+  public static final String VERSION = "11.4.0-MariaDB-fake";
+
+  private static final byte COM_STMT_RESET = 0x1a;
+  private static final int MAX_PACKET = 0xffffff;
+  private static final int CAPABILITIES =
+      Capabilities.FOUND_ROWS
+          | Capabilities.LONG_FLAG
+          | Capabilities.CONNECT_WITH_DB
+          | Capabilities.CLIENT_PROTOCOL_41
+          | Capabilities.LOCAL_FILES
+          | Capabilities.TRANSACTIONS
+          | Capabilities.SECURE_CONNECTION
+          | Capabilities.MULTI_STATEMENTS
+          | Capabilities.MULTI_RESULTS
+          | Capabilities.PS_MULTI_RESULTS
+          | Capabilities.PLUGIN_AUTH
+          | Capabilities.CONNECT_ATTRS
+          | Capabilities.PLUGIN_AUTH_LENENC_CLIENT_DATA
+          | Capabilities.CLIENT_DEPRECATE_EOF;
+  private static final int MARIADB_CAPABILITIES = (int) (Capabilities.STMT_BULK_OPERATIONS >>> 32);
+
+  private static final FakeResult OK = FakeResult.ok(0, 0);
+  private static final FakeResult UNKNOWN_STATEMENT =
+      FakeResult.error(1243, "HY000", "Unknown prepared statement handler given to fake server");
+
+  private final ServerSocket serverSocket;
+  private final Set<Socket> sockets = ConcurrentHashMap.newKeySet();
+  private final AtomicInteger threadIds = new AtomicInteger();
+  private volatile ExactEntry[] exactEntries = new ExactEntry[0];
+  private volatile PatternEntry[] patternEntries = new PatternEntry[0];
+  private volatile FakeResult defaultResult = OK;
+  private volatile long handshakeDelayMillis;
+
+  /**
+   * Start a server on an ephemeral loopback port.
+   *
+   * @throws IOException if server socket cannot be bound
+   */
+  public FakeServer() throws IOException {
+    serverSocket = new ServerSocket(0, 128, InetAddress.getLoopbackAddress());
+    Thread acceptor = new Thread(this::acceptLoop, "fake-server-acceptor");
+    acceptor.setDaemon(true);
+    acceptor.start();
+  }
+
+  /**
+   * Register result for a query, or prepared statement SQL.
+   *
+   * @param sql exact SQL command
+   * @param result result to replay
+   * @return this server
+   */
+  public synchronized FakeServer when(String sql, FakeResult result) {
+    ExactEntry[] entries = Arrays.copyOf(exactEntries, exactEntries.length + 1);
+    entries[entries.length - 1] = new ExactEntry(sql.getBytes(StandardCharsets.UTF_8), result);
+    exactEntries = entries;
+    return this;
+  }
+
+  /**
+   * Register result for queries matching a pattern. Pattern matching requires decoding SQL, so
+   * exact matches are preferred for benchmarks.
+   *
+   * @param regex regular expression
+   * @param result result to replay
+   * @return this server
+   */
+  public synchronized FakeServer whenMatches(String regex, FakeResult result) {
+    PatternEntry[] entries = Arrays.copyOf(patternEntries, patternEntries.length + 1);
+    entries[entries.length - 1] = new PatternEntry(Pattern.compile(regex), result);
+    patternEntries = entries;
+    return this;
+  }
+
+  /**
+   * Set result of commands not registered. Default to an OK packet.
+   *
+   * @param result default result
+   * @return this server
+   */
+  public FakeServer otherwise(FakeResult result) {
+    this.defaultResult = result;
+    return this;
+  }
+
+  /**
+   * Delay authentication response, to simulate connection creation cost (network round trips, TLS
+   * handshake, authentication plugin).
+   *
+   * @param millis delay in milliseconds
+   * @return this server
+   */
+  public FakeServer handshakeDelay(long millis) {
+    this.handshakeDelayMillis = millis;
+    return this;
+  }
+
+  /**
+   * Server host.
+   *
+   * @return host
+   */
+  public String getHost() {
+    return serverSocket.getInetAddress().getHostAddress();
+  }
+
+  /**
+   * Server port.
+   *
+   * @return port
+   */
+  public int getPort() {
+    return serverSocket.getLocalPort();
+  }
+
+  @Override
+  public void close() throws IOException {
+    serverSocket.close();
+    for (Socket socket : sockets) {
+      try {
+        socket.close();
+      } catch (IOException e) {
+        // eat
+      }
+    }
+  }
+
+  private void acceptLoop() {
+    while (!serverSocket.isClosed()) {
+      try {
+        Socket socket = serverSocket.accept();
+        socket.setTcpNoDelay(true);
+        sockets.add(socket);
+        Session session = new Session(socket, threadIds.incrementAndGet());
+        Thread thread = new Thread(session, "fake-server-session-" + session.threadId);
+        thread.setDaemon(true);
+        thread.start();
+      } catch (IOException e) {
+        // server closed
+      }
+    }
+  }
+
+  private FakeResult match(byte[] buf, int off, int len) {
+    for (ExactEntry entry : exactEntries) {
+      if (entry.sql.length == len && regionEquals(entry.sql, buf, off)) return entry.result;
+    }
+    PatternEntry[] patterns = patternEntries;
+    if (patterns.length > 0) {
+      String sql = new String(buf, off, len, StandardCharsets.UTF_8);
+      for (PatternEntry entry : patterns) {
+        if (entry.pattern.matcher(sql).matches()) return entry.result;
+      }
+    }
+    return defaultResult;
+  }
+
+  private static boolean regionEquals(byte[] expected, byte[] buf, int off) {
+    for (int i = 0; i < expected.length; i++) {
+      if (expected[i] != buf[off + i]) return false;
+    }
+    return true;
+  }
+
+  /**
+   * Count parameter placeholders, skipping strings, identifiers and comments.
+   *
+   * @param buf buffer
+   * @param off sql offset
+   * @param end sql end
+   * @return number of placeholders
+   */
+  static int countParameters(byte[] buf, int off, int end) {
+    int count = 0;
+    byte quote = 0;
+    for (int i = off; i < end; i++) {
+      byte b = buf[i];
+      if (quote != 0) {
+        if (b == '\\' && quote != '`') {
+          i++;
+        } else if (b == quote) {
+          quote = 0;
+        }
+        continue;
+      }
+      switch (b) {
+        case '\'':
+        case '"':
+        case '`':
+          quote = b;
+          break;
+        case '?':
+          count++;
+          break;
+        case '#':
+          while (i < end && buf[i] != '\n') i++;
+          break;
+        case '-':
+          if (i + 1 < end && buf[i + 1] == '-') {
+            while (i < end && buf[i] != '\n') i++;
+          }
+          break;
+        case '/':
+          if (i + 1 < end && buf[i + 1] == '*') {
+            i += 2;
+            while (i + 1 < end && !(buf[i] == '*' && buf[i + 1] == '/')) i++;
+            i++;
+          }
+          break;
+        default:
+          break;
+      }
+    }
+    return count;
+  }
+
+  private static final class ExactEntry {
+    final byte[] sql;
+    final FakeResult result;
+
+    ExactEntry(byte[] sql, FakeResult result) {
+      this.sql = sql;
+      this.result = result;
+    }
+  }
+
+  private static final class PatternEntry {
+    final Pattern pattern;
+    final FakeResult result;
+
+    PatternEntry(Pattern pattern, FakeResult result) {
+      this.pattern = pattern;
+      this.result = result;
+    }
+  }
+
+  private static final class PreparedStatement {
+    final FakeResult result;
+
+    PreparedStatement(FakeResult result) {
+      this.result = result;
+    }
+  }
+
+  private final class Session implements Runnable {
+    private final Socket socket;
+    private final int threadId;
+    private InputStream in;
+    private OutputStream out;
+    private byte[] buf = new byte[16384];
+    private final byte[] header = new byte[4];
+    private PreparedStatement[] statements = new PreparedStatement[16];
+    private int nextStatementId = 1;
+    private int lastStatementId = -1;
+
+    Session(Socket socket, int threadId) {
+      this.socket = socket;
+      this.threadId = threadId;
+    }
+
+    @Override
+    public void run() {
+      try {
+        in = new BufferedInputStream(socket.getInputStream(), 65536);
+        out = new BufferedOutputStream(socket.getOutputStream(), 65536);
+        handshake();
+        while (true) {
+          int len = readPacket();
+          if (len == 0) continue;
+          if (!handleCommand(buf[0], len)) return;
+          // responses of pipelined commands are sent together
+          if (in.available() == 0) out.flush();
+        }
+      } catch (IOException e) {
+        // connection closed
+      } finally {
+        sockets.remove(socket);
+        try {
+          socket.close();
+        } catch (IOException e) {
+          // eat
+        }
+      }
+    }
+
+    private void handshake() throws IOException {
+      byte[] version = VERSION.getBytes(StandardCharsets.US_ASCII);
+      byte[] payload = new byte[version.length + 84];
+      int pos = 0;
+      payload[pos++] = 0x0a;
+      System.arraycopy(version, 0, payload, pos, version.length);
+      pos += version.length + 1;
+      pos = writeInt(payload, pos, threadId);
+      for (int i = 0; i < 8; i++) payload[pos++] = (byte) ('a' + i); // seed, part 1
+      pos++;
+      payload[pos++] = (byte) CAPABILITIES;
+      payload[pos++] = (byte) (CAPABILITIES >>> 8);
+      payload[pos++] = (byte) 224; // utf8mb4_unicode_ci
+      payload[pos++] = FakeResult.STATUS_AUTOCOMMIT;
+      payload[pos++] = 0;
+      payload[pos++] = (byte) (CAPABILITIES >>> 16);
+      payload[pos++] = (byte) (CAPABILITIES >>> 24);
+      payload[pos++] = 21; // seed length
+      pos += 6;
+      pos = writeInt(payload, pos, MARIADB_CAPABILITIES);
+      for (int i = 0; i < 12; i++) payload[pos++] = (byte) ('i' + i); // seed, part 2
+      pos++;
+      byte[] plugin = "mysql_native_password".getBytes(StandardCharsets.US_ASCII);
+      System.arraycopy(plugin, 0, payload, pos, plugin.length);
+      pos += plugin.length + 1;
+      writePacket(0, payload, pos);
+      out.flush();
+
+      // any credential is accepted
+      readPacket();
+      if (handshakeDelayMillis > 0) {
+        try {
+          Thread.sleep(handshakeDelayMillis);
+        } catch (InterruptedException e) {
+          throw new IOException(e);
+        }
+      }
+      byte[] ok = OK.textResponse();
+      out.write(ok, 0, 3);
+      out.write(2); // sequence
+      out.write(ok, 4, ok.length - 4);
+      out.flush();
+    }
+
+    private boolean handleCommand(byte command, int len) throws IOException {
+      switch (command) {
+        case CommandConstants.COM_QUERY:
+          FakeResult queryResult = match(buf, 1, len - 1);
+          out.write(queryResult.textResponse());
+          if (queryResult.isLocalInfile()) receiveLocalInfile();
+          return true;
+
+        case CommandConstants.COM_STMT_PREPARE:
+          FakeResult result = match(buf, 1, len - 1);
+          if (result.isError()) {
+            out.write(result.textResponse());
+            return true;
+          }
+          int id = nextStatementId++;
+          if (id >= statements.length) statements = Arrays.copyOf(statements, id * 2);
+          statements[id] = new PreparedStatement(result);
+          lastStatementId = id;
+          out.write(result.prepareResponse(id, countParameters(buf, 1, len)));
+          return true;
+
+        case CommandConstants.COM_STMT_EXECUTE:
+          PreparedStatement stmt = statement(readInt(buf, 1));
+          out.write(stmt == null ? UNKNOWN_STATEMENT.textResponse() : stmt.result.binaryResponse());
+          return true;
+
+        case CommandConstants.COM_STMT_BULK_EXECUTE:
+          stmt = statement(readInt(buf, 1));
+          if (stmt == null || stmt.result.isError()) {
+            out.write((stmt == null ? UNKNOWN_STATEMENT : stmt.result).textResponse());
+          } else {
+            out.write(OK.textResponse());
+          }
+          return true;
+
+        case CommandConstants.COM_STMT_CLOSE:
+          int closeId = readInt(buf, 1);
+          if (closeId > 0 && closeId < statements.length) statements[closeId] = null;
+          return true;
+
+        case CommandConstants.COM_STMT_SEND_LONG_DATA:
+          // no response
+          return true;
+
+        case CommandConstants.COM_QUIT:
+          return false;
+
+        case CommandConstants.COM_PING:
+        case CommandConstants.COM_INIT_DB:
+        case CommandConstants.COM_RESET_CONNECTION:
+        case COM_STMT_RESET:
+          out.write(OK.textResponse());
+          return true;
+
+        default:
+          out.write(FakeResult.error(1047, "08S01", "Unknown command " + command).textResponse());
+          return true;
+      }
+    }
+
+    /**
+     * Read local infile content until empty packet, then answer with an OK packet, affected rows
+     * being the number of bytes received.
+     *
+     * @throws IOException if socket fails
+     */
+    private void receiveLocalInfile() throws IOException {
+      out.flush();
+      long total = 0;
+      while (true) {
+        readFully(header, 0, 4);
+        int len = (header[0] & 0xff) | ((header[1] & 0xff) << 8) | ((header[2] & 0xff) << 16);
+        if (len == 0) break;
+        total += len;
+        // content is discarded
+        while (len > 0) {
+          int read = in.read(buf, 0, Math.min(len, buf.length));
+          if (read < 0) throw new EOFException();
+          len -= read;
+        }
+      }
+      byte[] ok = FakeResult.ok(total, 0).textResponse();
+      out.write(ok, 0, 3);
+      out.write(header[3] + 1); // sequence
+      out.write(ok, 4, ok.length - 4);
+    }
+
+    private PreparedStatement statement(int id) {
+      // -1 means "last prepared statement", used when prepare and execute are pipelined
+      if (id == -1) id = lastStatementId;
+      return id > 0 && id < statements.length ? statements[id] : null;
+    }
+
+    /**
+     * Read a packet into buf, joining packets bigger than 16M.
+     *
+     * @return payload length
+     * @throws IOException if socket fails
+     */
+    private int readPacket() throws IOException {
+      int total = 0;
+      while (true) {
+        readFully(header, 0, 4);
+        int len = (header[0] & 0xff) | ((header[1] & 0xff) << 8) | ((header[2] & 0xff) << 16);
+        if (total + len > buf.length) {
+          buf = Arrays.copyOf(buf, Math.max(buf.length * 2, total + len));
+        }
+        readFully(buf, total, len);
+        total += len;
+        if (len < MAX_PACKET) return total;
+      }
+    }
+
+    private void readFully(byte[] dst, int off, int len) throws IOException {
+      while (len > 0) {
+        int read = in.read(dst, off, len);
+        if (read < 0) throw new EOFException();
+        off += read;
+        len -= read;
+      }
+    }
+
+    private void writePacket(int sequence, byte[] payload, int len) throws IOException {
+      out.write(len);
+      out.write(len >>> 8);
+      out.write(len >>> 16);
+      out.write(sequence);
+      out.write(payload, 0, len);
+    }
+  }
+
+  private static int writeInt(byte[] buf, int pos, int value) {
+    buf[pos] = (byte) value;
+    buf[pos + 1] = (byte) (value >>> 8);
+    buf[pos + 2] = (byte) (value >>> 16);
+    buf[pos + 3] = (byte) (value >>> 24);
+    return pos + 4;
+  }
+
+  private static int readInt(byte[] buf, int pos) {
+    return (buf[pos] & 0xff)
+        | ((buf[pos + 1] & 0xff) << 8)
+        | ((buf[pos + 2] & 0xff) << 16)
+        | ((buf[pos + 3] & 0xff) << 24);
+  }
+}
@@ -4,12 +4,15 @@
 package org.mariadb.jdbc;
 
 import static org.mariadb.jdbc.util.constants.Capabilities.BULK_UNIT_RESULTS;
+import static org.mariadb.jdbc.util.constants.Capabilities.LOCAL_FILES;
+import static org.mariadb.jdbc.util.constants.Capabilities.STMT_BULK_OPERATIONS;
 
 import java.io.InputStream;
 import java.io.Reader;
 import java.math.BigDecimal;
 import java.net.URL;
 import java.sql.Array;
+import java.sql.BatchUpdateException;
 import java.sql.Blob;
 import java.sql.Clob;
 import java.sql.Date;
@@ -33,6 +36,7 @@ import java.util.Arrays;
 import java.util.Calendar;
 import java.util.Collections;
 import java.util.List;
+import java.util.Locale;
 import org.mariadb.jdbc.client.ColumnDecoder;
 import org.mariadb.jdbc.client.Completion;
 import org.mariadb.jdbc.client.DataType;
@@ -71,6 +75,7 @@ import org.mariadb.jdbc.plugin.codec.StreamCodec;
 import org.mariadb.jdbc.plugin.codec.StringCodec;
 import org.mariadb.jdbc.plugin.codec.TimeCodec;
 import org.mariadb.jdbc.plugin.codec.TimestampCodec;
+import org.mariadb.jdbc.util.EncodedBatch;
 import org.mariadb.jdbc.util.ParameterList;
 import org.mariadb.jdbc.util.constants.ColumnFlags;
 import org.mariadb.jdbc.util.timeout.QueryTimeoutHandler;
@@ -90,6 +95,13 @@ public abstract class BasePreparedStatement extends Statement implements Prepare
   /** PREPARE command result */
   protected Prepare prepareResult = null;
 
+  private int lastBatchBulkPackets;
+
+  /** update counts of encoded batch rows already sent when adding rows */
+  private long[] flushedUpdates;
+
+  private int flushedRows;
+
   /**
    * Constructor
    *
@@ -626,6 +638,8 @@ public abstract class BasePreparedStatement extends Statement implements Prepare
   @Override
   public void clearBatch() throws SQLException {
     batchParameters = new ArrayList<>();
+    flushedUpdates = null;
+    flushedRows = 0;
     super.clearBatch();
   }
 
@@ -1361,12 +1375,11 @@ public abstract class BasePreparedStatement extends Statement implements Prepare
   @SuppressWarnings({"rawtypes", "unchecked"})
   private void trySetWithCodec(int parameterIndex, Object obj, Long scaleOrLength)
       throws SQLException {
-    for (Codec<?> codec : con.getContext().getConf().codecs()) {
-      if (codec.canEncode(obj)) {
-        Parameter p = new Parameter(codec, obj, scaleOrLength);
-        parameters.set(parameterIndex - 1, p);
-        return;
-      }
+    Codec<?> codec = con.getContext().getConf().codecDispatcher().encoder(obj);
+    if (codec != null) {
+      Parameter p = new Parameter(codec, obj, scaleOrLength);
+      parameters.set(parameterIndex - 1, p);
+      return;
     }
 
     throw new SQLException(String.format("Type %s not supported type", obj.getClass().getName()));
@@ -1708,21 +1721,143 @@ public abstract class BasePreparedStatement extends Statement implements Prepare
 
   protected abstract BatchTypeState executeInternalPreparedBatch() throws SQLException;
 
+  /**
+   * Can command be a LOAD DATA/XML LOCAL INFILE command, that prevents pipelining and bulk.
+   *
+   * @return true if command may load a local file
+   */
+  protected boolean possibleLoadLocal() {
+    if (!con.getContext().hasClientCapability(LOCAL_FILES)) return false;
+    String sqlUpper = sql.toUpperCase(Locale.ROOT);
+    return sqlUpper.contains(" LOCAL ")
+        && sqlUpper.contains("LOAD")
+        && sqlUpper.contains(" INFILE");
+  }
+
+  /**
+   * Can batch be executed with a bulk command. Command must have been parsed.
+   *
+   * @return true if bulk can be used
+   */
+  protected boolean canUseBulk() {
+    Configuration conf = con.getContext().getConf();
+    // a bit complex:
+    // * bulk on INSERT ON DUPLICATE KEY UPDATE can only be use if server permits returning
+    // individual results, since affected rows cannot be guessed
+    // * if RETURN_GENERATED_KEYS is expressly set, can only be use if server permits returning
+    // individual results
+    return con.getContext().hasServerCapability(STMT_BULK_OPERATIONS)
+        && (((clientParser.isInsert()
+                    && ((conf.useBulkStmts() || conf.useBulkStmtsForInserts())
+                        && (con.getContext().hasClientCapability(BULK_UNIT_RESULTS)
+                            || !clientParser.isInsertDuplicate())))
+                || (!clientParser.isInsert() && conf.useBulkStmts()))
+            && (con.getContext().hasClientCapability(BULK_UNIT_RESULTS)
+                || autoGeneratedKeys != Statement.RETURN_GENERATED_KEYS));
+  }
+
+  /**
+   * Add current parameters to batch. If batch can be encoded on add, parameters are encoded in
+   * binary format (see {@link Configuration#encodeBatchOnAdd()}), and encoded rows are sent when
+   * reaching configured flush size.
+   *
+   * @param encode must parameters be encoded on add, i.e. encodeBatchOnAdd is set and batch will be
+   *     executed with bulk command
+   * @throws SQLException if sending encoded rows fails
+   */
+  protected void addBatchParameters(boolean encode) throws SQLException {
+    if (batchParameters == null
+        || (batchParameters.isEmpty() && encode != batchParameters instanceof EncodedBatch)) {
+      batchParameters = encode ? new EncodedBatch(parameters.size()) : new ArrayList<>();
+    }
+
+    if (!(batchParameters instanceof EncodedBatch)) {
+      batchParameters.add(parameters);
+      parameters = parameters.clone();
+      return;
+    }
+
+    EncodedBatch batch = (EncodedBatch) batchParameters;
+    if (!batch.addRow(parameters, con.getContext())) parameters = parameters.clone();
+
+    Configuration conf = con.getContext().getConf();
+    if (batch.isFull()
+        || (autoGeneratedKeys != Statement.RETURN_GENERATED_KEYS
+            && ((conf.batchFlushRows() > 0 && batch.size() >= conf.batchFlushRows())
+                || (conf.batchFlushBytes() > 0 && batch.byteSize() >= conf.batchFlushBytes())))) {
+      flushEncodedBatch();
+    }
+  }
+
+  @SuppressWarnings("try")
+  private void flushEncodedBatch() throws SQLException {
+    try (ClosableLock ignore = lock.closeableLock();
+        QueryTimeoutHandler ignore2 = con.handleTimeout(queryTimeout)) {
+      long[] updates = executeLongBatchInternal();
+      if (flushedUpdates == null) {
+        flushedUpdates = new long[updates.length];
+      } else if (flushedRows + updates.length > flushedUpdates.length) {
+        flushedUpdates =
+            Arrays.copyOf(
+                flushedUpdates, Math.max(flushedUpdates.length * 2, flushedRows + updates.length));
+      }
+      System.arraycopy(updates, 0, flushedUpdates, flushedRows, updates.length);
+      flushedRows += updates.length;
+    } catch (SQLException e) {
+      handleExecutionError(e);
+      SQLException exception = withFlushedUpdates(e);
+      flushedUpdates = null;
+      flushedRows = 0;
+      throw exception;
+    } finally {
+      cleanupResources();
+    }
+  }
+
+  /**
+   * Prepend update counts of rows already sent when adding rows to batch update exception.
+   *
+   * @param e exception
+   * @return exception with all update counts
+   */
+  private SQLException withFlushedUpdates(SQLException e) {
+    if (flushedRows == 0 || !(e instanceof BatchUpdateException)) return e;
+    long[] counts = ((BatchUpdateException) e).getLargeUpdateCounts();
+    long[] allCounts = Arrays.copyOf(flushedUpdates, flushedRows + counts.length);
+    System.arraycopy(counts, 0, allCounts, flushedRows, counts.length);
+    BatchUpdateException exception =
+        new BatchUpdateException(
+            e.getMessage(), e.getSQLState(), e.getErrorCode(), allCounts, e.getCause());
+    exception.setStackTrace(e.getStackTrace());
+    return exception;
+  }
+
   @Override
   @SuppressWarnings("try")
   public int[] executeBatch() throws SQLException {
     checkNotClosed();
     if (isBatchEmpty()) {
-      return new int[0];
+      int[] flushed = new int[flushedRows];
+      for (int i = 0; i < flushedRows; i++) flushed[i] = (int) flushedUpdates[i];
+      flushedUpdates = null;
+      flushedRows = 0;
+      return flushed;
     }
 
     try (ClosableLock ignore = lock.closeableLock();
         QueryTimeoutHandler ignore2 = con.handleTimeout(queryTimeout)) {
-      return executeBatchInternal();
+      int[] updates = executeBatchInternal();
+      if (flushedRows == 0) return updates;
+      int[] allUpdates = new int[flushedRows + updates.length];
+      for (int i = 0; i < flushedRows; i++) allUpdates[i] = (int) flushedUpdates[i];
+      System.arraycopy(updates, 0, allUpdates, flushedRows, updates.length);
+      return allUpdates;
     } catch (SQLException e) {
       handleExecutionError(e);
-      throw e;
+      throw withFlushedUpdates(e);
     } finally {
+      flushedUpdates = null;
+      flushedRows = 0;
       cleanupResources();
     }
   }
@@ -1738,6 +1873,7 @@ public abstract class BasePreparedStatement extends Statement implements Prepare
   }
 
   private int[] executeBatchInternal() throws SQLException {
+    lastBatchBulkPackets = 0;
     BatchTypeState batchTypeState = executeInternalPreparedBatch();
     int[] updates = new int[batchParameters.size()];
 
@@ -1911,6 +2047,7 @@ public abstract class BasePreparedStatement extends Statement implements Prepare
   }
 
   private long[] executeLongBatchInternal() throws SQLException {
+    lastBatchBulkPackets = 0;
     BatchTypeState batchTypeState = executeInternalPreparedBatch();
     long[] updates = new long[batchParameters.size()];
 
@@ -1934,18 +2071,27 @@ public abstract class BasePreparedStatement extends Statement implements Prepare
   public long[] executeLargeBatch() throws SQLException {
     checkNotClosed();
     if (isBatchEmpty()) {
-      return new long[0];
+      long[] flushed = flushedRows == 0 ? new long[0] : Arrays.copyOf(flushedUpdates, flushedRows);
+      flushedUpdates = null;
+      flushedRows = 0;
+      return flushed;
     }
 
     try (ClosableLock ignore = lock.closeableLock();
         QueryTimeoutHandler timeoutHandler = con.handleTimeout(queryTimeout)) {
 
-      return executeLongBatchInternal();
+      long[] updates = executeLongBatchInternal();
+      if (flushedRows == 0) return updates;
+      long[] allUpdates = Arrays.copyOf(flushedUpdates, flushedRows + updates.length);
+      System.arraycopy(updates, 0, allUpdates, flushedRows, updates.length);
+      return allUpdates;
 
     } catch (SQLException e) {
       handleExecutionError(e);
-      throw e;
+      throw withFlushedUpdates(e);
     } finally {
+      flushedUpdates = null;
+      flushedRows = 0;
       cleanupResources();
     }
   }
@@ -1958,15 +2104,14 @@ public abstract class BasePreparedStatement extends Statement implements Prepare
    */
   protected void executeBatchBulk(String cmd) throws SQLException {
     List<Completion> res;
+    BulkExecutePacket bulkPacket = null;
     if (prepareResult == null && con.cachePrepStmts())
       prepareResult = con.getContext().getPrepareCacheCmd(cmd, this);
     try {
       if (prepareResult == null) {
+        bulkPacket = new BulkExecutePacket(null, batchParameters, cmd, this);
         ClientMessage[] packets;
-        packets =
-            new ClientMessage[] {
-              new PreparePacket(cmd), new BulkExecutePacket(null, batchParameters, cmd, this)
-            };
+        packets = new ClientMessage[] {new PreparePacket(cmd), bulkPacket};
         res =
             con.getClient()
                 .executePipeline(
@@ -1986,10 +2131,11 @@ public abstract class BasePreparedStatement extends Statement implements Prepare
           results = res;
         }
       } else {
+        bulkPacket = new BulkExecutePacket(prepareResult, batchParameters, cmd, this);
         results =
             con.getClient()
                 .execute(
-                    new BulkExecutePacket(prepareResult, batchParameters, cmd, this),
+                    bulkPacket,
                     this,
                     0,
                     maxRows,
@@ -2003,9 +2149,22 @@ public abstract class BasePreparedStatement extends Statement implements Prepare
       results = null;
       throw exceptionFactory()
           .createBatchUpdate(Collections.emptyList(), batchParameters.size(), bue);
+    } finally {
+      lastBatchBulkPackets = bulkPacket == null ? 0 : bulkPacket.bulkPacketCount();
     }
   }
 
+  /**
+   * Number of COM_STMT_BULK_EXECUTE packets sent by last batch execution, or 0 if last batch didn't
+   * use bulk execution. Values are sent in a new packet when packet reaches max_allowed_packet, or
+   * when value types of a row cannot be encoded with types of previous rows.
+   *
+   * @return number of bulk packets
+   */
+  public int getLastBatchBulkPackets() {
+    return lastBatchBulkPackets;
+  }
+
   /**
    * reset prepare statement in case of a failover. (Command need then to be re-prepared on server)
    */
@@ -16,6 +16,7 @@ import org.mariadb.jdbc.message.ClientMessage;
 import org.mariadb.jdbc.message.client.*;
 import org.mariadb.jdbc.message.server.OkPacket;
 import org.mariadb.jdbc.util.ClientParser;
+import org.mariadb.jdbc.util.EncodedBatch;
 import org.mariadb.jdbc.util.ParameterList;
 import org.mariadb.jdbc.util.constants.ServerStatus;
 import org.mariadb.jdbc.util.timeout.QueryTimeoutHandler;
@@ -111,33 +112,14 @@ public class ClientPreparedStatement extends BasePreparedStatement {
     parseCommandIfNeeded(sql);
     Configuration conf = con.getContext().getConf();
 
-    boolean possibleLoadLocal = con.getContext().hasClientCapability(LOCAL_FILES);
-    if (possibleLoadLocal) {
-      String sqlUpper = sql.toUpperCase(Locale.ROOT);
-      possibleLoadLocal =
-          sqlUpper.contains(" LOCAL ") && sqlUpper.contains("LOAD") && sqlUpper.contains(" INFILE");
-    }
-    if (possibleLoadLocal) {
+    if (possibleLoadLocal()) {
       executeBatchStd();
     } else {
-      // a bit complex:
-      // * bulk on INSERT ON DUPLICATE KEY UPDATE can only be use if server permits returning
-      // the individual results, since affected rows cannot be guessed
-      // * if RETURN_GENERATED_KEYS is expressly set, can only be use if server permits returning
-      // the individual results
-      boolean canUseBulk =
-          con.getContext().hasServerCapability(STMT_BULK_OPERATIONS)
-              && (((clientParser.isInsert()
-                          && ((conf.useBulkStmts() || conf.useBulkStmtsForInserts())
-                              && (con.getContext().hasClientCapability(BULK_UNIT_RESULTS)
-                                  || !clientParser.isInsertDuplicate())))
-                      || (!clientParser.isInsert() && conf.useBulkStmts()))
-                  && (con.getContext().hasClientCapability(BULK_UNIT_RESULTS)
-                      || autoGeneratedKeys != Statement.RETURN_GENERATED_KEYS));
-      if (canUseBulk
-          && batchParameters.size() > 1
-          && !clientParser.isMultiQuery()
-          && batchParameters.get(0).size() > 0) {
+      if (batchParameters instanceof EncodedBatch
+          || (canUseBulk()
+              && batchParameters.size() > 1
+              && !clientParser.isMultiQuery()
+              && batchParameters.get(0).size() > 0)) {
         executeBatchBulk(escapeTimeout(sql));
         return BatchTypeState.Bulk;
       } else if (conf.rewriteBatchedStatements()
@@ -366,9 +348,13 @@ public class ClientPreparedStatement extends BasePreparedStatement {
   @Override
   public void addBatch() throws SQLException {
     validParameters();
-    if (batchParameters == null) batchParameters = new ArrayList<>();
-    batchParameters.add(parameters);
-    parameters = parameters.clone();
+    parseCommandIfNeeded(sql);
+    addBatchParameters(
+        con.getContext().getConf().encodeBatchOnAdd()
+            && parser.getParamCount() > 0
+            && !clientParser.isMultiQuery()
+            && !possibleLoadLocal()
+            && canUseBulk());
   }
 
   /**
@@ -21,6 +21,7 @@ import java.util.Objects;
 import java.util.Properties;
 import java.util.ServiceLoader;
 import java.util.Set;
+import org.mariadb.jdbc.client.util.CodecDispatcher;
 import org.mariadb.jdbc.export.HaMode;
 import org.mariadb.jdbc.export.SslMode;
 import org.mariadb.jdbc.plugin.Codec;
@@ -71,7 +72,7 @@ public class Configuration {
   private static final Set<String> SENSITIVE_FIELDS;
   private static final String CATALOG_TERM = "CATALOG";
   private static final String SCHEMA_TERM = "SCHEMA";
-  private static Codec<?>[] cachedCodecs = null;
+  private static volatile CodecDispatcher cachedCodecDispatcher = null;
 
   static {
     EXCLUDED_FIELDS = new HashSet<>();
@@ -92,7 +93,8 @@ public class Configuration {
     PROPERTIES_TO_SKIP.add("$jacocoData");
     PROPERTIES_TO_SKIP.add("CATALOG_TERM");
     PROPERTIES_TO_SKIP.add("SCHEMA_TERM");
-    PROPERTIES_TO_SKIP.add("cachedCodecs");
+    PROPERTIES_TO_SKIP.add("codecDispatcher");
+    PROPERTIES_TO_SKIP.add("cachedCodecDispatcher");
 
     SENSITIVE_FIELDS = new HashSet<>();
     SENSITIVE_FIELDS.add("password");
@@ -152,6 +154,10 @@ public class Configuration {
   private String localSocketAddress;
   private int socketTimeout;
   private boolean useReadAheadInput;
+  private boolean useNioChannel;
+  private boolean useSlabRowStorage;
+  private boolean streamLargeValues;
+  private boolean useStringDecodeCache;
   private String tlsSocketType;
 
   // SSL
@@ -173,10 +179,17 @@ public class Configuration {
   private boolean allowLocalInfile;
   private boolean rewriteBatchedStatements;
   private boolean useCompression;
+  private int compressionLevel;
+  private int minCompressionSize;
   private boolean useAffectedRows;
   private boolean useBulkStmts;
   private boolean useBulkStmtsForInserts;
+  private boolean encodeBatchOnAdd;
+  private int batchFlushRows;
+  private int batchFlushBytes;
   private boolean disablePipeline;
+  private int pipelineWindowSize;
+  private int pipelineWindowBytes;
   // prepare
   private boolean cachePrepStmts;
   private int prepStmtCacheSize;
@@ -204,6 +217,9 @@ public class Configuration {
   private boolean transactionReplay;
   private int transactionReplaySize;
   private boolean useIpForKillQuery;
+  private boolean hostScoring;
+  private int maxReplicationLag;
+  private int replicationLagCheckInterval;
 
   // Pool options
   private boolean pool;
@@ -213,6 +229,9 @@ public class Configuration {
   private int maxIdleTime;
   private boolean registerJmxPool;
   private int poolValidMinDelay;
+  private int poolFillConcurrency;
+  private boolean poolWarmup;
+  private int poolFillInterval;
   private boolean useResetConnection;
 
   // MySQL sha authentication
@@ -220,6 +239,7 @@ public class Configuration {
   private boolean allowPublicKeyRetrieval;
 
   private Codec<?>[] codecs;
+  private CodecDispatcher codecDispatcher;
 
   private Configuration(Builder builder) {
     // Set basic configuration
@@ -329,8 +349,20 @@ public class Configuration {
     this.localSocketAddress = builder.localSocketAddress;
     this.socketTimeout = builder.socketTimeout != null ? builder.socketTimeout : 0;
     this.useReadAheadInput = builder.useReadAheadInput != null && builder.useReadAheadInput;
+    this.useNioChannel = builder.useNioChannel != null && builder.useNioChannel;
+    this.useSlabRowStorage = builder.useSlabRowStorage != null && builder.useSlabRowStorage;
+    this.streamLargeValues = builder.streamLargeValues != null && builder.streamLargeValues;
+    this.useStringDecodeCache =
+        builder.useStringDecodeCache != null && builder.useStringDecodeCache;
     this.tlsSocketType = builder.tlsSocketType;
     this.useCompression = builder.useCompression != null && builder.useCompression;
+    this.compressionLevel = builder.compressionLevel != null ? builder.compressionLevel : 6;
+    this.minCompressionSize =
+        builder.minCompressionSize != null ? builder.minCompressionSize : 1536;
+    if (this.compressionLevel < 0 || this.compressionLevel > 9) {
+      throw new IllegalArgumentException(
+          "compressionLevel must be between 0 and 9, current set value is " + this.compressionLevel);
+    }
   }
 
   private void initializeTransactionConfig(Builder builder) {
@@ -382,10 +414,17 @@ public class Configuration {
         builder.useBulkStmtsForInserts != null
             ? builder.useBulkStmtsForInserts
             : (builder.useBulkStmts == null || builder.useBulkStmts);
+    this.encodeBatchOnAdd = builder.encodeBatchOnAdd != null && builder.encodeBatchOnAdd;
+    this.batchFlushRows = builder.batchFlushRows != null ? builder.batchFlushRows : 0;
+    this.batchFlushBytes = builder.batchFlushBytes != null ? builder.batchFlushBytes : 0;
   }
 
   private void initializePipelineConfig(Builder builder) {
     this.disablePipeline = builder.disablePipeline != null && builder.disablePipeline;
+    this.pipelineWindowSize =
+        builder.pipelineWindowSize != null ? builder.pipelineWindowSize : 1000;
+    this.pipelineWindowBytes =
+        builder.pipelineWindowBytes != null ? builder.pipelineWindowBytes : 16 * 1024 * 1024;
     this.autocommit = builder.autocommit;
     this.useMysqlMetadata = builder.useMysqlMetadata != null && builder.useMysqlMetadata;
     this.nullDatabaseMeansCurrent =
@@ -445,6 +484,10 @@ public class Configuration {
     this.maxIdleTime = builder.maxIdleTime != null ? builder.maxIdleTime : 600_000;
     this.registerJmxPool = builder.registerJmxPool == null || builder.registerJmxPool;
     this.poolValidMinDelay = builder.poolValidMinDelay != null ? builder.poolValidMinDelay : 1000;
+    this.poolFillConcurrency =
+        builder.poolFillConcurrency != null ? Math.max(1, builder.poolFillConcurrency) : 1;
+    this.poolWarmup = builder.poolWarmup == null || builder.poolWarmup;
+    this.poolFillInterval = builder.poolFillInterval != null ? builder.poolFillInterval : 0;
     this.useResetConnection = builder.useResetConnection != null && builder.useResetConnection;
   }
 
@@ -470,10 +513,15 @@ public class Configuration {
     this.transactionReplaySize =
         builder.transactionReplaySize != null ? builder.transactionReplaySize : 64;
     this.useIpForKillQuery = builder.useIpForKillQuery != null && builder.useIpForKillQuery;
+    this.hostScoring = builder.hostScoring != null && builder.hostScoring;
+    this.maxReplicationLag = builder.maxReplicationLag != null ? builder.maxReplicationLag : 0;
+    this.replicationLagCheckInterval =
+        builder.replicationLagCheckInterval != null ? builder.replicationLagCheckInterval : 5000;
     this.geometryDefaultType = builder.geometryDefaultType;
     this.restrictedAuth = builder.restrictedAuth;
     this.initSql = builder.initSql;
     this.codecs = null;
+    this.codecDispatcher = null;
   }
 
   private void configureHosts() {
@@ -618,6 +666,10 @@ public class Configuration {
             .localSocketAddress(this.localSocketAddress)
             .socketTimeout(this.socketTimeout)
             .useReadAheadInput(this.useReadAheadInput)
+            .useNioChannel(this.useNioChannel)
+            .useSlabRowStorage(this.useSlabRowStorage)
+            .streamLargeValues(this.streamLargeValues)
+            .useStringDecodeCache(this.useStringDecodeCache)
             .tlsSocketType(this.tlsSocketType)
             .sslMode(this.sslMode.name())
             .serverSslCert(this.serverSslCert)
@@ -636,10 +688,17 @@ public class Configuration {
             .allowLocalInfile(this.allowLocalInfile)
             .rewriteBatchedStatements(this.rewriteBatchedStatements)
             .useCompression(this.useCompression)
+            .compressionLevel(this.compressionLevel)
+            .minCompressionSize(this.minCompressionSize)
             .useAffectedRows(this.useAffectedRows)
             .useBulkStmts(this.useBulkStmts)
             .useBulkStmtsForInserts(this.useBulkStmtsForInserts)
+            .encodeBatchOnAdd(this.encodeBatchOnAdd)
+            .batchFlushRows(this.batchFlushRows)
+            .batchFlushBytes(this.batchFlushBytes)
             .disablePipeline(this.disablePipeline)
+            .pipelineWindowSize(this.pipelineWindowSize)
+            .pipelineWindowBytes(this.pipelineWindowBytes)
             .cachePrepStmts(this.cachePrepStmts)
             .prepStmtCacheSize(this.prepStmtCacheSize)
             .useServerPrepStmts(this.useServerPrepStmts)
@@ -660,6 +719,9 @@ public class Configuration {
             .transactionReplay(this.transactionReplay)
             .transactionReplaySize(this.transactionReplaySize)
             .useIpForKillQuery(this.useIpForKillQuery)
+            .hostScoring(this.hostScoring)
+            .maxReplicationLag(this.maxReplicationLag)
+            .replicationLagCheckInterval(this.replicationLagCheckInterval)
             .pool(this.pool)
             .poolName(this.poolName)
             .maxPoolSize(this.maxPoolSize)
@@ -667,6 +729,9 @@ public class Configuration {
             .maxIdleTime(this.maxIdleTime)
             .registerJmxPool(this.registerJmxPool)
             .poolValidMinDelay(this.poolValidMinDelay)
+            .poolFillConcurrency(this.poolFillConcurrency)
+            .poolWarmup(this.poolWarmup)
+            .poolFillInterval(this.poolFillInterval)
             .useResetConnection(this.useResetConnection)
             .serverRsaPublicKeyFile(this.serverRsaPublicKeyFile)
             .allowPublicKeyRetrieval(this.allowPublicKeyRetrieval);
@@ -1720,6 +1785,24 @@ public class Configuration {
     return useCompression;
   }
 
+  /**
+   * zlib compression level (0-9) used when compression is enabled
+   *
+   * @return compression level
+   */
+  public int compressionLevel() {
+    return compressionLevel;
+  }
+
+  /**
+   * Minimum packet size to compress, smaller packets being sent uncompressed
+   *
+   * @return minimum compression size
+   */
+  public int minCompressionSize() {
+    return minCompressionSize;
+  }
+
   /**
    * force returning blank table metadata (for old oracle compatibility)
    *
@@ -1936,6 +2019,34 @@ public class Configuration {
     return useBulkStmtsForInserts;
   }
 
+  /**
+   * Encode batch parameters in binary format when added to batch, when batch will use bulk
+   * command
+   *
+   * @return encode batch on add
+   */
+  public boolean encodeBatchOnAdd() {
+    return encodeBatchOnAdd;
+  }
+
+  /**
+   * Number of rows after which an encoded batch is sent when adding rows, 0 if disabled
+   *
+   * @return batch flush row number
+   */
+  public int batchFlushRows() {
+    return batchFlushRows;
+  }
+
+  /**
+   * Encoded size after which an encoded batch is sent when adding rows, 0 if disabled
+   *
+   * @return batch flush size in bytes
+   */
+  public int batchFlushBytes() {
+    return batchFlushBytes;
+  }
+
   /**
    * Disable pipeline.
    *
@@ -1945,6 +2056,24 @@ public class Configuration {
     return disablePipeline;
   }
 
+  /**
+   * Maximum number of pipelined commands sent without having read their response, 0 for no limit
+   *
+   * @return pipeline window size
+   */
+  public int pipelineWindowSize() {
+    return pipelineWindowSize;
+  }
+
+  /**
+   * Maximum size of pipelined commands sent without having read their response, 0 for no limit
+   *
+   * @return pipeline window size in bytes
+   */
+  public int pipelineWindowBytes() {
+    return pipelineWindowBytes;
+  }
+
   /**
    * Force session autocommit on connection creation
    *
@@ -2153,6 +2282,35 @@ public class Configuration {
     return galeraAllowedState;
   }
 
+  /**
+   * Must response time of each host be measured, replica connections then being created to the
+   * host with the best response time (replication and load-balance-read modes only).
+   *
+   * @return use host scoring
+   */
+  public boolean hostScoring() {
+    return hostScoring;
+  }
+
+  /**
+   * Maximum replication lag in seconds of replicas chosen by host scoring. 0 to disable
+   * replication lag monitoring.
+   *
+   * @return maximum replication lag in seconds
+   */
+  public int maxReplicationLag() {
+    return maxReplicationLag;
+  }
+
+  /**
+   * Interval in milliseconds between replication lag checks, when maxReplicationLag is set.
+   *
+   * @return replication lag check interval in milliseconds
+   */
+  public int replicationLagCheckInterval() {
+    return replicationLagCheckInterval;
+  }
+
   /**
    * Create pool
    *
@@ -2216,6 +2374,33 @@ public class Configuration {
     return poolValidMinDelay;
   }
 
+  /**
+   * Maximum number of connections the pool creates in parallel.
+   *
+   * @return pool fill concurrency
+   */
+  public int poolFillConcurrency() {
+    return poolFillConcurrency;
+  }
+
+  /**
+   * Must pool initialization wait for "minPoolSize" connections to be created.
+   *
+   * @return wait for pool to be filled on initialization
+   */
+  public boolean poolWarmup() {
+    return poolWarmup;
+  }
+
+  /**
+   * Minimum delay between two connection creations of the pool.
+   *
+   * @return minimum delay in milliseconds
+   */
+  public int poolFillInterval() {
+    return poolFillInterval;
+  }
+
   /**
    * Must connection returned to pool be RESET
    *
@@ -2252,6 +2437,42 @@ public class Configuration {
     return useReadAheadInput;
   }
 
+  /**
+   * Use a non-blocking SocketChannel transport with pooled direct buffers
+   *
+   * @return use NIO channel transport
+   */
+  public boolean useNioChannel() {
+    return useNioChannel;
+  }
+
+  /**
+   * Store result-set rows packed in connection reusable slabs
+   *
+   * @return use slab row storage
+   */
+  public boolean useSlabRowStorage() {
+    return useSlabRowStorage;
+  }
+
+  /**
+   * Read values of rows of 16M or more from socket on demand when streaming result-set
+   *
+   * @return stream large values
+   */
+  public boolean streamLargeValues() {
+    return streamLargeValues;
+  }
+
+  /**
+   * Cache decoded values of short string columns
+   *
+   * @return use string decode cache
+   */
+  public boolean useStringDecodeCache() {
+    return useStringDecodeCache;
+  }
+
   /**
    * Cache prepared statement result.
    *
@@ -2325,6 +2546,15 @@ public class Configuration {
     return codecs;
   }
 
+  /**
+   * datatype Encoder/decoder lookup tables
+   *
+   * @return codec dispatcher
+   */
+  public CodecDispatcher codecDispatcher() {
+    return codecDispatcher;
+  }
+
   /**
    * ToString implementation.
    *
@@ -2349,8 +2579,10 @@ public class Configuration {
 
   @SuppressWarnings("rawtypes")
   private void loadCodecs() {
-    if (cacheCodecs && cachedCodecs != null) {
-      codecs = cachedCodecs;
+    CodecDispatcher cached = cachedCodecDispatcher;
+    if (cacheCodecs && cached != null) {
+      codecDispatcher = cached;
+      codecs = cached.codecs();
       return;
     }
 
@@ -2359,13 +2591,11 @@ public class Configuration {
     List<Codec<?>> result = new ArrayList<>();
     loader.iterator().forEachRemaining(result::add);
     codecs = result.toArray(new Codec<?>[0]);
+    codecDispatcher = new CodecDispatcher(codecs);
 
-    if (cacheCodecs) {
-      synchronized (Configuration.class) {
-        if (cachedCodecs == null) {
-          cachedCodecs = codecs;
-        }
-      }
+    if (cacheCodecs && cachedCodecDispatcher == null) {
+      // racing loads build equivalent dispatchers, keeping any of them is fine
+      cachedCodecDispatcher = codecDispatcher;
     }
   }
 
@@ -2429,6 +2659,10 @@ public class Configuration {
     private String localSocketAddress;
     private Integer socketTimeout;
     private Boolean useReadAheadInput;
+    private Boolean useNioChannel;
+    private Boolean useSlabRowStorage;
+    private Boolean streamLargeValues;
+    private Boolean useStringDecodeCache;
     private String tlsSocketType;
 
     // SSL
@@ -2450,10 +2684,17 @@ public class Configuration {
     private Boolean allowLocalInfile;
     private Boolean rewriteBatchedStatements;
     private Boolean useCompression;
+    private Integer compressionLevel;
+    private Integer minCompressionSize;
     private Boolean useAffectedRows;
     private Boolean useBulkStmts;
     private Boolean useBulkStmtsForInserts;
+    private Boolean encodeBatchOnAdd;
+    private Integer batchFlushRows;
+    private Integer batchFlushBytes;
     private Boolean disablePipeline;
+    private Integer pipelineWindowSize;
+    private Integer pipelineWindowBytes;
     // prepare
     private Boolean cachePrepStmts;
     private Integer prepStmtCacheSize;
@@ -2482,6 +2723,9 @@ public class Configuration {
     private Boolean transactionReplay;
     private Integer transactionReplaySize;
     private Boolean useIpForKillQuery;
+    private Boolean hostScoring;
+    private Integer maxReplicationLag;
+    private Integer replicationLagCheckInterval;
 
     // Pool options
     private Boolean pool;
@@ -2491,6 +2735,9 @@ public class Configuration {
     private Integer maxIdleTime;
     private Boolean registerJmxPool;
     private Integer poolValidMinDelay;
+    private Integer poolFillConcurrency;
+    private Boolean poolWarmup;
+    private Integer poolFillInterval;
     private Boolean useResetConnection;
 
     // MySQL sha authentication
@@ -3001,6 +3248,29 @@ public class Configuration {
       return this;
     }
 
+    /**
+     * zlib compression level, from 0 (no compression) to 9 (best compression). Default 6.
+     *
+     * @param compressionLevel compression level
+     * @return this {@link Builder}
+     */
+    public Builder compressionLevel(Integer compressionLevel) {
+      this.compressionLevel = compressionLevel;
+      return this;
+    }
+
+    /**
+     * Minimum packet size to compress when compression is enabled. Smaller packets are sent
+     * uncompressed. Default 1536 (one TCP packet).
+     *
+     * @param minCompressionSize minimum packet size to compress
+     * @return this {@link Builder}
+     */
+    public Builder minCompressionSize(Integer minCompressionSize) {
+      this.minCompressionSize = minCompressionSize;
+      return this;
+    }
+
     /**
      * Set blank table name for metadata (old oracle compatibility)
      *
@@ -3273,6 +3543,42 @@ public class Configuration {
       return this;
     }
 
+    /**
+     * When batch will be executed with bulk command, encode parameters in binary format when
+     * added to batch, in place of keeping parameter objects until batch execution.
+     *
+     * @param encodeBatchOnAdd encode batch on add
+     * @return this {@link Builder}
+     */
+    public Builder encodeBatchOnAdd(Boolean encodeBatchOnAdd) {
+      this.encodeBatchOnAdd = encodeBatchOnAdd;
+      return this;
+    }
+
+    /**
+     * When encoding batch on add, send encoded rows each time this number of rows is reached (0
+     * to disable)
+     *
+     * @param batchFlushRows batch flush row number
+     * @return this {@link Builder}
+     */
+    public Builder batchFlushRows(Integer batchFlushRows) {
+      this.batchFlushRows = batchFlushRows;
+      return this;
+    }
+
+    /**
+     * When encoding batch on add, send encoded rows each time encoded size reaches this size in
+     * bytes (0 to disable)
+     *
+     * @param batchFlushBytes batch flush size in bytes
+     * @return this {@link Builder}
+     */
+    public Builder batchFlushBytes(Integer batchFlushBytes) {
+      this.batchFlushBytes = batchFlushBytes;
+      return this;
+    }
+
     /**
      * Disable pipeline
      *
@@ -3284,6 +3590,30 @@ public class Configuration {
       return this;
     }
 
+    /**
+     * When pipelining commands (batches), maximum number of commands sent before reading
+     * responses of previous commands (0 for no limit).
+     *
+     * @param pipelineWindowSize pipeline window size
+     * @return this {@link Builder}
+     */
+    public Builder pipelineWindowSize(Integer pipelineWindowSize) {
+      this.pipelineWindowSize = pipelineWindowSize;
+      return this;
+    }
+
+    /**
+     * When pipelining commands (batches), maximum size in bytes of commands sent before reading
+     * responses of previous commands (0 for no limit).
+     *
+     * @param pipelineWindowBytes pipeline window size in bytes
+     * @return this {@link Builder}
+     */
+    public Builder pipelineWindowBytes(Integer pipelineWindowBytes) {
+      this.pipelineWindowBytes = pipelineWindowBytes;
+      return this;
+    }
+
     /**
      * Permit to force autocommit connection value
      *
@@ -3550,6 +3880,41 @@ public class Configuration {
       return this;
     }
 
+    /**
+     * Measure response time of each host, and create replica connections to the host with the
+     * best response time (replication and load-balance-read modes only). Scores are exposed by JMX.
+     *
+     * @param hostScoring use host scoring
+     * @return this {@link Builder}
+     */
+    public Builder hostScoring(Boolean hostScoring) {
+      this.hostScoring = hostScoring;
+      return this;
+    }
+
+    /**
+     * Maximum replication lag in seconds of replicas chosen by host scoring. When set, replication
+     * lag is monitored in background.
+     *
+     * @param maxReplicationLag maximum replication lag in seconds, 0 to disable
+     * @return this {@link Builder}
+     */
+    public Builder maxReplicationLag(Integer maxReplicationLag) {
+      this.maxReplicationLag = maxReplicationLag;
+      return this;
+    }
+
+    /**
+     * Interval in milliseconds between replication lag checks.
+     *
+     * @param replicationLagCheckInterval interval in milliseconds
+     * @return this {@link Builder}
+     */
+    public Builder replicationLagCheckInterval(Integer replicationLagCheckInterval) {
+      this.replicationLagCheckInterval = replicationLagCheckInterval;
+      return this;
+    }
+
     /**
      * Create pool if not existing, or get a connection for the pool associate with this connection
      * string if existing.
@@ -3630,6 +3995,44 @@ public class Configuration {
       return this;
     }
 
+    /**
+     * Maximum number of connections the pool creates in parallel, when initializing or when
+     * connections are missing. Default: 1.
+     *
+     * @param poolFillConcurrency maximum number of parallel connection creations
+     * @return this {@link Builder}
+     */
+    public Builder poolFillConcurrency(Integer poolFillConcurrency) {
+      this.poolFillConcurrency = poolFillConcurrency;
+      return this;
+    }
+
+    /**
+     * Must pool initialization wait for "minPoolSize" connections to be created. If disabled,
+     * only one connection is created during initialization, others are created in background.
+     * Creation failures are logged and do not fail initialization, missing connections being
+     * created on demand. Default: true.
+     *
+     * @param poolWarmup wait for pool to be filled on initialization
+     * @return this {@link Builder}
+     */
+    public Builder poolWarmup(Boolean poolWarmup) {
+      this.poolWarmup = poolWarmup;
+      return this;
+    }
+
+    /**
+     * Minimum delay between two connection creations of the pool, to avoid login storms when
+     * many pools refill at the same time. 0 means no delay. Default: 0.
+     *
+     * @param poolFillInterval minimum delay in milliseconds
+     * @return this {@link Builder}
+     */
+    public Builder poolFillInterval(Integer poolFillInterval) {
+      this.poolFillInterval = poolFillInterval;
+      return this;
+    }
+
     /**
      * Indicate that connection returned to pool must be RESETed like having proper connection
      * state.
@@ -3675,6 +4078,57 @@ public class Configuration {
       return this;
     }
 
+    /**
+     * Use a SocketChannel transport: socket data is read in pooled direct buffers, then copied
+     * once to packet arrays, and pipelined commands are sent using gathering writes. Only used for
+     * TCP connections without TLS and without custom socket factory.
+     *
+     * @param useNioChannel use NIO channel transport
+     * @return this {@link Builder}
+     */
+    public Builder useNioChannel(Boolean useNioChannel) {
+      this.useNioChannel = useNioChannel;
+      return this;
+    }
+
+    /**
+     * Store result-set rows packed in large slabs reused by connection, in place of one array
+     * per row. This reduces allocation when reading large result-sets of small rows.
+     *
+     * @param useSlabRowStorage use slab row storage
+     * @return this {@link Builder}
+     */
+    public Builder useSlabRowStorage(Boolean useSlabRowStorage) {
+      this.useSlabRowStorage = useSlabRowStorage;
+      return this;
+    }
+
+    /**
+     * When streaming a forward-only result-set (fetch size set), rows of 16M or more are not loaded
+     * in memory: values are read from socket when requested, and binary/character streams read
+     * large values directly from socket. Columns of such rows must then be read in order.
+     *
+     * @param streamLargeValues stream large values
+     * @return this {@link Builder}
+     */
+    public Builder streamLargeValues(Boolean streamLargeValues) {
+      this.streamLargeValues = streamLargeValues;
+      return this;
+    }
+
+    /**
+     * Cache decoded values of short string columns, returning same String instance for
+     * repeated values, like status or country codes. Cache is disabled automatically for columns
+     * with poor hit rate.
+     *
+     * @param useStringDecodeCache use string decode cache
+     * @return this {@link Builder}
+     */
+    public Builder useStringDecodeCache(Boolean useStringDecodeCache) {
+      this.useStringDecodeCache = useStringDecodeCache;
+      return this;
+    }
+
     /**
      * Cache server prepare result
      *
@@ -19,24 +19,38 @@ import java.sql.Savepoint;
 import java.sql.Struct;
 import java.util.Arrays;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.Properties;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
 import java.util.concurrent.Executor;
 import java.util.concurrent.atomic.AtomicInteger;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 import javax.sql.ConnectionEvent;
 import org.mariadb.jdbc.client.Client;
+import org.mariadb.jdbc.client.ColumnDecoder;
+import org.mariadb.jdbc.client.Completion;
 import org.mariadb.jdbc.client.Context;
-import org.mariadb.jdbc.client.impl.StandardClient;
+import org.mariadb.jdbc.client.impl.ControlChannels;
+import org.mariadb.jdbc.client.result.CompleteResult;
+import org.mariadb.jdbc.client.result.Result;
 import org.mariadb.jdbc.client.util.ClosableLock;
+import org.mariadb.jdbc.codec.Parameter;
 import org.mariadb.jdbc.export.ExceptionFactory;
+import org.mariadb.jdbc.message.ClientMessage;
 import org.mariadb.jdbc.message.client.ChangeDbPacket;
 import org.mariadb.jdbc.message.client.PingPacket;
 import org.mariadb.jdbc.message.client.QueryPacket;
+import org.mariadb.jdbc.message.client.QueryWithParametersPacket;
 import org.mariadb.jdbc.message.client.ResetPacket;
+import org.mariadb.jdbc.message.server.OkPacket;
+import org.mariadb.jdbc.plugin.Codec;
 import org.mariadb.jdbc.plugin.array.FloatArray;
+import org.mariadb.jdbc.util.ClientParser;
 import org.mariadb.jdbc.util.NativeSql;
+import org.mariadb.jdbc.util.ParameterList;
 import org.mariadb.jdbc.util.constants.Capabilities;
 import org.mariadb.jdbc.util.constants.CatalogTerm;
 import org.mariadb.jdbc.util.constants.ConnectionState;
@@ -97,7 +111,7 @@ public class Connection implements java.sql.Connection {
     this.queryTimeoutHandler =
         this.canUseServerTimeout
             ? NoOpQueryTimeoutHandler.INSTANCE
-            : new QueryTimeoutHandlerImpl(this, lock);
+            : new QueryTimeoutHandlerImpl(this);
     this.canUseServerMaxRows =
         context.getVersion().isMariaDBServer()
             && context.getVersion().versionGreaterOrEqual(10, 3, 0);
@@ -116,8 +130,8 @@ public class Connection implements java.sql.Connection {
   }
 
   /**
-   * Cancels the current query - clones the current protocol and executes a query using the new
-   * connection.
+   * Cancels the current query - executes a KILL QUERY command using a control connection to the
+   * same host.
    *
    * @throws SQLException never thrown
    */
@@ -134,9 +148,7 @@ public class Connection implements java.sql.Connection {
             : HostAddress.from(
                 currentIp, client.getHostAddress().port, client.getHostAddress().primary);
 
-    try (Client cli = new StandardClient(conf, hostAddress, new ClosableLock(), true)) {
-      cli.execute(new QueryPacket("KILL QUERY " + client.getContext().getThreadId()), false);
-    }
+    ControlChannels.killQuery(conf, hostAddress, client.getContext().getThreadId());
   }
 
   @Override
@@ -848,6 +860,106 @@ public class Connection implements java.sql.Connection {
     return client;
   }
 
+  /**
+   * Execute a query asynchronously, returning a result-set.
+   *
+   * <p>Query is sent immediately, without waiting for results of previous asynchronous queries, so
+   * many queries can be in flight on one connection. Results are read in sending order, completing
+   * futures in the same order. A synchronous command on this connection first reads all pending
+   * asynchronous results.
+   *
+   * <p>Parameters replace '?' placeholders, and are encoded client side, like a {@link
+   * ClientPreparedStatement}. Result-set is fully loaded, and has no associated statement.
+   * Dependent actions must not wait for a later asynchronous result of the same connection, since
+   * they may be executed by the thread reading results.
+   *
+   * @param sql query
+   * @param parameters parameter values
+   * @return future result-set
+   */
+  public CompletableFuture<ResultSet> executeQueryAsync(String sql, Object... parameters) {
+    return executeAsync(sql, parameters)
+        .thenApply(
+            completions -> {
+              Completion completion = completions.get(0);
+              if (completion instanceof Result) return (Result) completion;
+              if (conf.permitNoResults()) {
+                return new CompleteResult(
+                    new ColumnDecoder[0], new byte[0][], getContext(), ResultSet.TYPE_FORWARD_ONLY);
+              }
+              throw new CompletionException(
+                  new SQLException(
+                      "executeQueryAsync() command does NOT return a result-set as expected. Either"
+                          + " use executeUpdateAsync(), or correct command"));
+            });
+  }
+
+  /**
+   * Execute a command asynchronously, returning the number of affected rows. See {@link
+   * #executeQueryAsync(String, Object...)} for execution details.
+   *
+   * @param sql command
+   * @param parameters parameter values
+   * @return future number of affected rows
+   */
+  public CompletableFuture<Long> executeUpdateAsync(String sql, Object... parameters) {
+    return executeAsync(sql, parameters)
+        .thenApply(
+            completions -> {
+              Completion completion = completions.get(0);
+              if (completion instanceof Result) {
+                throw new CompletionException(
+                    exceptionFactory.create(
+                        "the given SQL statement produces an unexpected ResultSet object",
+                        "HY000"));
+              }
+              return ((OkPacket) completion).getAffectedRows();
+            });
+  }
+
+  private CompletableFuture<List<Completion>> executeAsync(String sql, Object[] parameters) {
+    try {
+      checkNotClosed();
+      ClientMessage message;
+      if (parameters == null || parameters.length == 0) {
+        message = new QueryPacket(sql);
+      } else {
+        boolean noBackslashEscapes =
+            (getContext().getServerStatus() & ServerStatus.NO_BACKSLASH_ESCAPES) > 0;
+        ClientParser parser = ClientParser.parameterParts(sql, noBackslashEscapes);
+        if (parser.getParamCount() != parameters.length) {
+          throw exceptionFactory.create(
+              String.format(
+                  "Query has %s parameter(s), but %s value(s) were given",
+                  parser.getParamCount(), parameters.length),
+              "07004");
+        }
+        ParameterList parameterList = new ParameterList(parameters.length);
+        for (int i = 0; i < parameters.length; i++) {
+          parameterList.set(i, asyncParameter(parameters[i]));
+        }
+        message = new QueryWithParametersPacket(null, parser, parameterList, null);
+      }
+      return client.executeAsync(message);
+    } catch (SQLException e) {
+      CompletableFuture<List<Completion>> failed = new CompletableFuture<>();
+      failed.completeExceptionally(e);
+      return failed;
+    }
+  }
+
+  @SuppressWarnings({"unchecked", "rawtypes"})
+  private org.mariadb.jdbc.client.util.Parameter asyncParameter(Object value)
+      throws SQLException {
+    if (value == null) return Parameter.NULL_PARAMETER;
+    Codec<?> codec = conf.codecDispatcher().encoder(value);
+    if (codec == null) {
+      throw new SQLException(
+          String.format("Type %s not supported type", value.getClass().getName()));
+    }
+    return new Parameter(codec, value);
+  }
+
   /**
    * Reset connection set has it was after creating a "fresh" new connection.
    * defaultTransactionIsolation must have been initialized.
@@ -21,6 +21,7 @@ import org.mariadb.jdbc.message.client.PrepareExecutePacket;
 import org.mariadb.jdbc.message.client.PreparePacket;
 import org.mariadb.jdbc.message.server.OkPacket;
 import org.mariadb.jdbc.message.server.PrepareResultPacket;
+import org.mariadb.jdbc.util.EncodedBatch;
 import org.mariadb.jdbc.util.ParameterList;
 import org.mariadb.jdbc.util.timeout.QueryTimeoutHandler;
 
@@ -171,37 +172,14 @@ public class ServerPreparedStatement extends BasePreparedStatement {
     checkNotClosed();
     String cmd = escapeTimeout(sql);
 
-    // ensure pipelining is possible (no LOAD DATA/XML INFILE commands)
-    boolean possibleLoadLocal = con.getContext().hasClientCapability(LOCAL_FILES);
-    if (possibleLoadLocal) {
-      String sqlUpper = sql.toUpperCase(Locale.ROOT);
-      possibleLoadLocal =
-          sqlUpper.contains(" LOCAL ") && sqlUpper.contains("LOAD") && sqlUpper.contains(" INFILE");
-    }
-
-    if (possibleLoadLocal) {
+    if (possibleLoadLocal()) {
       executeBatchStandard(cmd);
       return BatchTypeState.Normal;
     }
 
-    Configuration conf = con.getContext().getConf();
     parseCommandIfNeeded(sql);
-
-    // a bit complex:
-    // * bulk on INSERT ON DUPLICATE KEY UPDATE can only be use if server permits returning
-    // individual results, since affected rows cannot be guessed
-    // * if RETURN_GENERATED_KEYS is expressly set, can only be use if server permits returning
-    // individual results
-    boolean canUseBulk =
-        con.getContext().hasServerCapability(STMT_BULK_OPERATIONS)
-            && (((clientParser.isInsert()
-                        && ((conf.useBulkStmts() || conf.useBulkStmtsForInserts())
-                            && (con.getContext().hasClientCapability(BULK_UNIT_RESULTS)
-                                || !clientParser.isInsertDuplicate())))
-                    || (!clientParser.isInsert() && conf.useBulkStmts()))
-                && (con.getContext().hasClientCapability(BULK_UNIT_RESULTS)
-                    || autoGeneratedKeys != Statement.RETURN_GENERATED_KEYS));
-    if (canUseBulk && batchParameters.size() > 1 && batchParameters.get(0).size() > 0) {
+    if (batchParameters instanceof EncodedBatch
+        || (canUseBulk() && batchParameters.size() > 1 && batchParameters.get(0).size() > 0)) {
       executeBatchBulk(cmd);
       return BatchTypeState.Bulk;
     } else {
@@ -491,9 +469,12 @@ public class ServerPreparedStatement extends BasePreparedStatement {
   @Override
   public void addBatch() throws SQLException {
     validParameters();
-    if (batchParameters == null) batchParameters = new ArrayList<>();
-    batchParameters.add(parameters);
-    parameters = parameters.clone();
+    parseCommandIfNeeded(sql);
+    addBatchParameters(
+        con.getContext().getConf().encodeBatchOnAdd()
+            && parameters.size() > 0
+            && !possibleLoadLocal()
+            && canUseBulk());
   }
 
   /**
@@ -14,7 +14,9 @@ import org.mariadb.jdbc.client.DataType;
 import org.mariadb.jdbc.client.result.CompleteResult;
 import org.mariadb.jdbc.client.result.Result;
 import org.mariadb.jdbc.client.util.ClosableLock;
+import org.mariadb.jdbc.client.util.LocalInfileProducerStream;
 import org.mariadb.jdbc.export.ExceptionFactory;
+import org.mariadb.jdbc.export.LocalInfileProducer;
 import org.mariadb.jdbc.message.client.QueryPacket;
 import org.mariadb.jdbc.message.server.OkPacket;
 import org.mariadb.jdbc.util.ClientParser;
@@ -114,6 +116,17 @@ public class Statement implements java.sql.Statement {
     localInfileInputStream = inputStream;
   }
 
+  /**
+   * Set current local infile producer, generating LOAD DATA LOCAL INFILE content on the fly,
+   * without temporary file.
+   *
+   * @param producer content producer
+   * @throws SQLException if statement is already closed
+   */
+  public void setLocalInfileProducer(LocalInfileProducer producer) throws SQLException {
+    setLocalInfileInputStream(producer == null ? null : new LocalInfileProducerStream(producer));
+  }
+
   /**
    * Executes the given SQL statement, which returns a single <code>ResultSet</code> object.
    *
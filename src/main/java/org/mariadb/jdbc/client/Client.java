@@ -5,6 +5,7 @@ package org.mariadb.jdbc.client;
 
 import java.sql.SQLException;
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.Executor;
 import org.mariadb.jdbc.HostAddress;
 import org.mariadb.jdbc.export.ExceptionFactory;
@@ -86,6 +87,17 @@ public interface Client extends AutoCloseable {
       boolean canRedo)
       throws SQLException;
 
+  /**
+   * Send client message without waiting for previous asynchronous message results. Results are
+   * read in order, either by a reader task or by next synchronous command, completing returned
+   * future. Result-sets are always fully loaded.
+   *
+   * @param message client message
+   * @return future results
+   * @throws SQLException if message cannot be sent
+   */
+  CompletableFuture<List<Completion>> executeAsync(ClientMessage message) throws SQLException;
+
   /**
    * Read results
    *
@@ -196,4 +208,13 @@ public interface Client extends AutoCloseable {
    * @return Socket current IP
    */
   String getSocketIp();
+
+  /**
+   * Get memory currently held by connection packet buffers. Big buffers are borrowed from a pool
+   * shared by all connections, and given back after sustained small traffic, or when connection is
+   * reset.
+   *
+   * @return buffer memory in bytes
+   */
+  long getBufferMemory();
 }
@@ -127,6 +127,13 @@ public interface Context {
    */
   String getDatabase();
 
+  /**
+   * Get server identifier, permitting to share data between connections to the same server
+   *
+   * @return server key
+   */
+  String getServerKey();
+
   /**
    * set current database context
    *
@@ -299,4 +306,26 @@ public interface Context {
    * server
    */
   void setInitialized();
+
+  /**
+   * Set TLS handshake information
+   *
+   * @param handshakeNanos handshake duration in nanoseconds
+   * @param sessionResumed indicate if TLS session has been resumed
+   */
+  void setTlsHandshake(long handshakeNanos, boolean sessionResumed);
+
+  /**
+   * Get TLS handshake duration
+   *
+   * @return handshake duration in nanoseconds, -1 if connection doesn't use TLS
+   */
+  long getTlsHandshakeNanos();
+
+  /**
+   * Indicate if TLS session has been resumed, avoiding full handshake
+   *
+   * @return true if TLS session has been resumed
+   */
+  boolean isTlsSessionResumed();
 }
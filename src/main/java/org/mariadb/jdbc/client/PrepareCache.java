@@ -6,7 +6,7 @@ package org.mariadb.jdbc.client;
 import org.mariadb.jdbc.BasePreparedStatement;
 import org.mariadb.jdbc.export.Prepare;
 
-/** LRU Prepare cache */
+/** Prepare cache */
 public interface PrepareCache {
 
   /**
@@ -30,4 +30,18 @@ public interface PrepareCache {
 
   /** Reset cache */
   void reset();
+
+  /**
+   * Ratio of lookups that found a cached prepare result
+   *
+   * @return hit ratio, between 0 and 1
+   */
+  double hitRatio();
+
+  /**
+   * Number of prepare results evicted from cache
+   *
+   * @return eviction count
+   */
+  long evictionCount();
 }
@@ -8,6 +8,17 @@ import org.mariadb.jdbc.MariaDbBlob;
 
 /** Packet buffer */
 public final class ReadableByteBuf {
+  // powers of ten exactly represented as double / float
+  private static final double[] DOUBLE_POW10 = {
+    1e0, 1e1, 1e2, 1e3, 1e4, 1e5, 1e6, 1e7, 1e8, 1e9, 1e10, 1e11, 1e12, 1e13, 1e14, 1e15, 1e16,
+    1e17, 1e18, 1e19, 1e20, 1e21, 1e22
+  };
+  private static final float[] FLOAT_POW10 = {
+    1e0f, 1e1f, 1e2f, 1e3f, 1e4f, 1e5f, 1e6f, 1e7f, 1e8f, 1e9f, 1e10f
+  };
+  private static final long MAX_EXACT_DOUBLE = 1L << 53;
+  private static final long MAX_EXACT_FLOAT = 1L << 24;
+
   /** buffer */
   public byte[] buf;
 
@@ -17,6 +28,12 @@ public final class ReadableByteBuf {
   /** row data limit */
   private int limit;
 
+  /** row data start position in buffer */
+  private int offset;
+
+  /** is buffer a shared slab that will be overwritten once released */
+  private boolean shared;
+
   /**
    * Packet buffer constructor
    *
@@ -56,6 +73,38 @@ public final class ReadableByteBuf {
     this.buf = buf;
     this.limit = limit;
     this.pos = pos;
+    this.offset = pos;
+    this.shared = false;
+  }
+
+  /**
+   * Set buffer to a part of a shared slab. Data must be copied by any object that might still
+   * reference it after current row (Blob, Clob, InputStream).
+   *
+   * @param buf slab
+   * @param offset data start position in slab
+   * @param length data length
+   */
+  public void slab(byte[] buf, int offset, int length) {
+    this.buf = buf;
+    this.limit = offset + length;
+    this.pos = offset;
+    this.offset = offset;
+    this.shared = true;
+  }
+
+  /**
+   * Indicate if underlying array is a shared slab.
+   *
+   * @return true if array is shared and will be reused
+   */
+  public boolean shared() {
+    return shared;
+  }
+
+  /** Set position back to data start position */
+  public void rewind() {
+    pos = offset;
   }
 
   public void pos(int pos) {
@@ -90,6 +139,7 @@ public final class ReadableByteBuf {
   }
 
   public MariaDbBlob readBlob(int length) {
+    if (shared) return new MariaDbBlob(readBytes(length));
     pos += length;
     return MariaDbBlob.safeMariaDbBlob(buf, pos - length, length);
   }
@@ -120,6 +170,140 @@ public final class ReadableByteBuf {
     return result;
   }
 
+  /**
+   * Parse ASCII decimal value (like "-123.45") to long, fractional part being truncated, without
+   * allocation. Result is the same as {@code new BigDecimal(str).setScale(0,
+   * RoundingMode.DOWN).longValueExact()}, but only plain decimal notation is supported.
+   *
+   * <p>If value is not in plain decimal notation, or doesn't fit in (Long.MIN_VALUE,
+   * Long.MAX_VALUE], Long.MIN_VALUE is returned and position is unchanged, so caller can fall back
+   * to the generic parser.
+   *
+   * @param length value length
+   * @return long value, or Long.MIN_VALUE if not parsable
+   */
+  public long atolDecimal(int length) {
+    int end = pos + length;
+    int i = pos;
+    boolean negate = false;
+    if (i < end && (buf[i] == '-' || buf[i] == '+')) negate = buf[i++] == '-';
+
+    // accumulate negatively, like Long.parseLong
+    long result = 0;
+    boolean hasDigit = false;
+    for (; i < end && buf[i] >= '0' && buf[i] <= '9'; i++) {
+      hasDigit = true;
+      int digit = buf[i] - '0';
+      if (result < Long.MIN_VALUE / 10 || result * 10 < Long.MIN_VALUE + digit) {
+        return Long.MIN_VALUE;
+      }
+      result = result * 10 - digit;
+    }
+    if (i < end && buf[i] == '.') {
+      for (i++; i < end && buf[i] >= '0' && buf[i] <= '9'; i++) hasDigit = true;
+    }
+    if (!hasDigit || i != end || result == Long.MIN_VALUE) return Long.MIN_VALUE;
+    pos = end;
+    return negate ? result : -result;
+  }
+
+  /**
+   * Parse ASCII decimal or scientific notation value to double. Common values (up to 18
+   * significant digits, mantissa below 2^53 and exponent in [-22, 22]) are parsed without
+   * allocation, with exact floating point operations. Other values fall back to {@link
+   * Double#parseDouble(String)}. Result is always identical to {@link Double#parseDouble(String)}.
+   *
+   * @param length value length
+   * @return double value
+   */
+  public double atod(int length) {
+    return parseFloating(length, false);
+  }
+
+  /**
+   * Parse ASCII decimal or scientific notation value to float. Common values are parsed without
+   * allocation, other values fall back to {@link Float#parseFloat(String)}. Result is always
+   * identical to {@link Float#parseFloat(String)}.
+   *
+   * @param length value length
+   * @return float value
+   */
+  public float atof(int length) {
+    return (float) parseFloating(length, true);
+  }
+
+  private double parseFloating(int length, boolean single) {
+    int end = pos + length;
+    int i = pos;
+    boolean negate = false;
+    if (i < end && (buf[i] == '-' || buf[i] == '+')) negate = buf[i++] == '-';
+
+    long mantissa = 0;
+    int significantDigits = 0;
+    int exponent = 0;
+    boolean hasDigit = false;
+    for (; i < end && buf[i] >= '0' && buf[i] <= '9'; i++) {
+      hasDigit = true;
+      if (mantissa == 0 && buf[i] == '0') continue;
+      if (++significantDigits > 18) return parseFloatingString(length, single);
+      mantissa = mantissa * 10 + buf[i] - '0';
+    }
+    if (i < end && buf[i] == '.') {
+      for (i++; i < end && buf[i] >= '0' && buf[i] <= '9'; i++) {
+        hasDigit = true;
+        exponent--;
+        if (mantissa == 0 && buf[i] == '0') continue;
+        if (++significantDigits > 18) return parseFloatingString(length, single);
+        mantissa = mantissa * 10 + buf[i] - '0';
+      }
+    }
+    if (!hasDigit) return parseFloatingString(length, single);
+
+    if (i < end && (buf[i] == 'e' || buf[i] == 'E')) {
+      i++;
+      boolean negativeExponent = false;
+      if (i < end && (buf[i] == '-' || buf[i] == '+')) negativeExponent = buf[i++] == '-';
+      int exponentStart = i;
+      int exp = 0;
+      for (; i < end && buf[i] >= '0' && buf[i] <= '9'; i++) {
+        if (exp < 10000) exp = exp * 10 + buf[i] - '0';
+      }
+      if (i == exponentStart) return parseFloatingString(length, single);
+      exponent += negativeExponent ? -exp : exp;
+    }
+    if (i != end) return parseFloatingString(length, single);
+
+    double value;
+    if (mantissa == 0) {
+      value = 0;
+    } else if (single) {
+      if (mantissa > MAX_EXACT_FLOAT || exponent < -10 || exponent > 10) {
+        return parseFloatingString(length, single);
+      }
+      // single float operation on exact operands: correctly rounded
+      value =
+          exponent >= 0
+              ? (float) mantissa * FLOAT_POW10[exponent]
+              : (float) mantissa / FLOAT_POW10[-exponent];
+    } else {
+      if (mantissa > MAX_EXACT_DOUBLE || exponent < -22 || exponent > 22) {
+        return parseFloatingString(length, single);
+      }
+      // single double operation on exact operands: correctly rounded
+      value =
+          exponent >= 0
+              ? mantissa * DOUBLE_POW10[exponent]
+              : mantissa / DOUBLE_POW10[-exponent];
+    }
+    pos = end;
+    return negate ? -value : value;
+  }
+
+  private double parseFloatingString(int length, boolean single) {
+    String str = readAscii(length);
+    return single ? Float.parseFloat(str) : Double.parseDouble(str);
+  }
+
   public byte getByte() {
     return buf[pos];
   }
@@ -268,6 +452,13 @@ public final class ReadableByteBuf {
     pos += dst.length;
   }
 
+  public byte[] readBytes(int length) {
+    byte[] dst = new byte[length];
+    System.arraycopy(buf, pos, dst, 0, length);
+    pos += length;
+    return dst;
+  }
+
   public byte[] readBytesNullEnd() {
     int initialPosition = pos;
     int cnt = 0;
@@ -125,6 +125,10 @@ public class BigDecimalColumn extends ColumnDefinitionPacket implements ColumnDe
   @Override
   public byte decodeByteText(final ReadableByteBuf buf, final MutableInt length)
       throws SQLDataException {
+    int pos = buf.pos();
+    long value = buf.atolDecimal(length.get());
+    if ((byte) value == value) return (byte) value;
+    buf.pos(pos);
     String str = buf.readString(length.get());
     try {
       return BigDecimalCodec.parseBigDecimal(str).setScale(0, RoundingMode.DOWN).byteValueExact();
@@ -157,6 +161,10 @@ public class BigDecimalColumn extends ColumnDefinitionPacket implements ColumnDe
   @Override
   public short decodeShortText(final ReadableByteBuf buf, final MutableInt length)
       throws SQLDataException {
+    int pos = buf.pos();
+    long value = buf.atolDecimal(length.get());
+    if ((short) value == value && (value >= 0 || isSigned())) return (short) value;
+    buf.pos(pos);
     long result;
     String str = buf.readString(length.get());
     try {
@@ -179,6 +187,10 @@ public class BigDecimalColumn extends ColumnDefinitionPacket implements ColumnDe
   @Override
   public int decodeIntText(final ReadableByteBuf buf, final MutableInt length)
       throws SQLDataException {
+    int pos = buf.pos();
+    long value = buf.atolDecimal(length.get());
+    if ((int) value == value && (value >= 0 || isSigned())) return (int) value;
+    buf.pos(pos);
     long result;
     String str = buf.readString(length.get());
     try {
@@ -202,6 +214,8 @@ public class BigDecimalColumn extends ColumnDefinitionPacket implements ColumnDe
   @Override
   public long decodeLongText(final ReadableByteBuf buf, final MutableInt length)
       throws SQLDataException {
+    long value = buf.atolDecimal(length.get());
+    if (value != Long.MIN_VALUE) return value;
     String str2 = buf.readAscii(length.get());
     try {
       return BigDecimalCodec.parseBigDecimal(str2).setScale(0, RoundingMode.DOWN).longValueExact();
@@ -213,36 +227,31 @@ public class BigDecimalColumn extends ColumnDefinitionPacket implements ColumnDe
   @Override
   public long decodeLongBinary(final ReadableByteBuf buf, final MutableInt length)
       throws SQLDataException {
-    String str = buf.readString(length.get());
-    try {
-      return BigDecimalCodec.parseBigDecimal(str).setScale(0, RoundingMode.DOWN).longValueExact();
-    } catch (NumberFormatException | ArithmeticException nfe) {
-      throw new SQLDataException(String.format("value '%s' cannot be decoded as Long", str));
-    }
+    return decodeLongText(buf, length);
   }
 
   @Override
   public float decodeFloatText(final ReadableByteBuf buf, final MutableInt length)
       throws SQLDataException {
-    return Float.parseFloat(buf.readAscii(length.get()));
+    return buf.atof(length.get());
   }
 
   @Override
   public float decodeFloatBinary(final ReadableByteBuf buf, final MutableInt length)
       throws SQLDataException {
-    return BigDecimalCodec.parseBigDecimal(buf.readAscii(length.get())).floatValue();
+    return buf.atof(length.get());
   }
 
   @Override
   public double decodeDoubleText(final ReadableByteBuf buf, final MutableInt length)
       throws SQLDataException {
-    return Double.parseDouble(buf.readAscii(length.get()));
+    return buf.atod(length.get());
   }
 
   @Override
   public double decodeDoubleBinary(final ReadableByteBuf buf, final MutableInt length)
       throws SQLDataException {
-    return BigDecimalCodec.parseBigDecimal(buf.readAscii(length.get())).doubleValue();
+    return buf.atod(length.get());
   }
 
   @Override
@@ -85,7 +85,7 @@ public class FloatColumn extends ColumnDefinitionPacket implements ColumnDecoder
   public Object getDefaultText(
       final ReadableByteBuf buf, final MutableInt length, final Context context)
       throws SQLDataException {
-    return Float.parseFloat(buf.readAscii(length.get()));
+    return buf.atof(length.get());
   }
 
   @Override
@@ -111,6 +111,10 @@ public class FloatColumn extends ColumnDefinitionPacket implements ColumnDecoder
   @Override
   public byte decodeByteText(final ReadableByteBuf buf, final MutableInt length)
       throws SQLDataException {
+    int pos = buf.pos();
+    long value = buf.atolDecimal(length.get());
+    if ((byte) value == value && (value >= 0 || isSigned())) return (byte) value;
+    buf.pos(pos);
     long result;
     String str = buf.readString(length.get());
     try {
@@ -153,6 +157,10 @@ public class FloatColumn extends ColumnDefinitionPacket implements ColumnDecoder
   @Override
   public short decodeShortText(final ReadableByteBuf buf, final MutableInt length)
       throws SQLDataException {
+    int pos = buf.pos();
+    long value = buf.atolDecimal(length.get());
+    if ((short) value == value && (value >= 0 || isSigned())) return (short) value;
+    buf.pos(pos);
     long result;
     String str = buf.readString(length.get());
     try {
@@ -180,6 +188,10 @@ public class FloatColumn extends ColumnDefinitionPacket implements ColumnDecoder
   @Override
   public int decodeIntText(final ReadableByteBuf buf, final MutableInt length)
       throws SQLDataException {
+    int pos = buf.pos();
+    long value = buf.atolDecimal(length.get());
+    if ((int) value == value && (value >= 0 || isSigned())) return (int) value;
+    buf.pos(pos);
     long result;
     String str = buf.readString(length.get());
     try {
@@ -209,6 +221,8 @@ public class FloatColumn extends ColumnDefinitionPacket implements ColumnDecoder
   @Override
   public long decodeLongText(final ReadableByteBuf buf, final MutableInt length)
       throws SQLDataException {
+    long value = buf.atolDecimal(length.get());
+    if (value != Long.MIN_VALUE) return value;
     String str2 = buf.readAscii(length.get());
     try {
       return BigDecimalCodec.parseBigDecimal(str2).setScale(0, RoundingMode.DOWN).longValueExact();
@@ -226,7 +240,7 @@ public class FloatColumn extends ColumnDefinitionPacket implements ColumnDecoder
   @Override
   public float decodeFloatText(final ReadableByteBuf buf, final MutableInt length)
       throws SQLDataException {
-    return Float.parseFloat(buf.readAscii(length.get()));
+    return buf.atof(length.get());
   }
 
   @Override
@@ -238,7 +252,7 @@ public class FloatColumn extends ColumnDefinitionPacket implements ColumnDecoder
   @Override
   public double decodeDoubleText(final ReadableByteBuf buf, final MutableInt length)
       throws SQLDataException {
-    return Double.parseDouble(buf.readAscii(length.get()));
+    return buf.atod(length.get());
   }
 
   @Override
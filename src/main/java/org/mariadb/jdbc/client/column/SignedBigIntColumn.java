@@ -208,7 +208,7 @@ public class SignedBigIntColumn extends ColumnDefinitionPacket implements Column
   @Override
   public float decodeFloatText(final ReadableByteBuf buf, final MutableInt length)
       throws SQLDataException {
-    return Float.parseFloat(buf.readAscii(length.get()));
+    return (float) buf.atoll(length.get());
   }
 
   @Override
@@ -220,7 +220,7 @@ public class SignedBigIntColumn extends ColumnDefinitionPacket implements Column
   @Override
   public double decodeDoubleText(final ReadableByteBuf buf, final MutableInt length)
       throws SQLDataException {
-    return Double.parseDouble(buf.readAscii(length.get()));
+    return (double) buf.atoll(length.get());
   }
 
   @Override
@@ -194,7 +194,7 @@ public class SignedIntColumn extends ColumnDefinitionPacket implements ColumnDec
   @Override
   public float decodeFloatText(final ReadableByteBuf buf, final MutableInt length)
       throws SQLDataException {
-    return Float.parseFloat(buf.readAscii(length.get()));
+    return (float) buf.atoll(length.get());
   }
 
   @Override
@@ -206,7 +206,7 @@ public class SignedIntColumn extends ColumnDefinitionPacket implements ColumnDec
   @Override
   public double decodeDoubleText(final ReadableByteBuf buf, final MutableInt length)
       throws SQLDataException {
-    return Double.parseDouble(buf.readAscii(length.get()));
+    return (double) buf.atoll(length.get());
   }
 
   @Override
@@ -185,7 +185,7 @@ public class SignedSmallIntColumn extends ColumnDefinitionPacket implements Colu
   @Override
   public float decodeFloatText(final ReadableByteBuf buf, final MutableInt length)
       throws SQLDataException {
-    return Float.parseFloat(buf.readAscii(length.get()));
+    return (float) buf.atoll(length.get());
   }
 
   @Override
@@ -197,7 +197,7 @@ public class SignedSmallIntColumn extends ColumnDefinitionPacket implements Colu
   @Override
   public double decodeDoubleText(final ReadableByteBuf buf, final MutableInt length)
       throws SQLDataException {
-    return Double.parseDouble(buf.readAscii(length.get()));
+    return (double) buf.atoll(length.get());
   }
 
   @Override
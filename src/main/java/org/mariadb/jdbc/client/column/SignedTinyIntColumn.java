@@ -209,7 +209,7 @@ public class SignedTinyIntColumn extends ColumnDefinitionPacket implements Colum
   @Override
   public float decodeFloatText(final ReadableByteBuf buf, final MutableInt length)
       throws SQLDataException {
-    return Float.parseFloat(buf.readAscii(length.get()));
+    return (float) buf.atoll(length.get());
   }
 
   @Override
@@ -224,7 +224,7 @@ public class SignedTinyIntColumn extends ColumnDefinitionPacket implements Colum
   @Override
   public double decodeDoubleText(final ReadableByteBuf buf, final MutableInt length)
       throws SQLDataException {
-    return Double.parseDouble(buf.readAscii(length.get()));
+    return (double) buf.atoll(length.get());
   }
 
   @Override
@@ -16,6 +16,7 @@ import org.mariadb.jdbc.client.Context;
 import org.mariadb.jdbc.client.DataType;
 import org.mariadb.jdbc.client.ReadableByteBuf;
 import org.mariadb.jdbc.client.util.MutableInt;
+import org.mariadb.jdbc.client.util.StringDecodeCache;
 import org.mariadb.jdbc.message.server.ColumnDefinitionPacket;
 import org.mariadb.jdbc.plugin.codec.BigDecimalCodec;
 import org.mariadb.jdbc.plugin.codec.BigIntegerCodec;
@@ -26,6 +27,7 @@ import org.mariadb.jdbc.util.CharsetEncodingLength;
 /** Column metadata definition */
 public class StringColumn extends ColumnDefinitionPacket implements ColumnDecoder {
   private static final int NULL_LENGTH = -1;
+  private StringDecodeCache decodeCache;
 
   /**
    * VARCHAR/STRING/VARSTRING metadata type decoder
@@ -148,7 +150,7 @@ public class StringColumn extends ColumnDefinitionPacket implements ColumnDecode
       buf.readBytes(arr);
       return arr;
     }
-    return buf.readString(length.get());
+    return readString(buf, length, context);
   }
 
   @Override
@@ -160,6 +162,15 @@ public class StringColumn extends ColumnDefinitionPacket implements ColumnDecode
       buf.readBytes(arr);
       return arr;
     }
+    return readString(buf, length, context);
+  }
+
+  private String readString(
+      final ReadableByteBuf buf, final MutableInt length, final Context context) {
+    if (context.getConf().useStringDecodeCache()) {
+      if (decodeCache == null) decodeCache = new StringDecodeCache();
+      return decodeCache.readString(buf, length.get());
+    }
     return buf.readString(length.get());
   }
 
@@ -207,14 +218,14 @@ public class StringColumn extends ColumnDefinitionPacket implements ColumnDecode
   public String decodeStringText(
       final ReadableByteBuf buf, final MutableInt length, final Calendar cal, final Context context)
       throws SQLDataException {
-    return buf.readString(length.get());
+    return readString(buf, length, context);
   }
 
   @Override
   public String decodeStringBinary(
       final ReadableByteBuf buf, final MutableInt length, final Calendar cal, final Context context)
       throws SQLDataException {
-    return buf.readString(length.get());
+    return readString(buf, length, context);
   }
 
   @Override
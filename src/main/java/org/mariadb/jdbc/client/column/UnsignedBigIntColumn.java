@@ -212,7 +212,8 @@ public class UnsignedBigIntColumn extends ColumnDefinitionPacket implements Colu
   @Override
   public long decodeLongText(final ReadableByteBuf buf, final MutableInt length)
       throws SQLDataException {
-    if (length.get() < 10) return buf.atoull(length.get());
+    // up to 18 digits always fits in a long
+    if (length.get() < 19) return buf.atoull(length.get());
     BigInteger val = new BigInteger(buf.readAscii(length.get()));
     try {
       return val.longValueExact();
@@ -244,7 +245,7 @@ public class UnsignedBigIntColumn extends ColumnDefinitionPacket implements Colu
   @Override
   public float decodeFloatText(final ReadableByteBuf buf, final MutableInt length)
       throws SQLDataException {
-    return Float.parseFloat(buf.readAscii(length.get()));
+    return buf.atof(length.get());
   }
 
   @Override
@@ -261,7 +262,7 @@ public class UnsignedBigIntColumn extends ColumnDefinitionPacket implements Colu
   @Override
   public double decodeDoubleText(final ReadableByteBuf buf, final MutableInt length)
       throws SQLDataException {
-    return Double.parseDouble(buf.readAscii(length.get()));
+    return buf.atod(length.get());
   }
 
   @Override
@@ -203,7 +203,7 @@ public class UnsignedIntColumn extends ColumnDefinitionPacket implements ColumnD
   @Override
   public float decodeFloatText(final ReadableByteBuf buf, final MutableInt length)
       throws SQLDataException {
-    return Float.parseFloat(buf.readAscii(length.get()));
+    return (float) buf.atoll(length.get());
   }
 
   @Override
@@ -215,7 +215,7 @@ public class UnsignedIntColumn extends ColumnDefinitionPacket implements ColumnD
   @Override
   public double decodeDoubleText(final ReadableByteBuf buf, final MutableInt length)
       throws SQLDataException {
-    return Double.parseDouble(buf.readAscii(length.get()));
+    return (double) buf.atoll(length.get());
   }
 
   @Override
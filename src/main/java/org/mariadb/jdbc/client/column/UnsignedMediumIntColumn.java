@@ -207,7 +207,7 @@ public class UnsignedMediumIntColumn extends ColumnDefinitionPacket implements C
   @Override
   public float decodeFloatText(final ReadableByteBuf buf, final MutableInt length)
       throws SQLDataException {
-    return Float.parseFloat(buf.readAscii(length.get()));
+    return (float) buf.atoll(length.get());
   }
 
   @Override
@@ -221,7 +221,7 @@ public class UnsignedMediumIntColumn extends ColumnDefinitionPacket implements C
   @Override
   public double decodeDoubleText(final ReadableByteBuf buf, final MutableInt length)
       throws SQLDataException {
-    return Double.parseDouble(buf.readAscii(length.get()));
+    return (double) buf.atoll(length.get());
   }
 
   @Override
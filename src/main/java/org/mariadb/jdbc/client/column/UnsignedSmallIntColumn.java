@@ -191,7 +191,7 @@ public class UnsignedSmallIntColumn extends ColumnDefinitionPacket implements Co
   @Override
   public float decodeFloatText(final ReadableByteBuf buf, final MutableInt length)
       throws SQLDataException {
-    return Float.parseFloat(buf.readAscii(length.get()));
+    return (float) buf.atoll(length.get());
   }
 
   @Override
@@ -203,7 +203,7 @@ public class UnsignedSmallIntColumn extends ColumnDefinitionPacket implements Co
   @Override
   public double decodeDoubleText(final ReadableByteBuf buf, final MutableInt length)
       throws SQLDataException {
-    return Double.parseDouble(buf.readAscii(length.get()));
+    return (double) buf.atoll(length.get());
   }
 
   @Override
@@ -196,7 +196,7 @@ public class UnsignedTinyIntColumn extends ColumnDefinitionPacket implements Col
   @Override
   public float decodeFloatText(final ReadableByteBuf buf, final MutableInt length)
       throws SQLDataException {
-    return Float.parseFloat(buf.readAscii(length.get()));
+    return (float) buf.atoll(length.get());
   }
 
   @Override
@@ -208,7 +208,7 @@ public class UnsignedTinyIntColumn extends ColumnDefinitionPacket implements Col
   @Override
   public double decodeDoubleText(final ReadableByteBuf buf, final MutableInt length)
       throws SQLDataException {
-    return Double.parseDouble(buf.readAscii(length.get()));
+    return (double) buf.atoll(length.get());
   }
 
   @Override
@@ -41,6 +41,7 @@ public class BaseContext implements Context {
   private final PrepareCache prepareCache;
 
   private final HostAddress hostAddress;
+  private final String serverKey;
 
   /** Server status context */
   protected int serverStatus;
@@ -69,6 +70,9 @@ public class BaseContext implements Context {
 
   private TimeZone connectionTimeZone = null;
 
+  private long tlsHandshakeNanos = -1;
+  private boolean tlsSessionResumed = false;
+
   /**
    * Constructor of connection context
    *
@@ -92,6 +96,7 @@ public class BaseContext implements Context {
       Runnable connectionCloser) {
     this.connectionCloser = connectionCloser;
     this.hostAddress = hostAddress;
+    this.serverKey = hostAddress == null ? "" : hostAddress.toString();
     this.threadId = handshake.getThreadId();
     this.seed = handshake.getSeed();
     this.serverCapabilities = handshake.getCapabilities();
@@ -157,6 +162,10 @@ public class BaseContext implements Context {
     return database;
   }
 
+  public String getServerKey() {
+    return serverKey;
+  }
+
   @Override
   public void setMaxscaleVersion(String maxscaleVersion) {
     this.maxscaleVersion = maxscaleVersion;
@@ -297,4 +306,17 @@ public class BaseContext implements Context {
         ? Calendar.getInstance(connectionTimeZone)
         : Calendar.getInstance();
   }
+
+  public void setTlsHandshake(long handshakeNanos, boolean sessionResumed) {
+    this.tlsHandshakeNanos = handshakeNanos;
+    this.tlsSessionResumed = sessionResumed;
+  }
+
+  public long getTlsHandshakeNanos() {
+    return tlsHandshakeNanos;
+  }
+
+  public boolean isTlsSessionResumed() {
+    return tlsSessionResumed;
+  }
 }
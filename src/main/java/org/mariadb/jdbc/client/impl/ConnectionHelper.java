@@ -8,6 +8,7 @@ import java.lang.reflect.Constructor;
 import java.net.InetSocketAddress;
 import java.net.Socket;
 import java.net.SocketTimeoutException;
+import java.nio.channels.SocketChannel;
 import java.sql.SQLException;
 import java.sql.SQLNonTransientConnectionException;
 import java.sql.SQLTimeoutException;
@@ -92,10 +93,29 @@ public final class ConnectionHelper {
             exp);
       }
     }
+    if (useNioChannel(conf, hostAddress)) {
+      return SocketChannel.open().socket();
+    }
     socketFactory = SocketFactory.getDefault();
     return socketFactory.createSocket();
   }
 
+  /**
+   * Indicate if connection must use NIO channel transport. Option "useNioChannel" is only used for
+   * TCP connections without TLS and without custom socket factory.
+   *
+   * @param conf configuration
+   * @param hostAddress host
+   * @return true if using NIO channel transport
+   */
+  public static boolean useNioChannel(Configuration conf, HostAddress hostAddress) {
+    if (!conf.useNioChannel() || conf.socketFactory() != null || hostAddress == null) return false;
+    SslMode sslMode = hostAddress.sslMode == null ? conf.sslMode() : hostAddress.sslMode;
+    return hostAddress.pipe == null
+        && hostAddress.localSocket == null
+        && sslMode == SslMode.DISABLE;
+  }
+
   /**
    * Connect socket
    *
@@ -0,0 +1,308 @@
+// SPDX-License-Identifier: LGPL-2.1-or-later
+// Copyright (c) 2012-2014 Monty Program Ab
+// Copyright (c) 2015-2026 MariaDB Corporation Ab
+package org.mariadb.jdbc.client.impl;
+
+import java.sql.BatchUpdateException;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.SQLTimeoutException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedDeque;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.mariadb.jdbc.Configuration;
+import org.mariadb.jdbc.HostAddress;
+import org.mariadb.jdbc.client.Client;
+import org.mariadb.jdbc.client.util.ClosableLock;
+import org.mariadb.jdbc.client.util.TimerWheel;
+import org.mariadb.jdbc.message.ClientMessage;
+import org.mariadb.jdbc.message.client.QueryPacket;
+import org.mariadb.jdbc.util.log.Logger;
+import org.mariadb.jdbc.util.log.Loggers;
+
+/**
+ * Control channels, used to send KILL commands.
+ *
+ * <p>Instead of creating a new connection for each KILL command, a few connections by host and
+ * configuration are kept and reused. Connections are created only when needed, and closed after
+ * being idle for {@link #IDLE_TIMEOUT_MS}.
+ *
+ * <p>KILL commands for the same host are queued: a caller send all queued commands pipelined, and
+ * identical pending commands (same kind, same thread id) are executed only once.
+ */
+public final class ControlChannels {
+
+  /** maximum number of connections by host */
+  static final int MAX_CHANNELS = 2;
+
+  /** idle time before closing a control connection */
+  static final long IDLE_TIMEOUT_MS = 60_000;
+
+  private static final Logger logger = Loggers.getLogger(ControlChannels.class);
+  private static final Map<ChannelKey, HostChannel> CHANNELS = new ConcurrentHashMap<>();
+
+  private ControlChannels() {}
+
+  /**
+   * Kill a running query.
+   *
+   * @param conf configuration
+   * @param hostAddress host
+   * @param threadId connection thread id
+   * @throws SQLException if command fails
+   */
+  public static void killQuery(Configuration conf, HostAddress hostAddress, long threadId)
+      throws SQLException {
+    execute(conf, hostAddress, "KILL QUERY " + threadId);
+  }
+
+  /**
+   * Kill a connection.
+   *
+   * @param conf configuration
+   * @param hostAddress host
+   * @param threadId connection thread id
+   * @throws SQLException if command fails
+   */
+  public static void killConnection(Configuration conf, HostAddress hostAddress, long threadId)
+      throws SQLException {
+    execute(conf, hostAddress, "KILL " + threadId);
+  }
+
+  private static void execute(Configuration conf, HostAddress hostAddress, String sql)
+      throws SQLException {
+    HostChannel channel =
+        CHANNELS.computeIfAbsent(new ChannelKey(conf, hostAddress), HostChannel::new);
+    channel.execute(sql);
+  }
+
+  private static final class ChannelKey {
+    private final Configuration conf;
+    private final HostAddress hostAddress;
+
+    ChannelKey(Configuration conf, HostAddress hostAddress) {
+      this.conf = conf;
+      this.hostAddress = hostAddress;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+      if (this == o) return true;
+      if (!(o instanceof ChannelKey)) return false;
+      ChannelKey that = (ChannelKey) o;
+      return conf.equals(that.conf) && Objects.equals(hostAddress, that.hostAddress);
+    }
+
+    @Override
+    public int hashCode() {
+      return Objects.hash(conf, hostAddress);
+    }
+  }
+
+  private static final class IdleClient {
+    final Client client;
+    final long idleSince;
+
+    IdleClient(Client client) {
+      this.client = client;
+      this.idleSince = System.nanoTime();
+    }
+
+    boolean expired(long now) {
+      return now - idleSince > TimeUnit.MILLISECONDS.toNanos(IDLE_TIMEOUT_MS);
+    }
+  }
+
+  private static final class HostChannel {
+    private final ChannelKey key;
+    private final Configuration conf;
+    private final HostAddress hostAddress;
+    // maximum time to wait for a command: connection creation and command execution
+    private final long waitTimeout;
+    private final Map<String, CompletableFuture<Void>> pending = new ConcurrentHashMap<>();
+    private final ConcurrentLinkedQueue<String> queue = new ConcurrentLinkedQueue<>();
+    private final ConcurrentLinkedDeque<IdleClient> idleClients = new ConcurrentLinkedDeque<>();
+    private final AtomicInteger activeSenders = new AtomicInteger();
+    private final AtomicBoolean evictionScheduled = new AtomicBoolean();
+
+    HostChannel(ChannelKey key) {
+      this.key = key;
+      this.conf = key.conf;
+      this.hostAddress = key.hostAddress;
+      this.waitTimeout =
+          conf.socketTimeout() > 0 ? (long) conf.connectTimeout() + conf.socketTimeout() : 0;
+    }
+
+    void execute(String sql) throws SQLException {
+      CompletableFuture<Void> future = new CompletableFuture<>();
+      CompletableFuture<Void> existing = pending.putIfAbsent(sql, future);
+      if (existing != null) {
+        // same command already waiting to be sent
+        future = existing;
+      } else {
+        queue.add(sql);
+      }
+
+      // send queued commands if there is an available channel, otherwise active senders will,
+      // since they check queue again after having finished
+      trySend();
+      try {
+        if (waitTimeout > 0) {
+          future.get(waitTimeout, TimeUnit.MILLISECONDS);
+        } else {
+          future.get();
+        }
+      } catch (TimeoutException e) {
+        throw new SQLTimeoutException("Timeout waiting for " + sql, "HYT00", e);
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+        throw new SQLException("Interrupted while waiting for " + sql, "70100", e);
+      } catch (ExecutionException e) {
+        if (e.getCause() instanceof SQLException) throw (SQLException) e.getCause();
+        throw new SQLException(e.getCause());
+      }
+    }
+
+    private void trySend() {
+      while (!queue.isEmpty()) {
+        int active = activeSenders.get();
+        if (active >= MAX_CHANNELS) return;
+        if (activeSenders.compareAndSet(active, active + 1)) {
+          try {
+            sendQueued();
+          } finally {
+            activeSenders.decrementAndGet();
+          }
+        }
+      }
+    }
+
+    private void sendQueued() {
+      List<String> commands = new ArrayList<>();
+      String sql;
+      while ((sql = queue.poll()) != null) commands.add(sql);
+      if (commands.isEmpty()) return;
+
+      // command can be queued again from now on
+      List<CompletableFuture<Void>> futures = new ArrayList<>(commands.size());
+      for (String cmd : commands) futures.add(pending.remove(cmd));
+
+      Client client = null;
+      try {
+        client = borrow();
+        send(client, commands, futures);
+        release(client);
+      } catch (SQLException e) {
+        if (client != null) close(client);
+        for (CompletableFuture<Void> future : futures) future.completeExceptionally(e);
+        scheduleEviction();
+      }
+    }
+
+    private void send(Client client, List<String> commands, List<CompletableFuture<Void>> futures)
+        throws SQLException {
+      if (commands.size() == 1 || conf.disablePipeline()) {
+        for (int i = 0; i < commands.size(); i++) {
+          try {
+            client.execute(new QueryPacket(commands.get(i)), false);
+            futures.get(i).complete(null);
+          } catch (SQLException e) {
+            if (client.isClosed()) throw e;
+            futures.get(i).completeExceptionally(e);
+          }
+        }
+        return;
+      }
+      ClientMessage[] messages = new ClientMessage[commands.size()];
+      for (int i = 0; i < messages.length; i++) messages[i] = new QueryPacket(commands.get(i));
+      try {
+        client.executePipeline(
+            messages,
+            null,
+            0,
+            0L,
+            ResultSet.CONCUR_READ_ONLY,
+            ResultSet.TYPE_FORWARD_ONLY,
+            false,
+            false);
+        for (CompletableFuture<Void> future : futures) future.complete(null);
+      } catch (SQLException e) {
+        // commands have been executed: never send them again, a KILL would then target the next
+        // query of the connection
+        if (client.isClosed() || !(e instanceof BatchUpdateException)) throw e;
+        // some commands failed (query already finished): results give which ones
+        int[] updateCounts = ((BatchUpdateException) e).getUpdateCounts();
+        SQLException cause = e.getCause() instanceof SQLException ? (SQLException) e.getCause() : e;
+        for (int i = 0; i < messages.length; i++) {
+          if (i < updateCounts.length && updateCounts[i] != Statement.EXECUTE_FAILED) {
+            futures.get(i).complete(null);
+          } else if (cause != null) {
+            futures.get(i).completeExceptionally(cause);
+            cause = null;
+          } else {
+            // only first failure cause is known
+            futures.get(i).completeExceptionally(
+                new SQLException(commands.get(i) + " failed", "HY000"));
+          }
+        }
+      }
+    }
+
+    private Client borrow() throws SQLException {
+      long now = System.nanoTime();
+      IdleClient idle;
+      while ((idle = idleClients.pollFirst()) != null) {
+        if (!idle.expired(now) && !idle.client.isClosed()) return idle.client;
+        close(idle.client);
+      }
+      return new StandardClient(conf, hostAddress, new ClosableLock(), true);
+    }
+
+    private void release(Client client) {
+      idleClients.addFirst(new IdleClient(client));
+      scheduleEviction();
+    }
+
+    private void scheduleEviction() {
+      if (evictionScheduled.compareAndSet(false, true)) {
+        TimerWheel.getInstance().schedule(this::evictIdle, IDLE_TIMEOUT_MS, TimeUnit.MILLISECONDS);
+      }
+    }
+
+    private void evictIdle() {
+      evictionScheduled.set(false);
+      long now = System.nanoTime();
+      // most recently used connections are first
+      IdleClient idle;
+      while ((idle = idleClients.peekLast()) != null && idle.expired(now)) {
+        if (idleClients.removeLastOccurrence(idle)) close(idle.client);
+      }
+      if (!idleClients.isEmpty()) {
+        scheduleEviction();
+      } else if (activeSenders.get() == 0 && queue.isEmpty()) {
+        // no configuration reference kept when unused. Channel might still be in use by a thread
+        // that got it before removal, that will then schedule eviction again of its connections.
+        CHANNELS.remove(key, this);
+      }
+    }
+
+    private void close(Client client) {
+      try {
+        client.close();
+      } catch (SQLException e) {
+        logger.debug("error closing control connection: {}", e.getMessage());
+      }
+    }
+  }
+}
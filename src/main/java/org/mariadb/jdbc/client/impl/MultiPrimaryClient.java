@@ -5,6 +5,7 @@ package org.mariadb.jdbc.client.impl;
 
 import java.sql.*;
 import java.util.*;
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentMap;
 import java.util.concurrent.Executor;
@@ -17,6 +18,7 @@ import org.mariadb.jdbc.client.Context;
 import org.mariadb.jdbc.client.context.RedoContext;
 import org.mariadb.jdbc.client.util.ClosableLock;
 import org.mariadb.jdbc.export.ExceptionFactory;
+import org.mariadb.jdbc.export.HaMode;
 import org.mariadb.jdbc.export.Prepare;
 import org.mariadb.jdbc.message.ClientMessage;
 import org.mariadb.jdbc.message.client.ChangeDbPacket;
@@ -112,8 +114,7 @@ public class MultiPrimaryClient implements Client {
   private Client tryConnectToAvailableHost(boolean readOnly, int retriesLeft) throws SQLException {
     SQLException lastException = null;
     while (retriesLeft > 0) {
-      Optional<HostAddress> host =
-          conf.haMode().getAvailableHost(conf.addresses(), denyList, !readOnly);
+      Optional<HostAddress> host = getAvailableHost(readOnly);
       if (!host.isPresent()) {
         break;
       }
@@ -130,6 +131,24 @@ public class MultiPrimaryClient implements Client {
     return null;
   }
 
+  private Optional<HostAddress> getAvailableHost(boolean readOnly) {
+    if (!readOnly) return conf.haMode().getAvailableHost(conf.addresses(), denyList, true);
+    if (conf.hostScoring()) {
+      HostAddress host =
+          HaMode.getHostWithBestScore(
+              conf.addresses(), denyList, false, conf.maxReplicationLag());
+      if (host != null) return Optional.of(host);
+    }
+    List<HostAddress> hosts =
+        HaMode.withoutLaggingReplicas(conf.addresses(), conf.maxReplicationLag());
+    Optional<HostAddress> host = conf.haMode().getAvailableHost(hosts, denyList, false);
+    if (!host.isPresent() && hosts.size() < conf.addresses().size()) {
+      // all available replicas exceed maximum replication lag
+      return conf.haMode().getAvailableHost(conf.addresses(), denyList, true);
+    }
+    return host;
+  }
+
   private Client tryConnectToDeniedHost(boolean readOnly, int retriesLeft) throws SQLException {
     SQLException lastException = null;
 
@@ -477,6 +496,22 @@ public class MultiPrimaryClient implements Client {
     }
   }
 
+  @Override
+  public CompletableFuture<List<Completion>> executeAsync(ClientMessage message)
+      throws SQLException {
+    if (closed) {
+      throw new SQLNonTransientConnectionException("Connection is closed", "08000", 1220);
+    }
+
+    try {
+      return currentClient.executeAsync(message);
+    } catch (SQLNonTransientConnectionException e) {
+      // pending asynchronous results are lost: reconnect for next commands, without redo
+      reConnect();
+      throw e;
+    }
+  }
+
   @Override
   public List<Completion> executePipeline(
       ClientMessage[] messages,
@@ -645,7 +680,11 @@ public class MultiPrimaryClient implements Client {
 
   @Override
   public void reset() {
-    currentClient.getContext().resetStateFlag();
-    currentClient.getContext().resetPrepareCache();
+    currentClient.reset();
+  }
+
+  @Override
+  public long getBufferMemory() {
+    return currentClient.getBufferMemory();
   }
 }
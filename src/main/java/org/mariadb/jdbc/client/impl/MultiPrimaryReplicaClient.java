@@ -6,11 +6,17 @@ package org.mariadb.jdbc.client.impl;
 import java.sql.SQLException;
 import java.sql.SQLNonTransientConnectionException;
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
 import org.mariadb.jdbc.Configuration;
 import org.mariadb.jdbc.Statement;
 import org.mariadb.jdbc.client.Client;
 import org.mariadb.jdbc.client.Completion;
 import org.mariadb.jdbc.client.util.ClosableLock;
+import org.mariadb.jdbc.client.util.SchedulerProvider;
+import org.mariadb.jdbc.client.util.TimerWheel;
 import org.mariadb.jdbc.export.Prepare;
 import org.mariadb.jdbc.message.ClientMessage;
 import org.mariadb.jdbc.util.log.Logger;
@@ -32,8 +38,9 @@ public class MultiPrimaryReplicaClient extends MultiPrimaryClient {
   private Client replicaClient;
   private Client primaryClient;
   private boolean requestReadOnly;
-  private long nextTryReplica = -1;
-  private long nextTryPrimary = -1;
+  private final HostReconnection primaryReconnection = new HostReconnection(false);
+  private final HostReconnection replicaReconnection = new HostReconnection(true);
+  private final boolean monitorReplicationLag;
 
   /**
    * Constructor
@@ -52,37 +59,144 @@ public class MultiPrimaryReplicaClient extends MultiPrimaryClient {
       replicaClient = connectHost(true, false);
     } catch (SQLException e) {
       replicaClient = null;
-      nextTryReplica = System.currentTimeMillis() + waitTimeout;
+      replicaReconnection.schedule();
     }
+    monitorReplicationLag = conf.hostScoring() && conf.maxReplicationLag() > 0;
+    if (monitorReplicationLag) ReplicationLagMonitor.acquire(conf);
   }
 
-  /** Lazily (re)connect a previously-failed primary/replica. */
+  /**
+   * Use previously-failed primary/replica connection if re-established in background. Never
+   * connects: connection is created by a background task, see {@link HostReconnection}.
+   */
   private void reconnectIfNeeded() {
     if (!closed) {
 
-      // try to reconnect primary
-      if (primaryClient == null && nextTryPrimary < System.currentTimeMillis()) {
-        try {
-          primaryClient = connectHost(false, true);
-          nextTryPrimary = -1;
-        } catch (SQLException e) {
-          nextTryPrimary = System.currentTimeMillis() + waitTimeout;
-        }
+      if (primaryClient == null) {
+        primaryClient = primaryReconnection.take();
       }
 
-      // try to reconnect replica
-      if (replicaClient == null && nextTryReplica < System.currentTimeMillis()) {
-        try {
-          replicaClient = connectHost(true, true);
-          nextTryReplica = -1;
+      if (replicaClient == null) {
+        Client client = replicaReconnection.take();
+        if (client != null) {
+          replicaClient = client;
           if (requestReadOnly) {
-            syncNewState(primaryClient);
+            Client oldClient = currentClient;
             currentClient = replicaClient;
+            try {
+              syncNewState(oldClient);
+            } catch (SQLException e) {
+              // replica cannot be used, continue with previous connection
+              currentClient = oldClient;
+              replicaClient = null;
+              closeQuietly(client);
+              replicaReconnection.schedule();
+            }
           }
+        }
+      }
+    }
+  }
+
+  /** Ensure a background reconnection is scheduled for each failed primary/replica connection. */
+  private void scheduleReconnection() {
+    if (!closed) {
+      if (primaryClient == null) primaryReconnection.schedule();
+      if (replicaClient == null) replicaReconnection.schedule();
+    }
+  }
+
+  private static void closeQuietly(Client client) {
+    try {
+      client.close();
+    } catch (SQLException e) {
+      // eat
+    }
+  }
+
+  /**
+   * Background re-establishment of a primary or replica connection.
+   *
+   * <p>Connection attempts are scheduled every {@link #waitTimeout} milliseconds until one
+   * succeeds, out of the connection lock: new client is then kept ready until the connection
+   * thread takes it, avoiding queries to wait for connection creation (TCP connection, TLS,
+   * authentication) to a host that may still be down.
+   */
+  private final class HostReconnection implements Runnable {
+    private final boolean readOnly;
+    private final AtomicReference<Client> ready = new AtomicReference<>();
+    private final AtomicBoolean pending = new AtomicBoolean();
+    private volatile boolean needed;
+    private volatile boolean cancelled;
+
+    HostReconnection(boolean readOnly) {
+      this.readOnly = readOnly;
+    }
+
+    /** Schedule a connection attempt after {@link #waitTimeout}, if none is pending. */
+    void schedule() {
+      needed = true;
+      if (!cancelled && pending.compareAndSet(false, true)) {
+        // connection is established on async executor, not to hold a timer thread
+        TimerWheel.getInstance()
+            .schedule(
+                () -> SchedulerProvider.getAsyncExecutor().execute(this),
+                waitTimeout,
+                TimeUnit.MILLISECONDS);
+      }
+    }
+
+    @Override
+    public void run() {
+      if (needed && !cancelled) {
+        try {
+          Client previous = ready.getAndSet(connectHost(readOnly, true));
+          if (previous != null) closeQuietly(previous);
+          // connection stays pending until taken
+          if (needed && !cancelled) return;
+          discard();
         } catch (SQLException e) {
-          nextTryReplica = System.currentTimeMillis() + waitTimeout;
+          logger.debug(
+              "background {} reconnection failed: {}",
+              readOnly ? "replica" : "primary",
+              e.getMessage());
         }
       }
+      pending.set(false);
+      if (needed) schedule();
+    }
+
+    /**
+     * Take connection established in background.
+     *
+     * @return connection ready to use, or null if not (yet) re-established
+     */
+    Client take() {
+      Client client = ready.getAndSet(null);
+      if (client != null) {
+        needed = false;
+        pending.set(false);
+      }
+      return client;
+    }
+
+    /** Stop reconnecting, connection having been re-established by connection thread. */
+    void stop() {
+      needed = false;
+      if (discard()) pending.set(false);
+    }
+
+    /** Stop reconnecting definitively, closing any connection established in background. */
+    void cancel() {
+      cancelled = true;
+      stop();
+    }
+
+    private boolean discard() {
+      Client client = ready.getAndSet(null);
+      if (client == null) return false;
+      closeQuietly(client);
+      return true;
     }
   }
 
@@ -114,16 +228,15 @@ public class MultiPrimaryReplicaClient extends MultiPrimaryClient {
       try {
         currentClient = connectHost(requestReadOnly, requestReadOnly);
         if (requestReadOnly) {
-          nextTryReplica = -1;
           replicaClient = currentClient;
+          replicaReconnection.stop();
         } else {
-          nextTryPrimary = -1;
           primaryClient = currentClient;
+          primaryReconnection.stop();
         }
 
       } catch (SQLNonTransientConnectionException e) {
         if (requestReadOnly) {
-          nextTryReplica = System.currentTimeMillis() + waitTimeout;
           if (primaryClient != null) {
             // connector will use primary client until some replica is up
             currentClient = primaryClient;
@@ -133,7 +246,7 @@ public class MultiPrimaryReplicaClient extends MultiPrimaryClient {
             try {
               primaryClient = connectHost(false, false);
               currentClient = primaryClient;
-              nextTryPrimary = -1;
+              primaryReconnection.stop();
             } catch (SQLNonTransientConnectionException ee) {
               closed = true;
               throw new SQLNonTransientConnectionException(
@@ -156,6 +269,7 @@ public class MultiPrimaryReplicaClient extends MultiPrimaryClient {
         }
       }
 
+      scheduleReconnection();
       syncNewState(oldClient);
 
       // if reconnect succeed on replica / use master, no problem, continuing without interruption
@@ -164,6 +278,9 @@ public class MultiPrimaryReplicaClient extends MultiPrimaryClient {
 
     } catch (SQLNonTransientConnectionException sqle) {
       closed = true;
+      primaryReconnection.cancel();
+      replicaReconnection.cancel();
+      if (monitorReplicationLag) ReplicationLagMonitor.release(conf);
       if (replicaClient != null) {
         replicaClient.close();
       }
@@ -194,6 +311,13 @@ public class MultiPrimaryReplicaClient extends MultiPrimaryClient {
         canRedo);
   }
 
+  @Override
+  public CompletableFuture<List<Completion>> executeAsync(ClientMessage message)
+      throws SQLException {
+    reconnectIfNeeded();
+    return super.executeAsync(message);
+  }
+
   @Override
   public List<Completion> executePipeline(
       ClientMessage[] messages,
@@ -241,6 +365,9 @@ public class MultiPrimaryReplicaClient extends MultiPrimaryClient {
   public void close() throws SQLException {
     if (!closed) {
       closed = true;
+      primaryReconnection.cancel();
+      replicaReconnection.cancel();
+      if (monitorReplicationLag) ReplicationLagMonitor.release(conf);
       try {
         if (primaryClient != null) primaryClient.close();
       } catch (SQLException e) {
@@ -256,30 +383,30 @@ public class MultiPrimaryReplicaClient extends MultiPrimaryClient {
     }
   }
 
+  @Override
+  public long getBufferMemory() {
+    Client primary = primaryClient;
+    Client replica = replicaClient;
+    return (primary == null ? 0 : primary.getBufferMemory())
+        + (replica == null ? 0 : replica.getBufferMemory());
+  }
+
   @Override
   public void setReadOnly(boolean readOnly) throws SQLException {
     if (closed) {
       throw new SQLNonTransientConnectionException("Connection is closed", "08000", 1220);
     }
+    reconnectIfNeeded();
     if (readOnly) {
       // changed ?
       if (!requestReadOnly) {
         Client oldCli = currentClient;
+        // without replica, connector will use primary client until replica is re-established
         if (replicaClient != null) {
           currentClient = replicaClient;
           if (oldCli != null && oldCli != currentClient) {
             syncNewState(oldCli);
           }
-        } else if (nextTryReplica < System.currentTimeMillis()) {
-          try {
-            replicaClient = connectHost(true, true);
-            currentClient = replicaClient;
-            if (oldCli != null && oldCli != currentClient) {
-              syncNewState(oldCli);
-            }
-          } catch (SQLException e) {
-            nextTryReplica = System.currentTimeMillis() + waitTimeout;
-          }
         }
       }
     } else {
@@ -291,16 +418,15 @@ public class MultiPrimaryReplicaClient extends MultiPrimaryClient {
           if (oldCli != null && oldCli != currentClient) {
             syncNewState(oldCli);
           }
-        } else if (nextTryPrimary < System.currentTimeMillis()) {
+        } else {
           try {
             primaryClient = connectHost(false, false);
-            nextTryPrimary = -1;
+            primaryReconnection.stop();
             currentClient = primaryClient;
             if (oldCli != null && oldCli != currentClient) {
               syncNewState(oldCli);
             }
           } catch (SQLException e) {
-            nextTryPrimary = System.currentTimeMillis() + waitTimeout;
             throw new SQLNonTransientConnectionException(
                 "Driver has failed to reconnect a primary connection", "08000");
           }
@@ -3,76 +3,57 @@
 // Copyright (c) 2015-2026 MariaDB Corporation Ab
 package org.mariadb.jdbc.client.impl;
 
-import java.util.LinkedHashMap;
-import java.util.Map;
 import org.mariadb.jdbc.BasePreparedStatement;
+import org.mariadb.jdbc.client.util.ClockCache;
 import org.mariadb.jdbc.export.Prepare;
 import org.mariadb.jdbc.message.server.CachedPrepareResultPacket;
 import org.mariadb.jdbc.message.server.PrepareResultPacket;
 
-/** LRU prepare cache */
-public final class PrepareCache extends LinkedHashMap<String, CachedPrepareResultPacket>
-    implements org.mariadb.jdbc.client.PrepareCache {
+/**
+ * Prepare cache. Lookups are lock-free, eviction using CLOCK policy (approximate LRU) : evicted
+ * prepare are closed when not used anymore.
+ */
+public final class PrepareCache implements org.mariadb.jdbc.client.PrepareCache {
 
-  private static final long serialVersionUID = -8922905563713952695L;
-
-  /** cache maximum size */
-  private final int maxSize;
+  private final ClockCache<CachedPrepareResultPacket> cache;
 
   /** client */
-  private final transient StandardClient con;
+  private final StandardClient con;
 
   /**
-   * LRU prepare cache constructor
+   * Prepare cache constructor
    *
    * @param size cache size
    * @param con client
    */
   public PrepareCache(int size, StandardClient con) {
-    super(size, .75f, true);
-    this.maxSize = size;
+    this.cache = new ClockCache<>(size, evicted -> evicted.unCache(con));
     this.con = con;
   }
 
-  @Override
-  public boolean removeEldestEntry(Map.Entry<String, CachedPrepareResultPacket> eldest) {
-    if (this.size() > maxSize) {
-      eldest.getValue().unCache(con);
-      return true;
-    }
-    return false;
-  }
-
-  public synchronized Prepare get(String key, BasePreparedStatement preparedStatement) {
-    CachedPrepareResultPacket prepare = super.get(key);
+  public Prepare get(String key, BasePreparedStatement preparedStatement) {
+    CachedPrepareResultPacket prepare = cache.get(key);
     if (prepare != null && preparedStatement != null) {
       prepare.incrementUse(preparedStatement);
     }
     return prepare;
   }
 
-  public synchronized Prepare put(
-      String key, Prepare result, BasePreparedStatement preparedStatement) {
-    CachedPrepareResultPacket cached = super.get(key);
+  public Prepare put(String key, Prepare result, BasePreparedStatement preparedStatement) {
+    CachedPrepareResultPacket prepare = (CachedPrepareResultPacket) result;
+    if (!prepare.cache()) return null;
+    CachedPrepareResultPacket cached = cache.putIfAbsent(key, prepare);
 
     // if there is already some cached data, return existing cached data
     if (cached != null) {
       cached.incrementUse(preparedStatement);
-      ((CachedPrepareResultPacket) result).unCache(con);
+      prepare.unCache(con);
       return cached;
     }
-
-    if (((CachedPrepareResultPacket) result).cache()) {
-      ((CachedPrepareResultPacket) result).incrementUse(preparedStatement);
-      super.put(key, (CachedPrepareResultPacket) result);
-    }
+    prepare.incrementUse(preparedStatement);
     return null;
   }
 
-  public CachedPrepareResultPacket get(Object key) {
-    throw new IllegalStateException("not available method");
-  }
-
   /**
    * NOT USED
    *
@@ -86,9 +67,25 @@ public final class PrepareCache extends LinkedHashMap<String, CachedPrepareResul
   }
 
   public void reset() {
-    for (CachedPrepareResultPacket prep : values()) {
+    for (CachedPrepareResultPacket prep : cache.clear()) {
       prep.reset();
     }
-    this.clear();
+  }
+
+  /**
+   * Number of cached prepare results
+   *
+   * @return cache size
+   */
+  public int size() {
+    return cache.size();
+  }
+
+  public double hitRatio() {
+    return cache.hitRatio();
+  }
+
+  public long evictionCount() {
+    return cache.evictionCount();
   }
 }
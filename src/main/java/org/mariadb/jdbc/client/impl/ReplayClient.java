@@ -39,8 +39,7 @@ public class ReplayClient extends StandardClient {
   }
 
   @Override
-  public int sendQuery(ClientMessage message) throws SQLException {
-    checkNotClosed();
+  protected int writeMessage(ClientMessage message) throws SQLException {
     try {
       if (message instanceof RedoableClientMessage)
         ((RedoableClientMessage) message).ensureReplayable(context);
@@ -113,6 +112,11 @@ public class ReplayClient extends StandardClient {
     return completions;
   }
 
+  @Override
+  protected void asyncResultsRead(ClientMessage message) {
+    ((RedoContext) context).saveRedo(message);
+  }
+
   /**
    * Replay transaction, re-prepare server command if needed
    *
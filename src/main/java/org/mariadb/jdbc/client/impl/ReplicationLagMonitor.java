@@ -0,0 +1,192 @@
+// SPDX-License-Identifier: LGPL-2.1-or-later
+// Copyright (c) 2012-2014 Monty Program Ab
+// Copyright (c) 2015-2026 MariaDB Corporation Ab
+package org.mariadb.jdbc.client.impl;
+
+import java.sql.ResultSet;
+import java.sql.ResultSetMetaData;
+import java.sql.SQLException;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import org.mariadb.jdbc.Configuration;
+import org.mariadb.jdbc.HostAddress;
+import org.mariadb.jdbc.client.Client;
+import org.mariadb.jdbc.client.Completion;
+import org.mariadb.jdbc.client.ServerVersion;
+import org.mariadb.jdbc.client.util.ClosableLock;
+import org.mariadb.jdbc.client.util.SchedulerProvider;
+import org.mariadb.jdbc.client.util.TimerWheel;
+import org.mariadb.jdbc.export.HostScore;
+import org.mariadb.jdbc.message.client.QueryPacket;
+import org.mariadb.jdbc.util.log.Logger;
+import org.mariadb.jdbc.util.log.Loggers;
+
+/**
+ * Replication lag monitoring of a replica, see {@link Configuration#maxReplicationLag()}.
+ *
+ * <p>One monitor exists by replica, shared by all connections using it: replication lag is read
+ * every {@link Configuration#replicationLagCheckInterval()} milliseconds using a dedicated
+ * connection, and stored in replica {@link HostScore}. Monitor is stopped when no connection use it
+ * anymore.
+ */
+final class ReplicationLagMonitor implements Runnable {
+  private static final Logger logger = Loggers.getLogger(ReplicationLagMonitor.class);
+  private static final Map<HostAddress, ReplicationLagMonitor> monitors = new HashMap<>();
+  private static final ClosableLock lock = new ClosableLock();
+
+  private final Configuration conf;
+  private final HostAddress hostAddress;
+  private final HostScore score;
+  // set while a check is running, so checks slower than interval don't overlap
+  private final AtomicBoolean checking = new AtomicBoolean();
+  private int users;
+  private TimerWheel.Timeout timeout;
+  private volatile Client client;
+  private volatile boolean stopped;
+
+  private ReplicationLagMonitor(Configuration conf, HostAddress hostAddress) {
+    this.conf = conf;
+    this.hostAddress = hostAddress;
+    this.score = HostScore.of(hostAddress);
+  }
+
+  /**
+   * Start monitoring replicas of configuration, if not already monitored.
+   *
+   * @param conf configuration
+   */
+  @SuppressWarnings("try")
+  static void acquire(Configuration conf) {
+    try (ClosableLock ignore = lock.closeableLock()) {
+      for (HostAddress hostAddress : conf.addresses()) {
+        if (!Boolean.FALSE.equals(hostAddress.primary)) continue;
+        ReplicationLagMonitor monitor = monitors.get(hostAddress);
+        if (monitor == null) {
+          monitor = new ReplicationLagMonitor(conf, hostAddress);
+          monitors.put(hostAddress, monitor);
+          monitor.timeout =
+              TimerWheel.getInstance()
+                  .scheduleAtFixedRate(
+                      monitor::trigger,
+                      0,
+                      conf.replicationLagCheckInterval(),
+                      TimeUnit.MILLISECONDS);
+        }
+        monitor.users++;
+      }
+    }
+  }
+
+  /**
+   * Release monitoring of replicas of configuration, stopping monitors not used anymore.
+   *
+   * @param conf configuration
+   */
+  @SuppressWarnings("try")
+  static void release(Configuration conf) {
+    try (ClosableLock ignore = lock.closeableLock()) {
+      for (HostAddress hostAddress : conf.addresses()) {
+        ReplicationLagMonitor monitor = monitors.get(hostAddress);
+        if (monitor != null && --monitor.users == 0) {
+          monitors.remove(hostAddress);
+          monitor.stop();
+        }
+      }
+    }
+  }
+
+  /** Timer task: run check on async executor, not to hold a timer thread during network I/O. */
+  private void trigger() {
+    if (!stopped && checking.compareAndSet(false, true)) {
+      SchedulerProvider.getAsyncExecutor().execute(this);
+    }
+  }
+
+  private void stop() {
+    stopped = true;
+    timeout.cancel();
+    // if a check is running, it will close connection when finished
+    if (checking.compareAndSet(false, true)) {
+      SchedulerProvider.getAsyncExecutor().execute(this::closeClient);
+    }
+  }
+
+  @Override
+  public void run() {
+    try {
+      if (!stopped) check();
+    } finally {
+      checking.set(false);
+    }
+    if (stopped && checking.compareAndSet(false, true)) closeClient();
+  }
+
+  private void check() {
+    try {
+      if (client == null) {
+        client = new StandardClient(conf, hostAddress, new ClosableLock(), true);
+      }
+      score.setReplicationLag(readReplicationLag(client));
+    } catch (SQLException e) {
+      logger.debug("replication lag check failed on {}: {}", hostAddress, e.getMessage());
+      score.setReplicationLag(-1);
+      closeClient();
+    }
+  }
+
+  /**
+   * Read replication lag: maximum lag of all replication channels, Long.MAX_VALUE if replication
+   * is not running, -1 if server is not a replica.
+   *
+   * @param client connection
+   * @return replication lag in seconds
+   * @throws SQLException if any error occurs
+   */
+  static long readReplicationLag(Client client) throws SQLException {
+    ServerVersion version = client.getContext().getVersion();
+    String sql;
+    if (version.isMariaDBServer()) {
+      sql = "SHOW ALL SLAVES STATUS";
+    } else if (version.versionGreaterOrEqual(8, 0, 22)) {
+      sql = "SHOW REPLICA STATUS";
+    } else {
+      sql = "SHOW SLAVE STATUS";
+    }
+    List<Completion> res = client.execute(new QueryPacket(sql), true);
+    ResultSet rs = (ResultSet) res.get(0);
+    int lagIndex = lagColumnIndex(rs.getMetaData());
+    long lag = -1;
+    while (rs.next()) {
+      long channelLag = rs.getLong(lagIndex);
+      if (rs.wasNull()) return Long.MAX_VALUE;
+      lag = Math.max(lag, channelLag);
+    }
+    return lag;
+  }
+
+  private static int lagColumnIndex(ResultSetMetaData meta) throws SQLException {
+    for (int i = 1; i <= meta.getColumnCount(); i++) {
+      String name = meta.getColumnLabel(i);
+      if ("Seconds_Behind_Master".equalsIgnoreCase(name)
+          || "Seconds_Behind_Source".equalsIgnoreCase(name)) {
+        return i;
+      }
+    }
+    throw new SQLException("replication status has no Seconds_Behind_Master column");
+  }
+
+  private void closeClient() {
+    Client cli = client;
+    client = null;
+    if (cli != null) {
+      try {
+        cli.close();
+      } catch (SQLException e) {
+        // eat
+      }
+    }
+  }
+}
@@ -20,6 +20,7 @@ import java.net.URLDecoder;
 import java.nio.charset.StandardCharsets;
 import java.security.MessageDigest;
 import java.security.NoSuchAlgorithmException;
+import java.security.cert.CertificateException;
 import java.sql.ResultSet;
 import java.sql.SQLException;
 import java.sql.SQLNonTransientConnectionException;
@@ -32,14 +33,20 @@ import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
+import java.util.Queue;
 import java.util.TimeZone;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentLinkedQueue;
 import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
 import java.util.function.Consumer;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 import javax.net.ssl.SNIHostName;
 import javax.net.ssl.SSLException;
+import javax.net.ssl.SSLHandshakeException;
 import javax.net.ssl.SSLParameters;
+import javax.net.ssl.SSLSession;
 import javax.net.ssl.SSLSocket;
 import javax.net.ssl.SSLSocketFactory;
 import javax.net.ssl.TrustManager;
@@ -58,12 +65,15 @@ import org.mariadb.jdbc.client.socket.Reader;
 import org.mariadb.jdbc.client.socket.Writer;
 import org.mariadb.jdbc.client.socket.impl.CompressInputStream;
 import org.mariadb.jdbc.client.socket.impl.CompressOutputStream;
+import org.mariadb.jdbc.client.socket.impl.NioChannelStream;
 import org.mariadb.jdbc.client.socket.impl.ReadAheadBufferedStream;
 import org.mariadb.jdbc.client.socket.impl.UnixDomainSocket;
 import org.mariadb.jdbc.client.tls.MariaDbX509DeferredIdentityTrustManager;
 import org.mariadb.jdbc.client.util.ClosableLock;
 import org.mariadb.jdbc.client.util.MutableByte;
+import org.mariadb.jdbc.client.util.SchedulerProvider;
 import org.mariadb.jdbc.export.ExceptionFactory;
+import org.mariadb.jdbc.export.HostScore;
 import org.mariadb.jdbc.export.MaxAllowedPacketException;
 import org.mariadb.jdbc.export.Prepare;
 import org.mariadb.jdbc.export.SslMode;
@@ -112,6 +122,8 @@ public class StandardClient implements Client, AutoCloseable {
   private Configuration conf;
   private AuthenticationPlugin authPlugin;
   private HostAddress hostAddress;
+  // response time measure, when host scoring is enabled
+  private HostScore hostScore;
   private final boolean disablePipeline;
 
   /** connection context */
@@ -128,6 +140,12 @@ public class StandardClient implements Client, AutoCloseable {
   private int socketTimeout;
 
   private final Consumer<String> redirectConsumer = this::redirect;
+  // redirection would change socket while other asynchronous results are pending
+  private static final Consumer<String> NO_REDIRECT = url -> {};
+
+  // asynchronous messages waiting for results, in sending order
+  private final Queue<AsyncResponse> asyncResponses = new ConcurrentLinkedQueue<>();
+  private boolean asyncReaderScheduled;
 
   /**
    * Constructor
@@ -146,6 +164,7 @@ public class StandardClient implements Client, AutoCloseable {
     this.conf = conf;
     this.lock = lock;
     this.hostAddress = hostAddress;
+    this.hostScore = conf.hostScoring() && hostAddress != null ? HostScore.of(hostAddress) : null;
     this.exceptionFactory = new ExceptionFactory(conf, hostAddress);
     this.disablePipeline = conf.disablePipeline();
     this.socketTimeout = conf.socketTimeout();
@@ -162,11 +181,19 @@ public class StandardClient implements Client, AutoCloseable {
   }
 
   private void setupConnection(boolean skipPostCommands) throws SQLException, IOException {
-    OutputStream out = socket.getOutputStream();
-    InputStream in =
-        conf.useReadAheadInput()
-            ? new ReadAheadBufferedStream(socket.getInputStream())
-            : new BufferedInputStream(socket.getInputStream(), 16384);
+    OutputStream out;
+    InputStream in;
+    if (socket.getChannel() != null && ConnectionHelper.useNioChannel(conf, hostAddress)) {
+      NioChannelStream channelStream = new NioChannelStream(socket);
+      out = channelStream.getOutputStream();
+      in = channelStream.getInputStream();
+    } else {
+      out = socket.getOutputStream();
+      in =
+          conf.useReadAheadInput()
+              ? new ReadAheadBufferedStream(socket.getInputStream())
+              : new BufferedInputStream(socket.getInputStream(), 16384);
+    }
     assignStream(out, in, conf, null);
     configureTimeout();
 
@@ -201,7 +228,8 @@ public class StandardClient implements Client, AutoCloseable {
       InputStream in, OutputStream out, long clientCapabilities, long threadId) {
     if ((clientCapabilities & Capabilities.COMPRESS) != 0) {
       assignStream(
-          new CompressOutputStream(out, compressionSequence),
+          new CompressOutputStream(
+              out, compressionSequence, conf.compressionLevel(), conf.minCompressionSize()),
           new CompressInputStream(in, compressionSequence),
           conf,
           threadId);
@@ -266,10 +294,8 @@ public class StandardClient implements Client, AutoCloseable {
       Configuration conf, TlsSocketPlugin socketPlugin, TrustManager[] trustManagers)
       throws SQLException, IOException {
     SSLSocketFactory sslSocketFactory =
-        TlsSocketPlugin.newSslSocketFactory(
-            socketPlugin.getKeyManager(conf, context.getExceptionFactory()),
-            trustManagers,
-            context.getExceptionFactory());
+        socketPlugin.getSocketFactory(
+            conf, context.getExceptionFactory(), hostAddress, trustManagers);
     return socketPlugin.createSocket(socket, sslSocketFactory);
   }
 
@@ -289,11 +315,40 @@ public class StandardClient implements Client, AutoCloseable {
       sslSocket.setSSLParameters(params);
     }
 
-    sslSocket.startHandshake();
-    if (trustManagers.length > 0
-        && trustManagers[0] instanceof MariaDbX509DeferredIdentityTrustManager) {
-      certFingerprint =
-          ((MariaDbX509DeferredIdentityTrustManager) trustManagers[0]).getFingerprint();
+    MariaDbX509DeferredIdentityTrustManager deferredTrustManager =
+        trustManagers.length > 0
+                && trustManagers[0] instanceof MariaDbX509DeferredIdentityTrustManager
+            ? (MariaDbX509DeferredIdentityTrustManager) trustManagers[0]
+            : null;
+    long startMillis = System.currentTimeMillis();
+    long startNanos = System.nanoTime();
+    try {
+      sslSocket.startHandshake();
+      SSLSession session = sslSocket.getSession();
+      if (deferredTrustManager != null) {
+        certFingerprint = deferredTrustManager.getFingerprint(sslSocket);
+        // identity is only validated during authentication: session must not be resumed
+        if (certFingerprint != null) session.invalidate();
+      }
+      // a resumed session has been created by a previous handshake
+      boolean resumed = session.getCreationTime() < startMillis;
+      long handshakeNanos = System.nanoTime() - startNanos;
+      context.setTlsHandshake(handshakeNanos, resumed);
+      if (logger.isDebugEnabled()) {
+        logger.debug(
+            "TLS handshake with {}: {} {}, {}us, session {}",
+            hostAddress,
+            session.getProtocol(),
+            session.getCipherSuite(),
+            TimeUnit.NANOSECONDS.toMicros(handshakeNanos),
+            resumed ? "resumed" : "created");
+      }
+    } catch (CertificateException e) {
+      SSLHandshakeException exception = new SSLHandshakeException(e.getMessage());
+      exception.initCause(e);
+      throw exception;
+    } finally {
+      if (deferredTrustManager != null) deferredTrustManager.release(sslSocket);
     }
   }
 
@@ -670,6 +725,7 @@ public class StandardClient implements Client, AutoCloseable {
             this.socket = redirectClient.socket;
             this.conf = redirectConf;
             this.hostAddress = redirectHostAddress;
+            this.hostScore = redirectClient.hostScore;
             this.context = redirectClient.context;
             this.writer = redirectClient.writer;
             this.reader = redirectClient.reader;
@@ -700,6 +756,7 @@ public class StandardClient implements Client, AutoCloseable {
   /** Closing socket in case of Connection error after socket creation. */
   protected void destroySocket() {
     closed = true;
+    failAsyncResponses();
     try {
       this.reader.close();
     } catch (IOException ee) {
@@ -1045,6 +1102,18 @@ public class StandardClient implements Client, AutoCloseable {
    */
   public int sendQuery(ClientMessage message) throws SQLException {
     checkNotClosed();
+    readPendingAsyncResponses();
+    return writeMessage(message);
+  }
+
+  /**
+   * Write client message to socket
+   *
+   * @param message client message
+   * @return number of command send
+   * @throws SQLException if socket error occurs
+   */
+  protected int writeMessage(ClientMessage message) throws SQLException {
     try {
       if (logger.isDebugEnabled() && message.description() != null) {
         logger.debug("execute query: {}", message.description());
@@ -1097,6 +1166,97 @@ public class StandardClient implements Client, AutoCloseable {
         canRedo);
   }
 
+  @SuppressWarnings("try")
+  public CompletableFuture<List<Completion>> executeAsync(ClientMessage message)
+      throws SQLException {
+    try (ClosableLock ignore = lock.closeableLock()) {
+      checkNotClosed();
+      if (streamStmt != null) {
+        streamStmt.fetchRemaining();
+        streamStmt = null;
+      }
+      AsyncResponse response = new AsyncResponse(message, writeMessage(message));
+      asyncResponses.add(response);
+      if (!asyncReaderScheduled) {
+        asyncReaderScheduled = true;
+        SchedulerProvider.getAsyncExecutor().execute(this::readAsyncResponses);
+      }
+      return response.future;
+    }
+  }
+
+  /**
+   * Reader task: read asynchronous message results, until there is no more pending message. Lock
+   * is released between each message results, permitting new messages to be sent, and futures are
+   * completed without lock.
+   */
+  @SuppressWarnings("try")
+  private void readAsyncResponses() {
+    while (true) {
+      AsyncResponse response;
+      try (ClosableLock ignore = lock.closeableLock()) {
+        response = asyncResponses.poll();
+        if (response == null) {
+          asyncReaderScheduled = false;
+          return;
+        }
+        readAsyncResponse(response);
+      }
+      response.complete();
+    }
+  }
+
+  /**
+   * Read all pending asynchronous message results, before a synchronous command. Lock must be
+   * held.
+   */
+  protected void readPendingAsyncResponses() {
+    AsyncResponse response;
+    while ((response = asyncResponses.poll()) != null) {
+      readAsyncResponse(response);
+      response.complete();
+    }
+  }
+
+  private void readAsyncResponse(AsyncResponse response) {
+    for (int i = 0; i < response.responseNumber; i++) {
+      try {
+        checkNotClosed();
+        do {
+          response.completions.add(
+              readPacket(
+                  null,
+                  response.message,
+                  0,
+                  0L,
+                  ResultSet.CONCUR_READ_ONLY,
+                  ResultSet.TYPE_FORWARD_ONLY,
+                  false,
+                  NO_REDIRECT));
+        } while ((context.getServerStatus() & ServerStatus.MORE_RESULTS_EXISTS) > 0);
+        asyncResultsRead(response.message);
+      } catch (SQLException e) {
+        if (response.error == null) response.error = e;
+        if (closed) return;
+      }
+    }
+  }
+
+  /**
+   * Hook called when asynchronous message results have been read, lock being held.
+   *
+   * @param message client message
+   */
+  protected void asyncResultsRead(ClientMessage message) {}
+
+  private void failAsyncResponses() {
+    AsyncResponse response;
+    while ((response = asyncResponses.poll()) != null) {
+      response.error = exceptionFactory.create("Connection is closed", "08000", 1220);
+      response.complete();
+    }
+  }
+
   public List<Completion> executePipeline(
       ClientMessage[] messages,
       org.mariadb.jdbc.Statement stmt,
@@ -1111,6 +1271,7 @@ public class StandardClient implements Client, AutoCloseable {
     int perMsgCounter = 0;
     int readCounter = 0;
     int[] responseMsg = new int[messages.length];
+    PipelineWindow window = disablePipeline ? null : new PipelineWindow(messages, responseMsg);
     try {
       if (disablePipeline) {
         for (readCounter = 0; readCounter < messages.length; readCounter++) {
@@ -1126,10 +1287,8 @@ public class StandardClient implements Client, AutoCloseable {
                   canRedo));
         }
       } else {
-        for (int i = 0; i < messages.length; i++) {
-          responseMsg[i] = sendQuery(messages[i]);
-        }
         while (readCounter < messages.length) {
+          window.send(readCounter);
           readCounter++;
           for (perMsgCounter = 0; perMsgCounter < responseMsg[readCounter - 1]; perMsgCounter++) {
             results.addAll(
@@ -1167,6 +1326,7 @@ public class StandardClient implements Client, AutoCloseable {
         }
 
         for (int i = readCounter; i < messages.length; i++) {
+          if (window != null && !window.trySend(i)) break;
           for (int j = 0; j < responseMsg[i]; j++) {
             try {
               results.addAll(
@@ -1205,6 +1365,73 @@ public class StandardClient implements Client, AutoCloseable {
     }
   }
 
+  /**
+   * Pipelined messages sent but not read yet. Messages are sent as long as in-flight messages are
+   * under configured pipeline window (number of commands and bytes), so server responses are read
+   * while sending big pipelines, in place of filling socket buffers.
+   */
+  private final class PipelineWindow {
+    private final ClientMessage[] messages;
+    private final int[] responseMsg;
+    private final int maxCommands;
+    private final int maxBytes;
+    // socket bytes sent before each message
+    private final long[] sentBytes;
+    private int sent;
+    private boolean sendFailed;
+
+    PipelineWindow(ClientMessage[] messages, int[] responseMsg) {
+      this.messages = messages;
+      this.responseMsg = responseMsg;
+      this.maxCommands = conf.pipelineWindowSize();
+      this.maxBytes = conf.pipelineWindowBytes();
+      this.sentBytes = maxBytes > 0 ? new long[messages.length + 1] : null;
+    }
+
+    /**
+     * Send messages up to window limit, ensuring next message to be read has been sent.
+     *
+     * @param read number of messages whose responses have been read
+     * @throws SQLException if any error occurs
+     */
+    void send(int read) throws SQLException {
+      while (sent < messages.length && (sent == read || hasRoom(read))) {
+        if (sentBytes != null && sent == 0) sentBytes[0] = writer.getBytesSent();
+        try {
+          responseMsg[sent] = sendQuery(messages[sent]);
+        } catch (SQLException e) {
+          sendFailed = true;
+          throw e;
+        }
+        if (sentBytes != null) sentBytes[sent + 1] = writer.getBytesSent();
+        sent++;
+      }
+    }
+
+    /**
+     * Send messages after an error occurred while reading: remaining messages are still sent, like
+     * when all messages were sent before reading. Nothing is sent anymore after a send error.
+     *
+     * @param read number of messages whose responses have been read
+     * @return true if message at read index has been sent
+     */
+    boolean trySend(int read) {
+      if (!sendFailed) {
+        try {
+          send(read);
+        } catch (SQLException e) {
+          // error will be reported as failed update
+        }
+      }
+      return sent > read;
+    }
+
+    private boolean hasRoom(int read) {
+      if (maxCommands > 0 && sent - read >= maxCommands) return false;
+      return sentBytes == null || sentBytes[sent] - sentBytes[read] < maxBytes;
+    }
+  }
+
   public List<Completion> execute(
       ClientMessage message,
       org.mariadb.jdbc.Statement stmt,
@@ -1215,16 +1442,20 @@ public class StandardClient implements Client, AutoCloseable {
       boolean closeOnCompletion,
       boolean canRedo)
       throws SQLException {
+    long start = hostScore == null ? 0 : System.nanoTime();
     int nbResp = sendQuery(message);
     if (nbResp == 1) {
-      return readResponse(
-          stmt,
-          message,
-          fetchSize,
-          maxRows,
-          resultSetConcurrency,
-          resultSetType,
-          closeOnCompletion);
+      List<Completion> completions =
+          readResponse(
+              stmt,
+              message,
+              fetchSize,
+              maxRows,
+              resultSetConcurrency,
+              resultSetType,
+              closeOnCompletion);
+      if (hostScore != null) hostScore.recordResponseTime(System.nanoTime() - start);
+      return completions;
     } else {
       if (streamStmt != null) {
         streamStmt.fetchRemaining();
@@ -1331,6 +1562,7 @@ public class StandardClient implements Client, AutoCloseable {
 
   public void closePrepare(Prepare prepare) throws SQLException {
     checkNotClosed();
+    readPendingAsyncResponses();
     try {
       new ClosePreparePacket(prepare.getStatementId()).encode(writer, context);
     } catch (IOException ioException) {
@@ -1432,6 +1664,27 @@ public class StandardClient implements Client, AutoCloseable {
       int resultSetType,
       boolean closeOnCompletion)
       throws SQLException {
+    return readPacket(
+        stmt,
+        message,
+        fetchSize,
+        maxRows,
+        resultSetConcurrency,
+        resultSetType,
+        closeOnCompletion,
+        redirectConsumer);
+  }
+
+  private Completion readPacket(
+      org.mariadb.jdbc.Statement stmt,
+      ClientMessage message,
+      int fetchSize,
+      long maxRows,
+      int resultSetConcurrency,
+      int resultSetType,
+      boolean closeOnCompletion,
+      Consumer<String> redirectFct)
+      throws SQLException {
     try {
       boolean traceEnable = logger.isTraceEnabled();
       Completion completion =
@@ -1449,7 +1702,7 @@ public class StandardClient implements Client, AutoCloseable {
               lock,
               traceEnable,
               message,
-              redirectConsumer);
+              redirectFct);
       if (completion instanceof StreamingResult && !((StreamingResult) completion).loaded()) {
         streamStmt = stmt;
         streamMsg = message;
@@ -1529,8 +1782,8 @@ public class StandardClient implements Client, AutoCloseable {
       if (!lockStatus) {
         // lock not available : query is running
         // force end by executing an KILL connection
-        try (StandardClient cli = new StandardClient(conf, hostAddress, new ClosableLock(), true)) {
-          cli.execute(new QueryPacket("KILL " + context.getThreadId()), false);
+        try {
+          ControlChannels.killConnection(conf, hostAddress, context.getThreadId());
         } catch (SQLException e) {
           // eat
         }
@@ -1546,6 +1799,7 @@ public class StandardClient implements Client, AutoCloseable {
       }
       closeSocket();
     }
+    failAsyncResponses();
 
     if (lockStatus) {
       lock.unlock();
@@ -1577,6 +1831,7 @@ public class StandardClient implements Client, AutoCloseable {
       }
       closeSocket();
     }
+    failAsyncResponses();
 
     if (locked) {
       lock.unlock();
@@ -1604,5 +1859,33 @@ public class StandardClient implements Client, AutoCloseable {
   public void reset() {
     context.resetStateFlag();
     context.resetPrepareCache();
+    writer.releaseBuffer();
+    reader.releaseBuffer();
+  }
+
+  @Override
+  public long getBufferMemory() {
+    return (long) writer.bufferSize() + reader.bufferSize();
+  }
+
+  private static final class AsyncResponse {
+    private final ClientMessage message;
+    private final int responseNumber;
+    private final List<Completion> completions = new ArrayList<>(1);
+    private final CompletableFuture<List<Completion>> future = new CompletableFuture<>();
+    private SQLException error;
+
+    AsyncResponse(ClientMessage message, int responseNumber) {
+      this.message = message;
+      this.responseNumber = responseNumber;
+    }
+
+    void complete() {
+      if (error != null) {
+        future.completeExceptionally(error);
+      } else {
+        future.complete(completions);
+      }
+    }
   }
 }
@@ -0,0 +1,276 @@
+// SPDX-License-Identifier: LGPL-2.1-or-later
+// Copyright (c) 2012-2014 Monty Program Ab
+// Copyright (c) 2015-2026 MariaDB Corporation Ab
+package org.mariadb.jdbc.client.result;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import org.mariadb.jdbc.client.ColumnDecoder;
+import org.mariadb.jdbc.client.DataType;
+
+/**
+ * Result-set rows decoded into column vectors, see {@link Result#nextColumnBatch()}.
+ *
+ * <p>Each column is decoded according to its {@link VectorType}:
+ *
+ * <ul>
+ *   <li>{@link VectorType#LONG}: integer columns, values are identical to {@code getLong}
+ *   <li>{@link VectorType#DOUBLE}: FLOAT and DOUBLE columns, values are identical to {@code
+ *       getDouble}
+ *   <li>{@link VectorType#BYTES}: all other columns, as UTF-8 text for temporal columns, raw bytes
+ *       otherwise (DECIMAL values are then exact text representation). Value of row {@code i} is
+ *       located in {@link #bytes(int)} from {@code offsets[i]} to {@code offsets[i + 1]}
+ * </ul>
+ *
+ * <p>Column indexes are 0-based: column 0 is result-set column 1. NULL values are indicated in
+ * {@link #nulls(int)} bitmaps, and have value 0 or an empty byte range.
+ */
+public final class ColumnBatch {
+
+  /** Column vector type */
+  public enum VectorType {
+    /** long[] values */
+    LONG,
+    /** double[] values */
+    DOUBLE,
+    /** offsets and byte[] values */
+    BYTES
+  }
+
+  private final ColumnDecoder[] columns;
+  private final VectorType[] types;
+  private final int rowCount;
+  private final long[][] nulls;
+  private final long[][] longs;
+  private final double[][] doubles;
+  private final int[][] offsets;
+  private final byte[][] bytes;
+
+  /**
+   * Constructor
+   *
+   * @param columns columns metadata
+   * @param rowCount number of rows
+   */
+  public ColumnBatch(ColumnDecoder[] columns, int rowCount) {
+    int columnCount = columns.length;
+    this.columns = columns;
+    this.rowCount = rowCount;
+    this.types = new VectorType[columnCount];
+    this.nulls = new long[columnCount][];
+    this.longs = new long[columnCount][];
+    this.doubles = new double[columnCount][];
+    this.offsets = new int[columnCount][];
+    this.bytes = new byte[columnCount][];
+    int nullWords = (rowCount + 63) >>> 6;
+    for (int i = 0; i < columnCount; i++) {
+      types[i] = vectorType(columns[i].getType());
+      nulls[i] = new long[nullWords];
+      switch (types[i]) {
+        case LONG:
+          longs[i] = new long[rowCount];
+          break;
+        case DOUBLE:
+          doubles[i] = new double[rowCount];
+          break;
+        default:
+          offsets[i] = new int[rowCount + 1];
+          bytes[i] = new byte[Math.max(16, Math.min(rowCount, 4096) * 8)];
+          break;
+      }
+    }
+  }
+
+  /**
+   * Vector type used for a server data type
+   *
+   * @param dataType server data type
+   * @return vector type
+   */
+  public static VectorType vectorType(DataType dataType) {
+    switch (dataType) {
+      case TINYINT:
+      case SMALLINT:
+      case MEDIUMINT:
+      case INTEGER:
+      case BIGINT:
+      case YEAR:
+        return VectorType.LONG;
+      case FLOAT:
+      case DOUBLE:
+        return VectorType.DOUBLE;
+      default:
+        return VectorType.BYTES;
+    }
+  }
+
+  /**
+   * Number of rows
+   *
+   * @return number of rows
+   */
+  public int rowCount() {
+    return rowCount;
+  }
+
+  /**
+   * Number of columns
+   *
+   * @return number of columns
+   */
+  public int columnCount() {
+    return columns.length;
+  }
+
+  /**
+   * Column metadata
+   *
+   * @param column column index, 0 being first
+   * @return column metadata
+   */
+  public ColumnDecoder column(int column) {
+    return columns[column];
+  }
+
+  /**
+   * Column vector type
+   *
+   * @param column column index, 0 being first
+   * @return vector type
+   */
+  public VectorType vectorType(int column) {
+    return types[column];
+  }
+
+  /**
+   * Column NULL bitmap: row {@code i} is NULL if bit {@code i & 63} of word {@code i >>> 6} is set
+   * (same layout as {@link java.util.BitSet#valueOf(long[])}).
+   *
+   * @param column column index, 0 being first
+   * @return NULL bitmap
+   */
+  public long[] nulls(int column) {
+    return nulls[column];
+  }
+
+  /**
+   * Indicate if value is NULL
+   *
+   * @param column column index, 0 being first
+   * @param row row index, 0 being first
+   * @return true if NULL
+   */
+  public boolean isNull(int column, int row) {
+    return (nulls[column][row >>> 6] & (1L << row)) != 0;
+  }
+
+  /**
+   * Column values of a {@link VectorType#LONG} column.
+   *
+   * @param column column index, 0 being first
+   * @return values, or null if column is not a LONG vector
+   */
+  public long[] longs(int column) {
+    return longs[column];
+  }
+
+  /**
+   * Column values of a {@link VectorType#DOUBLE} column.
+   *
+   * @param column column index, 0 being first
+   * @return values, or null if column is not a DOUBLE vector
+   */
+  public double[] doubles(int column) {
+    return doubles[column];
+  }
+
+  /**
+   * Value offsets of a {@link VectorType#BYTES} column, of length rowCount + 1.
+   *
+   * @param column column index, 0 being first
+   * @return offsets, or null if column is not a BYTES vector
+   */
+  public int[] offsets(int column) {
+    return offsets[column];
+  }
+
+  /**
+   * Values of a {@link VectorType#BYTES} column. Array can be bigger than data, data length being
+   * {@code offsets(column)[rowCount()]}.
+   *
+   * @param column column index, 0 being first
+   * @return values, or null if column is not a BYTES vector
+   */
+  public byte[] bytes(int column) {
+    return bytes[column];
+  }
+
+  /**
+   * Decode value of a {@link VectorType#BYTES} column as UTF-8 String.
+   *
+   * @param column column index, 0 being first
+   * @param row row index, 0 being first
+   * @return value, or null if value is NULL
+   */
+  public String getString(int column, int row) {
+    if (isNull(column, row)) return null;
+    int[] off = offsets[column];
+    return new String(bytes[column], off[row], off[row + 1] - off[row], StandardCharsets.UTF_8);
+  }
+
+  /**
+   * Set NULL value. Rows must be set in order.
+   *
+   * @param column column index, 0 being first
+   * @param row row index, 0 being first
+   */
+  public void setNull(int column, int row) {
+    nulls[column][row >>> 6] |= 1L << row;
+    if (types[column] == VectorType.BYTES) {
+      offsets[column][row + 1] = offsets[column][row];
+    }
+  }
+
+  /**
+   * Set value of a {@link VectorType#LONG} column.
+   *
+   * @param column column index, 0 being first
+   * @param row row index, 0 being first
+   * @param value value
+   */
+  public void setLong(int column, int row, long value) {
+    longs[column][row] = value;
+  }
+
+  /**
+   * Set value of a {@link VectorType#DOUBLE} column.
+   *
+   * @param column column index, 0 being first
+   * @param row row index, 0 being first
+   * @param value value
+   */
+  public void setDouble(int column, int row, double value) {
+    doubles[column][row] = value;
+  }
+
+  /**
+   * Set value of a {@link VectorType#BYTES} column. Rows must be set in order.
+   *
+   * @param column column index, 0 being first
+   * @param row row index, 0 being first
+   * @param src source array
+   * @param pos value position in source array
+   * @param length value length
+   */
+  public void setBytes(int column, int row, byte[] src, int pos, int length) {
+    int[] off = offsets[column];
+    int start = off[row];
+    byte[] dst = bytes[column];
+    if (start + length > dst.length) {
+      dst = Arrays.copyOf(dst, Math.max(start + length, dst.length << 1));
+      bytes[column] = dst;
+    }
+    System.arraycopy(src, pos, dst, start, length);
+    off[row + 1] = start + length;
+  }
+}
@@ -69,7 +69,13 @@ public class CompleteResult extends Result {
         0);
     this.mightBeBulkResult = mightBeBulkResult;
 
-    if (maxRows > 0) {
+    if (initSlabStorage(10)) {
+      // rows are read directly into connection slabs
+      do {
+        readNext();
+      } while (!this.loaded && (maxRows <= 0 || this.dataSize < maxRows));
+      if (!this.loaded) skipRemaining();
+    } else if (maxRows > 0) {
       this.data = new byte[10][];
       do {
         readNext(reader.readPacket(traceEnable));
@@ -243,7 +249,7 @@ public class CompleteResult extends Result {
   @Override
   public boolean next() throws SQLException {
     if (rowPointer < dataSize - 1) {
-      setRow(data[++rowPointer]);
+      setRow(++rowPointer);
       return true;
     } else {
       // all data are reads and pointer is after last
@@ -253,6 +259,16 @@ public class CompleteResult extends Result {
     }
   }
 
+  @Override
+  public ColumnBatch nextColumnBatch() throws SQLException {
+    checkClose();
+    int from = rowPointer + 1;
+    if (from >= dataSize) return null;
+    ColumnBatch batch = decodeColumnBatch(from, dataSize);
+    rowPointer = dataSize;
+    return batch;
+  }
+
   @Override
   public boolean streaming() {
     return false;
@@ -269,6 +285,7 @@ public class CompleteResult extends Result {
   @Override
   public void closeFromStmtClose(ClosableLock lock) {
     this.closed = true;
+    releaseSlabs();
   }
 
   @Override
@@ -320,7 +337,7 @@ public class CompleteResult extends Result {
       setNullRowBuf();
       return false;
     }
-    setRow(data[rowPointer]);
+    setRow(rowPointer);
     return true;
   }
 
@@ -332,7 +349,7 @@ public class CompleteResult extends Result {
       setNullRowBuf();
       return false;
     }
-    setRow(data[rowPointer]);
+    setRow(rowPointer);
     return true;
   }
 
@@ -353,13 +370,13 @@ public class CompleteResult extends Result {
 
     if (idx > 0) {
       rowPointer = idx - 1;
-      setRow(data[rowPointer]);
+      setRow(rowPointer);
       return true;
     } else {
       if (dataSize + idx >= 0) {
         // absolute position reverse from ending resultSet
         rowPointer = dataSize + idx;
-        setRow(data[rowPointer]);
+        setRow(rowPointer);
         return true;
       }
       rowPointer = BEFORE_FIRST_POS;
@@ -382,7 +399,7 @@ public class CompleteResult extends Result {
       return false;
     } else {
       rowPointer = newPos;
-      setRow(data[rowPointer]);
+      setRow(rowPointer);
       return true;
     }
   }
@@ -393,7 +410,7 @@ public class CompleteResult extends Result {
     if (rowPointer > BEFORE_FIRST_POS) {
       rowPointer--;
       if (rowPointer != BEFORE_FIRST_POS) {
-        setRow(data[rowPointer]);
+        setRow(rowPointer);
         return true;
       }
     }
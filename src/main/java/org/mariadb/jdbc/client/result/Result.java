@@ -5,19 +5,20 @@ package org.mariadb.jdbc.client.result;
 
 import java.io.IOException;
 import java.io.InputStream;
+import java.io.InputStreamReader;
 import java.io.Reader;
 import java.math.BigDecimal;
 import java.math.BigInteger;
 import java.math.RoundingMode;
 import java.net.URI;
 import java.net.URL;
+import java.nio.charset.StandardCharsets;
 import java.sql.*;
 import java.util.Arrays;
 import java.util.Calendar;
 import java.util.HashMap;
 import java.util.Locale;
 import java.util.Map;
-import org.mariadb.jdbc.Configuration;
 import org.mariadb.jdbc.client.Column;
 import org.mariadb.jdbc.client.ColumnDecoder;
 import org.mariadb.jdbc.client.Completion;
@@ -28,6 +29,8 @@ import org.mariadb.jdbc.client.result.rowdecoder.RowDecoder;
 import org.mariadb.jdbc.client.result.rowdecoder.TextRowDecoder;
 import org.mariadb.jdbc.client.util.ClosableLock;
 import org.mariadb.jdbc.client.util.MutableInt;
+import org.mariadb.jdbc.client.util.SlabArena;
+import org.mariadb.jdbc.client.util.SlabRows;
 import org.mariadb.jdbc.export.ExceptionFactory;
 import org.mariadb.jdbc.message.server.ErrorPacket;
 import org.mariadb.jdbc.plugin.Codec;
@@ -84,6 +87,12 @@ public abstract class Result implements ResultSet, Completion {
   /** rows */
   protected byte[][] data;
 
+  /** rows packed in slabs, in place of data, when slab row storage is enabled */
+  protected SlabRows slabRows;
+
+  /** current row, when read from socket on demand */
+  protected StreamedRow streamedRow;
+
   /** mutable field index */
   protected MutableInt fieldIndex = new MutableInt();
 
@@ -172,6 +181,7 @@ public abstract class Result implements ResultSet, Completion {
     this.rowDecoder = prev.rowDecoder;
     this.nullBitmap = prev.nullBitmap;
     this.data = prev.data;
+    this.slabRows = prev.slabRows;
     this.dataSize = prev.dataSize;
     this.fetchSize = prev.fetchSize;
     this.loaded = prev.loaded;
@@ -216,35 +226,11 @@ public abstract class Result implements ResultSet, Completion {
   protected boolean readNext(byte[] buf) throws IOException, SQLException {
     switch (buf[0]) {
       case (byte) 0xFF:
-        loaded = true;
-        ErrorPacket errorPacket = new ErrorPacket(reader.readableBufFromArray(buf), context);
-        throw exceptionFactory.create(
-            errorPacket.getMessage(), errorPacket.getSqlState(), errorPacket.getErrorCode());
+        throw readErrorPacket(reader.readableBufFromArray(buf));
 
       case (byte) 0xFE:
-        if ((context.isEofDeprecated() && buf.length < 0xFFFFFF)
-            || (!context.isEofDeprecated() && buf.length < 8)) {
-          ReadableByteBuf readBuf = reader.readableBufFromArray(buf);
-          readBuf.skip(); // skip header
-          int serverStatus;
-          int warnings;
-
-          if (!context.isEofDeprecated()) {
-            // EOF_Packet
-            warnings = readBuf.readUnsignedShort();
-            serverStatus = readBuf.readUnsignedShort();
-          } else {
-            // OK_Packet with a 0xFE header
-            readBuf.readLongLengthEncodedNotNull(); // skip update count
-            readBuf.readLongLengthEncodedNotNull(); // skip insert id
-            serverStatus = readBuf.readUnsignedShort();
-            warnings = readBuf.readUnsignedShort();
-          }
-          outputParameter = (serverStatus & ServerStatus.PS_OUT_PARAMETERS) != 0;
-          if ((serverStatus & ServerStatus.MORE_RESULTS_EXISTS) == 0) setBulkResult();
-          context.setServerStatus(serverStatus);
-          context.setWarning(warnings);
-          loaded = true;
+        if (isEndPacket(buf.length)) {
+          readEndPacket(reader.readableBufFromArray(buf));
           return false;
         }
 
@@ -259,6 +245,107 @@ public abstract class Result implements ResultSet, Completion {
     return true;
   }
 
+  /**
+   * Read new row, using slab storage if enabled
+   *
+   * @return true if fully loaded
+   * @throws IOException if any socket error occurs
+   * @throws SQLException for all other type of errors
+   */
+  protected boolean readNext() throws IOException, SQLException {
+    if (slabRows == null) return readNext(reader.readPacket(traceEnable));
+
+    reader.readPacket(slabRows, traceEnable);
+    return readNextSlabRow();
+  }
+
+  /**
+   * Handle packet read in slab storage, left pending.
+   *
+   * @return true if fully loaded
+   * @throws SQLException if packet is an error packet
+   */
+  @SuppressWarnings("fallthrough")
+  protected boolean readNextSlabRow() throws SQLException {
+    byte[] buf = slabRows.pendingBuf();
+    int offset = slabRows.pendingOffset();
+    int length = slabRows.pendingLength();
+    switch (buf[offset]) {
+      case (byte) 0xFF:
+        throw readErrorPacket(reader.readableBufFromArray(buf, offset, length));
+
+      case (byte) 0xFE:
+        if (isEndPacket(length)) {
+          readEndPacket(reader.readableBufFromArray(buf, offset, length));
+          return false;
+        }
+
+        // continue reading rows
+
+      default:
+        slabRows.commit();
+        dataSize++;
+    }
+    return true;
+  }
+
+  private boolean isEndPacket(int packetLength) {
+    return (context.isEofDeprecated() && packetLength < 0xFFFFFF)
+        || (!context.isEofDeprecated() && packetLength < 8);
+  }
+
+  private SQLException readErrorPacket(ReadableByteBuf readBuf) {
+    loaded = true;
+    ErrorPacket errorPacket = new ErrorPacket(readBuf, context);
+    return exceptionFactory.create(
+        errorPacket.getMessage(), errorPacket.getSqlState(), errorPacket.getErrorCode());
+  }
+
+  private void readEndPacket(ReadableByteBuf readBuf) {
+    readBuf.skip(); // skip header
+    int serverStatus;
+    int warnings;
+
+    if (!context.isEofDeprecated()) {
+      // EOF_Packet
+      warnings = readBuf.readUnsignedShort();
+      serverStatus = readBuf.readUnsignedShort();
+    } else {
+      // OK_Packet with a 0xFE header
+      readBuf.readLongLengthEncodedNotNull(); // skip update count
+      readBuf.readLongLengthEncodedNotNull(); // skip insert id
+      serverStatus = readBuf.readUnsignedShort();
+      warnings = readBuf.readUnsignedShort();
+    }
+    outputParameter = (serverStatus & ServerStatus.PS_OUT_PARAMETERS) != 0;
+    if ((serverStatus & ServerStatus.MORE_RESULTS_EXISTS) == 0) setBulkResult();
+    context.setServerStatus(serverStatus);
+    context.setWarning(warnings);
+    loaded = true;
+  }
+
+  /**
+   * Store rows in connection slabs if slab row storage is enabled.
+   *
+   * @param initialCapacity initial row capacity
+   * @return true if rows are stored in slabs
+   */
+  protected boolean initSlabStorage(int initialCapacity) {
+    SlabArena arena = reader.slabArena();
+    if (arena != null) {
+      slabRows = new SlabRows(arena, initialCapacity);
+      return true;
+    }
+    return false;
+  }
+
+  /** Give back row slabs to connection. */
+  protected void releaseSlabs() {
+    if (slabRows != null) {
+      slabRows.release();
+    }
+  }
+
   /** Indicate that result is a bulk result */
   public abstract void setBulkResult();
 
@@ -350,6 +437,38 @@ public abstract class Result implements ResultSet, Completion {
    */
   public abstract void fetchRemaining() throws SQLException;
 
+  /**
+   * Decode rows following current cursor position into column vectors, reading row data directly
+   * without per-row cursor move nor per-value object creation. Result-set must be unwrapped to
+   * access this method: {@code rs.unwrap(Result.class).nextColumnBatch()}.
+   *
+   * <p>A complete result-set returns all remaining rows at once. A streaming result-set returns
+   * successive chunks of fetch size rows. Cursor then moves past decoded rows, without current row
+   * data, so next call returns following rows.
+   *
+   * @return decoded rows, or null if there is no more rows
+   * @throws SQLException if result-set is closed or if any decoding error occurs
+   */
+  public abstract ColumnBatch nextColumnBatch() throws SQLException;
+
+  /**
+   * Decode rows into column vectors
+   *
+   * @param from first row index
+   * @param to last row index, exclusive
+   * @return decoded rows
+   * @throws SQLException if any decoding error occurs
+   */
+  protected ColumnBatch decodeColumnBatch(int from, int to) throws SQLException {
+    ColumnBatch batch = new ColumnBatch(metadataList, to - from);
+    for (int i = from; i < to; i++) {
+      setRow(i);
+      rowDecoder.decodeRow(rowBuf, nullBitmap, metadataList, fieldLength, context, batch, i - from);
+    }
+    setNullRowBuf();
+    return batch;
+  }
+
   /**
    * Is result-set fully loaded or still streaming
    *
@@ -385,6 +504,7 @@ public abstract class Result implements ResultSet, Completion {
       }
     }
     this.closed = true;
+    releaseSlabs();
     if (closeOnCompletion && (context.getServerStatus() & ServerStatus.MORE_RESULTS_EXISTS) == 0) {
       statement.close();
     }
@@ -401,12 +521,14 @@ public abstract class Result implements ResultSet, Completion {
     try (ClosableLock ignore = lock.closeableLock()) {
       this.fetchRemaining();
       this.closed = true;
+      releaseSlabs();
     }
   }
 
   /** Aborting result-set, without any consideration for connection state. */
   public void abort() {
     this.closed = true;
+    releaseSlabs();
   }
 
   /**
@@ -415,7 +537,7 @@ public abstract class Result implements ResultSet, Completion {
    * @return current row RAW data
    */
   protected byte[] getCurrentRowData() {
-    return data[0];
+    return slabRows != null ? slabRows.copyRow(0) : data[0];
   }
 
   /**
@@ -455,6 +577,56 @@ public abstract class Result implements ResultSet, Completion {
     }
   }
 
+  /**
+   * Position row buffer to indicated column value.
+   *
+   * @param index column index (0-based)
+   * @return value length, or NULL_LENGTH
+   * @throws SQLException if value cannot be read
+   */
+  private int position(int index) throws SQLException {
+    if (streamedRow == null) {
+      return rowDecoder.setPosition(index, fieldIndex, maxIndex, rowBuf, nullBitmap, metadataList);
+    }
+    try {
+      return streamedRow.position(index, fieldIndex, rowBuf, nullBitmap);
+    } catch (IOException ioe) {
+      throw exceptionFactory.create("Error while streaming resultSet data", "08000", ioe);
+    }
+  }
+
+  /**
+   * Stream current row value directly from socket, if row is read on demand and column is a BLOB
+   * or TEXT column.
+   *
+   * @param index column index (0-based)
+   * @param text is value read as text
+   * @return true if value can be streamed
+   */
+  private boolean streamable(int index, boolean text) {
+    if (streamedRow == null) return false;
+    ColumnDecoder column = metadataList[index];
+    switch (column.getType()) {
+      case TINYBLOB:
+      case BLOB:
+      case MEDIUMBLOB:
+      case LONGBLOB:
+        return !text || !column.isBinary();
+      default:
+        return false;
+    }
+  }
+
+  private InputStream streamValue(int index) throws SQLException {
+    try {
+      InputStream stream = streamedRow.stream(index, fieldIndex, nullBitmap);
+      fieldLength.set(stream == null ? NULL_LENGTH : 0);
+      return stream;
+    } catch (IOException ioe) {
+      throw exceptionFactory.create("Error while streaming resultSet data", "08000", ioe);
+    }
+  }
+
   /**
    * has last data getter return a null value
    *
@@ -468,9 +640,7 @@ public abstract class Result implements ResultSet, Completion {
   @Override
   public String getString(int columnIndex) throws SQLException {
     checkIndex(columnIndex);
-    fieldLength.set(
-        rowDecoder.setPosition(
-            columnIndex - 1, fieldIndex, maxIndex, rowBuf, nullBitmap, metadataList));
+    fieldLength.set(position(columnIndex - 1));
     if (fieldLength.get() == NULL_LENGTH) {
       return null;
     }
@@ -480,9 +650,7 @@ public abstract class Result implements ResultSet, Completion {
   @Override
   public boolean getBoolean(int columnIndex) throws SQLException {
     checkIndex(columnIndex);
-    fieldLength.set(
-        rowDecoder.setPosition(
-            columnIndex - 1, fieldIndex, maxIndex, rowBuf, nullBitmap, metadataList));
+    fieldLength.set(position(columnIndex - 1));
     if (fieldLength.get() == NULL_LENGTH) {
       return false;
     }
@@ -492,9 +660,7 @@ public abstract class Result implements ResultSet, Completion {
   @Override
   public byte getByte(int columnIndex) throws SQLException {
     checkIndex(columnIndex);
-    fieldLength.set(
-        rowDecoder.setPosition(
-            columnIndex - 1, fieldIndex, maxIndex, rowBuf, nullBitmap, metadataList));
+    fieldLength.set(position(columnIndex - 1));
     if (fieldLength.get() == NULL_LENGTH) {
       return 0;
     }
@@ -504,9 +670,7 @@ public abstract class Result implements ResultSet, Completion {
   @Override
   public short getShort(int columnIndex) throws SQLException {
     checkIndex(columnIndex);
-    fieldLength.set(
-        rowDecoder.setPosition(
-            columnIndex - 1, fieldIndex, maxIndex, rowBuf, nullBitmap, metadataList));
+    fieldLength.set(position(columnIndex - 1));
     if (fieldLength.get() == NULL_LENGTH) {
       return 0;
     }
@@ -516,9 +680,7 @@ public abstract class Result implements ResultSet, Completion {
   @Override
   public int getInt(int columnIndex) throws SQLException {
     checkIndex(columnIndex);
-    fieldLength.set(
-        rowDecoder.setPosition(
-            columnIndex - 1, fieldIndex, maxIndex, rowBuf, nullBitmap, metadataList));
+    fieldLength.set(position(columnIndex - 1));
     if (fieldLength.get() == NULL_LENGTH) {
       return 0;
     }
@@ -528,9 +690,7 @@ public abstract class Result implements ResultSet, Completion {
   @Override
   public long getLong(int columnIndex) throws SQLException {
     checkIndex(columnIndex);
-    fieldLength.set(
-        rowDecoder.setPosition(
-            columnIndex - 1, fieldIndex, maxIndex, rowBuf, nullBitmap, metadataList));
+    fieldLength.set(position(columnIndex - 1));
     if (fieldLength.get() == NULL_LENGTH) {
       return 0L;
     }
@@ -547,9 +707,7 @@ public abstract class Result implements ResultSet, Completion {
    */
   public BigInteger getBigInteger(int columnIndex) throws SQLException {
     checkIndex(columnIndex);
-    fieldLength.set(
-        rowDecoder.setPosition(
-            columnIndex - 1, fieldIndex, maxIndex, rowBuf, nullBitmap, metadataList));
+    fieldLength.set(position(columnIndex - 1));
     if (fieldLength.get() == NULL_LENGTH) {
       return null;
     }
@@ -578,9 +736,7 @@ public abstract class Result implements ResultSet, Completion {
   @Override
   public float getFloat(int columnIndex) throws SQLException {
     checkIndex(columnIndex);
-    fieldLength.set(
-        rowDecoder.setPosition(
-            columnIndex - 1, fieldIndex, maxIndex, rowBuf, nullBitmap, metadataList));
+    fieldLength.set(position(columnIndex - 1));
     if (fieldLength.get() == NULL_LENGTH) {
       return 0F;
     }
@@ -590,9 +746,7 @@ public abstract class Result implements ResultSet, Completion {
   @Override
   public double getDouble(int columnIndex) throws SQLException {
     checkIndex(columnIndex);
-    fieldLength.set(
-        rowDecoder.setPosition(
-            columnIndex - 1, fieldIndex, maxIndex, rowBuf, nullBitmap, metadataList));
+    fieldLength.set(position(columnIndex - 1));
     if (fieldLength.get() == NULL_LENGTH) {
       return 0D;
     }
@@ -603,9 +757,7 @@ public abstract class Result implements ResultSet, Completion {
   @Deprecated
   public BigDecimal getBigDecimal(int columnIndex, int scale) throws SQLException {
     checkIndex(columnIndex);
-    fieldLength.set(
-        rowDecoder.setPosition(
-            columnIndex - 1, fieldIndex, maxIndex, rowBuf, nullBitmap, metadataList));
+    fieldLength.set(position(columnIndex - 1));
     if (fieldLength.get() == NULL_LENGTH) {
       return null;
     }
@@ -625,9 +777,7 @@ public abstract class Result implements ResultSet, Completion {
   @Override
   public byte[] getBytes(int columnIndex) throws SQLException {
     checkIndex(columnIndex);
-    fieldLength.set(
-        rowDecoder.setPosition(
-            columnIndex - 1, fieldIndex, maxIndex, rowBuf, nullBitmap, metadataList));
+    fieldLength.set(position(columnIndex - 1));
     if (fieldLength.get() == NULL_LENGTH) {
       return null;
     }
@@ -638,9 +788,7 @@ public abstract class Result implements ResultSet, Completion {
   @Override
   public Date getDate(int columnIndex) throws SQLException {
     checkIndex(columnIndex);
-    fieldLength.set(
-        rowDecoder.setPosition(
-            columnIndex - 1, fieldIndex, maxIndex, rowBuf, nullBitmap, metadataList));
+    fieldLength.set(position(columnIndex - 1));
     if (fieldLength.get() == NULL_LENGTH) {
       return null;
     }
@@ -650,9 +798,7 @@ public abstract class Result implements ResultSet, Completion {
   @Override
   public Time getTime(int columnIndex) throws SQLException {
     checkIndex(columnIndex);
-    fieldLength.set(
-        rowDecoder.setPosition(
-            columnIndex - 1, fieldIndex, maxIndex, rowBuf, nullBitmap, metadataList));
+    fieldLength.set(position(columnIndex - 1));
     if (fieldLength.get() == NULL_LENGTH) {
       return null;
     }
@@ -662,9 +808,7 @@ public abstract class Result implements ResultSet, Completion {
   @Override
   public Timestamp getTimestamp(int columnIndex) throws SQLException {
     checkIndex(columnIndex);
-    fieldLength.set(
-        rowDecoder.setPosition(
-            columnIndex - 1, fieldIndex, maxIndex, rowBuf, nullBitmap, metadataList));
+    fieldLength.set(position(columnIndex - 1));
     if (fieldLength.get() == NULL_LENGTH) {
       return null;
     }
@@ -675,9 +819,8 @@ public abstract class Result implements ResultSet, Completion {
   @Override
   public InputStream getAsciiStream(int columnIndex) throws SQLException {
     checkIndex(columnIndex);
-    fieldLength.set(
-        rowDecoder.setPosition(
-            columnIndex - 1, fieldIndex, maxIndex, rowBuf, nullBitmap, metadataList));
+    if (streamable(columnIndex - 1, false)) return streamValue(columnIndex - 1);
+    fieldLength.set(position(columnIndex - 1));
     if (fieldLength.get() == NULL_LENGTH) {
       return null;
     }
@@ -689,9 +832,8 @@ public abstract class Result implements ResultSet, Completion {
   @Deprecated
   public InputStream getUnicodeStream(int columnIndex) throws SQLException {
     checkIndex(columnIndex);
-    fieldLength.set(
-        rowDecoder.setPosition(
-            columnIndex - 1, fieldIndex, maxIndex, rowBuf, nullBitmap, metadataList));
+    if (streamable(columnIndex - 1, false)) return streamValue(columnIndex - 1);
+    fieldLength.set(position(columnIndex - 1));
     if (fieldLength.get() == NULL_LENGTH) {
       return null;
     }
@@ -702,9 +844,8 @@ public abstract class Result implements ResultSet, Completion {
   @Override
   public InputStream getBinaryStream(int columnIndex) throws SQLException {
     checkIndex(columnIndex);
-    fieldLength.set(
-        rowDecoder.setPosition(
-            columnIndex - 1, fieldIndex, maxIndex, rowBuf, nullBitmap, metadataList));
+    if (streamable(columnIndex - 1, false)) return streamValue(columnIndex - 1);
+    fieldLength.set(position(columnIndex - 1));
     if (fieldLength.get() == NULL_LENGTH) {
       return null;
     }
@@ -822,9 +963,7 @@ public abstract class Result implements ResultSet, Completion {
   @Override
   public Object getObject(int columnIndex) throws SQLException {
     checkIndex(columnIndex);
-    fieldLength.set(
-        rowDecoder.setPosition(
-            columnIndex - 1, fieldIndex, maxIndex, rowBuf, nullBitmap, metadataList));
+    fieldLength.set(position(columnIndex - 1));
     if (fieldLength.get() == NULL_LENGTH) {
       return null;
     }
@@ -839,9 +978,11 @@ public abstract class Result implements ResultSet, Completion {
   @Override
   public Reader getCharacterStream(int columnIndex) throws SQLException {
     checkIndex(columnIndex);
-    fieldLength.set(
-        rowDecoder.setPosition(
-            columnIndex - 1, fieldIndex, maxIndex, rowBuf, nullBitmap, metadataList));
+    if (streamable(columnIndex - 1, true)) {
+      InputStream stream = streamValue(columnIndex - 1);
+      return stream == null ? null : new InputStreamReader(stream, StandardCharsets.UTF_8);
+    }
+    fieldLength.set(position(columnIndex - 1));
     if (fieldLength.get() == NULL_LENGTH) {
       return null;
     }
@@ -857,9 +998,7 @@ public abstract class Result implements ResultSet, Completion {
   @Override
   public BigDecimal getBigDecimal(int columnIndex) throws SQLException {
     checkIndex(columnIndex);
-    fieldLength.set(
-        rowDecoder.setPosition(
-            columnIndex - 1, fieldIndex, maxIndex, rowBuf, nullBitmap, metadataList));
+    fieldLength.set(position(columnIndex - 1));
     if (fieldLength.get() == NULL_LENGTH) {
       return null;
     }
@@ -940,6 +1079,20 @@ public abstract class Result implements ResultSet, Completion {
     fieldIndex.set(-1);
   }
 
+  /**
+   * set row decoder to indicated row
+   *
+   * @param index row index
+   */
+  protected void setRow(int index) {
+    if (slabRows != null) {
+      slabRows.setRow(index, rowBuf);
+      fieldIndex.set(-1);
+    } else {
+      setRow(data[index]);
+    }
+  }
+
   @Override
   public abstract boolean absolute(int row) throws SQLException;
 
@@ -1247,9 +1400,7 @@ public abstract class Result implements ResultSet, Completion {
   @Override
   public Blob getBlob(int columnIndex) throws SQLException {
     checkIndex(columnIndex);
-    fieldLength.set(
-        rowDecoder.setPosition(
-            columnIndex - 1, fieldIndex, maxIndex, rowBuf, nullBitmap, metadataList));
+    fieldLength.set(position(columnIndex - 1));
     if (fieldLength.get() == NULL_LENGTH) {
       return null;
     }
@@ -1260,9 +1411,7 @@ public abstract class Result implements ResultSet, Completion {
   @Override
   public Clob getClob(int columnIndex) throws SQLException {
     checkIndex(columnIndex);
-    fieldLength.set(
-        rowDecoder.setPosition(
-            columnIndex - 1, fieldIndex, maxIndex, rowBuf, nullBitmap, metadataList));
+    fieldLength.set(position(columnIndex - 1));
     if (fieldLength.get() == NULL_LENGTH) {
       return null;
     }
@@ -1273,9 +1422,7 @@ public abstract class Result implements ResultSet, Completion {
   @Override
   public Array getArray(int columnIndex) throws SQLException {
     checkIndex(columnIndex);
-    fieldLength.set(
-        rowDecoder.setPosition(
-            columnIndex - 1, fieldIndex, maxIndex, rowBuf, nullBitmap, metadataList));
+    fieldLength.set(position(columnIndex - 1));
     if (fieldLength.get() == NULL_LENGTH) {
       return null;
     }
@@ -1323,9 +1470,7 @@ public abstract class Result implements ResultSet, Completion {
   @Override
   public Date getDate(int columnIndex, Calendar cal) throws SQLException {
     checkIndex(columnIndex);
-    fieldLength.set(
-        rowDecoder.setPosition(
-            columnIndex - 1, fieldIndex, maxIndex, rowBuf, nullBitmap, metadataList));
+    fieldLength.set(position(columnIndex - 1));
     if (fieldLength.get() == NULL_LENGTH) {
       return null;
     }
@@ -1340,9 +1485,7 @@ public abstract class Result implements ResultSet, Completion {
   @Override
   public Time getTime(int columnIndex, Calendar cal) throws SQLException {
     checkIndex(columnIndex);
-    fieldLength.set(
-        rowDecoder.setPosition(
-            columnIndex - 1, fieldIndex, maxIndex, rowBuf, nullBitmap, metadataList));
+    fieldLength.set(position(columnIndex - 1));
     if (fieldLength.get() == NULL_LENGTH) {
       return null;
     }
@@ -1357,9 +1500,7 @@ public abstract class Result implements ResultSet, Completion {
   @Override
   public Timestamp getTimestamp(int columnIndex, Calendar cal) throws SQLException {
     checkIndex(columnIndex);
-    fieldLength.set(
-        rowDecoder.setPosition(
-            columnIndex - 1, fieldIndex, maxIndex, rowBuf, nullBitmap, metadataList));
+    fieldLength.set(position(columnIndex - 1));
     if (fieldLength.get() == NULL_LENGTH) {
       return null;
     }
@@ -1375,9 +1516,7 @@ public abstract class Result implements ResultSet, Completion {
   @Override
   public URL getURL(int columnIndex) throws SQLException {
     checkIndex(columnIndex);
-    fieldLength.set(
-        rowDecoder.setPosition(
-            columnIndex - 1, fieldIndex, maxIndex, rowBuf, nullBitmap, metadataList));
+    fieldLength.set(position(columnIndex - 1));
     if (fieldLength.get() == NULL_LENGTH) {
       return null;
     }
@@ -1497,9 +1636,7 @@ public abstract class Result implements ResultSet, Completion {
   @Override
   public NClob getNClob(int columnIndex) throws SQLException {
     checkIndex(columnIndex);
-    fieldLength.set(
-        rowDecoder.setPosition(
-            columnIndex - 1, fieldIndex, maxIndex, rowBuf, nullBitmap, metadataList));
+    fieldLength.set(position(columnIndex - 1));
     if (fieldLength.get() == NULL_LENGTH) {
       return null;
     }
@@ -1546,9 +1683,11 @@ public abstract class Result implements ResultSet, Completion {
   @Override
   public Reader getNCharacterStream(int columnIndex) throws SQLException {
     checkIndex(columnIndex);
-    fieldLength.set(
-        rowDecoder.setPosition(
-            columnIndex - 1, fieldIndex, maxIndex, rowBuf, nullBitmap, metadataList));
+    if (streamable(columnIndex - 1, true)) {
+      InputStream stream = streamValue(columnIndex - 1);
+      return stream == null ? null : new InputStreamReader(stream, StandardCharsets.UTF_8);
+    }
+    fieldLength.set(position(columnIndex - 1));
     if (fieldLength.get() == NULL_LENGTH) {
       return null;
     }
@@ -1711,9 +1850,7 @@ public abstract class Result implements ResultSet, Completion {
   @SuppressWarnings("unchecked")
   public <T> T getObject(int columnIndex, Class<T> type) throws SQLException {
     checkIndex(columnIndex);
-    fieldLength.set(
-        rowDecoder.setPosition(
-            columnIndex - 1, fieldIndex, maxIndex, rowBuf, nullBitmap, metadataList));
+    fieldLength.set(position(columnIndex - 1));
 
     if (wasNull()) {
       if (type.isPrimitive()) {
@@ -1729,12 +1866,10 @@ public abstract class Result implements ResultSet, Completion {
           rowDecoder.defaultDecode(metadataList, columnIndex - 1, rowBuf, fieldLength, context);
     }
 
-    Configuration conf = context.getConf();
-    for (Codec<?> codec : conf.codecs()) {
-      if (codec.canDecode(column, type)) {
-        return rowDecoder.decode(
-            (Codec<T>) codec, null, rowBuf, fieldLength, metadataList, columnIndex - 1, context);
-      }
+    Codec<?> codec = context.getConf().codecDispatcher().decoder(column, type);
+    if (codec != null) {
+      return rowDecoder.decode(
+          (Codec<T>) codec, null, rowBuf, fieldLength, metadataList, columnIndex - 1, context);
     }
     rowBuf.skip(fieldLength.get());
     throw new SQLException(
@@ -1784,6 +1919,7 @@ public abstract class Result implements ResultSet, Completion {
 
   /** Set row buffer to null (no row) */
   protected void setNullRowBuf() {
+    streamedRow = null;
     rowBuf.buf(null, 0, 0);
   }
 
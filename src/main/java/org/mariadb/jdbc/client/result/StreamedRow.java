@@ -0,0 +1,304 @@
+// SPDX-License-Identifier: LGPL-2.1-or-later
+// Copyright (c) 2012-2014 Monty Program Ab
+// Copyright (c) 2015-2026 MariaDB Corporation Ab
+package org.mariadb.jdbc.client.result;
+
+import static org.mariadb.jdbc.client.result.Result.NULL_LENGTH;
+
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.sql.SQLException;
+import org.mariadb.jdbc.client.ColumnDecoder;
+import org.mariadb.jdbc.client.ReadableByteBuf;
+import org.mariadb.jdbc.client.socket.PacketInputStream;
+import org.mariadb.jdbc.client.util.ClosableLock;
+import org.mariadb.jdbc.client.util.MutableInt;
+
+/**
+ * Row of 16M or more, left in socket and read column by column when requested, see {@link
+ * org.mariadb.jdbc.Configuration#streamLargeValues()}.
+ *
+ * <p>Columns must be read in order: a value is read from socket in memory when positioned on, and
+ * values of skipped columns are discarded. A value can be streamed with {@link #stream(int,
+ * MutableInt, byte[])} in place of being loaded in memory, and can then be read only once.
+ */
+public final class StreamedRow {
+
+  private static final byte[] EMPTY_VALUE = new byte[0];
+
+  private final PacketInputStream stream;
+  private final ColumnDecoder[] metadataList;
+  private final boolean binaryProtocol;
+  private final ClosableLock lock;
+  private final byte[] lengthBuf = new byte[8];
+
+  // next column to be read from socket
+  private int nextIndex;
+  private boolean started;
+  private boolean detached;
+
+  // last value loaded in memory
+  private int valueIndex = -1;
+  private byte[] value;
+  private int valueLength;
+
+  // value currently streamed
+  private ValueInputStream valueStream;
+
+  /**
+   * Constructor
+   *
+   * @param stream row packet content
+   * @param metadataList columns metadata
+   * @param binaryProtocol is row binary encoded
+   * @param lock connection lock
+   */
+  public StreamedRow(
+      PacketInputStream stream,
+      ColumnDecoder[] metadataList,
+      boolean binaryProtocol,
+      ClosableLock lock) {
+    this.stream = stream;
+    this.metadataList = metadataList;
+    this.binaryProtocol = binaryProtocol;
+    this.lock = lock;
+  }
+
+  /**
+   * Has row content started to be read.
+   *
+   * @return true if some column has been read
+   */
+  public boolean started() {
+    return started;
+  }
+
+  /**
+   * Position buffer on indicated column value, loading value in memory.
+   *
+   * @param index column index (0-based)
+   * @param fieldIndex current field index
+   * @param rowBuf row buffer, set to value
+   * @param nullBitmap binary null bitmap
+   * @return value length, or NULL_LENGTH
+   * @throws IOException if any socket error occurs
+   * @throws SQLException if column has already been read
+   */
+  @SuppressWarnings("try")
+  public int position(int index, MutableInt fieldIndex, ReadableByteBuf rowBuf, byte[] nullBitmap)
+      throws IOException, SQLException {
+    fieldIndex.set(index);
+    if (index != valueIndex) {
+      try (ClosableLock ignore = lock.closeableLock()) {
+        int length = moveTo(index, nullBitmap);
+        byte[] data = EMPTY_VALUE;
+        if (length > 0) {
+          data = new byte[length];
+          stream.readFully(data, 0, length);
+        }
+        value = data;
+        valueLength = length;
+        valueIndex = index;
+        nextIndex = index + 1;
+      }
+    }
+    rowBuf.buf(value, valueLength == NULL_LENGTH ? 0 : valueLength, 0);
+    return valueLength;
+  }
+
+  /**
+   * Stream indicated column value from socket.
+   *
+   * @param index column index (0-based)
+   * @param fieldIndex current field index
+   * @param nullBitmap binary null bitmap
+   * @return value stream, or null if value is null
+   * @throws IOException if any socket error occurs
+   * @throws SQLException if column has already been read
+   */
+  @SuppressWarnings("try")
+  public InputStream stream(int index, MutableInt fieldIndex, byte[] nullBitmap)
+      throws IOException, SQLException {
+    fieldIndex.set(index);
+    if (index == valueIndex) {
+      return valueLength == NULL_LENGTH ? null : new ValueInputStream(value, valueLength);
+    }
+    try (ClosableLock ignore = lock.closeableLock()) {
+      int length = moveTo(index, nullBitmap);
+      value = null;
+      valueIndex = -1;
+      nextIndex = index + 1;
+      if (length == NULL_LENGTH) return null;
+      valueStream = new ValueInputStream(length);
+      return valueStream;
+    }
+  }
+
+  /**
+   * Read remaining row content in memory. Row must not have started to be read.
+   *
+   * @return complete row data
+   * @throws IOException if any socket error occurs
+   */
+  public byte[] readRemaining() throws IOException {
+    detached = true;
+    return stream.readRemaining();
+  }
+
+  /**
+   * Discard remaining row content, so next packets can be read. Values that have not been read
+   * aren't available anymore.
+   *
+   * @throws IOException if any socket error occurs
+   */
+  public void skipRemaining() throws IOException {
+    detached = true;
+    if (valueStream != null) {
+      valueStream.detached = true;
+      valueStream = null;
+    }
+    stream.skipRemaining();
+  }
+
+  private int moveTo(int index, byte[] nullBitmap) throws IOException, SQLException {
+    if (detached) {
+      throw new SQLException(
+          "Large row values are not available anymore: result-set has been read further");
+    }
+    if (index < nextIndex) {
+      throw new SQLException(
+          String.format(
+              "Columns of large row must be read in order: column %s has already been read",
+              index + 1));
+    }
+
+    // finish previous streamed value
+    if (valueStream != null) {
+      if (valueStream.remaining > 0) skipFully(valueStream.remaining);
+      valueStream.remaining = 0;
+      valueStream = null;
+    }
+
+    if (!started) {
+      started = true;
+      if (binaryProtocol) {
+        // skip header, then read null-bitmap
+        skipFully(1);
+        stream.readFully(nullBitmap, 0, nullBitmap.length);
+      }
+    }
+
+    for (int i = nextIndex; i < index; i++) {
+      int length = readLength(i, nullBitmap);
+      if (length > 0) skipFully(length);
+    }
+    return readLength(index, nullBitmap);
+  }
+
+  private void skipFully(long length) throws IOException {
+    if (stream.skip(length) < length) throw new EOFException("unexpected end of packet");
+  }
+
+  private int readLength(int index, byte[] nullBitmap) throws IOException {
+    if (binaryProtocol) {
+      int idx = index + 2;
+      if ((nullBitmap[idx / 8] & (1 << (idx % 8))) > 0) return NULL_LENGTH;
+      switch (metadataList[index].getType()) {
+        case BIGINT:
+        case DOUBLE:
+          return 8;
+
+        case INTEGER:
+        case MEDIUMINT:
+        case FLOAT:
+          return 4;
+
+        case SMALLINT:
+        case YEAR:
+          return 2;
+
+        case TINYINT:
+          return 1;
+
+        default:
+          break;
+      }
+    }
+
+    stream.readFully(lengthBuf, 0, 1);
+    switch (lengthBuf[0]) {
+      case (byte) 251:
+        return NULL_LENGTH;
+      case (byte) 252:
+        return (int) readLittleEndian(2);
+      case (byte) 253:
+        return (int) readLittleEndian(3);
+      case (byte) 254:
+        return (int) readLittleEndian(8);
+      default:
+        return lengthBuf[0] & 0xff;
+    }
+  }
+
+  private long readLittleEndian(int bytes) throws IOException {
+    stream.readFully(lengthBuf, 0, bytes);
+    long value = 0;
+    for (int i = bytes - 1; i >= 0; i--) {
+      value = (value << 8) | (lengthBuf[i] & 0xff);
+    }
+    return value;
+  }
+
+  /** Value content, read from socket or from already loaded value. */
+  private final class ValueInputStream extends InputStream {
+    private final byte[] loaded;
+    private int pos;
+    private long remaining;
+    // value has been discarded from socket before being fully read
+    private volatile boolean detached;
+
+    ValueInputStream(long length) {
+      this.loaded = null;
+      this.remaining = length;
+    }
+
+    ValueInputStream(byte[] loaded, int length) {
+      this.loaded = loaded;
+      this.remaining = length;
+    }
+
+    @Override
+    @SuppressWarnings("try")
+    public int read(byte[] b, int off, int len) throws IOException {
+      if (detached) throw new IOException("value not available anymore: connection was used");
+      if (len == 0) return 0;
+      if (remaining <= 0) return -1;
+      int count = (int) Math.min(len, remaining);
+      if (loaded != null) {
+        System.arraycopy(loaded, pos, b, off, count);
+        pos += count;
+      } else {
+        try (ClosableLock ignore = lock.closeableLock()) {
+          if (detached) throw new IOException("value not available anymore: connection was used");
+          if (remaining <= 0) return -1;
+          count = stream.read(b, off, count);
+          if (count < 0) throw new EOFException("unexpected end of packet");
+        }
+      }
+      remaining -= count;
+      return count;
+    }
+
+    @Override
+    public int read() throws IOException {
+      byte[] b = new byte[1];
+      return read(b, 0, 1) < 0 ? -1 : b[0] & 0xff;
+    }
+
+    @Override
+    public int available() {
+      return loaded != null ? (int) remaining : 0;
+    }
+  }
+}
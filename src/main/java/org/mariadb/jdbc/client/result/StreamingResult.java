@@ -36,13 +36,24 @@ import org.mariadb.jdbc.client.util.ClosableLock;
  * <p>If another query is executed on the same connection when a streaming result-set has not been
  * fully read, the connector will put the whole remaining streaming result-set in memory in order to
  * execute the next query. This can lead to OutOfMemoryError if not handled.
+ *
+ * <p>With option streamLargeValues, a forward-only result-set doesn't load rows of 16M or more:
+ * such row ends the current fetch, and its values are read from socket when requested, BLOB/TEXT
+ * values being streamed by getBinaryStream/getCharacterStream.
  */
 public class StreamingResult extends Result {
   private static final int MAX_FETCH_SIZE = 16384;
+  private static final byte[] EMPTY_ROW = new byte[0];
   private final ClosableLock lock;
+  private final boolean binaryProtocol;
+  private final boolean streamLargeValues;
   private int dataFetchTime;
   private int requestedFetchSize;
 
+  // row of 16M or more left in socket, always last row read
+  private StreamedRow pendingRow;
+  private int pendingRowIndex;
+
   /**
    * Constructor
    *
@@ -87,12 +98,52 @@ public class StreamingResult extends Result {
         false,
         fetchSize);
     this.lock = lock;
+    this.binaryProtocol = binaryProtocol;
+    this.streamLargeValues =
+        context.getConf().streamLargeValues() && resultSetType == TYPE_FORWARD_ONLY;
     this.dataFetchTime = 0;
     this.requestedFetchSize = fetchSize;
-    this.data = new byte[Math.min(MAX_FETCH_SIZE, Math.max(fetchSize, 10))][];
+    int initialCapacity = Math.min(MAX_FETCH_SIZE, Math.max(fetchSize, 10));
+    if (!initSlabStorage(initialCapacity)) {
+      this.data = new byte[initialCapacity][];
+    }
     addStreamingValue();
   }
 
+  @Override
+  @SuppressWarnings("try")
+  public ColumnBatch nextColumnBatch() throws SQLException {
+    checkClose();
+    int from = rowPointer + 1;
+    if (from >= dataSize) {
+      boolean fetched = false;
+      try (ClosableLock ignore = lock.closeableLock()) {
+        if (!loaded) {
+          nextStreamingValue();
+          fetched = true;
+        }
+      }
+      if (!fetched) return null;
+
+      // forward only result-set has been cleared
+      from = resultSetType == TYPE_FORWARD_ONLY ? 0 : rowPointer + 1;
+      if (from >= dataSize) {
+        setNullRowBuf();
+        return null;
+      }
+    }
+    if (pendingRow != null) {
+      try (ClosableLock ignore = lock.closeableLock()) {
+        finishPendingRow(true);
+      } catch (IOException ioe) {
+        throw exceptionFactory.create("Error while streaming resultSet data", "08000", ioe);
+      }
+    }
+    ColumnBatch batch = decodeColumnBatch(from, dataSize);
+    rowPointer = dataSize - 1;
+    return batch;
+  }
+
   @Override
   public boolean streaming() {
     return true;
@@ -114,11 +165,21 @@ public class StreamingResult extends Result {
 
     // if resultSet can be back to some previous value
     if (resultSetType == TYPE_FORWARD_ONLY) {
+      if (pendingRow != null) {
+        // previous rows won't be read anymore: large row remaining content can be discarded
+        try {
+          finishPendingRow(false);
+        } catch (IOException ioe) {
+          throw exceptionFactory.create("Error while streaming resultSet data", "08000", ioe);
+        }
+      }
       rowPointer = 0;
       dataSize = 0;
+      // previous rows won't be read anymore: slabs can be overwritten
+      if (slabRows != null) slabRows.clear();
     }
 
-    addStreamingValue();
+    if (!loaded) addStreamingValue();
   }
 
   @SuppressWarnings("try")
@@ -131,14 +192,119 @@ public class StreamingResult extends Result {
               : Math.min(
                   super.getFetchSize(),
                   Math.max(0, (int) (maxRows - dataFetchTime * super.getFetchSize())));
+      if (pendingRow != null) {
+        finishPendingRow(true);
+        if (loaded) return;
+      }
       do {
-        byte[] buf = reader.readPacket(traceEnable);
-        readNext(buf);
+        readNextRow();
         fetchSizeTmp--;
-      } while (fetchSizeTmp > 0 && !loaded);
+      } while (fetchSizeTmp > 0 && !loaded && pendingRow == null);
       dataFetchTime++;
-      if (maxRows > 0 && (long) dataFetchTime * super.getFetchSize() >= maxRows && !loaded)
-        skipRemaining();
+      if (maxRows > 0
+          && (long) dataFetchTime * super.getFetchSize() >= maxRows
+          && !loaded
+          && pendingRow == null) skipRemaining();
+    } catch (IOException ioe) {
+      throw exceptionFactory.create("Error while streaming resultSet data", "08000", ioe);
+    }
+  }
+
+  /**
+   * Read next row. When streaming large values, a row of 16M or more is not read, but left in
+   * socket to be read on demand: no other row can then be read until this row is finished.
+   *
+   * @throws IOException if any socket error occurs
+   * @throws SQLException for all other type of errors
+   */
+  private void readNextRow() throws IOException, SQLException {
+    if (!streamLargeValues) {
+      readNext();
+      return;
+    }
+
+    int packetLength = reader.readPacketHeader();
+    if (packetLength == Reader.MAX_PACKET_SIZE) {
+      // EOF/ERR packets are always smaller: this is a row
+      pendingRow =
+          new StreamedRow(
+              reader.streamPacketBody(packetLength), metadataList, binaryProtocol, lock);
+      pendingRowIndex = dataSize;
+      if (slabRows != null) {
+        slabRows.reserveDedicated(EMPTY_ROW);
+        slabRows.commit();
+        dataSize++;
+      } else {
+        addRowData(EMPTY_ROW);
+      }
+      return;
+    }
+
+    if (slabRows != null) {
+      reader.readPacketBody(slabRows, packetLength, traceEnable);
+      readNextSlabRow();
+    } else {
+      readNext(reader.readPacketBody(packetLength, traceEnable));
+    }
+  }
+
+  /**
+   * Finish reading large row left in socket, so following rows can be read. If row must be kept and
+   * has not started to be read, row is loaded in memory, otherwise remaining values are discarded.
+   *
+   * @param keep must row be kept
+   * @throws IOException if any socket error occurs
+   * @throws SQLException if any error occurs skipping rows exceeding maximum row number
+   */
+  private void finishPendingRow(boolean keep) throws IOException, SQLException {
+    StreamedRow row = pendingRow;
+    pendingRow = null;
+    if (!keep || row.started()) {
+      row.skipRemaining();
+    } else {
+      byte[] rowData = row.readRemaining();
+      if (slabRows != null) {
+        slabRows.replaceDedicated(pendingRowIndex, rowData);
+      } else {
+        data[pendingRowIndex] = rowData;
+      }
+      if (streamedRow == row) setRow(pendingRowIndex);
+    }
+
+    if (maxRows > 0 && (long) dataFetchTime * super.getFetchSize() >= maxRows) {
+      // large row was the last permitted row
+      super.skipRemaining();
+    }
+  }
+
+  @Override
+  protected void setRow(int index) {
+    if (pendingRow != null && index == pendingRowIndex) {
+      streamedRow = pendingRow;
+      rowBuf.buf(EMPTY_ROW, 0, 0);
+      fieldIndex.set(-1);
+      return;
+    }
+    streamedRow = null;
+    super.setRow(index);
+  }
+
+  @Override
+  protected void skipRemaining() throws IOException, SQLException {
+    if (pendingRow != null) {
+      pendingRow.skipRemaining();
+      pendingRow = null;
+    }
+    super.skipRemaining();
+  }
+
+  @Override
+  @SuppressWarnings("try")
+  public void closeFromStmtClose(ClosableLock lock) throws SQLException {
+    try (ClosableLock ignore = lock.closeableLock()) {
+      // large row won't be read: avoid loading it in memory
+      if (pendingRow != null) finishPendingRow(false);
+      super.closeFromStmtClose(lock);
     } catch (IOException ioe) {
       throw exceptionFactory.create("Error while streaming resultSet data", "08000", ioe);
     }
@@ -165,7 +331,7 @@ public class StreamingResult extends Result {
     checkClose();
     if (rowPointer < dataSize - 1) {
       rowPointer++;
-      setRow(data[rowPointer]);
+      setRow(rowPointer);
       return true;
     } else {
       if (!loaded) {
@@ -179,7 +345,7 @@ public class StreamingResult extends Result {
           // resultSet has been cleared. next value is pointer 0.
           rowPointer = 0;
           if (dataSize > 0) {
-            setRow(data[rowPointer]);
+            setRow(rowPointer);
             return true;
           }
         } else {
@@ -187,7 +353,7 @@ public class StreamingResult extends Result {
           // results have been added to current resultSet
           rowPointer++;
           if (dataSize > rowPointer) {
-            setRow(data[rowPointer]);
+            setRow(rowPointer);
             return true;
           }
         }
@@ -272,7 +438,7 @@ public class StreamingResult extends Result {
 
     rowPointer = 0;
     if (dataSize > 0) {
-      setRow(data[rowPointer]);
+      setRow(rowPointer);
       return true;
     }
     setNullRowBuf();
@@ -285,7 +451,7 @@ public class StreamingResult extends Result {
     fetchRemaining();
     rowPointer = dataSize - 1;
     if (dataSize > 0) {
-      setRow(data[rowPointer]);
+      setRow(rowPointer);
       return true;
     }
     setNullRowBuf();
@@ -314,7 +480,7 @@ public class StreamingResult extends Result {
 
     if (idx > 0 && idx <= dataSize) {
       rowPointer = idx - 1;
-      setRow(data[rowPointer]);
+      setRow(rowPointer);
       return true;
     }
 
@@ -324,7 +490,7 @@ public class StreamingResult extends Result {
     if (idx > 0) {
       if (idx <= dataSize) {
         rowPointer = idx - 1;
-        setRow(data[rowPointer]);
+        setRow(rowPointer);
         return true;
       }
 
@@ -336,7 +502,7 @@ public class StreamingResult extends Result {
       if (dataSize + idx >= 0) {
         // absolute position reverse from ending resultSet
         rowPointer = dataSize + idx;
-        setRow(data[rowPointer]);
+        setRow(rowPointer);
         return true;
       }
       setNullRowBuf();
@@ -366,7 +532,7 @@ public class StreamingResult extends Result {
     }
 
     rowPointer = newPos;
-    setRow(data[rowPointer]);
+    setRow(rowPointer);
     return true;
   }
 
@@ -377,7 +543,7 @@ public class StreamingResult extends Result {
     if (rowPointer > -1) {
       rowPointer--;
       if (rowPointer != -1) {
-        setRow(data[rowPointer]);
+        setRow(rowPointer);
         return true;
       }
     }
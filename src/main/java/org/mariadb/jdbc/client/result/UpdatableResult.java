@@ -85,6 +85,12 @@ public class UpdatableResult extends CompleteResult {
     parameters = new ParameterList(metadataList.length);
   }
 
+  @Override
+  protected boolean initSlabStorage(int initialCapacity) {
+    // rows are updated in place, so each row must keep a dedicated array
+    return false;
+  }
+
   private void checkIfUpdatable() throws SQLException {
     isAutoincrementPk = false;
     canInsert = true;
@@ -1031,12 +1037,11 @@ public class UpdatableResult extends CompleteResult {
       return;
     }
 
-    for (Codec<?> codec : context.getConf().codecs()) {
-      if (codec.canEncode(x)) {
-        Parameter p = new Parameter(codec, x, scaleOrLength);
-        parameters.set(columnIndex - 1, p);
-        return;
-      }
+    Codec<?> codec = context.getConf().codecDispatcher().encoder(x);
+    if (codec != null) {
+      Parameter p = new Parameter(codec, x, scaleOrLength);
+      parameters.set(columnIndex - 1, p);
+      return;
     }
 
     throw new SQLException(String.format("Type %s not supported type", x.getClass().getName()));
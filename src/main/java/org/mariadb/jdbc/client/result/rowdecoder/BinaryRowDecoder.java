@@ -5,6 +5,7 @@ package org.mariadb.jdbc.client.result.rowdecoder;
 
 import static org.mariadb.jdbc.client.result.Result.NULL_LENGTH;
 
+import java.nio.charset.StandardCharsets;
 import java.sql.Date;
 import java.sql.SQLException;
 import java.sql.Time;
@@ -13,6 +14,7 @@ import java.util.Calendar;
 import org.mariadb.jdbc.client.ColumnDecoder;
 import org.mariadb.jdbc.client.Context;
 import org.mariadb.jdbc.client.ReadableByteBuf;
+import org.mariadb.jdbc.client.result.ColumnBatch;
 import org.mariadb.jdbc.client.util.MutableInt;
 import org.mariadb.jdbc.plugin.Codec;
 
@@ -168,6 +170,63 @@ public class BinaryRowDecoder implements RowDecoder {
     return (nullBitmap[idx / 8] & (1 << (idx % 8))) > 0 || fieldLength.get() == NULL_LENGTH;
   }
 
+  @Override
+  public void decodeRow(
+      final ReadableByteBuf rowBuf,
+      final byte[] nullBitmap,
+      final ColumnDecoder[] metadataList,
+      final MutableInt fieldLength,
+      final Context context,
+      final ColumnBatch batch,
+      final int row)
+      throws SQLException {
+    // skip header + null-bitmap
+    rowBuf.skip();
+    rowBuf.readBytes(nullBitmap);
+
+    for (int i = 0; i < metadataList.length; i++) {
+      int idx = i + 2;
+      if ((nullBitmap[idx / 8] & (1 << (idx % 8))) != 0) {
+        batch.setNull(i, row);
+        continue;
+      }
+
+      ColumnDecoder column = metadataList[i];
+      switch (batch.vectorType(i)) {
+        case LONG:
+          // fixed length values
+          batch.setLong(i, row, column.decodeLongBinary(rowBuf, fieldLength));
+          break;
+        case DOUBLE:
+          batch.setDouble(i, row, column.decodeDoubleBinary(rowBuf, fieldLength));
+          break;
+        default:
+          int length = rowBuf.readIntLengthEncodedNotNull();
+          int end = rowBuf.pos + length;
+          switch (column.getType()) {
+            case DATE:
+            case NEWDATE:
+            case TIME:
+            case DATETIME:
+            case TIMESTAMP:
+              // binary encoded temporal value
+              fieldLength.set(length);
+              byte[] value =
+                  column
+                      .decodeStringBinary(rowBuf, fieldLength, null, context)
+                      .getBytes(StandardCharsets.UTF_8);
+              batch.setBytes(i, row, value, 0, value.length);
+              break;
+            default:
+              batch.setBytes(i, row, rowBuf.buf, rowBuf.pos, length);
+              break;
+          }
+          rowBuf.pos = end;
+          break;
+      }
+    }
+  }
+
   /**
    * Set length and pos indicator to asked index.
    *
@@ -184,13 +243,15 @@ public class BinaryRowDecoder implements RowDecoder {
 
     if (fieldIndex.get() >= newIndex) {
       fieldIndex.set(0);
-      rowBuf.pos(1);
+      rowBuf.rewind();
+      rowBuf.skip();
       rowBuf.readBytes(nullBitmap);
     } else {
       fieldIndex.incrementAndGet();
       if (fieldIndex.get() == 0) {
         // skip header + null-bitmap
-        rowBuf.pos(1);
+        rowBuf.rewind();
+        rowBuf.skip();
         rowBuf.readBytes(nullBitmap);
       }
     }
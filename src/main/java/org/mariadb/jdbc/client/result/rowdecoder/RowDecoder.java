@@ -11,6 +11,7 @@ import java.util.Calendar;
 import org.mariadb.jdbc.client.ColumnDecoder;
 import org.mariadb.jdbc.client.Context;
 import org.mariadb.jdbc.client.ReadableByteBuf;
+import org.mariadb.jdbc.client.result.ColumnBatch;
 import org.mariadb.jdbc.client.util.MutableInt;
 import org.mariadb.jdbc.plugin.Codec;
 
@@ -267,4 +268,26 @@ public interface RowDecoder {
   double decodeDouble(
       ColumnDecoder[] metadataList, int fieldIndex, ReadableByteBuf rowBuf, MutableInt fieldLength)
       throws SQLException;
+
+  /**
+   * Decode all values of row into column vectors, reading fields sequentially.
+   *
+   * @param rowBuf row buffer, positioned at row start
+   * @param nullBitmap null bitmap
+   * @param metadataList metadata list
+   * @param fieldLength field length
+   * @param context connection context
+   * @param batch column vectors
+   * @param row row index in column vectors
+   * @throws SQLException if any decoding error occurs
+   */
+  void decodeRow(
+      ReadableByteBuf rowBuf,
+      byte[] nullBitmap,
+      ColumnDecoder[] metadataList,
+      MutableInt fieldLength,
+      Context context,
+      ColumnBatch batch,
+      int row)
+      throws SQLException;
 }
@@ -13,6 +13,7 @@ import java.util.Calendar;
 import org.mariadb.jdbc.client.ColumnDecoder;
 import org.mariadb.jdbc.client.Context;
 import org.mariadb.jdbc.client.ReadableByteBuf;
+import org.mariadb.jdbc.client.result.ColumnBatch;
 import org.mariadb.jdbc.client.util.MutableInt;
 import org.mariadb.jdbc.plugin.Codec;
 
@@ -155,6 +156,56 @@ public class TextRowDecoder implements RowDecoder {
     return fieldLength.get() == NULL_LENGTH;
   }
 
+  @Override
+  public void decodeRow(
+      final ReadableByteBuf rowBuf,
+      final byte[] nullBitmap,
+      final ColumnDecoder[] metadataList,
+      final MutableInt fieldLength,
+      final Context context,
+      final ColumnBatch batch,
+      final int row)
+      throws SQLException {
+    for (int i = 0; i < metadataList.length; i++) {
+      int length;
+      byte len = rowBuf.buf[rowBuf.pos++];
+      switch (len) {
+        case (byte) 251:
+          batch.setNull(i, row);
+          continue;
+        case (byte) 252:
+          length = rowBuf.readUnsignedShort();
+          break;
+        case (byte) 253:
+          length = rowBuf.readUnsignedMedium();
+          break;
+        case (byte) 254:
+          length = (int) rowBuf.readUnsignedInt();
+          rowBuf.skip(4);
+          break;
+        default:
+          length = len & 0xff;
+          break;
+      }
+
+      int end = rowBuf.pos + length;
+      switch (batch.vectorType(i)) {
+        case LONG:
+          fieldLength.set(length);
+          batch.setLong(i, row, metadataList[i].decodeLongText(rowBuf, fieldLength));
+          break;
+        case DOUBLE:
+          fieldLength.set(length);
+          batch.setDouble(i, row, metadataList[i].decodeDoubleText(rowBuf, fieldLength));
+          break;
+        default:
+          batch.setBytes(i, row, rowBuf.buf, rowBuf.pos, length);
+          break;
+      }
+      rowBuf.pos = end;
+    }
+  }
+
   /**
    * Set length and pos indicator to asked index.
    *
@@ -170,7 +221,7 @@ public class TextRowDecoder implements RowDecoder {
       final ColumnDecoder[] metadataList) {
     if (fieldIndex.get() >= newIndex) {
       fieldIndex.set(0);
-      rowBuf.pos(0);
+      rowBuf.rewind();
     } else {
       fieldIndex.incrementAndGet();
     }
@@ -0,0 +1,129 @@
+// SPDX-License-Identifier: LGPL-2.1-or-later
+// Copyright (c) 2012-2014 Monty Program Ab
+// Copyright (c) 2015-2026 MariaDB Corporation Ab
+package org.mariadb.jdbc.client.socket;
+
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Arrays;
+
+/**
+ * Content of a packet read from socket on demand, continuing with continuation packets if the
+ * packet is 16M or more. Permits to read very big rows without having them in memory.
+ *
+ * <p>Stream doesn't lock anything, caller must hold connection lock.
+ */
+public final class PacketInputStream extends InputStream {
+
+  private static final int SKIP_BUFFER_LENGTH = 16384;
+
+  private final Reader reader;
+  private int remaining;
+  private boolean lastPacket;
+  private byte[] skipBuffer;
+
+  /**
+   * Constructor
+   *
+   * @param reader packet reader
+   * @param packetLength first packet length
+   */
+  PacketInputStream(Reader reader, int packetLength) {
+    this.reader = reader;
+    this.remaining = packetLength;
+    this.lastPacket = packetLength < Reader.MAX_PACKET_SIZE;
+  }
+
+  private boolean ensureData() throws IOException {
+    while (remaining == 0) {
+      if (lastPacket) return false;
+      remaining = reader.readContinuationHeader();
+      lastPacket = remaining < Reader.MAX_PACKET_SIZE;
+    }
+    return true;
+  }
+
+  @Override
+  public int read(byte[] b, int off, int len) throws IOException {
+    if (len == 0) return 0;
+    if (!ensureData()) return -1;
+    int count = reader.readContent(b, off, Math.min(len, remaining));
+    remaining -= count;
+    return count;
+  }
+
+  @Override
+  public int read() throws IOException {
+    byte[] b = new byte[1];
+    return read(b, 0, 1) < 0 ? -1 : b[0] & 0xff;
+  }
+
+  /**
+   * Read exactly len bytes.
+   *
+   * @param b destination array
+   * @param off offset
+   * @param len length
+   * @throws IOException if socket error occurs, or packet ends before
+   */
+  public void readFully(byte[] b, int off, int len) throws IOException {
+    while (len > 0) {
+      int count = read(b, off, len);
+      if (count < 0) throw new EOFException("unexpected end of packet");
+      off += count;
+      len -= count;
+    }
+  }
+
+  @Override
+  public long skip(long n) throws IOException {
+    if (skipBuffer == null) skipBuffer = new byte[SKIP_BUFFER_LENGTH];
+    long skipped = 0;
+    while (skipped < n) {
+      int count = read(skipBuffer, 0, (int) Math.min(SKIP_BUFFER_LENGTH, n - skipped));
+      if (count < 0) break;
+      skipped += count;
+    }
+    return skipped;
+  }
+
+  /**
+   * Skip remaining packet content, so next packet can be read.
+   *
+   * @throws IOException if socket error occurs
+   */
+  public void skipRemaining() throws IOException {
+    while (ensureData()) skip(remaining);
+  }
+
+  /**
+   * Read remaining packet content in memory.
+   *
+   * @return remaining content
+   * @throws IOException if socket error occurs
+   */
+  public byte[] readRemaining() throws IOException {
+    byte[] data = new byte[0];
+    while (ensureData()) {
+      int length = data.length;
+      data = Arrays.copyOf(data, length + remaining);
+      readFully(data, length, remaining);
+    }
+    return data;
+  }
+
+  /**
+   * Has packet content been completely read.
+   *
+   * @return true if completely read
+   */
+  public boolean finished() {
+    return remaining == 0 && lastPacket;
+  }
+
+  @Override
+  public int available() {
+    return 0;
+  }
+}
@@ -6,10 +6,14 @@ package org.mariadb.jdbc.client.socket;
 import java.io.EOFException;
 import java.io.IOException;
 import java.io.InputStream;
+import java.util.Arrays;
 import org.mariadb.jdbc.Configuration;
 import org.mariadb.jdbc.HostAddress;
 import org.mariadb.jdbc.client.ReadableByteBuf;
+import org.mariadb.jdbc.client.util.BufferPool;
 import org.mariadb.jdbc.client.util.MutableByte;
+import org.mariadb.jdbc.client.util.SlabArena;
+import org.mariadb.jdbc.client.util.SlabRows;
 import org.mariadb.jdbc.util.log.Logger;
 import org.mariadb.jdbc.util.log.LoggerHelper;
 import org.mariadb.jdbc.util.log.Loggers;
@@ -18,14 +22,28 @@ import org.mariadb.jdbc.util.log.Loggers;
 public class Reader {
 
   private static final int REUSABLE_BUFFER_LENGTH = 8192;
-  private static final int MAX_PACKET_SIZE = 0xffffff;
+
+  // packet size histogram buckets: bucket i counts packets up to REUSABLE_BUFFER_LENGTH << i bytes,
+  // last bucket counts packets bigger than BufferPool.MAX_CLASS_SIZE
+  private static final int SIZE_BUCKETS =
+      Integer.numberOfTrailingZeros(BufferPool.MAX_CLASS_SIZE / REUSABLE_BUFFER_LENGTH) + 2;
+  // number of packets between reusable buffer size adjustments
+  private static final int SIZE_WINDOW = 1024;
+
+  /** maximum packet length. Packet with this length is followed by a continuation packet */
+  public static final int MAX_PACKET_SIZE = 0xffffff;
+
   private static final Logger logger = Loggers.getLogger(Reader.class);
   private final byte[] header = new byte[4];
-  private final byte[] reusableArray = new byte[REUSABLE_BUFFER_LENGTH];
+  private final byte[] smallReusableArray = new byte[REUSABLE_BUFFER_LENGTH];
+  private final int[] sizeHistogram = new int[SIZE_BUCKETS];
+  private byte[] reusableArray = smallReusableArray;
+  private int windowPackets;
   private final InputStream inputStream;
   private final int maxQuerySizeToLog;
   private final MutableByte sequence;
   private final ReadableByteBuf readBuf = new ReadableByteBuf(null, 0);
+  private final SlabArena slabArena;
   private String serverThreadLog = "";
 
   /**
@@ -39,6 +57,7 @@ public class Reader {
     this.inputStream = in;
     this.maxQuerySizeToLog = conf.maxQuerySizeToLog();
     this.sequence = sequence;
+    this.slabArena = conf.useSlabRowStorage() ? new SlabArena() : null;
   }
 
   public ReadableByteBuf readableBufFromArray(byte[] buf) {
@@ -46,6 +65,20 @@ public class Reader {
     return readBuf;
   }
 
+  public ReadableByteBuf readableBufFromArray(byte[] buf, int offset, int length) {
+    readBuf.buf(buf, offset + length, offset);
+    return readBuf;
+  }
+
+  /**
+   * Connection slab pool, when result-set rows are stored in slabs.
+   *
+   * @return slab pool, or null if disabled
+   */
+  public SlabArena slabArena() {
+    return slabArena;
+  }
+
   public ReadableByteBuf readReusablePacket() throws IOException {
     return readReusablePacket(logger.isTraceEnabled());
   }
@@ -53,9 +86,10 @@ public class Reader {
   public ReadableByteBuf readReusablePacket(boolean traceEnable) throws IOException {
     int lastPacketLength = readHeader();
     sequence.set(header[3]);
+    recordPacketSize(lastPacketLength);
 
     byte[] rawBytes;
-    if (lastPacketLength < REUSABLE_BUFFER_LENGTH) {
+    if (lastPacketLength <= reusableArray.length) {
       rawBytes = reusableArray;
     } else {
       rawBytes = new byte[lastPacketLength];
@@ -98,7 +132,30 @@ public class Reader {
    * @throws IOException if socket exception occur.
    */
   public byte[] readPacket(boolean traceEnable) throws IOException {
-    int packetLength = readHeader();
+    return readPacketBody(readHeader(), traceEnable);
+  }
+
+  /**
+   * Read next packet header, packet content having then to be read with one of readPacketBody
+   * methods, or streamed with {@link #streamPacketBody(int)}.
+   *
+   * @return packet length
+   * @throws IOException if socket exception occur.
+   */
+  public int readPacketHeader() throws IOException {
+    return readHeader();
+  }
+
+  /**
+   * Read packet content, after header has been read by {@link #readPacketHeader()}. If the packet
+   * is more than 16M, read as many packets needed to finish reading MySQL packet.
+   *
+   * @param packetLength packet length, as read in header
+   * @param traceEnable must trace packet.
+   * @return array packet.
+   * @throws IOException if socket exception occur.
+   */
+  public byte[] readPacketBody(int packetLength, boolean traceEnable) throws IOException {
     byte[] rawBytes = new byte[packetLength];
 
     // Read content
@@ -161,6 +218,162 @@ public class Reader {
     return rawBytes;
   }
 
+  /**
+   * Get the next MySQL packet, reading it directly in row storage slab. Packet is left pending in
+   * row storage, to be committed if corresponding to a row.
+   *
+   * @param rows row storage
+   * @param traceEnable must trace packet.
+   * @throws IOException if socket exception occur.
+   */
+  public void readPacket(SlabRows rows, boolean traceEnable) throws IOException {
+    readPacketBody(rows, readHeader(), traceEnable);
+  }
+
+  /**
+   * Read packet content directly in row storage slab, after header has been read by {@link
+   * #readPacketHeader()}. Packet is left pending in row storage.
+   *
+   * @param rows row storage
+   * @param packetLength packet length, as read in header
+   * @param traceEnable must trace packet.
+   * @throws IOException if socket exception occur.
+   */
+  public void readPacketBody(SlabRows rows, int packetLength, boolean traceEnable)
+      throws IOException {
+    if (packetLength == MAX_PACKET_SIZE) {
+      // multi-packet row
+      rows.reserveDedicated(readPacketBody(packetLength, traceEnable));
+      return;
+    }
+
+    byte[] rawBytes = rows.reserve(packetLength);
+    int initialOffset = rows.pendingOffset();
+    int remaining = packetLength;
+    int off = initialOffset;
+    while (remaining > 0) {
+      int count = inputStream.read(rawBytes, off, remaining);
+      if (count < 0) {
+        throw new EOFException(
+            "unexpected end of stream, read "
+                + (packetLength - remaining)
+                + " bytes from "
+                + packetLength
+                + " (socket was closed by server)");
+      }
+      remaining -= count;
+      off += count;
+    }
+
+    if (traceEnable) {
+      logger.trace(
+          "read: {}\n{}",
+          serverThreadLog,
+          LoggerHelper.hex(header, rawBytes, initialOffset, packetLength, maxQuerySizeToLog));
+    }
+  }
+
+  /**
+   * Stream packet content from socket, after header has been read by {@link #readPacketHeader()},
+   * in place of loading it in memory. Packet content must be completely read before reading any
+   * other packet.
+   *
+   * @param packetLength packet length, as read in header
+   * @return packet content stream, continuing with continuation packets if any
+   */
+  public PacketInputStream streamPacketBody(int packetLength) {
+    return new PacketInputStream(this, packetLength);
+  }
+
+  /**
+   * Read packet content bytes from socket.
+   *
+   * @param b destination array
+   * @param off offset
+   * @param len maximum length to read
+   * @return read length
+   * @throws IOException if socket exception occur, or stream ends
+   */
+  int readContent(byte[] b, int off, int len) throws IOException {
+    int count = inputStream.read(b, off, len);
+    if (count < 0) {
+      throw new EOFException("unexpected end of stream (socket was closed by server)");
+    }
+    return count;
+  }
+
+  /**
+   * Read header of a continuation packet, when streaming a packet content.
+   *
+   * @return continuation packet length
+   * @throws IOException if socket exception occur
+   */
+  int readContinuationHeader() throws IOException {
+    return readHeader();
+  }
+
+  /**
+   * Record reusable packet size. Every SIZE_WINDOW packets, reusable buffer is resized to the 99th
+   * percentile of packet sizes (up to BufferPool.MAX_CLASS_SIZE), so packets that would not fit
+   * are rare. Histogram is halved at each adjustment, so older traffic progressively loses weight.
+   *
+   * @param packetLength packet length
+   */
+  private void recordPacketSize(int packetLength) {
+    int bucket = 0;
+    if (packetLength > REUSABLE_BUFFER_LENGTH) {
+      bucket =
+          Math.min(
+              SIZE_BUCKETS - 1,
+              32 - Integer.numberOfLeadingZeros((packetLength - 1) / REUSABLE_BUFFER_LENGTH));
+    }
+    sizeHistogram[bucket]++;
+    if (++windowPackets < SIZE_WINDOW) return;
+    windowPackets = 0;
+
+    int total = 0;
+    for (int count : sizeHistogram) total += count;
+    int threshold = total - total / 100;
+    int cumulative = 0;
+    int p99Bucket = 0;
+    for (int i = 0; i < SIZE_BUCKETS; i++) {
+      cumulative += sizeHistogram[i];
+      sizeHistogram[i] >>= 1;
+      if (cumulative < threshold) p99Bucket = i + 1;
+    }
+    int targetLength = REUSABLE_BUFFER_LENGTH << Math.min(p99Bucket, SIZE_BUCKETS - 2);
+    if (targetLength != reusableArray.length) {
+      byte[] previous = reusableArray;
+      reusableArray =
+          targetLength == REUSABLE_BUFFER_LENGTH
+              ? smallReusableArray
+              : BufferPool.acquire(targetLength);
+      if (previous != smallReusableArray) BufferPool.release(previous);
+    }
+  }
+
+  /**
+   * Give back reusable buffer to shared pool, if it has grown. Last reusable packet must not be
+   * used anymore.
+   */
+  public void releaseBuffer() {
+    if (reusableArray != smallReusableArray) {
+      BufferPool.release(reusableArray);
+      reusableArray = smallReusableArray;
+    }
+    Arrays.fill(sizeHistogram, 0);
+    windowPackets = 0;
+  }
+
+  /**
+   * Current reusable buffer size.
+   *
+   * @return buffer size in bytes
+   */
+  public int bufferSize() {
+    return reusableArray.length;
+  }
+
   public MutableByte getSequence() {
     return sequence;
   }
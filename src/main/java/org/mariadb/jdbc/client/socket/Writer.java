@@ -3,12 +3,18 @@
 // Copyright (c) 2015-2026 MariaDB Corporation Ab
 package org.mariadb.jdbc.client.socket;
 
+import java.io.FileInputStream;
 import java.io.IOException;
+import java.io.InputStream;
 import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
 import java.nio.charset.StandardCharsets;
 import java.util.Arrays;
 import org.mariadb.jdbc.HostAddress;
+import org.mariadb.jdbc.client.util.BufferPool;
 import org.mariadb.jdbc.client.util.MutableByte;
+import org.mariadb.jdbc.export.LocalInfileProducer;
 import org.mariadb.jdbc.export.MaxAllowedPacketException;
 import org.mariadb.jdbc.util.log.Logger;
 import org.mariadb.jdbc.util.log.LoggerHelper;
@@ -30,6 +36,15 @@ public class Writer {
   private static final int LARGE_BUFFER_SIZE = 1024 * 1024;
   private static final int MAX_PACKET_LENGTH = 0x00ffffff + 4;
 
+  // server rejects packets >= max_allowed_packet. When unknown, use lowest server default (4M)
+  private static final int DEFAULT_LOCAL_INFILE_PACKET_SIZE = 4 * 1024 * 1024 - 1;
+  private static final int MAX_LOCAL_INFILE_PACKET_SIZE = 0x00fffffe;
+  // limit file channel reads, since NIO cache a temporary direct buffer of read size per thread
+  private static final int MAX_FILE_READ_SIZE = 256 * 1024;
+
+  // number of consecutive commands using less than half of a big buffer before releasing it
+  private static final int SHRINK_THRESHOLD = 16;
+
   /** packet sequence */
   protected final MutableByte sequence;
 
@@ -44,14 +59,19 @@ public class Writer {
   /** internal buffer */
   protected byte[] buf;
 
+  /** default buffer, kept for connection life */
+  private final byte[] smallBuf;
+
   /** buffer position */
   protected int pos = 4;
 
   private long cmdLength = 0;
+  private long bytesSent = 0;
   private boolean permitTrace = true;
   private String serverThreadLog = "";
   private int mark = -1;
   private boolean bufContainDataAfterMark = false;
+  private int smallCommands = 0;
 
   /**
    * Common feature to write data into socket, creating MariaDB Packet.
@@ -69,7 +89,8 @@ public class Writer {
       MutableByte sequence,
       MutableByte compressSequence) {
     this.out = out;
-    this.buf = new byte[SMALL_BUFFER_SIZE];
+    this.smallBuf = new byte[SMALL_BUFFER_SIZE];
+    this.buf = smallBuf;
     this.maxQuerySizeToLog = maxQuerySizeToLog;
     this.sequence = sequence;
     this.compressSequence = compressSequence;
@@ -105,6 +126,15 @@ public class Writer {
     return cmdLength;
   }
 
+  /**
+   * get number of packet bytes sent to socket since creation
+   *
+   * @return bytes sent
+   */
+  public long getBytesSent() {
+    return bytesSent;
+  }
+
   /**
    * Write byte into buf, flush buf to socket if needed.
    *
@@ -674,9 +704,159 @@ public class Writer {
       return;
     }
 
-    byte[] newBuf = new byte[newCapacity];
+    byte[] newBuf = BufferPool.acquire(newCapacity);
     System.arraycopy(buf, 0, newBuf, 0, pos);
+    replaceBuffer(newBuf);
+  }
+
+  private void replaceBuffer(byte[] newBuf) {
+    if (buf != smallBuf) BufferPool.release(buf);
     buf = newBuf;
+    smallCommands = 0;
+  }
+
+  /**
+   * Release big buffer after sustained small traffic: buffer is given back to shared pool when
+   * SHRINK_THRESHOLD consecutive commands used less than half of it.
+   */
+  private void adaptBuffer() {
+    if (buf != smallBuf) {
+      if (cmdLength * 2 < buf.length) {
+        if (++smallCommands >= SHRINK_THRESHOLD) replaceBuffer(smallBuf);
+      } else {
+        smallCommands = 0;
+      }
+    }
+  }
+
+  /** Give back big buffer to shared pool, if any. Buffer must not contain pending data. */
+  public void releaseBuffer() {
+    if (buf != smallBuf) replaceBuffer(smallBuf);
+  }
+
+  /**
+   * Current buffer size.
+   *
+   * @return buffer size in bytes
+   */
+  public int bufferSize() {
+    return buf.length;
+  }
+
+  /**
+   * Send LOAD DATA LOCAL INFILE content. Data is read directly into packet buffer, packets being
+   * filled up to max_allowed_packet (16M maximum) before being written. Socket is not flushed:
+   * caller must end content with {@link #writeEmptyPacket()}.
+   *
+   * @param is content input stream. File streams are read using their file channel.
+   * @throws IOException if socket or stream error occur.
+   */
+  public void writeLocalInfile(InputStream is) throws IOException {
+    int end = startLocalInfile();
+    try {
+      if (is instanceof FileInputStream) {
+        FileChannel channel = ((FileInputStream) is).getChannel();
+        ByteBuffer byteBuffer = ByteBuffer.wrap(buf);
+        while (true) {
+          byteBuffer.limit(Math.min(end, pos + MAX_FILE_READ_SIZE));
+          byteBuffer.position(pos);
+          int len = channel.read(byteBuffer);
+          if (len < 0) break;
+          pos += len;
+          if (pos == end) writeLocalInfilePacket();
+        }
+      } else {
+        int len;
+        while ((len = is.read(buf, pos, end - pos)) >= 0) {
+          pos += len;
+          if (pos == end) writeLocalInfilePacket();
+        }
+      }
+      writeLocalInfilePacket();
+    } finally {
+      endLocalInfile();
+    }
+  }
+
+  /**
+   * Send LOAD DATA LOCAL INFILE content generated by a producer. Written data is buffered into
+   * packets filled up to max_allowed_packet (16M maximum). Socket is not flushed: caller must end
+   * content with {@link #writeEmptyPacket()}.
+   *
+   * @param producer content producer
+   * @throws IOException if socket error occur, or producer fails
+   */
+  public void writeLocalInfile(LocalInfileProducer producer) throws IOException {
+    int end = startLocalInfile();
+    try {
+      producer.write(new LocalInfileOutputStream(end));
+      writeLocalInfilePacket();
+    } finally {
+      endLocalInfile();
+    }
+  }
+
+  private int startLocalInfile() throws IOException {
+    int packetSize =
+        maxAllowedPacket == null
+            ? DEFAULT_LOCAL_INFILE_PACKET_SIZE
+            : Math.max(
+                SMALL_BUFFER_SIZE - 4,
+                Math.min(MAX_LOCAL_INFILE_PACKET_SIZE, maxAllowedPacket - 1));
+    if (buf.length < packetSize + 4) {
+      byte[] newBuf = BufferPool.acquire(packetSize + 4);
+      System.arraycopy(buf, 0, newBuf, 0, pos);
+      replaceBuffer(newBuf);
+    }
+    return packetSize + 4;
+  }
+
+  private void endLocalInfile() {
+    releaseBuffer();
+    pos = 4;
+    cmdLength = 0;
+  }
+
+  private void writeLocalInfilePacket() throws IOException {
+    if (pos > 4) {
+      int len = pos - 4;
+      buf[0] = (byte) len;
+      buf[1] = (byte) (len >>> 8);
+      buf[2] = (byte) (len >>> 16);
+      buf[3] = this.sequence.incrementAndGet();
+      out.write(buf, 0, pos);
+      if (logger.isTraceEnabled()) {
+        logger.trace("send: local infile content length={} {}", len, serverThreadLog);
+      }
+      pos = 4;
+    }
+  }
+
+  /** Output stream given to local infile producer, writing directly into packet buffer */
+  private final class LocalInfileOutputStream extends OutputStream {
+    private final int end;
+
+    LocalInfileOutputStream(int end) {
+      this.end = end;
+    }
+
+    @Override
+    public void write(int b) throws IOException {
+      if (pos == end) writeLocalInfilePacket();
+      buf[pos++] = (byte) b;
+    }
+
+    @Override
+    public void write(byte[] b, int off, int len) throws IOException {
+      while (len > 0) {
+        if (pos == end) writeLocalInfilePacket();
+        int toCopy = Math.min(len, end - pos);
+        System.arraycopy(b, off, buf, pos, toCopy);
+        pos += toCopy;
+        off += toCopy;
+        len -= toCopy;
+      }
+    }
   }
 
   /**
@@ -708,11 +888,7 @@ public class Writer {
   public void flush() throws IOException {
     writeSocket(true);
 
-    // if buf is big, and last query doesn't use at least half of it, resize buf to default
-    // value
-    if (buf.length > SMALL_BUFFER_SIZE && cmdLength * 2 < buf.length) {
-      buf = new byte[SMALL_BUFFER_SIZE];
-    }
+    adaptBuffer();
 
     pos = 4;
     cmdLength = 0;
@@ -722,11 +898,7 @@ public class Writer {
   public void flushPipeline() throws IOException {
     writeSocket(false);
 
-    // if buf is big, and last query doesn't use at least half of it, resize buf to default
-    // value
-    if (buf.length > SMALL_BUFFER_SIZE && cmdLength * 2 < buf.length) {
-      buf = new byte[SMALL_BUFFER_SIZE];
-    }
+    adaptBuffer();
 
     pos = 4;
     cmdLength = 0;
@@ -855,6 +1027,7 @@ public class Writer {
       out.write(buf, 0, pos);
       if (commandEnd) out.flush();
       cmdLength += pos - 4;
+      bytesSent += pos;
 
       if (logger.isTraceEnabled()) {
         if (permitTrace) {
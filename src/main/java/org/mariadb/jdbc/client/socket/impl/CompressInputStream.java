@@ -13,16 +13,27 @@ import org.mariadb.jdbc.client.util.MutableByte;
 /**
  * Compression handler, permitting decompression of mysql packet if needed. When compression is set,
  * using a 7 byte header to identify is packet is compressed or not.
+ *
+ * <p>A single Inflater is used for the connection, and data is inflated directly into the reader
+ * buffers.
  */
 public class CompressInputStream extends InputStream {
+  private static final int MAX_REUSABLE_BUFFER_SIZE = 1024 * 1024;
   private final InputStream in;
   private final MutableByte sequence;
 
   private final byte[] header = new byte[7];
 
-  private int end = 0;
-  private int pos = 0;
-  private volatile byte[] buf;
+  // single inflater for connection, reset for each compressed packet
+  private final Inflater inflater = new Inflater();
+
+  // reusable compressed data buffer
+  private byte[] compressedBuf = new byte[8192];
+
+  // remaining bytes of current packet
+  private int remaining = 0;
+  private int packetLength;
+  private boolean compressed;
 
   /**
    * Constructor. When this handler is used, driver expect packet with 7 byte compression header
@@ -91,88 +102,111 @@ public class CompressInputStream extends InputStream {
 
     int totalReads = 0;
     do {
-      if (pos >= end) {
-        retrieveBuffer();
+      if (remaining == 0) {
+        nextPacket();
+      }
+      int toRead = Math.min(len - totalReads, remaining);
+      int count;
+      if (compressed) {
+        // inflate directly in destination buffer, without intermediate array
+        count = inflate(b, off + totalReads, toRead);
+      } else {
+        // uncompressed packet: read directly from socket
+        count = in.read(b, off + totalReads, toRead);
+        if (count < 0) {
+          throw new EOFException(
+              "unexpected end of stream, read "
+                  + totalReads
+                  + " bytes from "
+                  + len
+                  + " (socket was closed by server)");
+        }
       }
-      // copy internal value to buf.
-      int copyLength = Math.min(len - totalReads, end - pos);
-      System.arraycopy(buf, pos, b, off + totalReads, copyLength);
-      pos += copyLength;
-      totalReads += copyLength;
-    } while (totalReads < len && super.available() > 0);
+      remaining -= count;
+      totalReads += count;
+    } while (totalReads < len && remaining > 0);
 
     return totalReads;
   }
 
-  private void retrieveBuffer() throws IOException {
+  private int inflate(byte[] b, int off, int len) throws IOException {
+    int count = 0;
+    try {
+      while (count < len) {
+        int inflated = inflater.inflate(b, off + count, len - count);
+        if (inflated == 0 && (inflater.finished() || inflater.needsInput())) {
+          throw new IOException(
+              "Invalid exception length after decompression "
+                  + inflater.getBytesWritten()
+                  + ",expected "
+                  + packetLength);
+        }
+        count += inflated;
+      }
+    } catch (DataFormatException dfe) {
+      throw new IOException(dfe);
+    }
+    return count;
+  }
+
+  private void nextPacket() throws IOException {
     // ***************************************************
     // Read header
     // ***************************************************
-    int remaining = 7;
+    int remainingHeader = 7;
     int readOffset = 0;
     do {
-      int count = in.read(header, readOffset, remaining);
+      int count = in.read(header, readOffset, remainingHeader);
       if (count < 0) {
         throw new EOFException(
             "unexpected end of stream, read "
                 + readOffset
                 + " bytes from 7 (socket was closed by server)");
       }
-      remaining -= count;
+      remainingHeader -= count;
       readOffset += count;
-    } while (remaining > 0);
+    } while (remainingHeader > 0);
 
     int compressedPacketLength =
         (header[0] & 0xff) + ((header[1] & 0xff) << 8) + ((header[2] & 0xff) << 16);
     sequence.set(header[3]);
-    int packetLength = (header[4] & 0xff) + ((header[5] & 0xff) << 8) + ((header[6] & 0xff) << 16);
-    boolean compressed = (packetLength != 0);
-    remaining = compressedPacketLength;
-    byte[] intermediaryBuf = new byte[remaining];
+    packetLength = (header[4] & 0xff) + ((header[5] & 0xff) << 8) + ((header[6] & 0xff) << 16);
+    compressed = (packetLength != 0);
+
+    if (!compressed) {
+      // content will be read directly from socket
+      remaining = compressedPacketLength;
+      return;
+    }
 
     // ***************************************************
-    // Read content
+    // Read compressed content
     // ***************************************************
+    byte[] input = compressedBuf;
+    if (compressedPacketLength > input.length) {
+      input = new byte[compressedPacketLength];
+      if (compressedPacketLength <= MAX_REUSABLE_BUFFER_SIZE) compressedBuf = input;
+    }
 
+    int remainingContent = compressedPacketLength;
     readOffset = 0;
-    do {
-      int count = in.read(intermediaryBuf, readOffset, remaining);
+    while (remainingContent > 0) {
+      int count = in.read(input, readOffset, remainingContent);
       if (count < 0) {
         throw new EOFException(
             "unexpected end of stream, read "
-                + ((compressed ? compressedPacketLength : packetLength) - remaining)
+                + (compressedPacketLength - remainingContent)
                 + " bytes from "
-                + (compressed ? compressedPacketLength : packetLength)
+                + compressedPacketLength
                 + " (socket was closed by server)");
       }
-      remaining -= count;
+      remainingContent -= count;
       readOffset += count;
-    } while (remaining > 0);
-
-    if (compressed) {
-      buf = new byte[packetLength];
-      Inflater inflater = new Inflater();
-      inflater.setInput(intermediaryBuf);
-      try {
-        int actualUncompressBytes = inflater.inflate(buf);
-        if (actualUncompressBytes != packetLength) {
-          throw new IOException(
-              "Invalid exception length after decompression "
-                  + actualUncompressBytes
-                  + ",expected "
-                  + packetLength);
-        }
-      } catch (DataFormatException dfe) {
-        throw new IOException(dfe);
-      } finally {
-        inflater.end();
-      }
-      end = packetLength;
-    } else {
-      buf = intermediaryBuf;
-      end = compressedPacketLength;
     }
-    pos = 0;
+
+    inflater.reset();
+    inflater.setInput(input, 0, compressedPacketLength);
+    remaining = packetLength;
   }
 
   /**
@@ -233,6 +267,7 @@ public class CompressInputStream extends InputStream {
    */
   @Override
   public void close() throws IOException {
+    inflater.end();
     in.close();
   }
 
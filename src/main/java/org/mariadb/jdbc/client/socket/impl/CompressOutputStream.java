@@ -3,22 +3,30 @@
 // Copyright (c) 2015-2026 MariaDB Corporation Ab
 package org.mariadb.jdbc.client.socket.impl;
 
-import java.io.ByteArrayOutputStream;
 import java.io.IOException;
 import java.io.OutputStream;
-import java.util.zip.DeflaterOutputStream;
+import java.util.zip.Deflater;
 import org.mariadb.jdbc.client.util.MutableByte;
 
 /**
  * Compression writer handler Permit to wrap standard packet to compressed packet ( 7 byte header).
- * Driver will compress packet only if packet size is meaningful (1536 bytes) &gt; to one TCP
- * packet.
+ * Driver will compress packet only if packet size is meaningful (default 1536 bytes) &gt; to one
+ * TCP packet.
+ *
+ * <p>A single Deflater is used for the connection, deflating into a reusable buffer. If compressed
+ * data is not smaller than initial data, packet is sent uncompressed.
  */
 public class CompressOutputStream extends OutputStream {
-  private static final int MIN_COMPRESSION_SIZE = 1536; // TCP-IP single packet
+  /** default minimum size to compress packet: TCP-IP single packet */
+  public static final int MIN_COMPRESSION_SIZE = 1536;
+
+  private static final int MAX_REUSABLE_BUFFER_SIZE = 1024 * 1024;
   private final OutputStream out;
   private final MutableByte sequence;
   private final byte[] header = new byte[7];
+  private final Deflater deflater;
+  private final int minCompressionSize;
+  private byte[] compressedBuf = new byte[8192];
   private byte[] longPacketBuffer = null;
 
   /**
@@ -28,8 +36,26 @@ public class CompressOutputStream extends OutputStream {
    * @param compressionSequence compression sequence
    */
   public CompressOutputStream(OutputStream out, MutableByte compressionSequence) {
+    this(out, compressionSequence, Deflater.DEFAULT_COMPRESSION, MIN_COMPRESSION_SIZE);
+  }
+
+  /**
+   * Constructor.
+   *
+   * @param out socket output stream
+   * @param compressionSequence compression sequence
+   * @param compressionLevel zlib compression level
+   * @param minCompressionSize packet with size below this value are sent uncompressed
+   */
+  public CompressOutputStream(
+      OutputStream out,
+      MutableByte compressionSequence,
+      int compressionLevel,
+      int minCompressionSize) {
     this.out = out;
     this.sequence = compressionSequence;
+    this.deflater = new Deflater(compressionLevel);
+    this.minCompressionSize = minCompressionSize;
   }
 
   /**
@@ -57,7 +83,7 @@ public class CompressOutputStream extends OutputStream {
    */
   @Override
   public void write(byte[] b, int off, int len) throws IOException {
-    if (len + ((longPacketBuffer != null) ? longPacketBuffer.length : 0) < MIN_COMPRESSION_SIZE) {
+    if (len + ((longPacketBuffer != null) ? longPacketBuffer.length : 0) < minCompressionSize) {
       // *******************************************************************************
       // small packet, no compression
       // *******************************************************************************
@@ -92,35 +118,48 @@ public class CompressOutputStream extends OutputStream {
       // compressing packet
       // *******************************************************************************
       int sent = 0;
-      try (ByteArrayOutputStream baos = new ByteArrayOutputStream()) {
-        try (DeflaterOutputStream deflater = new DeflaterOutputStream(baos)) {
-
-          /**
-           * For multi packet, len will be 0x00ffffff + 4 bytes for header. but compression can only
-           * compress up to 0x00ffffff bytes (header initial length size cannot be > 3 bytes) so,
-           * for this specific case, a buffer will save remaining data
-           */
-          if (longPacketBuffer != null) {
-            deflater.write(longPacketBuffer, 0, longPacketBuffer.length);
-            sent = longPacketBuffer.length;
-            longPacketBuffer = null;
-          }
-          if (len + sent > 0x00ffffff) {
-            int remaining = len + sent - 0x00ffffff;
-            longPacketBuffer = new byte[remaining];
-            System.arraycopy(b, off + 0x00ffffff - sent, longPacketBuffer, 0, remaining);
-          }
-
-          int bufLenSent = Math.min(0x00ffffff - sent, len);
-          deflater.write(b, off, bufLenSent);
-          sent += bufLenSent;
-          deflater.finish();
-        }
-
-        byte[] compressedBytes = baos.toByteArray();
-
-        int compressLen = compressedBytes.length;
+      byte[] prefix = null;
+      deflater.reset();
+
+      /*
+       * For multi packet, len will be 0x00ffffff + 4 bytes for header. but compression can only
+       * compress up to 0x00ffffff bytes (header initial length size cannot be > 3 bytes) so,
+       * for this specific case, a buffer will save remaining data
+       */
+      int compressLen = 0;
+      if (longPacketBuffer != null) {
+        prefix = longPacketBuffer;
+        sent = longPacketBuffer.length;
+        longPacketBuffer = null;
+        deflater.setInput(prefix, 0, sent);
+        compressLen = deflate(compressLen, false);
+      }
+      if (len + sent > 0x00ffffff) {
+        int remaining = len + sent - 0x00ffffff;
+        longPacketBuffer = new byte[remaining];
+        System.arraycopy(b, off + 0x00ffffff - sent, longPacketBuffer, 0, remaining);
+      }
 
+      int bufLenSent = Math.min(0x00ffffff - sent, len);
+      deflater.setInput(b, off, bufLenSent);
+      deflater.finish();
+      compressLen = deflate(compressLen, true);
+      int prefixLen = sent;
+      sent += bufLenSent;
+
+      if (compressLen >= sent) {
+        // compression doesn't reduce size: send uncompressed
+        header[0] = (byte) sent;
+        header[1] = (byte) (sent >>> 8);
+        header[2] = (byte) (sent >>> 16);
+        header[3] = sequence.incrementAndGet();
+        header[4] = 0;
+        header[5] = 0;
+        header[6] = 0;
+        out.write(header, 0, 7);
+        if (prefix != null) out.write(prefix, 0, prefixLen);
+        out.write(b, off, bufLenSent);
+      } else {
         header[0] = (byte) compressLen;
         header[1] = (byte) (compressLen >>> 8);
         header[2] = (byte) (compressLen >>> 16);
@@ -130,10 +169,30 @@ public class CompressOutputStream extends OutputStream {
         header[6] = (byte) (sent >>> 16);
 
         out.write(header, 0, 7);
-        out.write(compressedBytes, 0, compressLen);
-        out.flush();
+        out.write(compressedBuf, 0, compressLen);
+      }
+      out.flush();
+      if (compressedBuf.length > MAX_REUSABLE_BUFFER_SIZE) compressedBuf = new byte[8192];
+    }
+  }
+
+  /**
+   * Deflate current input into compression buffer.
+   *
+   * @param pos current position in compression buffer
+   * @param finish must deflate until end of compressed data
+   * @return new position in compression buffer
+   */
+  private int deflate(int pos, boolean finish) {
+    while (finish ? !deflater.finished() : !deflater.needsInput()) {
+      if (pos == compressedBuf.length) {
+        byte[] newBuf = new byte[compressedBuf.length << 1];
+        System.arraycopy(compressedBuf, 0, newBuf, 0, pos);
+        compressedBuf = newBuf;
       }
+      pos += deflater.deflate(compressedBuf, pos, compressedBuf.length - pos);
     }
+    return pos;
   }
 
   /**
@@ -173,6 +232,7 @@ public class CompressOutputStream extends OutputStream {
    */
   @Override
   public void close() throws IOException {
+    deflater.end();
     out.close();
   }
 
@@ -0,0 +1,278 @@
+// SPDX-License-Identifier: LGPL-2.1-or-later
+// Copyright (c) 2012-2014 Monty Program Ab
+// Copyright (c) 2015-2026 MariaDB Corporation Ab
+package org.mariadb.jdbc.client.socket.impl;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.Socket;
+import java.net.SocketException;
+import java.net.SocketTimeoutException;
+import java.nio.ByteBuffer;
+import java.nio.channels.CancelledKeyException;
+import java.nio.channels.ClosedSelectorException;
+import java.nio.channels.SelectionKey;
+import java.nio.channels.Selector;
+import java.nio.channels.SocketChannel;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Socket transport using a non-blocking {@link SocketChannel}, for option "useNioChannel".
+ *
+ * <p>Socket data is read in a direct buffer, then copied once to packet arrays (socket streams
+ * copy data to a heap array, then read ahead buffer copy it again). Written data is accumulated in
+ * a direct buffer until flush, so pipelined commands are sent together, and data bigger than the
+ * remaining buffer space is sent with a gathering write, without copying it to the buffer first.
+ *
+ * <p>Channel is non-blocking, and waits use a selector, so socket timeout ({@link
+ * Socket#getSoTimeout()}) is respected. Direct buffers are pooled between connections.
+ *
+ * <p>Implementation doesn't use synchronized/semaphore because all used are already locked by
+ * connection lock. Only closing can be done concurrently (abort), so buffers are given back to
+ * pool by the last of closing thread and reading/writing thread.
+ */
+public final class NioChannelStream {
+
+  /** direct buffer size */
+  public static final int BUFFER_SIZE = 64 * 1024;
+
+  // maximum number of free direct buffers kept in pool (4M)
+  private static final int MAX_RETAINED_BUFFERS = 64;
+  private static final ConcurrentLinkedQueue<ByteBuffer> freeBuffers =
+      new ConcurrentLinkedQueue<>();
+  private static final AtomicInteger retained = new AtomicInteger();
+
+  private static final int IDLE = 0;
+  private static final int BUSY = 1;
+  private static final int CLOSED = 2;
+
+  private final Socket socket;
+  private final SocketChannel channel;
+  private final Selector selector;
+  private final SelectionKey key;
+  private final ChannelInput input = new ChannelInput();
+  private final ChannelOutput output = new ChannelOutput();
+
+  /**
+   * Constructor. Channel is set in non-blocking mode, socket streams cannot be used anymore.
+   *
+   * @param socket connected socket, created from a {@link SocketChannel}
+   * @throws IOException if channel cannot be configured
+   */
+  public NioChannelStream(Socket socket) throws IOException {
+    this.socket = socket;
+    this.channel = socket.getChannel();
+    this.channel.configureBlocking(false);
+    this.selector = Selector.open();
+    this.key = channel.register(selector, 0);
+  }
+
+  private static ByteBuffer acquireBuffer() {
+    ByteBuffer buf = freeBuffers.poll();
+    if (buf != null) {
+      retained.decrementAndGet();
+      buf.clear();
+      return buf;
+    }
+    return ByteBuffer.allocateDirect(BUFFER_SIZE);
+  }
+
+  private static void releaseBuffer(ByteBuffer buf) {
+    if (retained.incrementAndGet() <= MAX_RETAINED_BUFFERS) {
+      freeBuffers.offer(buf);
+    } else {
+      retained.decrementAndGet();
+    }
+  }
+
+  /**
+   * Number of free direct buffers kept in pool.
+   *
+   * @return free buffer number
+   */
+  public static int retainedBuffers() {
+    return retained.get();
+  }
+
+  public InputStream getInputStream() {
+    return input;
+  }
+
+  public OutputStream getOutputStream() {
+    return output;
+  }
+
+  /**
+   * Wait for channel to be ready for an operation, respecting socket timeout.
+   *
+   * @param ops operation
+   * @param timeoutMessage timeout exception message
+   * @throws IOException if timeout occurs, or channel is closed
+   */
+  private void await(int ops, String timeoutMessage) throws IOException {
+    int timeout = socket.getSoTimeout();
+    long deadline = timeout > 0 ? System.nanoTime() + timeout * 1_000_000L : 0;
+    try {
+      key.interestOps(ops);
+      while (true) {
+        long remaining = timeout > 0 ? (deadline - System.nanoTime()) / 1_000_000L : 0;
+        if (timeout > 0 && remaining <= 0) throw new SocketTimeoutException(timeoutMessage);
+        int selected = selector.select(timeout > 0 ? remaining : 0);
+        if (!channel.isOpen()) throw new SocketException("Socket closed");
+        if (selected > 0) {
+          selector.selectedKeys().clear();
+          return;
+        }
+      }
+    } catch (ClosedSelectorException | CancelledKeyException e) {
+      throw new SocketException("Socket closed");
+    }
+  }
+
+  private void closeChannel() throws IOException {
+    try {
+      selector.close();
+    } finally {
+      channel.close();
+    }
+  }
+
+  /** Buffer owned by a stream, given back to pool when stream is closed and not in use. */
+  private abstract static class BufferOwner {
+    final AtomicInteger state = new AtomicInteger(IDLE);
+    ByteBuffer buf;
+
+    void begin() throws SocketException {
+      if (!state.compareAndSet(IDLE, BUSY)) throw new SocketException("Socket closed");
+      if (buf == null) buf = initialBuffer();
+    }
+
+    void end() {
+      if (!state.compareAndSet(BUSY, IDLE) && buf != null) {
+        // closed during operation
+        releaseBuffer(buf);
+        buf = null;
+      }
+    }
+
+    boolean markClosed() {
+      int previous = state.getAndSet(CLOSED);
+      if (previous == IDLE && buf != null) {
+        releaseBuffer(buf);
+        buf = null;
+      }
+      return previous != CLOSED;
+    }
+
+    abstract ByteBuffer initialBuffer();
+  }
+
+  private final class ChannelInput extends InputStream {
+    private final BufferOwner owner =
+        new BufferOwner() {
+          @Override
+          ByteBuffer initialBuffer() {
+            ByteBuffer buf = acquireBuffer();
+            buf.limit(0);
+            return buf;
+          }
+        };
+
+    @Override
+    public int read(byte[] b, int off, int len) throws IOException {
+      if (len == 0) return 0;
+      owner.begin();
+      try {
+        ByteBuffer buf = owner.buf;
+        if (!buf.hasRemaining()) {
+          buf.clear();
+          int count;
+          while ((count = channel.read(buf)) == 0) {
+            await(SelectionKey.OP_READ, "Read timed out");
+          }
+          buf.flip();
+          if (count < 0) return -1;
+        }
+        int length = Math.min(len, buf.remaining());
+        buf.get(b, off, length);
+        return length;
+      } finally {
+        owner.end();
+      }
+    }
+
+    @Override
+    public int read() throws IOException {
+      throw new IOException("read() from socket not implemented");
+    }
+
+    @Override
+    public int available() {
+      ByteBuffer buf = owner.buf;
+      return buf == null ? 0 : buf.remaining();
+    }
+
+    @Override
+    public void close() throws IOException {
+      if (owner.markClosed()) closeChannel();
+    }
+  }
+
+  private final class ChannelOutput extends OutputStream {
+    private final BufferOwner owner =
+        new BufferOwner() {
+          @Override
+          ByteBuffer initialBuffer() {
+            return acquireBuffer();
+          }
+        };
+
+    @Override
+    public void write(byte[] b, int off, int len) throws IOException {
+      owner.begin();
+      try {
+        ByteBuffer buf = owner.buf;
+        if (len <= buf.remaining()) {
+          buf.put(b, off, len);
+          return;
+        }
+        // gathering write of buffered data and new data
+        buf.flip();
+        ByteBuffer[] parts = {buf, ByteBuffer.wrap(b, off, len)};
+        while (parts[1].hasRemaining()) {
+          if (channel.write(parts) == 0) await(SelectionKey.OP_WRITE, "Write timed out");
+        }
+        buf.clear();
+      } finally {
+        owner.end();
+      }
+    }
+
+    @Override
+    public void write(int b) throws IOException {
+      write(new byte[] {(byte) b}, 0, 1);
+    }
+
+    @Override
+    public void flush() throws IOException {
+      owner.begin();
+      try {
+        ByteBuffer buf = owner.buf;
+        buf.flip();
+        while (buf.hasRemaining()) {
+          if (channel.write(buf) == 0) await(SelectionKey.OP_WRITE, "Write timed out");
+        }
+        buf.clear();
+      } finally {
+        owner.end();
+      }
+    }
+
+    @Override
+    public void close() throws IOException {
+      if (owner.markClosed()) closeChannel();
+    }
+  }
+}
@@ -3,11 +3,20 @@
 // Copyright (c) 2015-2026 MariaDB Corporation Ab
 package org.mariadb.jdbc.client.tls;
 
+import java.net.Socket;
 import java.security.MessageDigest;
 import java.security.NoSuchAlgorithmException;
+import java.security.cert.Certificate;
 import java.security.cert.CertificateEncodingException;
 import java.security.cert.CertificateException;
 import java.security.cert.X509Certificate;
+import java.util.Arrays;
+import java.util.concurrent.ConcurrentHashMap;
+import javax.net.ssl.SSLEngine;
+import javax.net.ssl.SSLPeerUnverifiedException;
+import javax.net.ssl.SSLSession;
+import javax.net.ssl.SSLSocket;
+import javax.net.ssl.X509ExtendedTrustManager;
 import javax.net.ssl.X509TrustManager;
 
 /**
@@ -31,14 +40,17 @@ import javax.net.ssl.X509TrustManager;
  * certificates are still rejected outright here, and this manager must only be used on connection
  * paths that go on to perform fingerprint-based authentication.
  *
- * <p>A new instance is created per connection, wrapping a shared (cached) delegate, so the captured
- * fingerprint is simply per-connection instance state, read afterward via {@link
- * #getFingerprint()}.
+ * <p>An instance can be shared by connections, using a cached {@code SSLContext}: handshake outcome
+ * is recorded per socket, and read afterward via {@link #getFingerprint(SSLSocket)}. Resumed TLS
+ * sessions skip certificate validation, so their certificates are validated when read.
  */
-public class MariaDbX509DeferredIdentityTrustManager implements X509TrustManager {
+public class MariaDbX509DeferredIdentityTrustManager extends X509ExtendedTrustManager {
+
+  private static final byte[] NO_FINGERPRINT = new byte[0];
 
   private final X509TrustManager internal;
-  private byte[] fingerprint = null;
+  private final ConcurrentHashMap<Socket, byte[]> socketFingerprints = new ConcurrentHashMap<>();
+  private volatile byte[] fingerprint = null;
 
   /**
    * Wraps a standard {@link X509TrustManager}, capturing the server certificate fingerprint when
@@ -63,11 +75,65 @@ public class MariaDbX509DeferredIdentityTrustManager implements X509TrustManager
     internal.checkClientTrusted(x509Certificates, authType);
   }
 
+  @Override
+  public void checkClientTrusted(X509Certificate[] x509Certificates, String authType, Socket socket)
+      throws CertificateException {
+    if (internal instanceof X509ExtendedTrustManager) {
+      ((X509ExtendedTrustManager) internal).checkClientTrusted(x509Certificates, authType, socket);
+    } else {
+      internal.checkClientTrusted(x509Certificates, authType);
+    }
+  }
+
+  @Override
+  public void checkClientTrusted(
+      X509Certificate[] x509Certificates, String authType, SSLEngine engine)
+      throws CertificateException {
+    if (internal instanceof X509ExtendedTrustManager) {
+      ((X509ExtendedTrustManager) internal).checkClientTrusted(x509Certificates, authType, engine);
+    } else {
+      internal.checkClientTrusted(x509Certificates, authType);
+    }
+  }
+
   @Override
   public void checkServerTrusted(X509Certificate[] x509Certificates, String authType)
       throws CertificateException {
+    fingerprint = check(x509Certificates, authType, null, null);
+  }
+
+  @Override
+  public void checkServerTrusted(X509Certificate[] x509Certificates, String authType, Socket socket)
+      throws CertificateException {
+    byte[] captured = check(x509Certificates, authType, socket, null);
+    if (socket == null) {
+      fingerprint = captured;
+    } else {
+      socketFingerprints.put(socket, captured == null ? NO_FINGERPRINT : captured);
+    }
+  }
+
+  @Override
+  public void checkServerTrusted(
+      X509Certificate[] x509Certificates, String authType, SSLEngine engine)
+      throws CertificateException {
+    fingerprint = check(x509Certificates, authType, null, engine);
+  }
+
+  private byte[] check(
+      X509Certificate[] x509Certificates, String authType, Socket socket, SSLEngine engine)
+      throws CertificateException {
     try {
-      internal.checkServerTrusted(x509Certificates, authType);
+      if (internal instanceof X509ExtendedTrustManager && socket != null) {
+        ((X509ExtendedTrustManager) internal)
+            .checkServerTrusted(x509Certificates, authType, socket);
+      } else if (internal instanceof X509ExtendedTrustManager && engine != null) {
+        ((X509ExtendedTrustManager) internal)
+            .checkServerTrusted(x509Certificates, authType, engine);
+      } else {
+        internal.checkServerTrusted(x509Certificates, authType);
+      }
+      return null;
     } catch (CertificateException e) {
       if (x509Certificates == null || x509Certificates.length < 1) throw e;
       // The JSSE validator usually surfaces an expired/not-yet-valid certificate wrapped in a
@@ -76,18 +142,68 @@ public class MariaDbX509DeferredIdentityTrustManager implements X509TrustManager
       // connection, even on the deferred-validation path.
       x509Certificates[0].checkValidity();
       try {
-        fingerprint = getThumbprint(x509Certificates[0]);
+        return getThumbprint(x509Certificates[0]);
       } catch (NoSuchAlgorithmException | CertificateEncodingException ex) {
         throw e;
       }
     }
   }
 
+  /**
+   * Fingerprint of the server's leaf certificate for a connection, when the certificate could not
+   * be validated against the trust store and its identity must instead be verified during
+   * authentication. Returns {@code null} when the certificate validated normally.
+   *
+   * <p>When no certificate check occurred during handshake, the TLS session was resumed: the
+   * certificates of the session are then validated now.
+   *
+   * @param socket connection socket, after handshake
+   * @return fingerprint, or {@code null}
+   * @throws CertificateException if the session certificates are not valid
+   */
+  public byte[] getFingerprint(SSLSocket socket) throws CertificateException {
+    byte[] captured = socketFingerprints.remove(socket);
+    if (captured != null) return captured.length == 0 ? null : captured;
+
+    SSLSession session = socket.getSession();
+    Certificate[] certificates;
+    try {
+      certificates = session.getPeerCertificates();
+    } catch (SSLPeerUnverifiedException e) {
+      throw new CertificateException("No server certificate", e);
+    }
+    return check(
+        Arrays.copyOf(certificates, certificates.length, X509Certificate[].class),
+        authType(session),
+        null,
+        null);
+  }
+
+  /**
+   * Forget handshake outcome of a socket, if not already read.
+   *
+   * @param socket connection socket
+   */
+  public void release(Socket socket) {
+    socketFingerprints.remove(socket);
+  }
+
+  /**
+   * Key exchange authentication type, as given by JSSE to trust managers: key exchange part of
+   * TLS 1.2 cipher suite name (like "ECDHE_RSA"), "UNKNOWN" for TLS 1.3.
+   */
+  private static String authType(SSLSession session) {
+    String suite = session.getCipherSuite();
+    int end = suite.indexOf("_WITH_");
+    return suite.startsWith("TLS_") && end > 4 ? suite.substring(4, end) : "UNKNOWN";
+  }
+
   /**
    * Fingerprint of the server's leaf certificate, captured when the certificate could not be
    * validated against the trust store and its identity must instead be verified during
    * authentication. Returns {@code null} when the certificate validated normally, so no deferred
-   * fingerprint check is needed.
+   * fingerprint check is needed. Only set by checks not associated with a socket: see {@link
+   * #getFingerprint(SSLSocket)} for instances shared by connections.
    *
    * @return captured fingerprint, or {@code null}
    */
@@ -0,0 +1,144 @@
+// SPDX-License-Identifier: LGPL-2.1-or-later
+// Copyright (c) 2012-2014 Monty Program Ab
+// Copyright (c) 2015-2026 MariaDB Corporation Ab
+package org.mariadb.jdbc.client.util;
+
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Socket buffer pool shared by all connections. Buffers are pooled by power-of-two size classes
+ * from 16K to 1M, so a connection needing a big buffer for a few commands borrows one and gives it
+ * back when traffic gets small again, instead of keeping it for its whole life.
+ *
+ * <p>Each size class retains at most 2M of free buffers (and at least 2 buffers). Bigger requests
+ * are simply allocated.
+ */
+public final class BufferPool {
+
+  /** smallest pooled buffer size */
+  public static final int MIN_CLASS_SIZE = 16 * 1024;
+
+  /** biggest pooled buffer size */
+  public static final int MAX_CLASS_SIZE = 1024 * 1024;
+
+  private static final int MIN_CLASS_SHIFT = Integer.numberOfTrailingZeros(MIN_CLASS_SIZE);
+  private static final int MAX_RETAINED_BYTES_PER_CLASS = 2 * 1024 * 1024;
+  private static final SizeClass[] CLASSES =
+      new SizeClass[Integer.numberOfTrailingZeros(MAX_CLASS_SIZE) - MIN_CLASS_SHIFT + 1];
+  private static final AtomicLong allocations = new AtomicLong();
+  private static final AtomicLong reuses = new AtomicLong();
+
+  static {
+    for (int i = 0; i < CLASSES.length; i++) {
+      CLASSES[i] = new SizeClass(MIN_CLASS_SIZE << i);
+    }
+  }
+
+  private BufferPool() {}
+
+  /**
+   * Buffer size that will be returned by {@link #acquire(int)} for a minimum length.
+   *
+   * @param minLength minimum length
+   * @return buffer size
+   */
+  public static int sizeFor(int minLength) {
+    if (minLength > MAX_CLASS_SIZE) return minLength;
+    if (minLength <= MIN_CLASS_SIZE) return MIN_CLASS_SIZE;
+    return Integer.highestOneBit(minLength - 1) << 1;
+  }
+
+  /**
+   * Get a buffer of at least minLength bytes. Buffer content is undefined.
+   *
+   * @param minLength minimum length
+   * @return buffer
+   */
+  public static byte[] acquire(int minLength) {
+    int size = sizeFor(minLength);
+    if (size <= MAX_CLASS_SIZE) {
+      byte[] buf = CLASSES[classIndex(size)].poll();
+      if (buf != null) {
+        reuses.incrementAndGet();
+        return buf;
+      }
+    }
+    allocations.incrementAndGet();
+    return new byte[size];
+  }
+
+  /**
+   * Give back a buffer. Buffers not corresponding to a size class are ignored. Buffer must not be
+   * used anymore by caller.
+   *
+   * @param buf buffer
+   */
+  public static void release(byte[] buf) {
+    int size = buf.length;
+    if (size < MIN_CLASS_SIZE || size > MAX_CLASS_SIZE || Integer.bitCount(size) != 1) return;
+    CLASSES[classIndex(size)].offer(buf);
+  }
+
+  /**
+   * Total size of free buffers currently retained in pool.
+   *
+   * @return retained bytes
+   */
+  public static long retainedBytes() {
+    long total = 0;
+    for (SizeClass sizeClass : CLASSES) {
+      total += (long) sizeClass.retained.get() * sizeClass.size;
+    }
+    return total;
+  }
+
+  /**
+   * Number of buffers allocated because pool had no free buffer of requested size.
+   *
+   * @return allocation number
+   */
+  public static long allocationCount() {
+    return allocations.get();
+  }
+
+  /**
+   * Number of buffers served from pool.
+   *
+   * @return reuse number
+   */
+  public static long reuseCount() {
+    return reuses.get();
+  }
+
+  private static int classIndex(int size) {
+    return Integer.numberOfTrailingZeros(size) - MIN_CLASS_SHIFT;
+  }
+
+  private static final class SizeClass {
+    private final int size;
+    private final int maxRetained;
+    private final ConcurrentLinkedQueue<byte[]> free = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger retained = new AtomicInteger();
+
+    SizeClass(int size) {
+      this.size = size;
+      this.maxRetained = Math.max(2, MAX_RETAINED_BYTES_PER_CLASS / size);
+    }
+
+    byte[] poll() {
+      byte[] buf = free.poll();
+      if (buf != null) retained.decrementAndGet();
+      return buf;
+    }
+
+    void offer(byte[] buf) {
+      if (retained.incrementAndGet() <= maxRetained) {
+        free.offer(buf);
+      } else {
+        retained.decrementAndGet();
+      }
+    }
+  }
+}
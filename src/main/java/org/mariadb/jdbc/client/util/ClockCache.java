@@ -0,0 +1,254 @@
+// SPDX-License-Identifier: LGPL-2.1-or-later
+// Copyright (c) 2012-2014 Monty Program Ab
+// Copyright (c) 2015-2026 MariaDB Corporation Ab
+package org.mariadb.jdbc.client.util;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Consumer;
+
+/**
+ * Bounded concurrent cache, using CLOCK eviction policy.
+ *
+ * <p>Lookups don't lock and don't reorder entries: they only set entry "referenced" bit.
+ * Insertions are striped by key hash, each stripe having its own lock and clock ring. When a stripe
+ * is full, clock hand skips (and clears) referenced entries, and evicts the first non-referenced
+ * one.
+ *
+ * @param <V> value type
+ */
+public final class ClockCache<V> {
+
+  private static final int MIN_STRIPE_SIZE = 16;
+  private static final int MAX_STRIPES = 8;
+
+  private final ConcurrentHashMap<String, Node<V>> map;
+  private final Stripe<V>[] stripes;
+  private final int stripeMask;
+  private final Consumer<V> evictionListener;
+
+  private final LongAdder hits = new LongAdder();
+  private final LongAdder misses = new LongAdder();
+  private final LongAdder evictions = new LongAdder();
+
+  /**
+   * Constructor
+   *
+   * @param maxSize maximum number of entries
+   * @param evictionListener listener called with evicted values, outside any lock. can be null
+   */
+  @SuppressWarnings("unchecked")
+  public ClockCache(int maxSize, Consumer<V> evictionListener) {
+    int stripeNumber = 1;
+    while (stripeNumber < MAX_STRIPES && maxSize / (stripeNumber << 1) >= MIN_STRIPE_SIZE) {
+      stripeNumber <<= 1;
+    }
+    this.stripes = (Stripe<V>[]) new Stripe<?>[stripeNumber];
+    for (int i = 0; i < stripeNumber; i++) {
+      // distribute remaining capacity, so total is exactly maxSize
+      int size = maxSize / stripeNumber + (i < maxSize % stripeNumber ? 1 : 0);
+      stripes[i] = new Stripe<>(Math.max(1, size));
+    }
+    this.stripeMask = stripeNumber - 1;
+    this.map = new ConcurrentHashMap<>(Math.max(16, maxSize * 4 / 3));
+    this.evictionListener = evictionListener;
+  }
+
+  /**
+   * Get cached value, marking it as recently used.
+   *
+   * @param key key
+   * @return cached value, or null if not cached
+   */
+  public V get(String key) {
+    Node<V> node = map.get(key);
+    if (node == null) {
+      misses.increment();
+      return null;
+    }
+    if (!node.referenced) node.referenced = true;
+    hits.increment();
+    return node.value;
+  }
+
+  /**
+   * Add value to cache if there is no value for this key.
+   *
+   * @param key key
+   * @param value value
+   * @return existing value if already cached (value is then not added), null if added
+   */
+  public V putIfAbsent(String key, V value) {
+    return put(key, value, false);
+  }
+
+  /**
+   * Add value to cache, replacing existing value for this key if any.
+   *
+   * @param key key
+   * @param value value
+   */
+  public void put(String key, V value) {
+    put(key, value, true);
+  }
+
+  private V put(String key, V value, boolean replace) {
+    Stripe<V> stripe = stripes[spread(key.hashCode()) & stripeMask];
+    V evicted = null;
+    stripe.lock.lock();
+    try {
+      Node<V> existing = map.get(key);
+      if (existing != null) {
+        if (!replace) {
+          existing.referenced = true;
+          return existing.value;
+        }
+        Node<V> node = new Node<>(key, value);
+        node.slot = existing.slot;
+        stripe.ring[node.slot] = node;
+        map.put(key, node);
+        return null;
+      }
+      Node<V> node = new Node<>(key, value);
+      Node<V> victim = stripe.add(node);
+      if (victim != null) {
+        map.remove(victim.key, victim);
+        evicted = victim.value;
+      }
+      map.put(key, node);
+    } finally {
+      stripe.lock.unlock();
+    }
+    if (evicted != null) {
+      evictions.increment();
+      if (evictionListener != null) evictionListener.accept(evicted);
+    }
+    return null;
+  }
+
+  /**
+   * Remove all entries.
+   *
+   * @return removed values
+   */
+  public List<V> clear() {
+    List<V> values = new ArrayList<>();
+    for (Stripe<V> stripe : stripes) {
+      stripe.lock.lock();
+      try {
+        for (int i = 0; i < stripe.count; i++) {
+          Node<V> node = stripe.ring[i];
+          map.remove(node.key, node);
+          values.add(node.value);
+          stripe.ring[i] = null;
+        }
+        stripe.count = 0;
+        stripe.hand = 0;
+      } finally {
+        stripe.lock.unlock();
+      }
+    }
+    return values;
+  }
+
+  /**
+   * Number of cached entries.
+   *
+   * @return entry number
+   */
+  public int size() {
+    return map.size();
+  }
+
+  /**
+   * Number of lookups that found a cached value.
+   *
+   * @return hit number
+   */
+  public long hitCount() {
+    return hits.sum();
+  }
+
+  /**
+   * Number of lookups that didn't find a cached value.
+   *
+   * @return miss number
+   */
+  public long missCount() {
+    return misses.sum();
+  }
+
+  /**
+   * Ratio of lookups that found a cached value.
+   *
+   * @return hit ratio, between 0 and 1
+   */
+  public double hitRatio() {
+    long hit = hits.sum();
+    long total = hit + misses.sum();
+    return total == 0 ? 0 : (double) hit / total;
+  }
+
+  /**
+   * Number of evicted entries.
+   *
+   * @return eviction number
+   */
+  public long evictionCount() {
+    return evictions.sum();
+  }
+
+  private static int spread(int h) {
+    return (h ^ (h >>> 16)) & 0x7fffffff;
+  }
+
+  private static final class Node<V> {
+    final String key;
+    final V value;
+    volatile boolean referenced;
+    int slot;
+
+    Node(String key, V value) {
+      this.key = key;
+      this.value = value;
+    }
+  }
+
+  private static final class Stripe<V> {
+    final ReentrantLock lock = new ReentrantLock();
+    final Node<V>[] ring;
+    int count;
+    int hand;
+
+    @SuppressWarnings("unchecked")
+    Stripe(int size) {
+      ring = (Node<V>[]) new Node<?>[size];
+    }
+
+    /**
+     * Add node to ring, evicting a node if ring is full. Must be called with lock held.
+     *
+     * @param node node to add
+     * @return evicted node, if any
+     */
+    Node<V> add(Node<V> node) {
+      if (count < ring.length) {
+        node.slot = count;
+        ring[count++] = node;
+        return null;
+      }
+      while (ring[hand].referenced) {
+        ring[hand].referenced = false;
+        hand = hand + 1 == ring.length ? 0 : hand + 1;
+      }
+      Node<V> victim = ring[hand];
+      node.slot = hand;
+      ring[hand] = node;
+      hand = hand + 1 == ring.length ? 0 : hand + 1;
+      return victim;
+    }
+  }
+}
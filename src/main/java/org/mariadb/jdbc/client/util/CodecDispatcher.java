@@ -0,0 +1,127 @@
+// SPDX-License-Identifier: LGPL-2.1-or-later
+// Copyright (c) 2012-2014 Monty Program Ab
+// Copyright (c) 2015-2026 MariaDB Corporation Ab
+package org.mariadb.jdbc.client.util;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import org.mariadb.jdbc.client.ColumnDecoder;
+import org.mariadb.jdbc.client.DataType;
+import org.mariadb.jdbc.plugin.Codec;
+
+/**
+ * Codec lookup tables, avoiding a scan of all codecs for each getObject(index, Class) / setObject
+ * call.
+ *
+ * <p>Decoders are cached by (server data type, requested class), encoders by value class. Codecs
+ * that don't permit caching (see {@link Codec#canCacheDispatch()}) keep being checked for each
+ * call, in codec list order, so lookup results are always identical to a full scan. Tables are
+ * bound to a codec list: a new codec list gets a new dispatcher.
+ */
+public final class CodecDispatcher {
+
+  // bound tables, since keys hold class references
+  private static final int MAX_CACHED_CLASSES = 256;
+  private static final int DATA_TYPE_NUMBER = DataType.values().length;
+  private static final Codec<?>[] NO_CODEC = new Codec<?>[0];
+
+  private final Codec<?>[] codecs;
+  private final ConcurrentHashMap<Class<?>, Entry[]> decoders = new ConcurrentHashMap<>();
+  private final ConcurrentHashMap<Class<?>, Entry> encoders = new ConcurrentHashMap<>();
+
+  /**
+   * Constructor
+   *
+   * @param codecs codec list
+   */
+  public CodecDispatcher(Codec<?>[] codecs) {
+    this.codecs = codecs;
+  }
+
+  /**
+   * Codec list
+   *
+   * @return codec list
+   */
+  public Codec<?>[] codecs() {
+    return codecs;
+  }
+
+  /**
+   * Find first codec able to decode column to requested class.
+   *
+   * @param column column metadata
+   * @param type requested class
+   * @return codec, or null if no codec can decode column to requested class
+   */
+  public Codec<?> decoder(ColumnDecoder column, Class<?> type) {
+    int typeIndex = column.getType().ordinal();
+    Entry[] entries = decoders.get(type);
+    Entry entry = entries == null ? null : entries[typeIndex];
+    if (entry == null) {
+      List<Codec<?>> checked = new ArrayList<>();
+      Codec<?> resolved = null;
+      for (Codec<?> codec : codecs) {
+        if (!codec.canCacheDispatch()) {
+          checked.add(codec);
+        } else if (codec.canDecode(column, type)) {
+          resolved = codec;
+          break;
+        }
+      }
+      entry = new Entry(checked, resolved);
+      if (entries == null && decoders.size() < MAX_CACHED_CLASSES) {
+        entries = decoders.computeIfAbsent(type, k -> new Entry[DATA_TYPE_NUMBER]);
+      }
+      // racy publication is safe: entry is immutable, and always computed identically
+      if (entries != null) entries[typeIndex] = entry;
+    }
+
+    for (Codec<?> codec : entry.checked) {
+      if (codec.canDecode(column, type)) return codec;
+    }
+    return entry.resolved;
+  }
+
+  /**
+   * Find first codec able to encode value.
+   *
+   * @param value non-null value
+   * @return codec, or null if no codec can encode value
+   */
+  public Codec<?> encoder(Object value) {
+    Class<?> type = value.getClass();
+    Entry entry = encoders.get(type);
+    if (entry == null) {
+      List<Codec<?>> checked = new ArrayList<>();
+      Codec<?> resolved = null;
+      for (Codec<?> codec : codecs) {
+        if (!codec.canCacheDispatch()) {
+          checked.add(codec);
+        } else if (codec.canEncode(value)) {
+          resolved = codec;
+          break;
+        }
+      }
+      entry = new Entry(checked, resolved);
+      if (encoders.size() < MAX_CACHED_CLASSES) encoders.putIfAbsent(type, entry);
+    }
+
+    for (Codec<?> codec : entry.checked) {
+      if (codec.canEncode(value)) return codec;
+    }
+    return entry.resolved;
+  }
+
+  private static final class Entry {
+    // codecs to check for each lookup, before resolved one
+    private final Codec<?>[] checked;
+    private final Codec<?> resolved;
+
+    Entry(List<Codec<?>> checked, Codec<?> resolved) {
+      this.checked = checked.isEmpty() ? NO_CODEC : checked.toArray(NO_CODEC);
+      this.resolved = resolved;
+    }
+  }
+}
@@ -0,0 +1,40 @@
+// SPDX-License-Identifier: LGPL-2.1-or-later
+// Copyright (c) 2012-2014 Monty Program Ab
+// Copyright (c) 2015-2026 MariaDB Corporation Ab
+package org.mariadb.jdbc.client.util;
+
+import java.io.IOException;
+import java.io.InputStream;
+import org.mariadb.jdbc.export.LocalInfileProducer;
+
+/**
+ * Local infile stream holding a producer. Content is not read from this stream, but written by the
+ * producer when server asks for local infile content.
+ */
+public final class LocalInfileProducerStream extends InputStream {
+
+  private final LocalInfileProducer producer;
+
+  /**
+   * Constructor
+   *
+   * @param producer content producer
+   */
+  public LocalInfileProducerStream(LocalInfileProducer producer) {
+    this.producer = producer;
+  }
+
+  /**
+   * Content producer
+   *
+   * @return producer
+   */
+  public LocalInfileProducer getProducer() {
+    return producer;
+  }
+
+  @Override
+  public int read() throws IOException {
+    throw new IOException("local infile producer content can only be written to server");
+  }
+}
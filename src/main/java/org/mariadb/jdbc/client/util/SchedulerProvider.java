@@ -3,30 +3,64 @@
 // Copyright (c) 2015-2026 MariaDB Corporation Ab
 package org.mariadb.jdbc.client.util;
 
+import java.util.concurrent.Executor;
 import java.util.concurrent.Executors;
 import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.SynchronousQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
 
 public final class SchedulerProvider {
-  private static ScheduledThreadPoolExecutor timeoutScheduler;
+  /**
+   * Scheduler for timeout tasks, created on first use.
+   *
+   * @return timeout scheduler
+   */
+  public static ScheduledThreadPoolExecutor getTimeoutScheduler() {
+    return TimeoutSchedulerHolder.INSTANCE;
+  }
+
+  /**
+   * Executor reading asynchronous query responses. Threads are created on demand, and released
+   * after 60 seconds of inactivity.
+   *
+   * @return executor
+   */
+  public static Executor getAsyncExecutor() {
+    return AsyncExecutorHolder.INSTANCE;
+  }
 
-  @SuppressWarnings("try")
-  public static ScheduledThreadPoolExecutor getTimeoutScheduler(ClosableLock lock) {
-    if (timeoutScheduler == null) {
-      try (ClosableLock ignore = lock.closeableLock()) {
-        if (timeoutScheduler == null) {
-          timeoutScheduler =
-              new ScheduledThreadPoolExecutor(
-                  1,
-                  runnable -> {
-                    Thread result = Executors.defaultThreadFactory().newThread(runnable);
-                    result.setName("MariaDb-timeout");
-                    result.setDaemon(true);
-                    return result;
-                  });
-          timeoutScheduler.setRemoveOnCancelPolicy(true);
-        }
-      }
+  private static final class TimeoutSchedulerHolder {
+    private static final ScheduledThreadPoolExecutor INSTANCE = create();
+
+    private static ScheduledThreadPoolExecutor create() {
+      ScheduledThreadPoolExecutor scheduler =
+          new ScheduledThreadPoolExecutor(
+              1,
+              runnable -> {
+                Thread result = Executors.defaultThreadFactory().newThread(runnable);
+                result.setName("MariaDb-timeout");
+                result.setDaemon(true);
+                return result;
+              });
+      scheduler.setRemoveOnCancelPolicy(true);
+      return scheduler;
     }
-    return timeoutScheduler;
+  }
+
+  private static final class AsyncExecutorHolder {
+    private static final ThreadPoolExecutor INSTANCE =
+        new ThreadPoolExecutor(
+            0,
+            Integer.MAX_VALUE,
+            60L,
+            TimeUnit.SECONDS,
+            new SynchronousQueue<>(),
+            runnable -> {
+              Thread result = Executors.defaultThreadFactory().newThread(runnable);
+              result.setName("MariaDb-async");
+              result.setDaemon(true);
+              return result;
+            });
   }
 }
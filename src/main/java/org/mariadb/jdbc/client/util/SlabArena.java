@@ -0,0 +1,63 @@
+// SPDX-License-Identifier: LGPL-2.1-or-later
+// Copyright (c) 2012-2014 Monty Program Ab
+// Copyright (c) 2015-2026 MariaDB Corporation Ab
+package org.mariadb.jdbc.client.util;
+
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Connection slab pool. Result-sets pack rows into fixed size slabs taken from this pool, and give
+ * them back when closed, so next result-sets on the same connection reuse them.
+ *
+ * <p>Slabs can be given back from another thread than the one reading the socket (result-set
+ * closing), so pool is lock-free.
+ */
+public final class SlabArena {
+
+  /** slab size */
+  public static final int SLAB_SIZE = 64 * 1024;
+
+  /** maximum number of free slabs kept in pool (1Mb) */
+  private static final int MAX_RETAINED_SLABS = 16;
+
+  private final ConcurrentLinkedQueue<byte[]> freeSlabs = new ConcurrentLinkedQueue<>();
+  private final AtomicInteger retained = new AtomicInteger();
+
+  /**
+   * Get a slab from pool, or allocate a new one if pool is empty.
+   *
+   * @return slab
+   */
+  public byte[] acquire() {
+    byte[] slab = freeSlabs.poll();
+    if (slab != null) {
+      retained.decrementAndGet();
+      return slab;
+    }
+    return new byte[SLAB_SIZE];
+  }
+
+  /**
+   * Give back slab to pool. Dedicated arrays (row bigger than slab size) are not pooled.
+   *
+   * @param slab slab to release
+   */
+  public void release(byte[] slab) {
+    if (slab.length != SLAB_SIZE) return;
+    if (retained.incrementAndGet() <= MAX_RETAINED_SLABS) {
+      freeSlabs.offer(slab);
+    } else {
+      retained.decrementAndGet();
+    }
+  }
+
+  /**
+   * Number of free slabs kept in pool.
+   *
+   * @return free slab number
+   */
+  public int retainedSlabs() {
+    return retained.get();
+  }
+}
@@ -0,0 +1,214 @@
+// SPDX-License-Identifier: LGPL-2.1-or-later
+// Copyright (c) 2012-2014 Monty Program Ab
+// Copyright (c) 2015-2026 MariaDB Corporation Ab
+package org.mariadb.jdbc.client.util;
+
+import java.util.Arrays;
+import org.mariadb.jdbc.client.ReadableByteBuf;
+
+/**
+ * Result-set row storage packing rows into large slabs, with an offset/length index, in place of
+ * one array per row.
+ *
+ * <p>Packet reader write rows directly in slab: {@link #reserve(int)} return the slab that must be
+ * filled at {@link #pendingOffset()}, then {@link #commit()} add the row to the index. A reserved
+ * packet that is not committed (EOF/ERR packet) doesn't consume slab space.
+ *
+ * <p>Rows bigger than a slab are stored in a dedicated array.
+ */
+public final class SlabRows {
+
+  private final SlabArena arena;
+
+  // storage
+  private byte[][] slabs = new byte[4][];
+  private int slabCount;
+  private int currentSlab = -1;
+  private int writePos = SlabArena.SLAB_SIZE;
+
+  // slabs kept from a previous fetch, available for reuse
+  private byte[][] spares = new byte[0][];
+  private int spareCount;
+
+  // row index
+  private int[] rowSlab;
+  private int[] rowOffset;
+  private int[] rowLength;
+  private int size;
+
+  // pending row
+  private byte[] pendingBuf;
+  private int pendingOffset;
+  private int pendingLength;
+  private boolean pendingDedicated;
+
+  /**
+   * Constructor
+   *
+   * @param arena connection slab pool
+   * @param initialCapacity initial row index capacity
+   */
+  public SlabRows(SlabArena arena, int initialCapacity) {
+    this.arena = arena;
+    int capacity = Math.max(10, initialCapacity);
+    this.rowSlab = new int[capacity];
+    this.rowOffset = new int[capacity];
+    this.rowLength = new int[capacity];
+  }
+
+  /**
+   * Reserve space for a packet of indicated length.
+   *
+   * @param length packet length
+   * @return array to write packet into, at {@link #pendingOffset()} position
+   */
+  public byte[] reserve(int length) {
+    pendingLength = length;
+    if (length > SlabArena.SLAB_SIZE) {
+      pendingBuf = new byte[length];
+      pendingOffset = 0;
+      pendingDedicated = true;
+      return pendingBuf;
+    }
+    if (SlabArena.SLAB_SIZE - writePos < length) {
+      nextSlab();
+    }
+    pendingBuf = slabs[currentSlab];
+    pendingOffset = writePos;
+    pendingDedicated = false;
+    return pendingBuf;
+  }
+
+  /**
+   * Set an already read packet (multi-packet row) as pending row.
+   *
+   * @param row packet data
+   */
+  public void reserveDedicated(byte[] row) {
+    pendingBuf = row;
+    pendingOffset = 0;
+    pendingLength = row.length;
+    pendingDedicated = true;
+  }
+
+  public byte[] pendingBuf() {
+    return pendingBuf;
+  }
+
+  public int pendingOffset() {
+    return pendingOffset;
+  }
+
+  public int pendingLength() {
+    return pendingLength;
+  }
+
+  /** Add pending packet to rows. */
+  public void commit() {
+    if (size == rowSlab.length) {
+      int newCapacity = size << 1;
+      rowSlab = Arrays.copyOf(rowSlab, newCapacity);
+      rowOffset = Arrays.copyOf(rowOffset, newCapacity);
+      rowLength = Arrays.copyOf(rowLength, newCapacity);
+    }
+    if (pendingDedicated) {
+      addSlab(pendingBuf);
+      rowSlab[size] = slabCount - 1;
+    } else {
+      rowSlab[size] = currentSlab;
+      writePos = pendingOffset + pendingLength;
+    }
+    rowOffset[size] = pendingOffset;
+    rowLength[size] = pendingLength;
+    size++;
+  }
+
+  /**
+   * Replace a row stored in a dedicated array.
+   *
+   * @param index row index
+   * @param row new row data
+   */
+  public void replaceDedicated(int index, byte[] row) {
+    slabs[rowSlab[index]] = row;
+    rowOffset[index] = 0;
+    rowLength[index] = row.length;
+  }
+
+  /**
+   * Row number
+   *
+   * @return row number
+   */
+  public int size() {
+    return size;
+  }
+
+  /**
+   * Set buffer to row data.
+   *
+   * @param index row index
+   * @param buf buffer
+   */
+  public void setRow(int index, ReadableByteBuf buf) {
+    buf.slab(slabs[rowSlab[index]], rowOffset[index], rowLength[index]);
+  }
+
+  /**
+   * Copy row data into a new array.
+   *
+   * @param index row index
+   * @return row data
+   */
+  public byte[] copyRow(int index) {
+    int offset = rowOffset[index];
+    return Arrays.copyOfRange(slabs[rowSlab[index]], offset, offset + rowLength[index]);
+  }
+
+  /**
+   * Remove all rows, keeping slabs for next rows. Used when streaming forward only result-set
+   * fetch next rows.
+   */
+  public void clear() {
+    for (int i = 0; i < slabCount; i++) {
+      if (slabs[i].length == SlabArena.SLAB_SIZE) {
+        if (spareCount == spares.length) spares = Arrays.copyOf(spares, spareCount + 4);
+        spares[spareCount++] = slabs[i];
+      }
+      slabs[i] = null;
+    }
+    slabCount = 0;
+    currentSlab = -1;
+    writePos = SlabArena.SLAB_SIZE;
+    size = 0;
+    pendingBuf = null;
+  }
+
+  /** Give back all slabs to connection pool. Rows must not be read after this call. */
+  public void release() {
+    clear();
+    for (int i = 0; i < spareCount; i++) {
+      arena.release(spares[i]);
+      spares[i] = null;
+    }
+    spareCount = 0;
+  }
+
+  private void nextSlab() {
+    byte[] slab;
+    if (spareCount > 0) {
+      slab = spares[--spareCount];
+      spares[spareCount] = null;
+    } else {
+      slab = arena.acquire();
+    }
+    addSlab(slab);
+    currentSlab = slabCount - 1;
+    writePos = 0;
+  }
+
+  private void addSlab(byte[] slab) {
+    if (slabCount == slabs.length) slabs = Arrays.copyOf(slabs, slabCount << 1);
+    slabs[slabCount++] = slab;
+  }
+}
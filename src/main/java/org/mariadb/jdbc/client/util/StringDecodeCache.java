@@ -0,0 +1,102 @@
+// SPDX-License-Identifier: LGPL-2.1-or-later
+// Copyright (c) 2012-2014 Monty Program Ab
+// Copyright (c) 2015-2026 MariaDB Corporation Ab
+package org.mariadb.jdbc.client.util;
+
+import org.mariadb.jdbc.client.ReadableByteBuf;
+
+/**
+ * Column decoded String cache, for low cardinality columns (status, country or currency codes,
+ * ...): repeated values return the same String instance, without UTF-8 decoding nor allocation.
+ *
+ * <p>Cache is a direct-mapped table of short values, keyed by value bytes. Hit rate is evaluated
+ * every {@link #SAMPLE_SIZE} reads, and cache disables itself if less than half of reads are hits.
+ *
+ * <p>Entries are immutable, so concurrent use is safe, even if counters are approximate.
+ */
+public final class StringDecodeCache {
+
+  /** Maximum length of cached values, in bytes */
+  public static final int MAX_LENGTH = 32;
+
+  /** Number of reads between two hit rate evaluations */
+  public static final int SAMPLE_SIZE = 1024;
+
+  private static final int TABLE_SIZE = 256;
+
+  private Entry[] entries = new Entry[TABLE_SIZE];
+  private int reads;
+  private int hits;
+
+  /**
+   * Read a UTF-8 String of indicated length from buffer.
+   *
+   * @param buf buffer
+   * @param length value length in bytes
+   * @return String value
+   */
+  public String readString(ReadableByteBuf buf, int length) {
+    Entry[] table = entries;
+    if (table == null) return buf.readString(length);
+
+    if (++reads == SAMPLE_SIZE) evaluate();
+    if (length > MAX_LENGTH) return buf.readString(length);
+
+    byte[] bytes = buf.buf();
+    int pos = buf.pos();
+    int hash = 1;
+    for (int i = pos; i < pos + length; i++) hash = 31 * hash + bytes[i];
+
+    int slot = (hash ^ (hash >>> 16)) & (TABLE_SIZE - 1);
+    Entry entry = table[slot];
+    if (entry != null && entry.hash == hash && entry.matches(bytes, pos, length)) {
+      hits++;
+      buf.skip(length);
+      return entry.value;
+    }
+
+    String value = buf.readString(length);
+    byte[] key = new byte[length];
+    System.arraycopy(bytes, pos, key, 0, length);
+    table[slot] = new Entry(hash, key, value);
+    return value;
+  }
+
+  private void evaluate() {
+    if (hits * 2 < reads) {
+      // poor hit rate: release cached values
+      entries = null;
+    }
+    reads = 0;
+    hits = 0;
+  }
+
+  /**
+   * Indicate if cache is still in use, or has been disabled because of a poor hit rate.
+   *
+   * @return true if enabled
+   */
+  public boolean isEnabled() {
+    return entries != null;
+  }
+
+  private static final class Entry {
+    private final int hash;
+    private final byte[] bytes;
+    private final String value;
+
+    Entry(int hash, byte[] bytes, String value) {
+      this.hash = hash;
+      this.bytes = bytes;
+      this.value = value;
+    }
+
+    boolean matches(byte[] buf, int pos, int length) {
+      if (bytes.length != length) return false;
+      for (int i = 0; i < length; i++) {
+        if (bytes[i] != buf[pos + i]) return false;
+      }
+      return true;
+    }
+  }
+}
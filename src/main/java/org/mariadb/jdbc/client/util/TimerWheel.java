@@ -0,0 +1,282 @@
+// SPDX-License-Identifier: LGPL-2.1-or-later
+// Copyright (c) 2012-2014 Monty Program Ab
+// Copyright (c) 2015-2026 MariaDB Corporation Ab
+package org.mariadb.jdbc.client.util;
+
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicIntegerFieldUpdater;
+import java.util.concurrent.locks.LockSupport;
+import org.mariadb.jdbc.util.log.Logger;
+import org.mariadb.jdbc.util.log.Loggers;
+
+/**
+ * Hashed timing wheel, used for query timeouts and pool maintenance.
+ *
+ * <p>Scheduling only adds the task to a lock-free queue, and cancelling is a state change. A single
+ * worker thread moves new tasks into wheel buckets, unlinks cancelled tasks, and expires one bucket
+ * each tick. Tasks cancelled before next tick (usual case for query timeouts) never reach the
+ * wheel.
+ *
+ * <p>Precision is one tick ({@link #TICK_MS} milliseconds). Expired tasks are run on a small
+ * executor, so a slow task (like a KILL command) doesn't delay other expirations.
+ */
+public final class TimerWheel {
+
+  /** tick duration in milliseconds */
+  public static final long TICK_MS = 100;
+
+  private static final int WHEEL_SIZE = 512;
+  private static final int MAX_TRANSFER_PER_TICK = 100_000;
+  private static final Logger logger = Loggers.getLogger(TimerWheel.class);
+
+  private final long tickNanos;
+  private final Bucket[] wheel = new Bucket[WHEEL_SIZE];
+  private final ConcurrentLinkedQueue<Timeout> added = new ConcurrentLinkedQueue<>();
+  private final ConcurrentLinkedQueue<Timeout> cancelled = new ConcurrentLinkedQueue<>();
+  private final ThreadPoolExecutor taskExecutor;
+  private final long startTime;
+  private long tick;
+
+  private static final class Holder {
+    static final TimerWheel INSTANCE = new TimerWheel(TICK_MS, "MariaDb-timer", "MariaDb-timeout");
+  }
+
+  /**
+   * Driver timer.
+   *
+   * @return driver timer
+   */
+  public static TimerWheel getInstance() {
+    return Holder.INSTANCE;
+  }
+
+  /**
+   * Constructor. Worker thread is started immediately.
+   *
+   * @param tickMs tick duration in milliseconds
+   * @param workerName worker thread name
+   * @param taskThreadName thread name of task executor
+   */
+  TimerWheel(long tickMs, String workerName, String taskThreadName) {
+    this.tickNanos = TimeUnit.MILLISECONDS.toNanos(tickMs);
+    for (int i = 0; i < WHEEL_SIZE; i++) wheel[i] = new Bucket();
+    this.taskExecutor =
+        new ThreadPoolExecutor(
+            4,
+            4,
+            60,
+            TimeUnit.SECONDS,
+            new LinkedBlockingQueue<>(),
+            runnable -> {
+              Thread result = Executors.defaultThreadFactory().newThread(runnable);
+              result.setName(taskThreadName);
+              result.setDaemon(true);
+              return result;
+            });
+    this.taskExecutor.allowCoreThreadTimeOut(true);
+    this.startTime = System.nanoTime();
+    Thread worker = new Thread(this::run, workerName);
+    worker.setDaemon(true);
+    worker.start();
+  }
+
+  /**
+   * Schedule a task.
+   *
+   * @param task task
+   * @param delay delay before running task
+   * @param unit delay unit
+   * @return timeout handle
+   */
+  public Timeout schedule(Runnable task, long delay, TimeUnit unit) {
+    Timeout timeout = new Timeout(this, task, deadline(delay, unit), 0);
+    added.add(timeout);
+    return timeout;
+  }
+
+  /**
+   * Schedule a periodic task.
+   *
+   * @param task task
+   * @param delay delay before first run
+   * @param period period between runs
+   * @param unit delay and period unit
+   * @return timeout handle
+   */
+  public Timeout scheduleAtFixedRate(Runnable task, long delay, long period, TimeUnit unit) {
+    Timeout timeout = new Timeout(this, task, deadline(delay, unit), unit.toNanos(period));
+    added.add(timeout);
+    return timeout;
+  }
+
+  private long deadline(long delay, TimeUnit unit) {
+    return System.nanoTime() - startTime + unit.toNanos(delay);
+  }
+
+  private void run() {
+    while (true) {
+      long sleepNanos = tickNanos * (tick + 1) - (System.nanoTime() - startTime);
+      if (sleepNanos > 0) {
+        LockSupport.parkNanos(this, sleepNanos);
+        continue;
+      }
+      try {
+        processCancelled();
+        transferAdded();
+        expire(wheel[(int) (tick & (WHEEL_SIZE - 1))], System.nanoTime() - startTime);
+      } catch (Throwable t) {
+        logger.error("timer error", t);
+      }
+      tick++;
+    }
+  }
+
+  private void processCancelled() {
+    Timeout timeout;
+    while ((timeout = cancelled.poll()) != null) {
+      if (timeout.bucket != null) timeout.bucket.remove(timeout);
+    }
+  }
+
+  private void transferAdded() {
+    for (int i = 0; i < MAX_TRANSFER_PER_TICK; i++) {
+      Timeout timeout = added.poll();
+      if (timeout == null) return;
+      // volatile write before state check: a concurrent cancel() either is seen here, or sees the
+      // timeout as being in wheel and queues it for removal
+      timeout.inWheel = true;
+      if (timeout.state != Timeout.PENDING) continue;
+      long expiryTick = timeout.deadline / tickNanos;
+      timeout.remainingRounds = (expiryTick - tick) / WHEEL_SIZE;
+      wheel[(int) (Math.max(expiryTick, tick) & (WHEEL_SIZE - 1))].add(timeout);
+    }
+  }
+
+  private void expire(Bucket bucket, long now) {
+    Timeout timeout = bucket.head;
+    while (timeout != null) {
+      Timeout next = timeout.next;
+      if (timeout.remainingRounds <= 0 && timeout.deadline <= now) {
+        bucket.remove(timeout);
+        if (Timeout.STATE.compareAndSet(timeout, Timeout.PENDING, Timeout.RUNNING)) {
+          taskExecutor.execute(timeout);
+        }
+      } else if (timeout.remainingRounds > 0) {
+        timeout.remainingRounds--;
+      }
+      timeout = next;
+    }
+  }
+
+  /** Scheduled task handle */
+  public static final class Timeout implements Runnable {
+    static final int PENDING = 0;
+    static final int RUNNING = 1;
+    static final int DONE = 2;
+    static final int CANCELLED = 3;
+    static final AtomicIntegerFieldUpdater<Timeout> STATE =
+        AtomicIntegerFieldUpdater.newUpdater(Timeout.class, "state");
+
+    private final TimerWheel timer;
+    private final Runnable task;
+    private final long period;
+    private volatile int state;
+    private volatile boolean cancelRequested;
+    private volatile boolean inWheel;
+    private long deadline;
+
+    // wheel data, only accessed by worker thread
+    private long remainingRounds;
+    private Bucket bucket;
+    private Timeout prev;
+    private Timeout next;
+
+    Timeout(TimerWheel timer, Runnable task, long deadline, long period) {
+      this.timer = timer;
+      this.task = task;
+      this.deadline = deadline;
+      this.period = period;
+    }
+
+    /**
+     * Cancel task.
+     *
+     * @return true if task will not run anymore, false if task is currently running or has already
+     *     run
+     */
+    public boolean cancel() {
+      cancelRequested = true;
+      if (STATE.compareAndSet(this, PENDING, CANCELLED)) {
+        // timeouts not yet moved to wheel are just skipped by worker
+        if (inWheel) timer.cancelled.add(this);
+        return true;
+      }
+      return false;
+    }
+
+    /** Wait for a running task to finish. */
+    public void awaitDone() {
+      while (state == RUNNING) {
+        LockSupport.parkNanos(this, 100_000);
+      }
+    }
+
+    @Override
+    public void run() {
+      try {
+        task.run();
+      } catch (Throwable t) {
+        logger.error("error running timer task", t);
+      } finally {
+        if (period > 0 && !cancelRequested) {
+          deadline += period;
+          inWheel = false;
+          state = PENDING;
+          timer.added.add(this);
+          // cancel() may have been called after the check
+          if (cancelRequested) cancel();
+        } else {
+          state = DONE;
+        }
+      }
+    }
+  }
+
+  private static final class Bucket {
+    private Timeout head;
+    private Timeout tail;
+
+    void add(Timeout timeout) {
+      timeout.bucket = this;
+      timeout.prev = tail;
+      timeout.next = null;
+      if (tail == null) {
+        head = timeout;
+      } else {
+        tail.next = timeout;
+      }
+      tail = timeout;
+    }
+
+    void remove(Timeout timeout) {
+      if (timeout.bucket != this) return;
+      if (timeout.prev == null) {
+        head = timeout.next;
+      } else {
+        timeout.prev.next = timeout.next;
+      }
+      if (timeout.next == null) {
+        tail = timeout.prev;
+      } else {
+        timeout.next.prev = timeout.prev;
+      }
+      timeout.bucket = null;
+      timeout.prev = null;
+      timeout.next = null;
+    }
+  }
+}
@@ -167,6 +167,81 @@ public enum HaMode {
     return hostAddressWithLessConnections;
   }
 
+  /**
+   * If response time of all hosts not blacklisted is known, choose the host with the best response
+   * time, see {@link HostScore}. Hosts with a replication lag exceeding limit are skipped, and if
+   * all available replicas are lagging, an available primary is chosen.
+   *
+   * @param hostAddresses host addresses
+   * @param denyList blacklist
+   * @param primary requires primary host
+   * @param maxReplicationLag maximum replication lag in seconds, 0 for no limit
+   * @return the host with best response time, or null if unknown.
+   */
+  public static HostAddress getHostWithBestScore(
+      List<HostAddress> hostAddresses,
+      ConcurrentMap<HostAddress, Long> denyList,
+      boolean primary,
+      long maxReplicationLag) {
+    HostAddress bestHostAddress = null;
+    long bestResponseTime = Long.MAX_VALUE;
+    boolean lagging = false;
+
+    for (HostAddress hostAddress : hostAddresses) {
+      if (hostAddress.primary == primary) {
+        Long deniedTimeout = denyList.get(hostAddress);
+        if (deniedTimeout != null) {
+          // take in account denied server that have reached denied timeout
+          if (deniedTimeout > System.currentTimeMillis()) {
+            continue;
+          } else {
+            denyList.remove(hostAddress, deniedTimeout);
+          }
+        }
+
+        // All host must have recently been measured
+        HostScore score = HostScore.get(hostAddress);
+        long responseTime = score == null ? -1 : score.responseTime();
+        if (responseTime < 0) return null;
+        if (isLagging(hostAddress, maxReplicationLag)) {
+          lagging = true;
+          continue;
+        }
+        if (responseTime < bestResponseTime) {
+          bestHostAddress = hostAddress;
+          bestResponseTime = responseTime;
+        }
+      }
+    }
+    if (bestHostAddress == null && lagging) {
+      return getAvailableHostInOrder(hostAddresses, denyList, true).orElse(null);
+    }
+    return bestHostAddress;
+  }
+
+  /**
+   * Remove replicas with a replication lag exceeding limit, see {@link HostScore}.
+   *
+   * @param hostAddresses host addresses
+   * @param maxReplicationLag maximum replication lag in seconds, 0 for no limit
+   * @return host addresses without lagging replicas
+   */
+  public static List<HostAddress> withoutLaggingReplicas(
+      List<HostAddress> hostAddresses, long maxReplicationLag) {
+    if (maxReplicationLag <= 0) return hostAddresses;
+    List<HostAddress> hosts = new ArrayList<>(hostAddresses.size());
+    for (HostAddress hostAddress : hostAddresses) {
+      if (!isLagging(hostAddress, maxReplicationLag)) hosts.add(hostAddress);
+    }
+    return hosts;
+  }
+
+  private static boolean isLagging(HostAddress hostAddress, long maxReplicationLag) {
+    if (maxReplicationLag <= 0 || !Boolean.FALSE.equals(hostAddress.primary)) return false;
+    HostScore score = HostScore.get(hostAddress);
+    return score != null && score.replicationLag() > maxReplicationLag;
+  }
+
   /**
    * return hosts of corresponding type (primary or not) without blacklisted hosts. hosts in
    * blacklist reaching blacklist timeout will be present, RoundRobin Order.
@@ -0,0 +1,145 @@
+// SPDX-License-Identifier: LGPL-2.1-or-later
+// Copyright (c) 2012-2014 Monty Program Ab
+// Copyright (c) 2015-2026 MariaDB Corporation Ab
+package org.mariadb.jdbc.export;
+
+import java.lang.management.ManagementFactory;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLong;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+import org.mariadb.jdbc.HostAddress;
+import org.mariadb.jdbc.util.log.Logger;
+import org.mariadb.jdbc.util.log.Loggers;
+
+/**
+ * Host score, shared by all connections to a host: exponentially weighted moving average of
+ * response time, and replication lag, see {@link org.mariadb.jdbc.Configuration#hostScoring()}.
+ * Values not updated for 3 minutes are considered unknown.
+ */
+public final class HostScore implements HostScoreMBean {
+  private static final Logger logger = Loggers.getLogger(HostScore.class);
+  private static final ConcurrentMap<HostAddress, HostScore> scores = new ConcurrentHashMap<>();
+  private static final long VALIDITY = 3 * 60 * 1000;
+
+  private final HostAddress hostAddress;
+  // response time average in nanoseconds, -1 if never measured
+  private final AtomicLong responseTime = new AtomicLong(-1);
+  private volatile long responseTimeUpdate;
+  private volatile long replicationLag = -1;
+  private volatile long replicationLagUpdate;
+
+  private HostScore(HostAddress hostAddress) {
+    this.hostAddress = hostAddress;
+  }
+
+  /**
+   * Get host score, created and registered to JMX if not existing.
+   *
+   * @param hostAddress host
+   * @return host score
+   */
+  public static HostScore of(HostAddress hostAddress) {
+    HostScore score = scores.get(hostAddress);
+    if (score != null) return score;
+    score = new HostScore(hostAddress);
+    HostScore existing = scores.putIfAbsent(hostAddress, score);
+    if (existing != null) return existing;
+    try {
+      score.registerJmx();
+    } catch (Exception ex) {
+      logger.error("host score " + hostAddress + " not registered due to exception : " + ex);
+    }
+    return score;
+  }
+
+  /**
+   * Get host score if existing.
+   *
+   * @param hostAddress host
+   * @return host score, or null if host has never been scored
+   */
+  public static HostScore get(HostAddress hostAddress) {
+    return scores.get(hostAddress);
+  }
+
+  private void registerJmx() throws Exception {
+    MBeanServer mbs = ManagementFactory.getPlatformMBeanServer();
+    String jmxName =
+        (hostAddress.host
+                + "_"
+                + hostAddress.port
+                + (Boolean.FALSE.equals(hostAddress.primary) ? "_replica" : ""))
+            .replace(":", "_");
+    ObjectName name = new ObjectName("org.mariadb.jdbc.host:type=" + jmxName);
+
+    synchronized (mbs) {
+      if (!mbs.isRegistered(name)) {
+        mbs.registerMBean(this, name);
+      }
+    }
+  }
+
+  /**
+   * Add a response time measure to moving average, each new measure having a 1/5 weight.
+   *
+   * @param nanos response time in nanoseconds
+   */
+  public void recordResponseTime(long nanos) {
+    long prev;
+    long next;
+    do {
+      prev = responseTime.get();
+      next = prev < 0 ? nanos : prev + (nanos - prev) / 5;
+    } while (!responseTime.compareAndSet(prev, next));
+    responseTimeUpdate = System.currentTimeMillis();
+  }
+
+  /**
+   * Response time moving average.
+   *
+   * @return response time in nanoseconds, -1 if unknown
+   */
+  public long responseTime() {
+    if (responseTimeUpdate + VALIDITY < System.currentTimeMillis()) return -1;
+    return responseTime.get();
+  }
+
+  /**
+   * Set replication lag.
+   *
+   * @param seconds replication lag in seconds, -1 if unknown, Long.MAX_VALUE if replication is
+   *     stopped
+   */
+  public void setReplicationLag(long seconds) {
+    replicationLag = seconds;
+    replicationLagUpdate = System.currentTimeMillis();
+  }
+
+  /**
+   * Last replication lag measured.
+   *
+   * @return replication lag in seconds, -1 if unknown
+   */
+  public long replicationLag() {
+    if (replicationLagUpdate + VALIDITY < System.currentTimeMillis()) return -1;
+    return replicationLag;
+  }
+
+  @Override
+  public String getHost() {
+    return hostAddress.toString();
+  }
+
+  @Override
+  public long getResponseTime() {
+    long nanos = responseTime();
+    return nanos < 0 ? -1 : nanos / 1000;
+  }
+
+  @Override
+  public long getReplicationLag() {
+    return replicationLag();
+  }
+}
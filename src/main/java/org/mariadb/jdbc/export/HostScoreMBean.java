@@ -0,0 +1,29 @@
+// SPDX-License-Identifier: LGPL-2.1-or-later
+// Copyright (c) 2012-2014 Monty Program Ab
+// Copyright (c) 2015-2026 MariaDB Corporation Ab
+package org.mariadb.jdbc.export;
+
+/** JMX host score bean */
+public interface HostScoreMBean {
+
+  /**
+   * get host
+   *
+   * @return host address
+   */
+  String getHost();
+
+  /**
+   * get moving average of host response time
+   *
+   * @return response time in microseconds, -1 if unknown
+   */
+  long getResponseTime();
+
+  /**
+   * get last replication lag measured
+   *
+   * @return replication lag in seconds, -1 if unknown
+   */
+  long getReplicationLag();
+}
@@ -0,0 +1,33 @@
+// SPDX-License-Identifier: LGPL-2.1-or-later
+// Copyright (c) 2012-2014 Monty Program Ab
+// Copyright (c) 2015-2026 MariaDB Corporation Ab
+package org.mariadb.jdbc.export;
+
+import java.io.IOException;
+import java.io.OutputStream;
+
+/**
+ * LOAD DATA LOCAL INFILE content producer, permitting to generate content (like CSV rows) on the
+ * fly, without temporary file.
+ *
+ * <p>Example:
+ *
+ * <pre>{@code
+ * statement.setLocalInfileProducer(out -> {
+ *   for (Row row : rows) out.write((row.id + "\t" + row.name + "\n").getBytes(UTF_8));
+ * });
+ * statement.execute("LOAD DATA LOCAL INFILE 'data' INTO TABLE t");
+ * }</pre>
+ */
+@FunctionalInterface
+public interface LocalInfileProducer {
+
+  /**
+   * Write file content. Stream writes directly into protocol packets: stream must not be closed
+   * and flush has no effect.
+   *
+   * @param out output stream
+   * @throws IOException if content cannot be produced or written. Connection is then closed.
+   */
+  void write(OutputStream out) throws IOException;
+}
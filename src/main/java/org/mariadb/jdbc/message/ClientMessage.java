@@ -23,6 +23,7 @@ import org.mariadb.jdbc.client.result.UpdatableResult;
 import org.mariadb.jdbc.client.socket.Reader;
 import org.mariadb.jdbc.client.socket.Writer;
 import org.mariadb.jdbc.client.util.ClosableLock;
+import org.mariadb.jdbc.client.util.LocalInfileProducerStream;
 import org.mariadb.jdbc.client.util.Parameters;
 import org.mariadb.jdbc.export.ExceptionFactory;
 import org.mariadb.jdbc.message.server.ErrorPacket;
@@ -241,11 +242,10 @@ public interface ClientMessage {
         // sending stream
         if (is != null) {
           try {
-            byte[] fileBuf = new byte[65536];
-            int len;
-            while ((len = is.read(fileBuf)) > 0) {
-              writer.writeBytes(fileBuf, 0, len);
-              writer.flush();
+            if (is instanceof LocalInfileProducerStream) {
+              writer.writeLocalInfile(((LocalInfileProducerStream) is).getProducer());
+            } else {
+              writer.writeLocalInfile(is);
             }
           } finally {
             is.close();
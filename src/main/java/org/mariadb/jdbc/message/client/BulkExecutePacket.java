@@ -11,16 +11,18 @@ import static org.mariadb.jdbc.util.constants.Capabilities.BULK_UNIT_RESULTS;
 import java.io.IOException;
 import java.sql.SQLException;
 import java.util.ArrayList;
-import java.util.Iterator;
+import java.util.Arrays;
 import java.util.List;
 import org.mariadb.jdbc.BasePreparedStatement;
 import org.mariadb.jdbc.client.Context;
+import org.mariadb.jdbc.client.DataType;
 import org.mariadb.jdbc.client.socket.Writer;
 import org.mariadb.jdbc.client.util.Parameter;
 import org.mariadb.jdbc.client.util.Parameters;
 import org.mariadb.jdbc.export.MaxAllowedPacketException;
 import org.mariadb.jdbc.export.Prepare;
 import org.mariadb.jdbc.message.server.PrepareResultPacket;
+import org.mariadb.jdbc.util.EncodedBatch;
 
 /**
  * batch execution. This relies on COM_STMT_BULK_EXECUTE
@@ -28,11 +30,23 @@ import org.mariadb.jdbc.message.server.PrepareResultPacket;
  * @see <a href="https://mariadb.com/kb/en/com_stmt_bulk_execute/">documentation</a>
  */
 public final class BulkExecutePacket implements RedoableWithPrepareClientMessage {
+  private static final int TINYINT = DataType.TINYINT.get();
+  private static final int SMALLINT = DataType.SMALLINT.get();
+  private static final int INTEGER = DataType.INTEGER.get();
+  private static final int BIGINT = DataType.BIGINT.get();
+  private static final int FLOAT = DataType.FLOAT.get();
+  private static final int DOUBLE = DataType.DOUBLE.get();
+  private static final int DECIMAL = DataType.DECIMAL.get();
+  private static final int DATE = DataType.DATE.get();
+  private static final int DATETIME = DataType.DATETIME.get();
+
   private final String command;
   private final BasePreparedStatement prep;
   private List<Parameters> batchParameterList;
   private Prepare prepareResult;
   private boolean mightBeBulkResult;
+  private int bulkPacketCount;
+  private Writer widenBuffer;
 
   /**
    * Constructor
@@ -54,6 +68,11 @@ public final class BulkExecutePacket implements RedoableWithPrepareClientMessage
   }
 
   public void saveParameters() {
+    if (batchParameterList instanceof EncodedBatch) {
+      // encoded data is immutable
+      this.batchParameterList = ((EncodedBatch) batchParameterList).snapshot();
+      return;
+    }
     List<Parameters> savedList = new ArrayList<>(batchParameterList.size());
     for (Parameters parameterList : batchParameterList) {
       savedList.add(parameterList.clone());
@@ -69,23 +88,22 @@ public final class BulkExecutePacket implements RedoableWithPrepareClientMessage
             ? newPrepareResult.getStatementId()
             : (this.prepareResult != null ? this.prepareResult.getStatementId() : -1);
 
-    Iterator<Parameters> paramIterator = batchParameterList.iterator();
-    Parameters parameters = paramIterator.next();
+    int batchSize = batchParameterList.size();
+    int rowIdx = 0;
+    Parameters parameters = batchParameterList.get(0);
     int parameterCount = parameters.size();
 
-    @SuppressWarnings("rawtypes")
-    Parameter[] parameterHeaderType = new Parameter[parameterCount];
-    // set header type
-    for (int i = 0; i < parameterCount; i++) {
-      parameterHeaderType[i] = parameters.get(i);
-    }
+    // set header type, common to as many rows as possible
+    int[] parameterHeaderType = new int[parameterCount];
+    int segmentEnd = headerTypes(0, parameterHeaderType);
+
     byte[] lastCmdData = null;
     int bulkPacketNo = 0;
     mightBeBulkResult = context.hasClientCapability(BULK_UNIT_RESULTS);
     // Implementation After writing a bunch of parameter to buffer is marked. then : - when writing
     // next bunch of parameter, if buffer grow more than max_allowed_packet, send buffer up to mark,
     // then create a new packet with current bunch of data - if a bunch of parameter data type
-    // changes
+    // cannot be widened to header type
     // send buffer up to mark, then create a new packet with new data type.
     // Problem remains if a bunch of parameter is bigger than max_allowed_packet
     main_loop:
@@ -100,7 +118,7 @@ public final class BulkExecutePacket implements RedoableWithPrepareClientMessage
               (mightBeBulkResult ? 192 : 128)); // always SEND_TYPES_TO_SERVER + SEND_UNIT_RESULTS
 
       for (int i = 0; i < parameterCount; i++) {
-        writer.writeShort((short) parameterHeaderType[i].getBinaryEncodeType());
+        writer.writeShort((short) parameterHeaderType[i]);
       }
 
       if (lastCmdData != null) {
@@ -111,10 +129,16 @@ public final class BulkExecutePacket implements RedoableWithPrepareClientMessage
         writer.writeBytes(lastCmdData);
         writer.mark();
         lastCmdData = null;
-        if (!paramIterator.hasNext()) {
+        if (rowIdx + 1 == batchSize) {
           break;
         }
-        parameters = paramIterator.next();
+        parameters = batchParameterList.get(++rowIdx);
+        if (rowIdx == segmentEnd) {
+          writer.flush();
+          // reset header type
+          segmentEnd = headerTypes(rowIdx, parameterHeaderType);
+          continue;
+        }
       }
 
       parameter_loop:
@@ -125,7 +149,7 @@ public final class BulkExecutePacket implements RedoableWithPrepareClientMessage
             writer.writeByte(PARAMETER_NULL);
           } else {
             writer.writeByte(PARAMETER_NOT_NULL);
-            param.encodeBinary(writer, context);
+            encodeParameter(writer, context, param, parameterHeaderType[i]);
           }
         }
 
@@ -133,13 +157,13 @@ public final class BulkExecutePacket implements RedoableWithPrepareClientMessage
           // parameter were too big to fit in a MySQL packet
           // need to finish the packet separately
           writer.flush();
-          if (!paramIterator.hasNext()) {
+          if (rowIdx + 1 == batchSize) {
             break main_loop;
           }
-          parameters = paramIterator.next();
-          // reset header type
-          for (int j = 0; j < parameterCount; j++) {
-            parameterHeaderType[j] = parameters.get(j);
+          parameters = batchParameterList.get(++rowIdx);
+          if (rowIdx == segmentEnd) {
+            // reset header type
+            segmentEnd = headerTypes(rowIdx, parameterHeaderType);
           }
           break;
         }
@@ -161,33 +185,160 @@ public final class BulkExecutePacket implements RedoableWithPrepareClientMessage
           break;
         }
 
-        if (!paramIterator.hasNext()) {
+        if (rowIdx + 1 == batchSize) {
           break main_loop;
         }
 
-        parameters = paramIterator.next();
+        parameters = batchParameterList.get(++rowIdx);
 
-        // ensure type has not changed
-        for (int i = 0; i < parameterCount; i++) {
-          if (parameterHeaderType[i].getBinaryEncodeType()
-                  != parameters.get(i).getBinaryEncodeType()
-              && !parameters.get(i).isNull()) {
-            writer.flush();
-            // reset header type
-            for (int j = 0; j < parameterCount; j++) {
-              parameterHeaderType[j] = parameters.get(j);
-            }
-            break parameter_loop;
-          }
+        // ensure type can still be encoded with header type
+        if (rowIdx == segmentEnd) {
+          writer.flush();
+          // reset header type
+          segmentEnd = headerTypes(rowIdx, parameterHeaderType);
+          break parameter_loop;
         }
       }
     }
 
     writer.flush();
-
+    bulkPacketCount = bulkPacketNo;
     return bulkPacketNo;
   }
 
+  /**
+   * Compute parameter header types common to rows starting at indicated row, widening types when
+   * values of different type can be encoded with a common type (like INTEGER and BIGINT). Null
+   * values don't change header type.
+   *
+   * @param from first row index
+   * @param headerTypes header types to set
+   * @return index of first row that cannot be encoded with these header types, or batch size
+   */
+  private int headerTypes(int from, int[] headerTypes) {
+    int[] rowTypes = new int[headerTypes.length];
+    Arrays.fill(headerTypes, -1);
+    int batchSize = batchParameterList.size();
+    int row = from;
+    row_loop:
+    for (; row < batchSize; row++) {
+      Parameters parameters = batchParameterList.get(row);
+      for (int i = 0; i < headerTypes.length; i++) {
+        Parameter param = parameters.get(i);
+        if (param.isNull()) {
+          rowTypes[i] = headerTypes[i];
+        } else if (headerTypes[i] == -1) {
+          rowTypes[i] = param.getBinaryEncodeType();
+        } else {
+          rowTypes[i] = widenType(headerTypes[i], param.getBinaryEncodeType());
+          if (rowTypes[i] == -1) break row_loop;
+        }
+      }
+      System.arraycopy(rowTypes, 0, headerTypes, 0, headerTypes.length);
+    }
+
+    // columns with only null values
+    Parameters first = batchParameterList.get(from);
+    for (int i = 0; i < headerTypes.length; i++) {
+      if (headerTypes[i] == -1) headerTypes[i] = first.get(i).getBinaryEncodeType();
+    }
+    return row;
+  }
+
+  /**
+   * Type permitting to encode values of both types without loss, or -1 if there is none.
+   *
+   * <ul>
+   *   <li>integer types: larger integer type
+   *   <li>integer and DECIMAL types: DECIMAL
+   *   <li>FLOAT and DOUBLE: DOUBLE
+   *   <li>DATE and DATETIME: DATETIME
+   * </ul>
+   *
+   * @param type1 first type
+   * @param type2 second type
+   * @return common type
+   */
+  static int widenType(int type1, int type2) {
+    if (type1 == type2) return type1;
+    int rank1 = integerRank(type1);
+    int rank2 = integerRank(type2);
+    if (rank1 > 0 && rank2 > 0) return rank1 > rank2 ? type1 : type2;
+    if ((rank1 > 0 && type2 == DECIMAL) || (rank2 > 0 && type1 == DECIMAL)) return DECIMAL;
+    if ((type1 == FLOAT && type2 == DOUBLE) || (type1 == DOUBLE && type2 == FLOAT)) return DOUBLE;
+    if ((type1 == DATE && type2 == DATETIME) || (type1 == DATETIME && type2 == DATE)) {
+      return DATETIME;
+    }
+    return -1;
+  }
+
+  private static int integerRank(int type) {
+    if (type == TINYINT) return 1;
+    if (type == SMALLINT) return 2;
+    if (type == INTEGER) return 3;
+    if (type == BIGINT) return 4;
+    return 0;
+  }
+
+  /**
+   * Encode parameter value, widened to header type if needed.
+   *
+   * @param writer packet writer
+   * @param context connection context
+   * @param param parameter
+   * @param headerType header type
+   * @throws IOException if socket error occurs
+   * @throws SQLException if any other error occurs
+   */
+  private void encodeParameter(Writer writer, Context context, Parameter param, int headerType)
+      throws IOException, SQLException {
+    int type = param.getBinaryEncodeType();
+    if (type == headerType || type == DATE) {
+      // DATE binary encoding is a valid DATETIME encoding
+      param.encodeBinary(writer, context);
+      return;
+    }
+
+    // encode value with its own type, then convert it
+    if (widenBuffer == null) widenBuffer = new Writer(null, 0, 0xffffff, null, null);
+    widenBuffer.pos(4);
+    param.encodeBinary(widenBuffer, context);
+    byte[] buf = widenBuffer.buf();
+
+    if (type == FLOAT) {
+      int bits = (buf[4] & 0xff) | (buf[5] & 0xff) << 8 | (buf[6] & 0xff) << 16 | buf[7] << 24;
+      writer.writeDouble(Float.intBitsToFloat(bits));
+      return;
+    }
+
+    // integer value, little-endian signed
+    int length = widenBuffer.pos() - 4;
+    long value = buf[3 + length];
+    for (int i = length - 2; i >= 0; i--) {
+      value = (value << 8) | (buf[4 + i] & 0xff);
+    }
+    if (headerType == DECIMAL) {
+      String asciiFormat = Long.toString(value);
+      writer.writeLength(asciiFormat.length());
+      writer.writeAscii(asciiFormat);
+    } else if (headerType == BIGINT) {
+      writer.writeLong(value);
+    } else if (headerType == INTEGER) {
+      writer.writeInt((int) value);
+    } else {
+      writer.writeShort((short) value);
+    }
+  }
+
+  /**
+   * Number of COM_STMT_BULK_EXECUTE packets sent by last encoding.
+   *
+   * @return number of bulk packets
+   */
+  public int bulkPacketCount() {
+    return bulkPacketCount;
+  }
+
   public boolean mightBeBulkResult() {
     return mightBeBulkResult;
   }
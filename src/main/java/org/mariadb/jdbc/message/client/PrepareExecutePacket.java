@@ -167,7 +167,7 @@ public final class PrepareExecutePacket implements RedoableWithPrepareClientMess
       if (context.getConf().useServerPrepStmts()
           && context.getConf().cachePrepStmts()
           && sql.length() < 8192) {
-        PrepareResultPacket prepare = new CachedPrepareResultPacket(buf, reader, context);
+        PrepareResultPacket prepare = new CachedPrepareResultPacket(buf, reader, context, sql);
         PrepareResultPacket previousCached =
             (PrepareResultPacket)
                 context.putPrepareCacheCmd(
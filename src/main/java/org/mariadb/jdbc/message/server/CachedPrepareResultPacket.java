@@ -34,6 +34,25 @@ public final class CachedPrepareResultPacket extends PrepareResultPacket {
     super(buffer, reader, context);
   }
 
+  /**
+   * Cache prepare result with flag indicating use, sharing column metadata with other connections
+   * to the same server.
+   *
+   * @param buffer prepare packet buffer
+   * @param reader packet reader
+   * @param context connection context
+   * @param sql prepared command
+   * @throws IOException if any socket error occurs
+   */
+  public CachedPrepareResultPacket(
+      ReadableByteBuf buffer, Reader reader, Context context, String sql) throws IOException {
+    super(
+        buffer,
+        reader,
+        context,
+        context.getServerKey() + "|" + context.getDatabase() + "|" + sql);
+  }
+
   /**
    * Indicate that a prepare statement must be closed (if not in LRU cache)
    *
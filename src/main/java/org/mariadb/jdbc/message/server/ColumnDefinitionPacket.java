@@ -98,33 +98,40 @@ public class ColumnDefinitionPacket implements Column, ServerMessage {
   }
 
   public String getCatalog() {
-    buf.pos(0);
-    return buf.readString(buf.readIntLengthEncodedNotNull());
+    return readString(0);
   }
 
   public String getSchema() {
-    buf.pos(stringPos[0]);
-    return buf.readString(buf.readIntLengthEncodedNotNull());
+    return readString(stringPos[0]);
   }
 
   public String getTableAlias() {
-    buf.pos(stringPos[1]);
-    return buf.readString(buf.readIntLengthEncodedNotNull());
+    return readString(stringPos[1]);
   }
 
   public String getTable() {
-    buf.pos(stringPos[useAliasAsName ? 1 : 2]);
-    return buf.readString(buf.readIntLengthEncodedNotNull());
+    return readString(stringPos[useAliasAsName ? 1 : 2]);
   }
 
   public String getColumnAlias() {
-    buf.pos(stringPos[3]);
-    return buf.readString(buf.readIntLengthEncodedNotNull());
+    return readString(stringPos[3]);
   }
 
   public String getColumnName() {
-    buf.pos(stringPos[4]);
-    return buf.readString(buf.readIntLengthEncodedNotNull());
+    return readString(stringPos[4]);
+  }
+
+  /**
+   * Read length encoded string at position. Reading is done on a dedicated buffer, since column
+   * metadata can be shared between result-sets and connections.
+   *
+   * @param position string position
+   * @return string value
+   */
+  private String readString(int position) {
+    ReadableByteBuf view = new ReadableByteBuf(buf.buf());
+    view.pos(position);
+    return view.readString(view.readIntLengthEncodedNotNull());
   }
 
   public long getColumnLength() {
@@ -72,6 +72,21 @@ public class PrepareResultPacket implements Completion, Prepare {
    */
   public PrepareResultPacket(ReadableByteBuf buffer, Reader reader, Context context)
       throws IOException {
+    this(buffer, reader, context, null);
+  }
+
+  /**
+   * Prepare packet constructor (parsing), reusing column metadata shared between connections.
+   *
+   * @param buffer packet buffer
+   * @param reader packet reader
+   * @param context connection context
+   * @param sharedKey shared metadata key, null if metadata must not be shared
+   * @throws IOException if socket exception occurs
+   */
+  protected PrepareResultPacket(
+      ReadableByteBuf buffer, Reader reader, Context context, String sharedKey)
+      throws IOException {
     boolean trace = logger.isTraceEnabled();
     buffer.readByte(); /* skip COM_STMT_PREPARE_OK */
     this.statementId = buffer.readInt();
@@ -92,9 +107,22 @@ public class PrepareResultPacket implements Completion, Prepare {
       }
     }
     if (numColumns > 0) {
+      SharedPrepareMetadata shared =
+          sharedKey == null ? null : SharedPrepareMetadata.get(sharedKey);
+      byte[][] packets = sharedKey == null ? null : new byte[numColumns][];
+      boolean identical = shared != null;
       for (int i = 0; i < numColumns; i++) {
-        columns[i] =
-            context.getColumnDecoderFunction().apply(new ReadableByteBuf(reader.readPacket(trace)));
+        byte[] packet = reader.readPacket(trace);
+        ColumnDecoder column = shared == null ? null : shared.column(i, packet);
+        if (column == null) {
+          identical = false;
+          column = context.getColumnDecoderFunction().apply(new ReadableByteBuf(packet));
+        }
+        columns[i] = column;
+        if (packets != null) packets[i] = packet;
+      }
+      if (packets != null && !identical) {
+        SharedPrepareMetadata.put(sharedKey, packets, columns);
       }
       if (!context.isEofDeprecated()) {
         reader.readReusablePacket();
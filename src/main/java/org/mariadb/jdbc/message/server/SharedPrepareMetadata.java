@@ -0,0 +1,82 @@
+// SPDX-License-Identifier: LGPL-2.1-or-later
+// Copyright (c) 2012-2014 Monty Program Ab
+// Copyright (c) 2015-2026 MariaDB Corporation Ab
+package org.mariadb.jdbc.message.server;
+
+import java.util.Arrays;
+import org.mariadb.jdbc.client.ColumnDecoder;
+import org.mariadb.jdbc.client.util.ClockCache;
+
+/**
+ * JVM-wide cache of prepare result column metadata, shared by connections to the same server.
+ *
+ * <p>Server always sends column definitions when preparing a command, but when definitions are
+ * identical to the ones already received by another connection, the already decoded columns are
+ * reused.
+ */
+public final class SharedPrepareMetadata {
+
+  private static final int MAX_SIZE = 4096;
+  private static final ClockCache<SharedPrepareMetadata> CACHE = new ClockCache<>(MAX_SIZE, null);
+
+  private final byte[][] packets;
+  private final ColumnDecoder[] columns;
+
+  private SharedPrepareMetadata(byte[][] packets, ColumnDecoder[] columns) {
+    this.packets = packets;
+    this.columns = columns;
+  }
+
+  /**
+   * Get shared metadata
+   *
+   * @param key server, database and command key
+   * @return shared metadata if any
+   */
+  static SharedPrepareMetadata get(String key) {
+    return CACHE.get(key);
+  }
+
+  /**
+   * Share column metadata, replacing previous metadata if any.
+   *
+   * @param key server, database and command key
+   * @param packets column definition packets
+   * @param columns decoded columns
+   */
+  static void put(String key, byte[][] packets, ColumnDecoder[] columns) {
+    CACHE.put(key, new SharedPrepareMetadata(packets, columns));
+  }
+
+  /**
+   * Get already decoded column if definition packet is identical.
+   *
+   * @param index column index
+   * @param packet column definition packet
+   * @return decoded column, or null if definition differ
+   */
+  ColumnDecoder column(int index, byte[] packet) {
+    if (index < packets.length && Arrays.equals(packets[index], packet)) {
+      return columns[index];
+    }
+    return null;
+  }
+
+  /**
+   * Ratio of prepare that found shared metadata
+   *
+   * @return hit ratio, between 0 and 1
+   */
+  public static double hitRatio() {
+    return CACHE.hitRatio();
+  }
+
+  /**
+   * Number of shared metadata evicted from cache
+   *
+   * @return eviction count
+   */
+  public static long evictionCount() {
+    return CACHE.evictionCount();
+  }
+}
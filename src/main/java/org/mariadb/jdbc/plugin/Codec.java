@@ -44,6 +44,17 @@ public interface Codec<T> {
    */
   boolean canEncode(Object value);
 
+  /**
+   * Indicate if {@link #canDecode(ColumnDecoder, Class)} result only depends on column data type
+   * and requested class, and {@link #canEncode(Object)} result only on value class, permitting
+   * driver to cache codec lookup. Default to true for driver codecs only.
+   *
+   * @return true if codec lookup can be cached
+   */
+  default boolean canCacheDispatch() {
+    return getClass().getName().startsWith("org.mariadb.jdbc.plugin.codec.");
+  }
+
   /**
    * Decode from a mysql packet text encoded a value to codec java type
    *
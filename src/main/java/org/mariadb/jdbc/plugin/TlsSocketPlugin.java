@@ -33,11 +33,6 @@ public interface TlsSocketPlugin {
   /**
    * Build an {@link SSLSocketFactory} for the given configuration.
    *
-   * <p>A fresh {@code SSLContext} is built on every call, so its (single-use) client SSL session
-   * cache is never shared between connections and TLS session resumption cannot occur across
-   * connections. The trust/key managers, the comparatively expensive part (loading key/trust
-   * stores), are what implementations are expected to cache, not the factory itself.
-   *
    * @param conf configuration
    * @param exceptionFactory exception factory
    * @param hostAddress host address (used to resolve a per-host sslMode override)
@@ -47,16 +42,42 @@ public interface TlsSocketPlugin {
   default SSLSocketFactory getSocketFactory(
       Configuration conf, ExceptionFactory exceptionFactory, HostAddress hostAddress)
       throws SQLException {
+    return getSocketFactory(
+        conf,
+        exceptionFactory,
+        hostAddress,
+        getTrustManager(conf, exceptionFactory, hostAddress));
+  }
+
+  /**
+   * Build an {@link SSLSocketFactory} for the given configuration, using indicated trust managers.
+   *
+   * <p>Default implementation builds a fresh {@code SSLContext} on every call, so no client SSL
+   * session cache is shared between connections and TLS session resumption cannot occur.
+   * Implementations may cache the factory per configuration to permit session resumption, as long
+   * as trust managers returned by {@link #getTrustManager} for the same configuration are then
+   * shared by connections.
+   *
+   * @param conf configuration
+   * @param exceptionFactory exception factory
+   * @param hostAddress host address (used to resolve a per-host sslMode override)
+   * @param trustManagers trust managers, as returned by {@link #getTrustManager}
+   * @return SSL socket factory
+   * @throws SQLException if the SSL context cannot be initialized
+   */
+  default SSLSocketFactory getSocketFactory(
+      Configuration conf,
+      ExceptionFactory exceptionFactory,
+      HostAddress hostAddress,
+      TrustManager[] trustManagers)
+      throws SQLException {
     return newSslSocketFactory(
-        getKeyManager(conf, exceptionFactory),
-        getTrustManager(conf, exceptionFactory, hostAddress),
-        exceptionFactory);
+        getKeyManager(conf, exceptionFactory), trustManagers, exceptionFactory);
   }
 
   /**
    * Build a fresh {@link SSLSocketFactory} from the given managers. A new {@code SSLContext} is
-   * created on each call, so no client SSL session cache is shared between connections (no TLS
-   * session resumption across connections).
+   * created on each call, so no client SSL session cache is shared between callers.
    *
    * @param keyManagers key managers (maybe {@code null})
    * @param trustManagers trust managers
@@ -95,8 +95,7 @@ public class BlobCodec implements Codec<Blob> {
       case LONGBLOB:
       case BLOB:
       case GEOMETRY:
-        buf.skip(length.get());
-        return new MariaDbBlob(buf.buf(), buf.pos() - length.get(), length.get());
+        return buf.readBlob(length.get());
 
       default:
         buf.skip(length.get());
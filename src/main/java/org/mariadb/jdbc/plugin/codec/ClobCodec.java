@@ -76,6 +76,7 @@ public class ClobCodec implements Codec<Clob> {
       case STRING:
       case VARCHAR:
       case VARSTRING:
+        if (buf.shared()) return new MariaDbClob(buf.readBytes(length.get()));
         Clob clob = new MariaDbClob(buf.buf(), buf.pos(), length.get());
         buf.skip(length.get());
         return clob;
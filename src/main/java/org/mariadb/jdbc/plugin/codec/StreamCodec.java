@@ -53,6 +53,7 @@ public class StreamCodec implements Codec<InputStream> {
       case TINYBLOB:
       case MEDIUMBLOB:
       case LONGBLOB:
+        if (buf.shared()) return new ByteArrayInputStream(buf.readBytes(length.get()));
         ByteArrayInputStream is = new ByteArrayInputStream(buf.buf(), buf.pos(), length.get());
         buf.skip(length.get());
         return is;
@@ -79,6 +80,7 @@ public class StreamCodec implements Codec<InputStream> {
       case TINYBLOB:
       case MEDIUMBLOB:
       case LONGBLOB:
+        if (buf.shared()) return new ByteArrayInputStream(buf.readBytes(length.get()));
         ByteArrayInputStream is = new ByteArrayInputStream(buf.buf(), buf.pos(), length.get());
         buf.skip(length.get());
         return is;
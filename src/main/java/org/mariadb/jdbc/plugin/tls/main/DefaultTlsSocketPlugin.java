@@ -26,6 +26,7 @@ import java.util.concurrent.ConcurrentHashMap;
 import javax.net.ssl.KeyManager;
 import javax.net.ssl.SSLException;
 import javax.net.ssl.SSLSession;
+import javax.net.ssl.SSLSocketFactory;
 import javax.net.ssl.TrustManager;
 import javax.net.ssl.TrustManagerFactory;
 import javax.net.ssl.X509TrustManager;
@@ -51,11 +52,14 @@ public class DefaultTlsSocketPlugin implements TlsSocketPlugin {
   private static final ConcurrentHashMap<String, KeyManager[]> KEY_CACHE =
       new ConcurrentHashMap<>();
 
+  private static final ConcurrentHashMap<String, CachedFactory> FACTORY_CACHE =
+      new ConcurrentHashMap<>();
+
   private static final int MAX_CACHE_SIZE = 256;
 
   /**
-   * Non-mapped option {@code disableSslContextCache} to disable the trust/key-manager cache and
-   * rebuild the managers on every connection.
+   * Non-mapped option {@code disableSslContextCache} to disable the SSL context and trust/key
+   * manager caches and rebuild them on every connection.
    */
   private static boolean cacheDisabled(Configuration conf) {
     return Boolean.parseBoolean(
@@ -137,27 +141,45 @@ public class DefaultTlsSocketPlugin implements TlsSocketPlugin {
       CachedTrust previous = TRUST_CACHE.putIfAbsent(key, cached);
       if (previous != null) cached = previous;
     }
-    return wrapTrust(cached);
+    return cached.trustManagers;
   }
 
   // package-private (not private) so the JMH benchmark can measure an uncached baseline
   TrustManager[] buildTrustManager(
       Configuration conf, ExceptionFactory exceptionFactory, HostAddress hostAddress)
       throws SQLException {
-    return wrapTrust(buildTrust(conf, exceptionFactory, hostAddress));
+    return buildTrust(conf, exceptionFactory, hostAddress).trustManagers;
   }
 
   /**
-   * Wraps the cached base trust manager for a single connection: paths that defer identity
-   * validation to authentication get a fresh {@link MariaDbX509DeferredIdentityTrustManager} (so
-   * the captured fingerprint is per-connection state); other paths use the stateless base directly.
+   * SSL socket factory, cached per TLS configuration (including store freshness), so connections
+   * share the client SSL session cache and can resume TLS sessions. JSSE keys sessions by server
+   * address and port.
    */
-  private static TrustManager[] wrapTrust(CachedTrust cachedTrust) {
-    return new TrustManager[] {
-      cachedTrust.deferIdentity
-          ? new MariaDbX509DeferredIdentityTrustManager(cachedTrust.base)
-          : cachedTrust.base
-    };
+  @Override
+  public SSLSocketFactory getSocketFactory(
+      Configuration conf,
+      ExceptionFactory exceptionFactory,
+      HostAddress hostAddress,
+      TrustManager[] trustManagers)
+      throws SQLException {
+    if (cacheDisabled(conf)) {
+      return TlsSocketPlugin.newSslSocketFactory(
+          getKeyManager(conf, exceptionFactory), trustManagers, exceptionFactory);
+    }
+    String key = trustCacheKey(conf, hostAddress) + keyCacheKey(conf);
+    CachedFactory cached = FACTORY_CACHE.get(key);
+    // factory must use the connection trust managers, that record handshake outcome
+    if (cached == null || cached.trustManagers != trustManagers) {
+      cached =
+          new CachedFactory(
+              trustManagers,
+              TlsSocketPlugin.newSslSocketFactory(
+                  getKeyManager(conf, exceptionFactory), trustManagers, exceptionFactory));
+      if (FACTORY_CACHE.size() >= MAX_CACHE_SIZE) FACTORY_CACHE.clear();
+      FACTORY_CACHE.put(key, cached);
+    }
+    return cached.factory;
   }
 
   private CachedTrust buildTrust(
@@ -362,6 +384,11 @@ public class DefaultTlsSocketPlugin implements TlsSocketPlugin {
     appendValue(sb, conf.keyStorePassword());
     appendValue(sb, conf.keyPassword());
     appendValue(sb, conf.keyStoreType());
+    sb.append(conf.fallbackToSystemKeyStore()).append('\n');
+    // the system key store the fallback path relies on
+    appendFile(sb, System.getProperty("javax.net.ssl.keyStore"));
+    appendValue(sb, System.getProperty("javax.net.ssl.keyStorePassword"));
+    appendValue(sb, System.getProperty("javax.net.ssl.keyStoreType"));
     return sha256(sb.toString());
   }
 
@@ -428,14 +455,25 @@ public class DefaultTlsSocketPlugin implements TlsSocketPlugin {
   }
 
   private static final class CachedTrust {
-    private final X509TrustManager base;
-    // when true, this path cannot validate the server certificate against the trust store and
-    // defers identity validation to authentication (per-connection fingerprint capture)
-    private final boolean deferIdentity;
+    // when this path cannot validate the server certificate against the trust store, identity
+    // validation is deferred to authentication (fingerprint capture, recorded per socket)
+    private final TrustManager[] trustManagers;
 
     private CachedTrust(X509TrustManager base, boolean deferIdentity) {
-      this.base = base;
-      this.deferIdentity = deferIdentity;
+      this.trustManagers =
+          new TrustManager[] {
+            deferIdentity ? new MariaDbX509DeferredIdentityTrustManager(base) : base
+          };
+    }
+  }
+
+  private static final class CachedFactory {
+    private final TrustManager[] trustManagers;
+    private final SSLSocketFactory factory;
+
+    private CachedFactory(TrustManager[] trustManagers, SSLSocketFactory factory) {
+      this.trustManagers = trustManagers;
+      this.factory = factory;
     }
   }
 }
@@ -0,0 +1,183 @@
+// SPDX-License-Identifier: LGPL-2.1-or-later
+// Copyright (c) 2012-2014 Monty Program Ab
+// Copyright (c) 2015-2026 MariaDB Corporation Ab
+package org.mariadb.jdbc.pool;
+
+import java.lang.ref.WeakReference;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.SynchronousQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Pool connection container, with lock-free borrow and return.
+ *
+ * <p>Each connection has a state, changed by CAS. Borrowing first tries the connection last
+ * returned by the current thread, then scans all connections. If none is available, the thread
+ * waits on a hand-off queue: returning threads give their connection directly to waiting threads.
+ */
+final class ConnectionBag {
+
+  static final int STATE_NOT_IN_USE = 0;
+  static final int STATE_IN_USE = 1;
+  static final int STATE_RESERVED = 2;
+  static final int STATE_REMOVED = 3;
+
+  private final CopyOnWriteArrayList<MariaDbInnerPoolConnection> connections =
+      new CopyOnWriteArrayList<>();
+  private final ThreadLocal<WeakReference<MariaDbInnerPoolConnection>> lastUsed =
+      new ThreadLocal<>();
+  private final SynchronousQueue<MariaDbInnerPoolConnection> handoffQueue =
+      new SynchronousQueue<>(true);
+  private final AtomicInteger waiters = new AtomicInteger();
+
+  /**
+   * Borrow an idle connection.
+   *
+   * @param timeout maximum time to wait for a connection, 0 to not wait
+   * @param unit timeout unit
+   * @return connection in use state, or null if none available in time
+   * @throws InterruptedException if interrupted while waiting
+   */
+  MariaDbInnerPoolConnection borrow(long timeout, TimeUnit unit) throws InterruptedException {
+    WeakReference<MariaDbInnerPoolConnection> ref = lastUsed.get();
+    if (ref != null) {
+      MariaDbInnerPoolConnection item = ref.get();
+      if (item != null && item.compareAndSetState(STATE_NOT_IN_USE, STATE_IN_USE)) return item;
+    }
+
+    if (timeout == 0) return scan();
+
+    // register as waiter before scanning, so a connection returned meanwhile is handed off
+    waiters.incrementAndGet();
+    try {
+      MariaDbInnerPoolConnection item = scan();
+      if (item != null) return item;
+
+      long remaining = unit.toNanos(timeout);
+      long deadline = System.nanoTime() + remaining;
+      while (remaining > 0) {
+        item = handoffQueue.poll(remaining, TimeUnit.NANOSECONDS);
+        if (item == null) return null;
+        if (item.compareAndSetState(STATE_NOT_IN_USE, STATE_IN_USE)) return item;
+        remaining = deadline - System.nanoTime();
+      }
+      return null;
+    } finally {
+      waiters.decrementAndGet();
+    }
+  }
+
+  private MariaDbInnerPoolConnection scan() {
+    for (MariaDbInnerPoolConnection item : connections) {
+      if (item.compareAndSetState(STATE_NOT_IN_USE, STATE_IN_USE)) return item;
+    }
+    return null;
+  }
+
+  /**
+   * Return a borrowed connection.
+   *
+   * @param item connection
+   */
+  void requite(MariaDbInnerPoolConnection item) {
+    item.setState(STATE_NOT_IN_USE);
+    handoff(item);
+    WeakReference<MariaDbInnerPoolConnection> ref = lastUsed.get();
+    if (ref == null || ref.get() != item) lastUsed.set(new WeakReference<>(item));
+  }
+
+  /**
+   * Add a new idle connection.
+   *
+   * @param item connection
+   */
+  void add(MariaDbInnerPoolConnection item) {
+    connections.add(item);
+    handoff(item);
+  }
+
+  private void handoff(MariaDbInnerPoolConnection item) {
+    for (int i = 0; waiters.get() > 0; i++) {
+      if (item.getState() != STATE_NOT_IN_USE || handoffQueue.offer(item)) return;
+      if ((i & 0xff) == 0xff) {
+        LockSupport.parkNanos(10_000);
+      } else {
+        Thread.yield();
+      }
+    }
+  }
+
+  /**
+   * Reserve an idle connection, so it cannot be borrowed (before removal).
+   *
+   * @param item connection
+   * @return true if connection was idle and is now reserved
+   */
+  boolean reserve(MariaDbInnerPoolConnection item) {
+    return item.compareAndSetState(STATE_NOT_IN_USE, STATE_RESERVED);
+  }
+
+  /**
+   * Remove a connection. Idle connections must be reserved first to be removed safely.
+   *
+   * @param item connection
+   * @return true if connection was removed, false if already removed
+   */
+  boolean remove(MariaDbInnerPoolConnection item) {
+    while (true) {
+      int state = item.getState();
+      if (state == STATE_REMOVED) return false;
+      if (item.compareAndSetState(state, STATE_REMOVED)) return connections.remove(item);
+    }
+  }
+
+  /**
+   * Connections in indicated state.
+   *
+   * @param state state
+   * @return connection list
+   */
+  List<MariaDbInnerPoolConnection> values(int state) {
+    List<MariaDbInnerPoolConnection> list = new ArrayList<>();
+    for (MariaDbInnerPoolConnection item : connections) {
+      if (item.getState() == state) list.add(item);
+    }
+    return list;
+  }
+
+  /**
+   * All connections.
+   *
+   * @return connection list
+   */
+  List<MariaDbInnerPoolConnection> values() {
+    return new ArrayList<>(connections);
+  }
+
+  /**
+   * Number of connections in indicated state.
+   *
+   * @param state state
+   * @return number of connections
+   */
+  int count(int state) {
+    int count = 0;
+    for (MariaDbInnerPoolConnection item : connections) {
+      if (item.getState() == state) count++;
+    }
+    return count;
+  }
+
+  /**
+   * Number of threads waiting for a connection.
+   *
+   * @return waiting thread number
+   */
+  int getWaitingThreads() {
+    return waiters.get();
+  }
+}
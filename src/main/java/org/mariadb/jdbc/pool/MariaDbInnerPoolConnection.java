@@ -3,6 +3,7 @@
 // Copyright (c) 2015-2026 MariaDB Corporation Ab
 package org.mariadb.jdbc.pool;
 
+import java.util.concurrent.atomic.AtomicIntegerFieldUpdater;
 import java.util.concurrent.atomic.AtomicLong;
 import javax.sql.*;
 import org.mariadb.jdbc.Connection;
@@ -13,8 +14,14 @@ import org.mariadb.jdbc.MariaDbPoolConnection;
  * connection after staying in pool for long time.
  */
 public class MariaDbInnerPoolConnection extends MariaDbPoolConnection {
+  private static final AtomicIntegerFieldUpdater<MariaDbInnerPoolConnection> STATE =
+      AtomicIntegerFieldUpdater.newUpdater(MariaDbInnerPoolConnection.class, "state");
+
   private final AtomicLong lastUsed;
 
+  // pool state, see ConnectionBag
+  private volatile int state = ConnectionBag.STATE_NOT_IN_USE;
+
   /**
    * Constructor.
    *
@@ -43,4 +50,16 @@ public class MariaDbInnerPoolConnection extends MariaDbPoolConnection {
   public void ensureValidation() {
     lastUsed.set(0L);
   }
+
+  int getState() {
+    return state;
+  }
+
+  void setState(int state) {
+    this.state = state;
+  }
+
+  boolean compareAndSetState(int expect, int update) {
+    return STATE.compareAndSet(this, expect, update);
+  }
 }
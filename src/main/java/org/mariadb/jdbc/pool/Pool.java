@@ -8,12 +8,11 @@ import java.sql.ResultSet;
 import java.sql.SQLException;
 import java.text.NumberFormat;
 import java.util.ArrayList;
-import java.util.Collection;
-import java.util.Iterator;
 import java.util.List;
 import java.util.Locale;
 import java.util.concurrent.*;
 import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
 import javax.management.MBeanServer;
 import javax.management.ObjectName;
 import javax.sql.ConnectionEvent;
@@ -22,6 +21,8 @@ import org.mariadb.jdbc.Configuration;
 import org.mariadb.jdbc.Connection;
 import org.mariadb.jdbc.Driver;
 import org.mariadb.jdbc.Statement;
+import org.mariadb.jdbc.client.util.ClosableLock;
+import org.mariadb.jdbc.client.util.TimerWheel;
 import org.mariadb.jdbc.util.log.Logger;
 import org.mariadb.jdbc.util.log.Loggers;
 
@@ -38,20 +39,33 @@ public class Pool implements AutoCloseable, PoolMBean {
   private final Configuration conf;
   private final AtomicInteger pendingRequestNumber = new AtomicInteger();
   private final AtomicInteger totalConnection = new AtomicInteger();
-
-  private final LinkedBlockingDeque<MariaDbInnerPoolConnection> idleConnections;
+  private final AtomicInteger connectionsInCreation = new AtomicInteger();
+  private final AtomicLong nextCreationTime = new AtomicLong();
+  private volatile long fillStartTime;
+  private volatile long lastFillDuration;
+  private final AtomicLong tlsHandshakes = new AtomicLong();
+  private final AtomicLong tlsResumedHandshakes = new AtomicLong();
+  private final AtomicLong tlsHandshakeNanos = new AtomicLong();
+
+  private final ConnectionBag connections = new ConnectionBag();
+  private final ClosableLock closeLock = new ClosableLock();
   private final ThreadPoolExecutor connectionAppender;
   private final BlockingQueue<Runnable> connectionAppenderQueue;
 
   private final String poolTag;
   private final ScheduledThreadPoolExecutor poolExecutor;
-  private final ScheduledFuture<?> scheduledFuture;
+  private final TimerWheel.Timeout idleRemovalTask;
 
   private int waitTimeout;
 
   /**
    * Create a pool from configuration.
    *
+   * <p>Connection creation errors during initialization are logged, not thrown: the pool is
+   * created even if the server is unreachable, and getConnection() then fails after connectTimeout.
+   * When warming up, connections that could not be created are only missing from the pool and will
+   * be created on demand.
+   *
    * @param conf configuration parser
    * @param poolIndex pool index to permit distinction of thread name
    * @param poolExecutor pools common executor
@@ -62,28 +76,28 @@ public class Pool implements AutoCloseable, PoolMBean {
     this.conf = conf;
     poolTag = generatePoolTag(poolIndex);
 
-    // one thread to add new connection to pool.
+    // threads to add new connection to pool, up to poolFillConcurrency in parallel.
     connectionAppenderQueue = new ArrayBlockingQueue<>(conf.maxPoolSize());
     connectionAppender =
         new ThreadPoolExecutor(
-            1,
-            1,
+            conf.poolFillConcurrency(),
+            conf.poolFillConcurrency(),
             10,
             TimeUnit.SECONDS,
             connectionAppenderQueue,
             new PoolThreadFactory(poolTag + "-appender"));
     connectionAppender.allowCoreThreadTimeOut(true);
     // create workers, since driver only interact with queue after that (i.e. not using .execute() )
-    connectionAppender.prestartCoreThread();
+    connectionAppender.prestartAllCoreThreads();
 
-    idleConnections = new LinkedBlockingDeque<>();
     int minDelay =
         Integer.parseInt(conf.nonMappedOptions().getProperty("testMinRemovalDelay", "30"));
     int scheduleDelay = Math.min(minDelay, conf.maxIdleTime() / 2);
     this.poolExecutor = poolExecutor;
-    scheduledFuture =
-        poolExecutor.scheduleAtFixedRate(
-            this::removeIdleTimeoutConnection, scheduleDelay, scheduleDelay, TimeUnit.SECONDS);
+    idleRemovalTask =
+        TimerWheel.getInstance()
+            .scheduleAtFixedRate(
+                this::removeIdleTimeoutConnection, scheduleDelay, scheduleDelay, TimeUnit.SECONDS);
 
     if (conf.registerJmxPool()) {
       try {
@@ -95,12 +109,21 @@ public class Pool implements AutoCloseable, PoolMBean {
 
     // create minimal connection in pool
     try {
-      for (int i = 0; i < Math.max(1, conf.minPoolSize()); i++) {
-        addConnection();
+      // first connection is created directly, to fail fast if server is not reachable
+      long start = System.nanoTime();
+      addConnection();
+      int initial = Math.max(1, conf.minPoolSize()) - 1;
+      if (conf.poolWarmup()) {
+        fill(initial);
+      } else {
+        for (int i = 0; i < initial; i++) addConnectionRequest();
       }
+      lastFillDuration = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+
       waitTimeout = 28800;
-      if (!idleConnections.isEmpty()) {
-        try (Statement stmt = idleConnections.getFirst().getConnection().createStatement()) {
+      List<MariaDbInnerPoolConnection> idle = connections.values(ConnectionBag.STATE_NOT_IN_USE);
+      if (!idle.isEmpty()) {
+        try (Statement stmt = idle.get(0).getConnection().createStatement()) {
           ResultSet rs = stmt.executeQuery("SELECT @@wait_timeout");
           if (rs.next()) waitTimeout = rs.getInt(1);
         }
@@ -111,42 +134,92 @@ public class Pool implements AutoCloseable, PoolMBean {
   }
 
   /**
-   * Add new connection if needed. Only one thread create new connection, so new connection request
-   * will wait to newly created connection or for a released connection.
+   * Create connections in parallel, waiting for creation to finish.
+   *
+   * @param number number of connections to create
    */
-  private void addConnectionRequest() {
-    if (totalConnection.get() < conf.maxPoolSize() && poolState.get() == POOL_STATE_OK) {
-
-      // ensure to have one worker if was timeout
-      connectionAppender.prestartCoreThread();
-      connectionAppenderQueue.offer(
+  private void fill(int number) {
+    if (number <= 0) return;
+    CountDownLatch latch = new CountDownLatch(number);
+    for (int i = 0; i < number; i++) {
+      if (!connectionAppenderQueue.offer(
           () -> {
-            if ((totalConnection.get() < conf.minPoolSize() || pendingRequestNumber.get() > 0)
-                && totalConnection.get() < conf.maxPoolSize()) {
-              try {
-                addConnection();
-              } catch (SQLException sqle) {
-                logger.error("error adding connection to pool", sqle);
-              }
+            try {
+              createConnectionIfNeeded();
+            } finally {
+              latch.countDown();
             }
-          });
+          })) {
+        latch.countDown();
+      }
+    }
+    try {
+      latch.await();
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
     }
   }
 
   /**
-   * Removing idle connection. Close them and recreate connection to reach minimal number of
-   * connection.
+   * Add new connection if needed. Up to poolFillConcurrency threads create new connection, so new
+   * connection request will wait to newly created connection or for a released connection.
    */
-  private void removeIdleTimeoutConnection() {
+  private void addConnectionRequest() {
+    if (totalConnection.get() < conf.maxPoolSize() && poolState.get() == POOL_STATE_OK) {
+
+      // ensure to have workers if was timeout
+      connectionAppender.prestartAllCoreThreads();
+      connectionAppenderQueue.offer(this::createConnectionIfNeeded);
+    }
+  }
 
-    // descending iterator since first from queue are the first to be used
-    Iterator<MariaDbInnerPoolConnection> iterator = idleConnections.descendingIterator();
+  private void createConnectionIfNeeded() {
+    // reserve creation, connection in creation counting as existing
+    int creating;
+    do {
+      creating = connectionsInCreation.get();
+      int total = totalConnection.get() + creating;
+      boolean needed =
+          (total < conf.minPoolSize() || pendingRequestNumber.get() > creating)
+              && total < conf.maxPoolSize();
+      if (!needed || poolState.get() != POOL_STATE_OK) return;
+    } while (!connectionsInCreation.compareAndSet(creating, creating + 1));
+    if (creating == 0) fillStartTime = System.nanoTime();
 
-    MariaDbInnerPoolConnection item;
+    try {
+      pace();
+      addConnection();
+    } catch (SQLException sqle) {
+      logger.error("error adding connection to pool", sqle);
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    } finally {
+      if (connectionsInCreation.decrementAndGet() == 0) {
+        lastFillDuration = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - fillStartTime);
+      }
+    }
+  }
 
-    while (iterator.hasNext()) {
-      item = iterator.next();
+  /**
+   * Wait, if needed, so connection creations are separated by at least poolFillInterval.
+   *
+   * @throws InterruptedException if interrupted while waiting
+   */
+  private void pace() throws InterruptedException {
+    if (conf.poolFillInterval() == 0) return;
+    long interval = TimeUnit.MILLISECONDS.toNanos(conf.poolFillInterval());
+    long now = System.nanoTime();
+    long slot = nextCreationTime.getAndAccumulate(now, (prev, n) -> Math.max(prev, n) + interval);
+    long wait = slot - now;
+    if (wait > 0) TimeUnit.NANOSECONDS.sleep(wait);
+  }
 
+  /**
+   * Removing idle connection. Close them and recreate connection to reach minimal number of
+   * connection.
+   */
+  private void removeIdleTimeoutConnection() {
+    for (MariaDbInnerPoolConnection item : connections.values(ConnectionBag.STATE_NOT_IN_USE)) {
       long idleTime = System.nanoTime() - item.getLastUsed().get();
       boolean timedOut = idleTime > TimeUnit.SECONDS.toNanos(conf.maxIdleTime());
 
@@ -168,7 +241,7 @@ public class Pool implements AutoCloseable, PoolMBean {
         shouldBeReleased = true;
       }
 
-      if (shouldBeReleased && idleConnections.remove(item)) {
+      if (shouldBeReleased && connections.reserve(item) && connections.remove(item)) {
 
         totalConnection.decrementAndGet();
         silentCloseConnection(con);
@@ -186,6 +259,15 @@ public class Pool implements AutoCloseable, PoolMBean {
     }
   }
 
+  private void recordTlsHandshake(Connection connection) {
+    long handshakeNanos = connection.getContext().getTlsHandshakeNanos();
+    if (handshakeNanos >= 0) {
+      tlsHandshakes.incrementAndGet();
+      tlsHandshakeNanos.addAndGet(handshakeNanos);
+      if (connection.getContext().isTlsSessionResumed()) tlsResumedHandshakes.incrementAndGet();
+    }
+  }
+
   /**
    * Create new connection.
    *
@@ -195,6 +277,7 @@ public class Pool implements AutoCloseable, PoolMBean {
 
     // create new connection
     Connection connection = Driver.connect(conf);
+    recordTlsHandshake(connection);
     MariaDbInnerPoolConnection item = new MariaDbInnerPoolConnection(connection);
     item.addConnectionEventListener(
         new ConnectionEventListener() {
@@ -204,23 +287,20 @@ public class Pool implements AutoCloseable, PoolMBean {
             MariaDbInnerPoolConnection item = (MariaDbInnerPoolConnection) event.getSource();
             if (poolState.get() == POOL_STATE_OK) {
               if (item.isClosed()) {
-                totalConnection.decrementAndGet();
+                if (connections.remove(item)) totalConnection.decrementAndGet();
                 silentCloseConnection(item.getConnection());
-                if (idleConnections.contains(item)) {
-                  idleConnections.remove(item);
-                }
               } else {
                 try {
-                  if (!idleConnections.contains(item)) {
+                  if (item.getState() == ConnectionBag.STATE_IN_USE) {
                     item.getConnection().setPoolConnection(null);
                     item.getConnection().reset();
-                    idleConnections.addFirst(item);
                     item.getConnection().setPoolConnection(item);
+                    connections.requite(item);
                   }
                 } catch (SQLException sqle) {
 
                   // sql exception during reset, removing connection from pool
-                  totalConnection.decrementAndGet();
+                  if (connections.remove(item)) totalConnection.decrementAndGet();
                   silentCloseConnection(item.getConnection());
                   logger.debug(
                       "connection {} removed from pool {} due to error during reset (total:{},"
@@ -239,12 +319,13 @@ public class Pool implements AutoCloseable, PoolMBean {
           public void connectionErrorOccurred(ConnectionEvent event) {
 
             MariaDbInnerPoolConnection item = ((MariaDbInnerPoolConnection) event.getSource());
-            totalConnection.decrementAndGet();
-            idleConnections.remove(item);
+            if (connections.remove(item)) totalConnection.decrementAndGet();
 
             // ensure that other connection will be validated before being use
             // since one connection failed, better to assume the other might as well
-            idleConnections.forEach(MariaDbInnerPoolConnection::ensureValidation);
+            connections
+                .values(ConnectionBag.STATE_NOT_IN_USE)
+                .forEach(MariaDbInnerPoolConnection::ensureValidation);
 
             silentCloseConnection(item.getConnection());
             addConnectionRequest();
@@ -260,7 +341,7 @@ public class Pool implements AutoCloseable, PoolMBean {
         });
     if (poolState.get() == POOL_STATE_OK
         && totalConnection.incrementAndGet() <= conf.maxPoolSize()) {
-      idleConnections.addFirst(item);
+      connections.add(item);
 
       if (logger.isDebugEnabled()) {
         logger.debug(
@@ -286,10 +367,7 @@ public class Pool implements AutoCloseable, PoolMBean {
       throws InterruptedException {
 
     while (true) {
-      MariaDbInnerPoolConnection item =
-          (timeout == 0)
-              ? idleConnections.pollFirst()
-              : idleConnections.pollFirst(timeout, timeUnit);
+      MariaDbInnerPoolConnection item = connections.borrow(timeout, timeUnit);
 
       if (item == null) return null;
       try {
@@ -314,6 +392,7 @@ public class Pool implements AutoCloseable, PoolMBean {
       }
 
       // validation failed
+      if (connections.remove(item)) totalConnection.decrementAndGet();
       silentAbortConnection(item.getConnection());
       addConnectionRequest();
       if (logger.isDebugEnabled()) {
@@ -430,14 +509,15 @@ public class Pool implements AutoCloseable, PoolMBean {
 
   /** Close pool and underlying connections. */
   @Override
+  @SuppressWarnings("try")
   public void close() {
     try {
-      synchronized (this) {
+      try (ClosableLock ignore = closeLock.closeableLock()) {
         Pools.remove(this);
         poolState.set(POOL_STATE_CLOSING);
         pendingRequestNumber.set(0);
 
-        scheduledFuture.cancel(false);
+        idleRemovalTask.cancel();
         connectionAppender.shutdown();
 
         try {
@@ -467,7 +547,7 @@ public class Pool implements AutoCloseable, PoolMBean {
         // loop for up to 10 seconds to close a not used connection
         long start = System.nanoTime();
         do {
-          closeAll(idleConnections);
+          closeIdle();
           if (totalConnection.get() > 0) {
             Thread.sleep(0, 10_00);
           }
@@ -475,8 +555,8 @@ public class Pool implements AutoCloseable, PoolMBean {
             && TimeUnit.NANOSECONDS.toSeconds(System.nanoTime() - start) < 10);
 
         // after having wait for 10 seconds, force removal, even if used connections
-        if (totalConnection.get() > 0 || idleConnections.isEmpty()) {
-          closeAll(idleConnections);
+        if (totalConnection.get() > 0) {
+          closeIdle();
         }
 
         connectionRemover.shutdown();
@@ -492,22 +572,18 @@ public class Pool implements AutoCloseable, PoolMBean {
     }
   }
 
-  private void closeAll(Collection<MariaDbInnerPoolConnection> collection) {
-    synchronized (collection) { // synchronized mandatory to iterate Collections.synchronizedList()
-      for (MariaDbInnerPoolConnection item : collection) {
+  private void closeIdle() {
+    for (MariaDbInnerPoolConnection item : connections.values(ConnectionBag.STATE_NOT_IN_USE)) {
+      if (connections.reserve(item) && connections.remove(item)) {
+        totalConnection.decrementAndGet();
         if (!item.isClosed()) {
           try {
             item.close();
-            totalConnection.decrementAndGet();
           } catch (SQLException e) {
             // eat
           }
         } else {
-          if (idleConnections.contains(item)) {
-            silentCloseConnection(item.getConnection());
-            idleConnections.remove(item);
-            totalConnection.decrementAndGet();
-          }
+          silentCloseConnection(item.getConnection());
         }
       }
     }
@@ -524,7 +600,7 @@ public class Pool implements AutoCloseable, PoolMBean {
 
   @Override
   public long getActiveConnections() {
-    return totalConnection.get() - idleConnections.size();
+    return totalConnection.get() - getIdleConnections();
   }
 
   @Override
@@ -534,13 +610,44 @@ public class Pool implements AutoCloseable, PoolMBean {
 
   @Override
   public long getIdleConnections() {
-    return idleConnections.size();
+    return connections.count(ConnectionBag.STATE_NOT_IN_USE);
   }
 
   public long getConnectionRequests() {
     return pendingRequestNumber.get();
   }
 
+  @Override
+  public long getLastFillDuration() {
+    return lastFillDuration;
+  }
+
+  @Override
+  public long getTlsHandshakes() {
+    return tlsHandshakes.get();
+  }
+
+  @Override
+  public long getTlsResumedHandshakes() {
+    return tlsResumedHandshakes.get();
+  }
+
+  @Override
+  public long getTlsHandshakeTime() {
+    long handshakes = tlsHandshakes.get();
+    if (handshakes == 0) return 0;
+    return TimeUnit.NANOSECONDS.toMicros(tlsHandshakeNanos.get() / handshakes);
+  }
+
+  @Override
+  public long getBufferMemory() {
+    long total = 0;
+    for (MariaDbInnerPoolConnection item : connections.values()) {
+      total += item.getConnection().getClient().getBufferMemory();
+    }
+    return total;
+  }
+
   private void registerJmx() throws Exception {
     MBeanServer mbs = ManagementFactory.getPlatformMBeanServer();
     String jmxName = poolTag.replace(":", "_");
@@ -572,7 +679,8 @@ public class Pool implements AutoCloseable, PoolMBean {
    */
   public List<Long> testGetConnectionIdleThreadIds() {
     List<Long> threadIds = new ArrayList<>();
-    for (MariaDbInnerPoolConnection pooledConnection : idleConnections) {
+    for (MariaDbInnerPoolConnection pooledConnection :
+        connections.values(ConnectionBag.STATE_NOT_IN_USE)) {
       threadIds.add(pooledConnection.getConnection().getThreadId());
     }
     return threadIds;
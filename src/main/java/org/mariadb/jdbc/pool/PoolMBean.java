@@ -33,4 +33,41 @@ public interface PoolMBean {
    * @return request number
    */
   long getConnectionRequests();
+
+  /**
+   * get duration of last pool fill: time spent creating connections, from first creation until no
+   * more connection are being created.
+   *
+   * @return last fill duration in milliseconds
+   */
+  long getLastFillDuration();
+
+  /**
+   * get number of TLS handshakes of pool connections
+   *
+   * @return TLS handshake number
+   */
+  long getTlsHandshakes();
+
+  /**
+   * get number of TLS handshakes of pool connections that resumed a previous TLS session, avoiding
+   * a full handshake. Resumption hit rate is this value divided by {@link #getTlsHandshakes()}.
+   *
+   * @return resumed TLS handshake number
+   */
+  long getTlsResumedHandshakes();
+
+  /**
+   * get average TLS handshake duration of pool connections
+   *
+   * @return average TLS handshake duration in microseconds
+   */
+  long getTlsHandshakeTime();
+
+  /**
+   * get memory held by packet buffers of pool connections
+   *
+   * @return buffer memory in bytes
+   */
+  long getBufferMemory();
 }
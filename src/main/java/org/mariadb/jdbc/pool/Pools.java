@@ -9,19 +9,28 @@ import java.util.concurrent.ScheduledThreadPoolExecutor;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicInteger;
 import org.mariadb.jdbc.Configuration;
+import org.mariadb.jdbc.client.util.ClosableLock;
 
-/** Pools */
+/**
+ * Pools.
+ *
+ * <p>Locking uses {@link ClosableLock} rather than monitors: pool creation and closing do socket
+ * I/O, which would otherwise pin carrier threads when called from virtual threads.
+ */
+@SuppressWarnings("try")
 public final class Pools {
 
   private static final AtomicInteger poolIndex = new AtomicInteger();
   private static final Map<Configuration, PoolHolder> poolMap = new ConcurrentHashMap<>();
+  private static final ClosableLock lock = new ClosableLock();
   private static ScheduledThreadPoolExecutor poolExecutor = null;
 
   static class PoolHolder {
     private final Configuration conf;
     private final int poolIndex;
     private final ScheduledThreadPoolExecutor executor;
-    private Pool pool;
+    private final ClosableLock lock = new ClosableLock();
+    private volatile Pool pool;
 
     PoolHolder(Configuration conf, int poolIndex, ScheduledThreadPoolExecutor executor) {
       this.conf = conf;
@@ -29,11 +38,15 @@ public final class Pools {
       this.executor = executor;
     }
 
-    synchronized Pool getPool() {
-      if (pool == null) {
-        pool = new Pool(conf, poolIndex, executor);
+    Pool getPool() {
+      Pool current = pool;
+      if (current != null) return current;
+      try (ClosableLock ignore = lock.closeableLock()) {
+        if (pool == null) {
+          pool = new Pool(conf, poolIndex, executor);
+        }
+        return pool;
       }
-      return pool;
     }
   }
 
@@ -46,7 +59,7 @@ public final class Pools {
   public static Pool retrievePool(Configuration conf) {
     PoolHolder holder = poolMap.get(conf);
     if (holder == null) {
-      synchronized (poolMap) {
+      try (ClosableLock ignore = lock.closeableLock()) {
         holder = poolMap.get(conf);
         if (holder == null) {
           if (poolExecutor == null) {
@@ -70,7 +83,7 @@ public final class Pools {
    */
   public static void remove(Pool pool) {
     if (poolMap.containsKey(pool.getConf())) {
-      synchronized (poolMap) {
+      try (ClosableLock ignore = lock.closeableLock()) {
         PoolHolder previous = poolMap.remove(pool.getConf());
         if (previous != null && poolMap.isEmpty()) {
           shutdownExecutor();
@@ -81,7 +94,7 @@ public final class Pools {
 
   /** Close all pools. */
   public static void close() {
-    synchronized (poolMap) {
+    try (ClosableLock ignore = lock.closeableLock()) {
       for (PoolHolder holder : poolMap.values()) {
         try {
           holder.getPool().close();
@@ -103,7 +116,7 @@ public final class Pools {
     if (poolName == null) {
       return;
     }
-    synchronized (poolMap) {
+    try (ClosableLock ignore = lock.closeableLock()) {
       for (PoolHolder holder : poolMap.values()) {
         if (poolName.equals(holder.conf.poolName())) {
           try {
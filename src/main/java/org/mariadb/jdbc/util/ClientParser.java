@@ -5,10 +5,18 @@ package org.mariadb.jdbc.util;
 
 import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
 
 public final class ClientParser implements PrepareResult {
 
+  // shared parsing results, by parsing mode and backslash escape mode
+  private static final ParseCache<ClientParser> PARAMETER_CACHE = new ParseCache<>();
+  private static final ParseCache<ClientParser> PARAMETER_NO_BACKSLASH_CACHE = new ParseCache<>();
+  private static final ParseCache<ClientParser> REWRITABLE_CACHE = new ParseCache<>();
+  private static final ParseCache<ClientParser> REWRITABLE_NO_BACKSLASH_CACHE =
+      new ParseCache<>();
+
   private final String sql;
   private final byte[] query;
   private final List<Integer> paramPositions;
@@ -28,8 +36,11 @@ public final class ClientParser implements PrepareResult {
       boolean isMultiQuery) {
     this.sql = sql;
     this.query = query;
-    this.paramPositions = paramPositions;
-    this.valuesBracketPositions = valuesBracketPositions;
+    this.paramPositions = Collections.unmodifiableList(paramPositions);
+    this.valuesBracketPositions =
+        valuesBracketPositions == null
+            ? null
+            : Collections.unmodifiableList(valuesBracketPositions);
     this.paramCount = paramPositions.size();
     this.isInsert = isInsert;
     this.isInsertDuplicate = isInsertDuplicate;
@@ -55,11 +66,24 @@ public final class ClientParser implements PrepareResult {
    *   <li>isMulti - queryString contains text after the last ';' outside of quotes
    *   <li>
    *
+   * <p>Parsing results are shared between connections.
+   *
    * @param queryString query
    * @param noBackslashEscapes escape mode
    * @return ClientParser
    */
   public static ClientParser parameterParts(String queryString, boolean noBackslashEscapes) {
+    ParseCache<ClientParser> cache =
+        noBackslashEscapes ? PARAMETER_NO_BACKSLASH_CACHE : PARAMETER_CACHE;
+    ClientParser parser = cache.get(queryString);
+    if (parser == null) {
+      parser = parseParameterParts(queryString, noBackslashEscapes);
+      cache.put(queryString, parser);
+    }
+    return parser;
+  }
+
+  private static ClientParser parseParameterParts(String queryString, boolean noBackslashEscapes) {
 
     List<Integer> paramPositions = new ArrayList<>(20);
     LexState state = LexState.Normal;
@@ -247,11 +271,24 @@ public final class ClientParser implements PrepareResult {
    *       closing parenthesis of the VALUES block
    * </ul>
    *
+   * <p>Parsing results are shared between connections.
+   *
    * @param queryString query
    * @param noBackslashEscapes escape mode
    * @return ClientParser
    */
   public static ClientParser rewritableParts(String queryString, boolean noBackslashEscapes) {
+    ParseCache<ClientParser> cache =
+        noBackslashEscapes ? REWRITABLE_NO_BACKSLASH_CACHE : REWRITABLE_CACHE;
+    ClientParser parser = cache.get(queryString);
+    if (parser == null) {
+      parser = parseRewritableParts(queryString, noBackslashEscapes);
+      cache.put(queryString, parser);
+    }
+    return parser;
+  }
+
+  private static ClientParser parseRewritableParts(String queryString, boolean noBackslashEscapes) {
     boolean reWritablePrepare = true;
     List<Integer> paramPositions = new ArrayList<>(20);
     List<Integer> valuesBracketPositions = new ArrayList<>(2);
@@ -0,0 +1,306 @@
+// SPDX-License-Identifier: LGPL-2.1-or-later
+// Copyright (c) 2012-2014 Monty Program Ab
+// Copyright (c) 2015-2026 MariaDB Corporation Ab
+package org.mariadb.jdbc.util;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.sql.SQLException;
+import java.util.AbstractList;
+import java.util.Arrays;
+import org.mariadb.jdbc.client.Context;
+import org.mariadb.jdbc.client.socket.Writer;
+import org.mariadb.jdbc.client.util.MutableByte;
+import org.mariadb.jdbc.client.util.Parameter;
+import org.mariadb.jdbc.client.util.Parameters;
+
+/**
+ * Batch parameters encoded in binary format when added, see {@link
+ * org.mariadb.jdbc.Configuration#encodeBatchOnAdd()}.
+ *
+ * <p>Values of all rows are stored in one growing buffer, each value as its binary type (2 bytes)
+ * followed by its binary encoded value (nothing for null values), in place of keeping parameter
+ * objects for each row. Rows that cannot be encoded (streams, values of 16M or more, encoding
+ * errors, no room left in buffer) are kept as parameter objects.
+ *
+ * <p>Encoded data is never modified once written: a batch can be shared with a {@link #snapshot()}
+ * and {@link #clear()} allocates new buffers.
+ */
+public final class EncodedBatch extends AbstractList<Parameters> {
+
+  private static final int MAX_VALUE_SIZE = 0xffffff - 4;
+  private static final int MAX_DATA_SIZE = Integer.MAX_VALUE - 8;
+
+  private static final OutputStream VALUE_TOO_BIG =
+      new OutputStream() {
+        @Override
+        public void write(int b) throws IOException {
+          throw new IOException("value too big to be encoded in batch");
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) throws IOException {
+          throw new IOException("value too big to be encoded in batch");
+        }
+      };
+
+  private final int parameterCount;
+  private byte[] data;
+  private int dataLength;
+  // start offset of each value, value i ending at start of value i + 1
+  private int[] offsets;
+  private Parameters[] boxedRows;
+  private int rows;
+  private Writer scratch;
+
+  /**
+   * Constructor
+   *
+   * @param parameterCount number of parameters of each row
+   */
+  public EncodedBatch(int parameterCount) {
+    this.parameterCount = parameterCount;
+    reset();
+  }
+
+  private EncodedBatch(EncodedBatch batch) {
+    this.parameterCount = batch.parameterCount;
+    this.data = batch.data;
+    this.dataLength = batch.dataLength;
+    this.offsets = batch.offsets;
+    this.boxedRows = batch.boxedRows;
+    this.rows = batch.rows;
+  }
+
+  private void reset() {
+    data = new byte[256];
+    dataLength = 0;
+    offsets = new int[parameterCount * 8 + 1];
+    boxedRows = null;
+    rows = 0;
+    scratch = null;
+  }
+
+  /**
+   * Add a row. Values are encoded if possible, parameters can then be reused.
+   *
+   * @param parameters row parameters
+   * @param context connection context
+   * @return true if row has been encoded, false if parameters have been kept as is
+   */
+  public boolean addRow(Parameters parameters, Context context) {
+    int valueIdx = rows * parameterCount;
+    if (valueIdx + parameterCount + 1 > offsets.length) {
+      offsets = Arrays.copyOf(offsets, Math.max(offsets.length * 2, valueIdx + parameterCount + 1));
+    }
+
+    int rowStart = dataLength;
+    if (parameters.size() == parameterCount && encodeRow(parameters, context, valueIdx)) {
+      rows++;
+      return true;
+    }
+
+    // row kept as parameter objects, with empty values
+    dataLength = rowStart;
+    for (int i = 0; i <= parameterCount; i++) offsets[valueIdx + i] = rowStart;
+    if (boxedRows == null) boxedRows = new Parameters[Math.max(16, rows + 1)];
+    if (rows >= boxedRows.length) boxedRows = Arrays.copyOf(boxedRows, rows * 2);
+    boxedRows[rows++] = parameters;
+    return false;
+  }
+
+  private boolean encodeRow(Parameters parameters, Context context, int valueIdx) {
+    for (int i = 0; i < parameterCount; i++) {
+      Parameter param = parameters.get(i);
+      if (param == null || (!param.isNull() && param.canEncodeLongData())) return false;
+      offsets[valueIdx + i] = dataLength;
+      int type = param.getBinaryEncodeType();
+      if (!ensureCapacity(2)) return false;
+      data[dataLength++] = (byte) type;
+      data[dataLength++] = (byte) (type >>> 8);
+      if (!param.isNull()) {
+        try {
+          if (scratch == null) {
+            scratch =
+                new Writer(VALUE_TOO_BIG, 0, 0xffffff, new MutableByte(), new MutableByte());
+          }
+          scratch.pos(4);
+          param.encodeBinary(scratch, context);
+        } catch (IOException | SQLException e) {
+          // will be reported when executing batch
+          scratch = null;
+          return false;
+        }
+        int length = scratch.pos() - 4;
+        if (length > MAX_VALUE_SIZE) return false;
+        if (!ensureCapacity(length)) return false;
+        System.arraycopy(scratch.buf(), 4, data, dataLength, length);
+        dataLength += length;
+      }
+    }
+    offsets[valueIdx + parameterCount] = dataLength;
+    return true;
+  }
+
+  /**
+   * Grow buffer if needed to write indicated length.
+   *
+   * @param length length to write
+   * @return false if buffer cannot grow enough, row must then be kept as parameter objects
+   */
+  private boolean ensureCapacity(int length) {
+    if ((long) dataLength + length > MAX_DATA_SIZE) return false;
+    if (dataLength + length > data.length) {
+      long newLength = Math.max((long) data.length << 1, (long) dataLength + length);
+      data = Arrays.copyOf(data, (int) Math.min(newLength, MAX_DATA_SIZE));
+    }
+    return true;
+  }
+
+  /**
+   * Size of encoded data
+   *
+   * @return encoded data size in bytes
+   */
+  public int byteSize() {
+    return dataLength;
+  }
+
+  /**
+   * Is buffer nearly full, batch having to be sent. Rows that don't fit in buffer anymore are kept
+   * as parameter objects.
+   *
+   * @return true if buffer is nearly full
+   */
+  public boolean isFull() {
+    return dataLength > MAX_DATA_SIZE - 2 * MAX_VALUE_SIZE;
+  }
+
+  /**
+   * Batch content at this time, not affected by rows added later or by clear.
+   *
+   * @return batch snapshot
+   */
+  public EncodedBatch snapshot() {
+    return new EncodedBatch(this);
+  }
+
+  @Override
+  public Parameters get(int index) {
+    if (index >= rows) throw new IndexOutOfBoundsException("wrong index " + index);
+    if (boxedRows != null && index < boxedRows.length && boxedRows[index] != null) {
+      return boxedRows[index];
+    }
+    return new EncodedRow(index * parameterCount);
+  }
+
+  @Override
+  public int size() {
+    return rows;
+  }
+
+  @Override
+  public void clear() {
+    reset();
+  }
+
+  /** Row view on encoded data. */
+  private final class EncodedRow implements Parameters {
+    private final byte[] rowData = data;
+    private final int[] rowOffsets = offsets;
+    private final int valueIdx;
+
+    EncodedRow(int valueIdx) {
+      this.valueIdx = valueIdx;
+    }
+
+    @Override
+    public Parameter get(int index) {
+      if (index >= parameterCount) {
+        throw new ArrayIndexOutOfBoundsException(
+            "wrong index " + index + " length:" + parameterCount);
+      }
+      return new EncodedParameter(
+          rowData, rowOffsets[valueIdx + index], rowOffsets[valueIdx + index + 1]);
+    }
+
+    @Override
+    public boolean containsKey(int index) {
+      return index >= 0 && index < parameterCount;
+    }
+
+    @Override
+    public void set(int index, Parameter element) {
+      throw new UnsupportedOperationException("encoded batch rows cannot be modified");
+    }
+
+    @Override
+    public int size() {
+      return parameterCount;
+    }
+
+    @Override
+    public Parameters clone() {
+      // encoded data is immutable
+      return this;
+    }
+  }
+
+  /** Encoded value: binary type then binary value. */
+  private static final class EncodedParameter implements Parameter {
+    private final byte[] data;
+    private final int start;
+    private final int end;
+
+    EncodedParameter(byte[] data, int start, int end) {
+      this.data = data;
+      this.start = start;
+      this.end = end;
+    }
+
+    @Override
+    public void encodeText(Writer encoder, Context context) throws SQLException {
+      throw new SQLException("encoded batch value can only be sent in binary protocol");
+    }
+
+    @Override
+    public int getApproximateTextProtocolLength() {
+      return -1;
+    }
+
+    @Override
+    public void encodeBinary(Writer encoder, Context context) throws IOException {
+      encoder.writeBytes(data, start + 2, end - start - 2);
+    }
+
+    @Override
+    public void encodeLongData(Writer encoder) throws SQLException {
+      throw new SQLException("encoded batch value cannot be sent as long data");
+    }
+
+    @Override
+    public byte[] encodeData() {
+      return Arrays.copyOfRange(data, start + 2, end);
+    }
+
+    @Override
+    public boolean canEncodeLongData() {
+      return false;
+    }
+
+    @Override
+    public int getBinaryEncodeType() {
+      return (data[start] & 0xff) | ((data[start + 1] & 0xff) << 8);
+    }
+
+    @Override
+    public boolean isNull() {
+      return end - start == 2;
+    }
+
+    @Override
+    public String bestEffortStringValue(Context context) {
+      return isNull() ? "null" : "<encoded>";
+    }
+  }
+}
@@ -9,11 +9,29 @@ import org.mariadb.jdbc.client.Context;
 
 public final class NativeSql {
 
+  // shared results, depending on server CAST AS DOUBLE support
+  private static final ParseCache<String> CACHE = new ParseCache<>();
+  private static final ParseCache<String> NO_CAST_DOUBLE_CACHE = new ParseCache<>();
+
   public static String parse(String sql, Context context) throws SQLException {
     if (!sql.contains("{")) {
       return sql;
     }
+    ParseCache<String> cache = supportCastDouble(context) ? CACHE : NO_CAST_DOUBLE_CACHE;
+    String nativeSql = cache.get(sql);
+    if (nativeSql == null) {
+      nativeSql = parseEscapes(sql, context);
+      cache.put(sql, nativeSql);
+    }
+    return nativeSql;
+  }
+
+  private static boolean supportCastDouble(Context context) {
+    return context.getVersion().isMariaDBServer()
+        || context.getVersion().versionGreaterOrEqual(8, 0, 17);
+  }
 
+  private static String parseEscapes(String sql, Context context) throws SQLException {
     ClientParser.LexState state = ClientParser.LexState.Normal;
     char lastChar = '\0';
     boolean singleQuotes = false;
@@ -291,8 +309,7 @@ public final class NativeSql {
 
           case "DOUBLE":
           case "FLOAT":
-            if (context.getVersion().isMariaDBServer()
-                || context.getVersion().versionGreaterOrEqual(8, 0, 17)) {
+            if (supportCastDouble(context)) {
               typeParam = "DOUBLE";
               break;
             }
@@ -0,0 +1,107 @@
+// SPDX-License-Identifier: LGPL-2.1-or-later
+// Copyright (c) 2012-2014 Monty Program Ab
+// Copyright (c) 2015-2026 MariaDB Corporation Ab
+package org.mariadb.jdbc.util;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * JVM-wide bounded cache of SQL parsing results, shared by all connections.
+ *
+ * <p>Cache is generational: entries are added to a young generation, and when it is full, young
+ * generation becomes the old one, previous old generation being discarded. Entries found in old
+ * generation are promoted back. This keeps the most used entries, without any lock on lookup.
+ *
+ * <p>Cached values must be immutable. Maximum entries per generation can be set with system
+ * property "mariadb.parseCacheSize" (default 1024, 0 to disable cache). SQL longer than 8192
+ * characters are not cached.
+ *
+ * @param <V> cached parsing result type
+ */
+public final class ParseCache<V> {
+
+  /** system property to set cache size */
+  public static final String CACHE_SIZE_PROPERTY = "mariadb.parseCacheSize";
+
+  private static final int MAX_SQL_LENGTH = 8192;
+  private static final int GENERATION_SIZE =
+      Math.max(0, Integer.getInteger(CACHE_SIZE_PROPERTY, 1024));
+
+  private static final LongAdder HITS = new LongAdder();
+  private static final LongAdder MISSES = new LongAdder();
+
+  private volatile ConcurrentHashMap<String, V> young = new ConcurrentHashMap<>();
+  private volatile ConcurrentHashMap<String, V> old = new ConcurrentHashMap<>();
+
+  /**
+   * Get cached parsing result.
+   *
+   * @param sql sql
+   * @return cached value, or null if not cached
+   */
+  public V get(String sql) {
+    if (GENERATION_SIZE == 0 || sql.length() > MAX_SQL_LENGTH) return null;
+    V value = young.get(sql);
+    if (value == null) {
+      value = old.get(sql);
+      if (value == null) {
+        MISSES.increment();
+        return null;
+      }
+      put(sql, value);
+    }
+    HITS.increment();
+    return value;
+  }
+
+  /**
+   * Add parsing result to cache.
+   *
+   * @param sql sql
+   * @param value parsing result
+   */
+  public void put(String sql, V value) {
+    if (GENERATION_SIZE == 0 || sql.length() > MAX_SQL_LENGTH) return;
+    ConcurrentHashMap<String, V> current = young;
+    if (current.size() >= GENERATION_SIZE) {
+      // concurrent rotations can only lose some entries, no need to lock
+      old = current;
+      young = current = new ConcurrentHashMap<>();
+    }
+    current.put(sql, value);
+  }
+
+  /** Remove all cached entries. */
+  public void clear() {
+    young = new ConcurrentHashMap<>();
+    old = new ConcurrentHashMap<>();
+  }
+
+  /**
+   * Number of cached entries.
+   *
+   * @return cached entry number
+   */
+  public int size() {
+    return young.size() + old.size();
+  }
+
+  /**
+   * Number of cache hits, for all parse caches.
+   *
+   * @return cache hits
+   */
+  public static long hitCount() {
+    return HITS.sum();
+  }
+
+  /**
+   * Number of cache misses, for all parse caches.
+   *
+   * @return cache misses
+   */
+  public static long missCount() {
+    return MISSES.sum();
+  }
+}
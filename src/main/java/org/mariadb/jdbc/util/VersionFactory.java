@@ -8,30 +8,30 @@ import java.io.InputStream;
 import java.util.Properties;
 
 public final class VersionFactory {
-  private static volatile Version instance = null;
 
   // use getShape method to get object of type shape
   public static Version getInstance() {
-    if (instance == null) {
-      synchronized (VersionFactory.class) {
-        if (instance == null) {
-          String tmpVersion = "5.5.0";
-          try (InputStream inputStream =
-              Version.class.getClassLoader().getResourceAsStream("mariadb.properties")) {
-            if (inputStream == null) {
-              System.out.println("property file 'mariadb.properties' not found in the classpath");
-            } else {
-              Properties prop = new Properties();
-              prop.load(inputStream);
-              tmpVersion = prop.getProperty("version");
-            }
-          } catch (IOException e) {
-            e.printStackTrace();
-          }
-          instance = new Version(tmpVersion);
+    return VersionHolder.INSTANCE;
+  }
+
+  private static final class VersionHolder {
+    private static final Version INSTANCE = load();
+
+    private static Version load() {
+      String tmpVersion = "5.5.0";
+      try (InputStream inputStream =
+          Version.class.getClassLoader().getResourceAsStream("mariadb.properties")) {
+        if (inputStream == null) {
+          System.out.println("property file 'mariadb.properties' not found in the classpath");
+        } else {
+          Properties prop = new Properties();
+          prop.load(inputStream);
+          tmpVersion = prop.getProperty("version");
         }
+      } catch (IOException e) {
+        e.printStackTrace();
       }
+      return new Version(tmpVersion);
     }
-    return instance;
   }
 }
@@ -3,54 +3,42 @@
 // Copyright (c) 2015-2026 MariaDB Corporation Ab
 package org.mariadb.jdbc.util.timeout;
 
-import java.util.concurrent.*;
+import java.util.concurrent.TimeUnit;
 import org.mariadb.jdbc.Connection;
-import org.mariadb.jdbc.client.util.ClosableLock;
-import org.mariadb.jdbc.client.util.SchedulerProvider;
+import org.mariadb.jdbc.client.util.TimerWheel;
 
 public class QueryTimeoutHandlerImpl implements QueryTimeoutHandler {
-  private Future<?> timerTaskFuture;
-  private ScheduledExecutorService timeoutScheduler;
-  private Connection conn;
-  private ClosableLock lock;
+  private TimerWheel.Timeout timeout;
+  private final Runnable cancelTask;
 
   public QueryTimeoutHandler create(int queryTimeout) {
-    assert (timerTaskFuture == null);
+    assert (timeout == null);
     if (queryTimeout > 0) {
-      if (timeoutScheduler == null) timeoutScheduler = SchedulerProvider.getTimeoutScheduler(lock);
-      timerTaskFuture =
-          timeoutScheduler.schedule(
-              () -> {
-                try {
-                  conn.cancelCurrentQuery();
-                } catch (Throwable e) {
-                  // eat
-                }
-              },
-              queryTimeout,
-              TimeUnit.SECONDS);
+      timeout = TimerWheel.getInstance().schedule(cancelTask, queryTimeout, TimeUnit.SECONDS);
     }
     return this;
   }
 
-  public QueryTimeoutHandlerImpl(Connection conn, ClosableLock lock) {
-    this.conn = conn;
-    this.lock = lock;
+  public QueryTimeoutHandlerImpl(Connection conn) {
+    this.cancelTask =
+        () -> {
+          try {
+            conn.cancelCurrentQuery();
+          } catch (Throwable e) {
+            // eat
+          }
+        };
   }
 
   @Override
   public void close() {
-    if (timerTaskFuture != null) {
-      if (!timerTaskFuture.cancel(true)) {
+    if (timeout != null) {
+      if (!timeout.cancel()) {
         // could not cancel, task either started or already finished
         // we must now wait for task to finish ensuring state modifications are done
-        try {
-          timerTaskFuture.get();
-        } catch (InterruptedException | ExecutionException | CancellationException e) {
-          // ignore error, likely due to interrupting during cancel
-        }
+        timeout.awaitDone();
       }
-      timerTaskFuture = null;
+      timeout = null;
     }
   }
 }
@@ -0,0 +1,124 @@
+// SPDX-License-Identifier: LGPL-2.1-or-later
+// Copyright (c) 2012-2014 Monty Program Ab
+// Copyright (c) 2015-2026 MariaDB Corporation Ab
+package org.mariadb.jdbc.integration;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.SQLSyntaxErrorException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.mariadb.jdbc.Connection;
+import org.mariadb.jdbc.Statement;
+
+public class AsyncExecutionTest extends Common {
+
+  @AfterAll
+  public static void drop() throws SQLException {
+    Statement stmt = sharedConn.createStatement();
+    stmt.execute("DROP TABLE IF EXISTS AsyncExecutionTest");
+  }
+
+  @BeforeAll
+  public static void beforeAll2() throws SQLException {
+    drop();
+    Statement stmt = sharedConn.createStatement();
+    stmt.execute("CREATE TABLE AsyncExecutionTest (id int not null primary key, t1 varchar(20))");
+  }
+
+  @Test
+  public void pipelinedQueries() throws Exception {
+    try (Connection con = createCon()) {
+      List<CompletableFuture<ResultSet>> futures = new ArrayList<>();
+      for (int i = 0; i < 100; i++) {
+        futures.add(con.executeQueryAsync("SELECT ?, ?", i, "val" + i));
+      }
+      for (int i = 0; i < 100; i++) {
+        ResultSet rs = futures.get(i).get();
+        assertTrue(rs.next());
+        assertEquals(i, rs.getInt(1));
+        assertEquals("val" + i, rs.getString(2));
+        assertNull(rs.getStatement());
+      }
+    }
+  }
+
+  @Test
+  public void updates() throws Exception {
+    try (Connection con = createCon()) {
+      con.createStatement().execute("TRUNCATE AsyncExecutionTest");
+      CompletableFuture<Long> insert1 =
+          con.executeUpdateAsync("INSERT INTO AsyncExecutionTest VALUES (?, ?)", 1, "a");
+      CompletableFuture<Long> insert2 =
+          con.executeUpdateAsync("INSERT INTO AsyncExecutionTest VALUES (?, ?)", 2, null);
+      CompletableFuture<Long> update =
+          con.executeUpdateAsync("UPDATE AsyncExecutionTest SET t1 = 'b'");
+      CompletableFuture<ResultSet> select =
+          con.executeQueryAsync("SELECT t1 FROM AsyncExecutionTest ORDER BY id");
+      assertEquals(1L, (long) insert1.get());
+      assertEquals(1L, (long) insert2.get());
+      assertEquals(2L, (long) update.get());
+      ResultSet rs = select.get();
+      assertTrue(rs.next());
+      assertEquals("b", rs.getString(1));
+      assertTrue(rs.next());
+      assertEquals("b", rs.getString(1));
+      assertFalse(rs.next());
+    }
+  }
+
+  @Test
+  public void errors() throws Exception {
+    try (Connection con = createCon()) {
+      CompletableFuture<ResultSet> before = con.executeQueryAsync("SELECT 1");
+      CompletableFuture<ResultSet> wrong = con.executeQueryAsync("SELECT * FROM wrongTable");
+      CompletableFuture<ResultSet> after = con.executeQueryAsync("SELECT 2");
+      CompletableFuture<Long> updateWithResult = con.executeUpdateAsync("SELECT 3");
+      CompletableFuture<ResultSet> wrongParameters = con.executeQueryAsync("SELECT ?", 1, 2);
+
+      assertTrue(before.get().next());
+      CompletionException e = assertThrows(CompletionException.class, wrong::join);
+      assertTrue(e.getCause() instanceof SQLSyntaxErrorException);
+      ResultSet rs = after.get();
+      assertTrue(rs.next());
+      assertEquals(2, rs.getInt(1));
+      e = assertThrows(CompletionException.class, updateWithResult::join);
+      assertTrue(e.getCause().getMessage().contains("produces an unexpected ResultSet object"));
+      e = assertThrows(CompletionException.class, wrongParameters::join);
+      assertTrue(e.getCause().getMessage().contains("Query has 1 parameter(s), but 2 value(s)"));
+    }
+  }
+
+  @Test
+  public void synchronousAfterAsync() throws Exception {
+    try (Connection con = createCon()) {
+      List<CompletableFuture<ResultSet>> futures = new ArrayList<>();
+      for (int i = 0; i < 20; i++) {
+        futures.add(con.executeQueryAsync("SELECT " + i));
+      }
+      // synchronous command reads pending results first
+      ResultSet rs = con.createStatement().executeQuery("SELECT 100");
+      for (CompletableFuture<ResultSet> future : futures) {
+        assertTrue(future.isDone());
+      }
+      assertTrue(rs.next());
+      assertEquals(100, rs.getInt(1));
+    }
+  }
+
+  @Test
+  public void closedConnection() throws Exception {
+    Connection con = createCon();
+    con.close();
+    CompletionException e =
+        assertThrows(CompletionException.class, () -> con.executeQueryAsync("SELECT 1").join());
+    assertTrue(e.getCause().getMessage().contains("Connection is closed"));
+  }
+}
@@ -10,6 +10,7 @@ import java.sql.*;
 import java.util.Calendar;
 import java.util.stream.Stream;
 import org.junit.jupiter.api.*;
+import org.mariadb.jdbc.BasePreparedStatement;
 import org.mariadb.jdbc.Connection;
 import org.mariadb.jdbc.Statement;
 
@@ -899,4 +900,200 @@ public class BatchTest extends Common {
       assertEquals(rs.getInt(1), 4);
     }
   }
+
+  @Test
+  public void bulkTypeWidening() throws SQLException {
+    Assumptions.assumeTrue(isMariaDBServer());
+    try (Connection con = createCon("&useServerPrepStmts=false&useBulkStmts=true")) {
+      bulkTypeWidening(con);
+    }
+    try (Connection con = createCon("&useServerPrepStmts=true&useBulkStmts=true")) {
+      bulkTypeWidening(con);
+    }
+  }
+
+  private void bulkTypeWidening(Connection con) throws SQLException {
+    Statement stmt = con.createStatement();
+    stmt.execute("DROP TABLE IF EXISTS bulkTypeWidening");
+    stmt.execute(
+        "CREATE TABLE bulkTypeWidening(id int, i BIGINT, d DECIMAL(30,2), f DOUBLE, t DATETIME)");
+    try (PreparedStatement prep =
+        con.prepareStatement("INSERT INTO bulkTypeWidening VALUES (?,?,?,?,?)")) {
+      prep.setInt(1, 1);
+      prep.setShort(2, (short) -2);
+      prep.setInt(3, 10);
+      prep.setFloat(4, 1.5f);
+      prep.setDate(5, Date.valueOf("2020-01-02"));
+      prep.addBatch();
+
+      prep.setInt(1, 2);
+      prep.setLong(2, 5000000000L);
+      prep.setBigDecimal(3, new java.math.BigDecimal("-12.34"));
+      prep.setDouble(4, 2.25d);
+      prep.setTimestamp(5, Timestamp.valueOf("2021-03-04 05:06:07"));
+      prep.addBatch();
+
+      prep.setInt(1, 3);
+      prep.setNull(2, Types.BIGINT);
+      prep.setLong(3, -3000000000L);
+      prep.setNull(4, Types.DOUBLE);
+      prep.setDate(5, Date.valueOf("2022-05-06"));
+      prep.addBatch();
+
+      prep.setInt(1, 4);
+      prep.setByte(2, (byte) -7);
+      prep.setNull(3, Types.DECIMAL);
+      prep.setFloat(4, -0.5f);
+      prep.setNull(5, Types.TIMESTAMP);
+      prep.addBatch();
+      prep.executeBatch();
+      assertEquals(1, ((BasePreparedStatement) prep).getLastBatchBulkPackets());
+
+      // string value cannot be widened: new packet
+      prep.setInt(1, 5);
+      prep.setLong(2, 1L);
+      prep.setInt(3, 1);
+      prep.setDouble(4, 1d);
+      prep.setDate(5, Date.valueOf("2022-05-06"));
+      prep.addBatch();
+
+      prep.setInt(1, 6);
+      prep.setString(2, "2");
+      prep.setInt(3, 1);
+      prep.setDouble(4, 1d);
+      prep.setDate(5, Date.valueOf("2022-05-06"));
+      prep.addBatch();
+      prep.executeBatch();
+      assertEquals(2, ((BasePreparedStatement) prep).getLastBatchBulkPackets());
+    }
+
+    ResultSet rs = stmt.executeQuery("SELECT * FROM bulkTypeWidening ORDER BY id");
+    assertTrue(rs.next());
+    assertEquals(-2L, rs.getLong(2));
+    assertEquals("10.00", rs.getString(3));
+    assertEquals(1.5d, rs.getDouble(4));
+    assertEquals(Timestamp.valueOf("2020-01-02 00:00:00"), rs.getTimestamp(5));
+    assertTrue(rs.next());
+    assertEquals(5000000000L, rs.getLong(2));
+    assertEquals("-12.34", rs.getString(3));
+    assertEquals(2.25d, rs.getDouble(4));
+    assertEquals(Timestamp.valueOf("2021-03-04 05:06:07"), rs.getTimestamp(5));
+    assertTrue(rs.next());
+    assertNull(rs.getObject(2));
+    assertEquals("-3000000000.00", rs.getString(3));
+    assertNull(rs.getObject(4));
+    assertEquals(Timestamp.valueOf("2022-05-06 00:00:00"), rs.getTimestamp(5));
+    assertTrue(rs.next());
+    assertEquals(-7L, rs.getLong(2));
+    assertNull(rs.getObject(3));
+    assertEquals(-0.5d, rs.getDouble(4));
+    assertNull(rs.getObject(5));
+    assertTrue(rs.next());
+    assertTrue(rs.next());
+    assertEquals(2L, rs.getLong(2));
+    assertFalse(rs.next());
+    stmt.execute("DROP TABLE bulkTypeWidening");
+  }
+
+  @Test
+  public void encodeBatchOnAdd() throws SQLException {
+    Assumptions.assumeTrue(isMariaDBServer());
+    try (Connection con =
+        createCon("&useServerPrepStmts=false&useBulkStmts=true&encodeBatchOnAdd")) {
+      encodeBatchOnAdd(con, 0);
+    }
+    try (Connection con =
+        createCon("&useServerPrepStmts=true&useBulkStmts=true&encodeBatchOnAdd&batchFlushRows=7")) {
+      encodeBatchOnAdd(con, 7);
+    }
+    try (Connection con =
+        createCon(
+            "&useServerPrepStmts=true&useBulkStmts=true&encodeBatchOnAdd&batchFlushBytes=100")) {
+      encodeBatchOnAdd(con, 0);
+    }
+  }
+
+  private void encodeBatchOnAdd(Connection con, int flushRows) throws SQLException {
+    Statement stmt = con.createStatement();
+    stmt.execute("DROP TABLE IF EXISTS encodeBatchOnAdd");
+    stmt.execute("CREATE TABLE encodeBatchOnAdd(id int, val varchar(20), b BLOB)");
+    try (PreparedStatement prep =
+        con.prepareStatement("INSERT INTO encodeBatchOnAdd VALUES (?,?,?)")) {
+      for (int i = 0; i < 50; i++) {
+        prep.setInt(1, i);
+        if (i % 5 == 0) {
+          prep.setNull(2, Types.VARCHAR);
+        } else {
+          prep.setString(2, "val" + i);
+        }
+        if (i % 10 == 3) {
+          prep.setBinaryStream(3, new java.io.ByteArrayInputStream(new byte[] {(byte) i}));
+        } else {
+          prep.setBytes(3, new byte[] {(byte) i});
+        }
+        prep.addBatch();
+      }
+      int[] res = prep.executeBatch();
+      assertEquals(50, res.length);
+      if (flushRows > 0) {
+        // last 50 % 7 rows are sent by executeBatch
+        assertEquals(1, ((BasePreparedStatement) prep).getLastBatchBulkPackets());
+      }
+
+      // batch can be reused after execution
+      prep.setInt(1, 50);
+      prep.setString(2, "val50");
+      prep.setBytes(3, new byte[] {(byte) 50});
+      prep.addBatch();
+      assertEquals(1, prep.executeLargeBatch().length);
+    }
+
+    ResultSet rs = stmt.executeQuery("SELECT * FROM encodeBatchOnAdd ORDER BY id");
+    for (int i = 0; i <= 50; i++) {
+      assertTrue(rs.next());
+      assertEquals(i, rs.getInt(1));
+      assertEquals(i % 5 == 0 && i != 50 ? null : "val" + i, rs.getString(2));
+      assertArrayEquals(new byte[] {(byte) i}, rs.getBytes(3));
+    }
+    assertFalse(rs.next());
+    stmt.execute("DROP TABLE encodeBatchOnAdd");
+  }
+
+  @Test
+  public void pipelineWindow() throws SQLException {
+    try (Connection con = createCon("&pipelineWindowSize=3&pipelineWindowBytes=0")) {
+      pipelineWindow(con);
+    }
+    try (Connection con = createCon("&pipelineWindowSize=0&pipelineWindowBytes=200")) {
+      pipelineWindow(con);
+    }
+  }
+
+  private void pipelineWindow(Connection con) throws SQLException {
+    Statement stmt = con.createStatement();
+    stmt.execute("DROP TABLE IF EXISTS pipelineWindow");
+    stmt.execute("CREATE TABLE pipelineWindow(id int primary key, val varchar(20))");
+    for (int i = 0; i < 100; i++) {
+      stmt.addBatch("INSERT INTO pipelineWindow VALUES (" + i + ", 'val" + i + "')");
+    }
+    int[] res = stmt.executeBatch();
+    assertEquals(100, res.length);
+    for (int re : res) assertEquals(1, re);
+
+    // error in the middle of batch: following commands are still executed
+    for (int i = 100; i < 150; i++) {
+      stmt.addBatch("INSERT INTO pipelineWindow VALUES (" + (i == 120 ? 1 : i) + ", 'val')");
+    }
+    BatchUpdateException bue = assertThrows(BatchUpdateException.class, stmt::executeBatch);
+    int[] updateCounts = bue.getUpdateCounts();
+    assertEquals(50, updateCounts.length);
+    assertEquals(1, updateCounts[19]);
+    assertEquals(Statement.EXECUTE_FAILED, updateCounts[20]);
+    assertEquals(1, updateCounts[49]);
+
+    ResultSet rs = stmt.executeQuery("SELECT count(*) FROM pipelineWindow");
+    assertTrue(rs.next());
+    assertEquals(149, rs.getInt(1));
+    stmt.execute("DROP TABLE pipelineWindow");
+  }
 }
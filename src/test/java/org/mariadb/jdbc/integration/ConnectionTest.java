@@ -971,6 +971,32 @@ public class ConnectionTest extends Common {
     }
   }
 
+  @Test
+  public void testNioChannelConnection() throws Exception {
+    try (Connection connection = createCon("useNioChannel=true&socketTimeout=500")) {
+      Statement stmt = connection.createStatement();
+      ResultSet rs = stmt.executeQuery("SELECT REPEAT('a', 200000), 2");
+      assertTrue(rs.next());
+      assertEquals(200000, rs.getString(1).length());
+      assertEquals(2, rs.getInt(2));
+
+      StringBuilder sb = new StringBuilder("SELECT '");
+      for (int i = 0; i < 20000; i++) sb.append("0123456789");
+      rs = stmt.executeQuery(sb.append("'").toString());
+      assertTrue(rs.next());
+      assertEquals(200000, rs.getString(1).length());
+
+      rs = stmt.executeQuery("SELECT * FROM sequence_1_to_1000");
+      int i = 0;
+      while (rs.next()) assertEquals(++i, rs.getInt(1));
+      assertEquals(1000, i);
+
+      if (!isMaxscale()) {
+        Common.assertThrowsContains(SQLException.class, () -> stmt.execute("SELECT SLEEP(1)"), "");
+      }
+    }
+  }
+
   @Test
   public void useNoDatabase() throws SQLException {
     try (Connection con = createCon()) {
@@ -6,6 +6,7 @@ package org.mariadb.jdbc.integration;
 import static org.junit.jupiter.api.Assertions.*;
 
 import java.io.*;
+import java.nio.charset.StandardCharsets;
 import java.sql.*;
 import java.util.Locale;
 import org.junit.jupiter.api.*;
@@ -78,6 +79,45 @@ public class LocalInfileTest extends Common {
     }
   }
 
+  @Test
+  public void producerLoadDataInfileTest() throws SQLException {
+    Assumptions.assumeFalse((!isMariaDBServer() && minVersion(8, 0, 3)));
+    try (Connection connection = createCon("&allowLocalInfile=true")) {
+      Statement statement = connection.createStatement();
+      statement.execute("TRUNCATE small_load_data_infile");
+      org.mariadb.jdbc.Statement mariaDbStatement =
+          statement.unwrap(org.mariadb.jdbc.Statement.class);
+      mariaDbStatement.setLocalInfileProducer(
+          out -> {
+            for (int i = 1; i <= 200_000; i++) {
+              out.write((i + "\tname" + i + "\n").getBytes(StandardCharsets.UTF_8));
+            }
+          });
+
+      assertEquals(
+          200_000,
+          statement.executeUpdate(
+              "LOAD DATA LOCAL INFILE 'dummyFileName'"
+                  + " INTO TABLE small_load_data_infile "
+                  + " FIELDS TERMINATED BY '\\t' LINES TERMINATED BY '\\n'"));
+
+      ResultSet rs =
+          statement.executeQuery("select count(*), max(name) from small_load_data_infile");
+      assertTrue(rs.next());
+      assertEquals(200_000, rs.getInt(1));
+      assertEquals("name99999", rs.getString(2));
+
+      // producer is used only once
+      statement.execute("TRUNCATE small_load_data_infile");
+      assertThrowsContains(
+          SQLException.class,
+          () ->
+              statement.execute(
+                  "LOAD DATA LOCAL INFILE 'dummyFileName' INTO TABLE small_load_data_infile"),
+          "Could not send file");
+    }
+  }
+
   @Test
   public void bigLoadDataInfileTest() throws SQLException, IOException {
     Assumptions.assumeTrue(runLongTest());
@@ -64,6 +64,40 @@ public class MultiHostTest extends Common {
     }
   }
 
+  @Test
+  public void replicaReconnectionInBackground() throws Exception {
+    try (Connection con = createProxyConKeep("&waitReconnectTimeout=100&deniedListTimeout=100")) {
+      long primaryThreadId = con.getThreadId();
+      con.setReadOnly(true);
+      assertTrue(primaryThreadId != con.getThreadId());
+
+      proxy.restart(50);
+      con.isValid(1);
+      assertEquals(primaryThreadId, con.getThreadId());
+
+      // replica is back, but slow to connect: queries must not wait for reconnection
+      proxy.setDelay(1000);
+      Statement stmt = con.createStatement();
+      long end = System.currentTimeMillis() + 1000;
+      while (System.currentTimeMillis() < end) {
+        long start = System.currentTimeMillis();
+        stmt.execute("SELECT 1");
+        assertTrue(System.currentTimeMillis() - start < 150);
+        assertEquals(primaryThreadId, con.getThreadId());
+        Thread.sleep(10);
+      }
+
+      // replica connection established in background is used once ready
+      proxy.removeDelay();
+      long deadline = System.currentTimeMillis() + 10_000;
+      while (con.getThreadId() == primaryThreadId && System.currentTimeMillis() < deadline) {
+        Thread.sleep(50);
+        stmt.execute("SELECT 1");
+      }
+      assertTrue(primaryThreadId != con.getThreadId());
+    }
+  }
+
   @Test
   public void abortWhileDisconnected() throws Exception {
     try (Connection con = createProxyConKeep("&waitReconnectTimeout=300&deniedListTimeout=300")) {
@@ -4,8 +4,11 @@
 package org.mariadb.jdbc.integration;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
+import java.io.IOException;
+import java.io.InputStream;
 import java.sql.PreparedStatement;
 import java.sql.ResultSet;
 import java.sql.SQLException;
@@ -151,4 +154,66 @@ public class MultiPacketTest extends Common {
       assertEquals(new String(arr2, 0, 17 * 1024 * 1024), rs.getString(1));
     }
   }
+
+  @Test
+  public void streamLargeValues() throws Exception {
+    Statement stmt = sharedConn.createStatement();
+    stmt.execute("TRUNCATE multiPacketTest");
+    stmt.execute("START TRANSACTION"); // if MAXSCALE ensure using WRITER
+    try (PreparedStatement prep =
+        sharedConnBinary.prepareStatement("INSERT INTO multiPacketTest VALUE (?,?)")) {
+      prep.setString(1, "small");
+      prep.setString(2, new String(arr2, 0, 17 * 1024 * 1024));
+      prep.execute();
+      prep.setString(1, "small2");
+      prep.setString(2, "b");
+      prep.execute();
+    }
+    stmt.execute("COMMIT");
+
+    for (String option :
+        new String[] {"streamLargeValues", "streamLargeValues&useServerPrepStmts"}) {
+      try (org.mariadb.jdbc.Connection con = createCon(option)) {
+        PreparedStatement prep = con.prepareStatement("SELECT t1, t2 FROM multiPacketTest");
+        prep.setFetchSize(10);
+        ResultSet rs = prep.executeQuery();
+        assertTrue(rs.next());
+        assertEquals("small", rs.getString(1));
+        try (java.io.Reader reader = rs.getCharacterStream(2)) {
+          char[] buf = new char[8192];
+          int pos = 0;
+          int len;
+          while ((len = reader.read(buf)) > 0) {
+            for (int i = 0; i < len; i++) assertEquals(arr2[pos + i], buf[i]);
+            pos += len;
+          }
+          assertEquals(17 * 1024 * 1024, pos);
+        }
+        // streamed row columns must be read in order
+        assertThrowsContains(SQLException.class, () -> rs.getString(1), "must be read in order");
+        assertTrue(rs.next());
+        assertEquals("small2", rs.getString(1));
+        assertEquals("b", rs.getString(2));
+        assertFalse(rs.next());
+
+        // large row not read when executing another command is loaded in memory
+        ResultSet rs2 = prep.executeQuery();
+        assertTrue(rs2.next());
+        con.createStatement().executeQuery("SELECT 1");
+        assertEquals("small", rs2.getString(1));
+        assertEquals(new String(arr2, 0, 17 * 1024 * 1024), rs2.getString(2));
+        assertTrue(rs2.next());
+        assertEquals("small2", rs2.getString(1));
+
+        // value being streamed is discarded when executing another command
+        ResultSet rs3 = prep.executeQuery();
+        assertTrue(rs3.next());
+        assertEquals("small", rs3.getString(1));
+        InputStream is = rs3.getBinaryStream(2);
+        assertEquals(arr2[0], is.read());
+        con.createStatement().executeQuery("SELECT 1");
+        assertThrowsContains(IOException.class, is::read, "value not available anymore");
+      }
+    }
+  }
 }
@@ -434,7 +434,7 @@ public class PoolDataSourceTest extends Common {
         ObjectName name = objectNames.iterator().next();
 
         MBeanInfo info = server.getMBeanInfo(name);
-        assertEquals(4, info.getAttributes().length);
+        assertEquals(9, info.getAttributes().length);
 
         checkJmxInfo(server, name, 1, 1, 0);
 
@@ -460,7 +460,7 @@ public class PoolDataSourceTest extends Common {
         ObjectName name = objectNames.iterator().next();
 
         MBeanInfo info = server.getMBeanInfo(name);
-        assertEquals(4, info.getAttributes().length);
+        assertEquals(9, info.getAttributes().length);
 
         // wait to ensure pool has time to create 5 connections
         try {
@@ -480,6 +480,81 @@ public class PoolDataSourceTest extends Common {
     }
   }
 
+  @Test
+  public void concurrentBorrowStatistics() throws Throwable {
+    MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+    ObjectName filter = new ObjectName("org.mariadb.jdbc.pool:type=concurrentBorrow-*");
+    try (MariaDbPoolDataSource pool =
+        new MariaDbPoolDataSource(
+            mDefUrl + "&maxPoolSize=4&minPoolSize=4&poolName=concurrentBorrow")) {
+      ExecutorService exec = Executors.newFixedThreadPool(32);
+      List<Future<?>> futures =
+          IntStream.range(0, 32)
+              .mapToObj(
+                  i ->
+                      exec.submit(
+                          () -> {
+                            for (int j = 0; j < 200; j++) {
+                              try (Connection connection = pool.getConnection()) {
+                                connection.isValid(1);
+                              }
+                            }
+                            return null;
+                          }))
+              .collect(Collectors.toList());
+      for (Future<?> future : futures) future.get();
+      exec.shutdown();
+
+      Set<ObjectName> objectNames = server.queryNames(filter, null);
+      ObjectName name = objectNames.iterator().next();
+      checkJmxInfo(server, name, 0, 4, 4);
+
+      // thread borrows again connection it last used
+      long threadId;
+      try (Connection connection = pool.getConnection()) {
+        threadId = connection.unwrap(org.mariadb.jdbc.Connection.class).getThreadId();
+        checkJmxInfo(server, name, 1, 4, 3);
+      }
+      try (Connection connection = pool.getConnection()) {
+        assertEquals(threadId, connection.unwrap(org.mariadb.jdbc.Connection.class).getThreadId());
+      }
+    }
+  }
+
+  @Test
+  public void parallelFill() throws Throwable {
+    MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+    ObjectName filter = new ObjectName("org.mariadb.jdbc.pool:type=parallelFill-*");
+    try (MariaDbPoolDataSource pool =
+        new MariaDbPoolDataSource(
+            mDefUrl
+                + "&maxPoolSize=12&minPoolSize=10&poolFillConcurrency=4&poolName=parallelFill")) {
+      // warmup: pool is filled on creation
+      Set<ObjectName> objectNames = server.queryNames(filter, null);
+      ObjectName name = objectNames.iterator().next();
+      checkJmxInfo(server, name, 0, 10, 10);
+      assertTrue(((Long) server.getAttribute(name, "LastFillDuration")) >= 0);
+      try (Connection connection = pool.getConnection()) {
+        assertTrue(connection.isValid(1));
+      }
+    }
+
+    try (MariaDbPoolDataSource pool =
+        new MariaDbPoolDataSource(
+            mDefUrl
+                + "&maxPoolSize=12&minPoolSize=10&poolFillConcurrency=4&poolWarmup=false"
+                + "&poolFillInterval=10&poolName=parallelFill")) {
+      // connections are created in background
+      Set<ObjectName> objectNames = server.queryNames(filter, null);
+      ObjectName name = objectNames.iterator().next();
+      for (int i = 0; i < 100; i++) {
+        if ((Long) server.getAttribute(name, "TotalConnections") == 10) break;
+        Thread.sleep(50);
+      }
+      checkJmxInfo(server, name, 0, 10, 10);
+    }
+  }
+
   @Test
   public void testIdleTimeout() throws Throwable {
     // appveyor is so slow wait time are not relevant.
@@ -521,7 +596,7 @@ public class PoolDataSourceTest extends Common {
         ObjectName name = objectNames.iterator().next();
 
         MBeanInfo info = server.getMBeanInfo(name);
-        assertEquals(4, info.getAttributes().length);
+        assertEquals(9, info.getAttributes().length);
 
         // to ensure pool has time to create minimal connection number
         Thread.sleep(200);
@@ -154,6 +154,18 @@ public class SslTest extends Common {
     }
   }
 
+  @Test
+  public void tlsHandshakeInformation() throws SQLException {
+    // second connection may resume TLS session of first one, if server permits it
+    for (int i = 0; i < 2; i++) {
+      try (Connection con = createCon("sslMode=trust", sslPort)) {
+        assertNotNull(getSslVersion(con));
+        assertTrue(con.getContext().getTlsHandshakeNanos() > 0);
+        if (i == 0) assertFalse(con.getContext().isTlsSessionResumed());
+      }
+    }
+  }
+
   @Test
   public void mandatorySsl() throws SQLException {
     Assumptions.assumeTrue(!isMaxscale());
@@ -27,8 +27,11 @@ import java.sql.SQLSyntaxErrorException;
 import java.sql.SQLTimeoutException;
 import java.sql.SQLWarning;
 import java.sql.Types;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 import org.junit.jupiter.api.AfterAll;
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.Assumptions;
@@ -847,6 +850,37 @@ public class StatementTest extends Common {
         "was interrupted");
   }
 
+  @Test
+  @Timeout(30)
+  public void concurrentQueryTimeouts() throws Exception {
+    // all timeouts use the same control connections
+    int connectionNumber = 8;
+    ExecutorService exec = Executors.newFixedThreadPool(connectionNumber);
+    List<Future<Throwable>> futures = new ArrayList<>();
+    for (int i = 0; i < connectionNumber; i++) {
+      futures.add(
+          exec.submit(
+              () -> {
+                try (Connection con = createCon()) {
+                  Statement stmt = con.createStatement();
+                  stmt.setQueryTimeout(1);
+                  stmt.execute(
+                      "select * from information_schema.columns as c1,  information_schema.tables,"
+                          + " information_schema.tables as t2");
+                  return null;
+                } catch (Throwable t) {
+                  return t;
+                }
+              }));
+    }
+    for (Future<Throwable> future : futures) {
+      Throwable t = future.get();
+      assertTrue(t instanceof SQLTimeoutException, String.valueOf(t));
+      assertTrue(t.getMessage().contains("was interrupted"));
+    }
+    exec.shutdown();
+  }
+
   @Test
   public void smallQueryTimeout() throws Exception {
     Statement stmt = sharedConn.createStatement();
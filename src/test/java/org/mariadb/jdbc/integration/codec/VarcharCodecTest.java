@@ -1088,4 +1088,44 @@ public class VarcharCodecTest extends CommonCodecTest {
     assertEquals(wrong, rs.getString(1));
     con.rollback();
   }
+
+  @Test
+  public void stringDecodeCache() throws SQLException {
+    try (Connection con = createCon("useStringDecodeCache")) {
+      stringDecodeCache(con, "");
+    }
+    try (Connection con = createCon("useStringDecodeCache&useServerPrepStmts")) {
+      stringDecodeCache(con, " WHERE 1 > ?");
+    }
+  }
+
+  private void stringDecodeCache(Connection con, String where) throws SQLException {
+    PreparedStatement prep =
+        con.prepareStatement(
+            "SELECT s1.t1, s1.t3 FROM StringCodec s1, StringCodec s2" + where + " ORDER BY s1.t1");
+    if (!where.isEmpty()) prep.setInt(1, 0);
+    ResultSet rs = prep.executeQuery();
+    String[] expected = new String[] {"", "0", "2011-01-01", "aaaa-bb-cc"};
+    for (String value : expected) {
+      String first = null;
+      for (int i = 0; i < 4; i++) {
+        assertTrue(rs.next());
+        assertEquals(value, rs.getString(1));
+        if (first == null) {
+          first = rs.getString(1);
+        } else {
+          // repeated values use cached instance
+          assertSame(first, rs.getString(1));
+          assertSame(first, rs.getObject(1));
+        }
+      }
+    }
+    assertFalse(rs.next());
+
+    rs = prep.executeQuery();
+    while (rs.next()) {
+      String t3 = rs.getString(2);
+      assertTrue("some🌟".equals(t3) || "23:54:51.840010".equals(t3) || "".equals(t3), t3);
+    }
+  }
 }
@@ -0,0 +1,135 @@
+// SPDX-License-Identifier: LGPL-2.1-or-later
+// Copyright (c) 2012-2014 Monty Program Ab
+// Copyright (c) 2015-2026 MariaDB Corporation Ab
+package org.mariadb.jdbc.integration.resultset;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.sql.*;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.mariadb.jdbc.Connection;
+import org.mariadb.jdbc.Statement;
+import org.mariadb.jdbc.client.result.ColumnBatch;
+import org.mariadb.jdbc.client.result.Result;
+import org.mariadb.jdbc.integration.Common;
+
+public class ColumnBatchTest extends Common {
+
+  private static final String SQL = "SELECT * FROM ColumnBatchTest ORDER BY id";
+  private static final int ROWS = 250;
+
+  @AfterAll
+  public static void drop() throws SQLException {
+    sharedConn.createStatement().execute("DROP TABLE IF EXISTS ColumnBatchTest");
+  }
+
+  @BeforeAll
+  public static void beforeAll2() throws SQLException {
+    drop();
+    Statement stmt = sharedConn.createStatement();
+    stmt.execute(
+        "CREATE TABLE ColumnBatchTest (id int not null primary key, t1 bigint, t2 double, t3"
+            + " varchar(20), t4 decimal(10,2), t5 date)");
+    try (PreparedStatement prep =
+        sharedConn.prepareStatement("INSERT INTO ColumnBatchTest VALUES (?,?,?,?,?,?)")) {
+      for (int i = 0; i < ROWS; i++) {
+        prep.setInt(1, i);
+        prep.setObject(2, i % 7 == 0 ? null : -10_000_000_000L * i);
+        prep.setDouble(3, i * 0.5);
+        prep.setString(4, i % 5 == 0 ? null : "v" + i);
+        prep.setString(5, i + ".25");
+        prep.setDate(6, Date.valueOf("2020-01-01"));
+        prep.addBatch();
+      }
+      prep.executeBatch();
+    }
+  }
+
+  @Test
+  public void completeResult() throws SQLException {
+    completeResult(sharedConn);
+    completeResult(sharedConnBinary);
+  }
+
+  private void completeResult(Connection con) throws SQLException {
+    try (PreparedStatement prep = con.prepareStatement(SQL)) {
+      ResultSet rs = prep.executeQuery();
+      assertTrue(rs.next());
+      assertTrue(rs.next());
+      Result result = rs.unwrap(Result.class);
+      ColumnBatch batch = result.nextColumnBatch();
+      assertEquals(ROWS - 2, batch.rowCount());
+      assertEquals(6, batch.columnCount());
+      checkBatch(batch, 2);
+      assertNull(result.nextColumnBatch());
+      assertFalse(rs.next());
+      assertTrue(rs.isAfterLast());
+    }
+  }
+
+  @Test
+  public void streamingResult() throws SQLException {
+    streamingResult(sharedConn, ResultSet.TYPE_FORWARD_ONLY);
+    streamingResult(sharedConnBinary, ResultSet.TYPE_FORWARD_ONLY);
+    streamingResult(sharedConn, ResultSet.TYPE_SCROLL_INSENSITIVE);
+    streamingResult(sharedConnBinary, ResultSet.TYPE_SCROLL_INSENSITIVE);
+  }
+
+  private void streamingResult(Connection con, int resultSetType) throws SQLException {
+    java.sql.Statement stmt = con.createStatement();
+    stmt.execute("START TRANSACTION"); // if MAXSCALE ensure using WRITER
+    try (PreparedStatement prep =
+        con.prepareStatement(SQL, resultSetType, ResultSet.CONCUR_READ_ONLY)) {
+      prep.setFetchSize(100);
+      ResultSet rs = prep.executeQuery();
+      assertTrue(rs.next());
+      Result result = rs.unwrap(Result.class);
+      int first = 1;
+      ColumnBatch batch;
+      while ((batch = result.nextColumnBatch()) != null) {
+        assertTrue(batch.rowCount() > 0 && batch.rowCount() <= 100);
+        checkBatch(batch, first);
+        first += batch.rowCount();
+      }
+      assertEquals(ROWS, first);
+      assertFalse(rs.next());
+      if (resultSetType == ResultSet.TYPE_SCROLL_INSENSITIVE) {
+        assertTrue(rs.absolute(10));
+        assertEquals(9, rs.getInt(1));
+      }
+    }
+    con.rollback();
+  }
+
+  @Test
+  public void closedResult() throws SQLException {
+    ResultSet rs = sharedConn.createStatement().executeQuery(SQL);
+    rs.close();
+    Common.assertThrowsContains(
+        SQLException.class,
+        () -> rs.unwrap(Result.class).nextColumnBatch(),
+        "Operation not permit on a closed resultSet");
+  }
+
+  private void checkBatch(ColumnBatch batch, int first) {
+    assertEquals(ColumnBatch.VectorType.LONG, batch.vectorType(0));
+    assertEquals(ColumnBatch.VectorType.LONG, batch.vectorType(1));
+    assertEquals(ColumnBatch.VectorType.DOUBLE, batch.vectorType(2));
+    assertEquals(ColumnBatch.VectorType.BYTES, batch.vectorType(3));
+    assertEquals(ColumnBatch.VectorType.BYTES, batch.vectorType(4));
+    assertEquals(ColumnBatch.VectorType.BYTES, batch.vectorType(5));
+    for (int row = 0; row < batch.rowCount(); row++) {
+      int i = first + row;
+      assertEquals(i, batch.longs(0)[row]);
+      assertEquals(i % 7 == 0, batch.isNull(1, row));
+      assertEquals(i % 7 == 0 ? 0 : -10_000_000_000L * i, batch.longs(1)[row]);
+      assertEquals(i * 0.5, batch.doubles(2)[row]);
+      assertFalse(batch.isNull(2, row));
+      assertEquals(i % 5 == 0 ? null : "v" + i, batch.getString(3, row));
+      assertEquals(i + ".25", batch.getString(4, row));
+      assertEquals("2020-01-01", batch.getString(5, row));
+    }
+  }
+}
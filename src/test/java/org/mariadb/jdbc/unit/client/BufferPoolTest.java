@@ -0,0 +1,47 @@
+// SPDX-License-Identifier: LGPL-2.1-or-later
+// Copyright (c) 2012-2014 Monty Program Ab
+// Copyright (c) 2015-2026 MariaDB Corporation Ab
+package org.mariadb.jdbc.unit.client;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import org.junit.jupiter.api.Test;
+import org.mariadb.jdbc.client.util.BufferPool;
+
+public class BufferPoolTest {
+
+  @Test
+  public void sizeClasses() {
+    assertEquals(16 * 1024, BufferPool.sizeFor(1));
+    assertEquals(16 * 1024, BufferPool.sizeFor(16 * 1024));
+    assertEquals(32 * 1024, BufferPool.sizeFor(16 * 1024 + 1));
+    assertEquals(128 * 1024, BufferPool.sizeFor(128 * 1024));
+    assertEquals(1024 * 1024, BufferPool.sizeFor(1000 * 1024));
+    assertEquals(2_000_000, BufferPool.sizeFor(2_000_000));
+  }
+
+  @Test
+  public void reuse() {
+    byte[] buf = BufferPool.acquire(100_000);
+    assertEquals(128 * 1024, buf.length);
+    BufferPool.release(buf);
+    assertSame(buf, BufferPool.acquire(128 * 1024));
+
+    // not pooled sizes are ignored
+    byte[] big = BufferPool.acquire(2_000_000);
+    BufferPool.release(big);
+    assertNotSame(big, BufferPool.acquire(2_000_000));
+    BufferPool.release(new byte[100]);
+    BufferPool.release(new byte[100_000]);
+  }
+
+  @Test
+  public void retainedLimit() {
+    byte[][] bufs = new byte[10][];
+    for (int i = 0; i < bufs.length; i++) bufs[i] = BufferPool.acquire(1024 * 1024);
+    long initial = BufferPool.retainedBytes();
+    for (byte[] buf : bufs) BufferPool.release(buf);
+    // at most 2 buffers of 1M retained
+    assertTrue(BufferPool.retainedBytes() - initial <= 2 * 1024 * 1024);
+  }
+}
@@ -0,0 +1,55 @@
+// SPDX-License-Identifier: LGPL-2.1-or-later
+// Copyright (c) 2012-2014 Monty Program Ab
+// Copyright (c) 2015-2026 MariaDB Corporation Ab
+package org.mariadb.jdbc.unit.client;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+import org.mariadb.jdbc.client.util.ClockCache;
+
+public class ClockCacheTest {
+
+  @Test
+  public void eviction() {
+    List<String> evicted = new ArrayList<>();
+    ClockCache<String> cache = new ClockCache<>(4, evicted::add);
+    for (int i = 0; i < 4; i++) {
+      assertNull(cache.putIfAbsent("k" + i, "v" + i));
+    }
+    assertEquals("v0", cache.putIfAbsent("k0", "other"));
+    assertEquals(4, cache.size());
+
+    // recently used entries are kept
+    assertEquals("v1", cache.get("k1"));
+    cache.putIfAbsent("k4", "v4");
+    assertEquals(4, cache.size());
+    assertEquals(1, cache.evictionCount());
+    assertEquals("v2", evicted.get(0));
+    assertEquals("v1", cache.get("k1"));
+    assertNull(cache.get("k2"));
+    assertEquals(2.0 / 3, cache.hitRatio(), 0.01);
+
+    cache.put("k1", "new");
+    assertEquals("new", cache.get("k1"));
+    assertEquals(4, cache.size());
+
+    List<String> values = cache.clear();
+    assertEquals(4, values.size());
+    assertEquals(0, cache.size());
+  }
+
+  @Test
+  public void striped() {
+    ClockCache<Integer> cache = new ClockCache<>(250, null);
+    for (int i = 0; i < 10_000; i++) {
+      cache.putIfAbsent("SELECT " + i, i);
+      assertTrue(cache.size() <= 250);
+    }
+    assertEquals(250, cache.size());
+    assertEquals(10_000 - 250, cache.evictionCount());
+    assertEquals(Integer.valueOf(9_999), cache.get("SELECT 9999"));
+  }
+}
@@ -0,0 +1,124 @@
+// SPDX-License-Identifier: LGPL-2.1-or-later
+// Copyright (c) 2012-2014 Monty Program Ab
+// Copyright (c) 2015-2026 MariaDB Corporation Ab
+package org.mariadb.jdbc.unit.client;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.lang.reflect.Proxy;
+import java.math.BigDecimal;
+import java.sql.*;
+import java.time.*;
+import java.util.UUID;
+import org.junit.jupiter.api.Test;
+import org.mariadb.jdbc.Configuration;
+import org.mariadb.jdbc.client.ColumnDecoder;
+import org.mariadb.jdbc.client.DataType;
+import org.mariadb.jdbc.client.util.CodecDispatcher;
+import org.mariadb.jdbc.plugin.Codec;
+
+public class CodecDispatcherTest {
+
+  private static final Class<?>[] CLASSES =
+      new Class<?>[] {
+        String.class, Integer.class, int.class, Long.class, long.class, Short.class, Byte.class,
+        Boolean.class, boolean.class, Double.class, Float.class, BigDecimal.class, byte[].class,
+        Date.class, Time.class, Timestamp.class, java.util.Date.class, LocalDate.class,
+        LocalDateTime.class, LocalTime.class, Instant.class, ZonedDateTime.class,
+        OffsetDateTime.class, Duration.class, Blob.class, Clob.class, NClob.class, UUID.class,
+        Number.class, CharSequence.class, CodecDispatcherTest.class
+      };
+
+  private static final Object[] VALUES =
+      new Object[] {
+        "a", 1, 1L, (short) 1, (byte) 1, true, 1d, 1f, BigDecimal.ONE, new byte[] {1},
+        Date.valueOf("2020-01-01"), Time.valueOf("10:00:00"), new Timestamp(0),
+        new java.util.Date(), LocalDate.now(), LocalDateTime.now(), LocalTime.now(),
+        Instant.now(), Duration.ZERO, UUID.randomUUID(), new float[] {1f}, new StringBuilder("a"),
+        new Object()
+      };
+
+  private static Codec<?>[] defaultCodecs() throws SQLException {
+    return Configuration.parse("jdbc:mariadb://localhost/db").codecs();
+  }
+
+  private static Codec<?> scanDecoder(Codec<?>[] codecs, ColumnDecoder column, Class<?> type) {
+    for (Codec<?> codec : codecs) {
+      if (codec.canDecode(column, type)) return codec;
+    }
+    return null;
+  }
+
+  private static Codec<?> scanEncoder(Codec<?>[] codecs, Object value) {
+    for (Codec<?> codec : codecs) {
+      if (codec.canEncode(value)) return codec;
+    }
+    return null;
+  }
+
+  @Test
+  public void sameResultThanScan() throws SQLException {
+    Codec<?>[] codecs = defaultCodecs();
+    CodecDispatcher dispatcher = new CodecDispatcher(codecs);
+    // second pass uses cached entries
+    for (int pass = 0; pass < 2; pass++) {
+      for (DataType dataType : DataType.values()) {
+        ColumnDecoder column = ColumnDecoder.create("db", "c", dataType, 0);
+        for (Class<?> type : CLASSES) {
+          assertSame(
+              scanDecoder(codecs, column, type),
+              dispatcher.decoder(column, type),
+              dataType + "/" + type);
+        }
+      }
+      for (Object value : VALUES) {
+        assertSame(
+            scanEncoder(codecs, value), dispatcher.encoder(value), value.getClass().getName());
+      }
+    }
+  }
+
+  @Test
+  public void customCodecCheckedEachTime() throws SQLException {
+    Codec<?>[] defaultCodecs = defaultCodecs();
+    // custom codec decoding only column named "custom" to String, and encoding empty Strings
+    Codec<?> custom =
+        (Codec<?>)
+            Proxy.newProxyInstance(
+                Codec.class.getClassLoader(),
+                new Class<?>[] {Codec.class},
+                (proxy, method, args) -> {
+                  switch (method.getName()) {
+                    case "canDecode":
+                      return "custom".equals(((ColumnDecoder) args[0]).getColumnName())
+                          && args[1] == String.class;
+                    case "canEncode":
+                      return "".equals(args[0]);
+                    case "canCacheDispatch":
+                      return false;
+                    default:
+                      return null;
+                  }
+                });
+    assertFalse(custom.canCacheDispatch());
+    assertTrue(defaultCodecs[0].canCacheDispatch());
+
+    Codec<?>[] codecs = new Codec<?>[defaultCodecs.length + 1];
+    codecs[0] = custom;
+    System.arraycopy(defaultCodecs, 0, codecs, 1, defaultCodecs.length);
+    CodecDispatcher dispatcher = new CodecDispatcher(codecs);
+    assertSame(codecs, dispatcher.codecs());
+
+    ColumnDecoder customColumn = ColumnDecoder.create("db", "custom", DataType.VARSTRING, 0);
+    ColumnDecoder otherColumn = ColumnDecoder.create("db", "other", DataType.VARSTRING, 0);
+    for (int i = 0; i < 2; i++) {
+      assertSame(custom, dispatcher.decoder(customColumn, String.class));
+      Codec<?> codec = dispatcher.decoder(otherColumn, String.class);
+      assertNotSame(custom, codec);
+      assertSame(scanDecoder(defaultCodecs, otherColumn, String.class), codec);
+
+      assertSame(custom, dispatcher.encoder(""));
+      assertSame(scanEncoder(defaultCodecs, "a"), dispatcher.encoder("a"));
+    }
+  }
+}
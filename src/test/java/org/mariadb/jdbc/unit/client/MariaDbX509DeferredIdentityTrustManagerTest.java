@@ -4,14 +4,18 @@
 package org.mariadb.jdbc.unit.client;
 
 import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 
 import java.io.InputStream;
 import java.net.InetAddress;
 import java.security.KeyStore;
 import java.security.MessageDigest;
 import java.security.cert.X509Certificate;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.concurrent.atomic.AtomicReference;
 import javax.net.ssl.KeyManagerFactory;
 import javax.net.ssl.SSLContext;
@@ -26,7 +30,7 @@ import org.mariadb.jdbc.client.tls.MariaDbX509DeferredIdentityTrustManager;
 /**
  * Verifies, over a real loopback TLS handshake, that {@link
  * MariaDbX509DeferredIdentityTrustManager} captures the accepted self-signed certificate
- * fingerprint (and only when the certificate is not CA-trusted).
+ * fingerprint (and only when the certificate is not CA-trusted), including for resumed sessions.
  */
 class MariaDbX509DeferredIdentityTrustManagerTest {
 
@@ -74,11 +78,12 @@ class MariaDbX509DeferredIdentityTrustManagerTest {
   }
 
   /**
-   * Runs one loopback TLS handshake using the given (per-connection) deferred-identity trust
-   * manager and returns the fingerprint it captured during the handshake.
+   * Runs loopback TLS handshakes using the given deferred-identity trust manager, shared by
+   * connections through a single client SSL context (so sessions can be resumed), and returns the
+   * fingerprint reported for each connection.
    */
-  private static byte[] handshakeAndReadFingerprint(
-      MariaDbX509DeferredIdentityTrustManager clientTm) throws Exception {
+  private static List<Handshake> handshakes(
+      MariaDbX509DeferredIdentityTrustManager clientTm, int count) throws Exception {
     KeyManagerFactory kmf = KeyManagerFactory.getInstance(KeyManagerFactory.getDefaultAlgorithm());
     kmf.init(serverKeyStore(), PASSWORD);
     SSLContext serverCtx = SSLContext.getInstance("TLS");
@@ -96,12 +101,16 @@ class MariaDbX509DeferredIdentityTrustManagerTest {
     Thread serverThread =
         new Thread(
             () -> {
-              try (SSLSocket s = (SSLSocket) serverSocket.accept()) {
-                s.setSoTimeout(15_000);
-                s.startHandshake();
-                s.getInputStream().read();
-              } catch (Throwable t) {
-                serverError.set(t);
+              for (int i = 0; i < count; i++) {
+                try (SSLSocket s = (SSLSocket) serverSocket.accept()) {
+                  s.setSoTimeout(15_000);
+                  s.startHandshake();
+                  s.getInputStream().read();
+                  // let client read post-handshake messages (TLS 1.3 session tickets)
+                  s.getOutputStream().write(1);
+                } catch (Throwable t) {
+                  serverError.set(t);
+                }
               }
             },
             "loopback-tls-server");
@@ -111,12 +120,24 @@ class MariaDbX509DeferredIdentityTrustManagerTest {
     SSLContext clientCtx = SSLContext.getInstance("TLS");
     clientCtx.init(null, new TrustManager[] {clientTm}, null);
 
-    try (SSLSocket client =
-        (SSLSocket)
-            clientCtx.getSocketFactory().createSocket(InetAddress.getLoopbackAddress(), port)) {
-      client.setSoTimeout(15_000);
-      client.startHandshake();
-      client.getOutputStream().write(1);
+    List<Handshake> results = new ArrayList<>();
+    try {
+      for (int i = 0; i < count; i++) {
+        // ensure session creation time of a new session differs from previous one
+        Thread.sleep(5);
+        long start = System.currentTimeMillis();
+        try (SSLSocket client =
+            (SSLSocket)
+                clientCtx.getSocketFactory().createSocket(InetAddress.getLoopbackAddress(), port)) {
+          client.setSoTimeout(15_000);
+          client.startHandshake();
+          byte[] fingerprint = clientTm.getFingerprint(client);
+          client.getOutputStream().write(1);
+          client.getInputStream().read();
+          results.add(
+              new Handshake(fingerprint, client.getSession().getCreationTime() < start));
+        }
+      }
     } finally {
       serverSocket.close();
     }
@@ -125,7 +146,22 @@ class MariaDbX509DeferredIdentityTrustManagerTest {
     if (serverError.get() != null) {
       throw new AssertionError("server side failed", serverError.get());
     }
-    return clientTm.getFingerprint();
+    return results;
+  }
+
+  private static byte[] handshakeAndReadFingerprint(
+      MariaDbX509DeferredIdentityTrustManager clientTm) throws Exception {
+    return handshakes(clientTm, 1).get(0).fingerprint;
+  }
+
+  private static final class Handshake {
+    private final byte[] fingerprint;
+    private final boolean resumed;
+
+    private Handshake(byte[] fingerprint, boolean resumed) {
+      this.fingerprint = fingerprint;
+      this.resumed = resumed;
+    }
   }
 
   @Test
@@ -152,4 +188,32 @@ class MariaDbX509DeferredIdentityTrustManagerTest {
     assertNull(
         fingerprint, "a CA-trusted certificate must NOT capture a fingerprint (normal validation)");
   }
+
+  @Test
+  void fingerprintReportedForResumedSession() throws Exception {
+    // a resumed session skips certificate validation: an untrusted certificate must still be
+    // reported, so identity is verified during authentication
+    byte[] expected = sha256((X509Certificate) serverKeyStore().getCertificate("test"));
+
+    List<Handshake> results =
+        handshakes(new MariaDbX509DeferredIdentityTrustManager(systemTrustManager()), 2);
+
+    assertFalse(results.get(0).resumed);
+    assertTrue(results.get(1).resumed, "shared SSL context must resume TLS session");
+    assertArrayEquals(expected, results.get(0).fingerprint);
+    assertArrayEquals(expected, results.get(1).fingerprint);
+  }
+
+  @Test
+  void noFingerprintForResumedTrustedSession() throws Exception {
+    X509Certificate serverCert = (X509Certificate) serverKeyStore().getCertificate("test");
+
+    MariaDbX509DeferredIdentityTrustManager clientTm =
+        new MariaDbX509DeferredIdentityTrustManager(trustManagerTrusting(serverCert));
+    List<Handshake> results = handshakes(clientTm, 2);
+
+    assertTrue(results.get(1).resumed, "shared SSL context must resume TLS session");
+    assertNull(results.get(0).fingerprint);
+    assertNull(results.get(1).fingerprint);
+  }
 }
@@ -14,12 +14,6 @@ public class PrepareCacheTest {
   @Test
   public void check() {
     PrepareCache cache = new PrepareCache(20, null);
-    try {
-      cache.get("dd");
-      fail();
-    } catch (IllegalStateException s) {
-      assertTrue(s.getMessage().contains("not available method"));
-    }
     try {
       cache.put("dd", (PrepareResultPacket) null);
       fail();
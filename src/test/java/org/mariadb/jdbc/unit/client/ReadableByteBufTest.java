@@ -0,0 +1,130 @@
+// SPDX-License-Identifier: LGPL-2.1-or-later
+// Copyright (c) 2012-2014 Monty Program Ab
+// Copyright (c) 2015-2026 MariaDB Corporation Ab
+package org.mariadb.jdbc.unit.client;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.nio.charset.StandardCharsets;
+import java.util.Random;
+import org.junit.jupiter.api.Test;
+import org.mariadb.jdbc.client.ReadableByteBuf;
+
+public class ReadableByteBufTest {
+
+  private static final String[] VALUES =
+      new String[] {
+        "0", "-0", "0.0", "-0.0", "1", "-1", "+1", "1.", ".5", "-.5", "0.1", "0.3", "123.456",
+        "-123.456", "1e10", "1E-10", "1.5e+3", "2.2250738585072014E-308", "4.9e-324",
+        "1.7976931348623157e308", "9007199254740993", "9007199254740992", "123456789012345678",
+        "1234567890123456789", "12345678901234567890", "9223372036854775807",
+        "9223372036854775808", "-9223372036854775808", "-9223372036854775809",
+        "0.000000000000000000000000001", "1e22", "1e23", "3.4028235e38", "1.4e-45", "16777217",
+        "0.1000000000000000055511151231257827", "00012.5000", "1e", "e5", "-", "", ".", "1.2.3",
+        "abc", "1e-", "12 ", "NaN", "Infinity", "-Infinity", "1d", "0x10"
+      };
+
+  private static ReadableByteBuf buffer(String value) {
+    // value is surrounded by other data
+    byte[] bytes = ("#" + value + "#").getBytes(StandardCharsets.US_ASCII);
+    ReadableByteBuf buf = new ReadableByteBuf(bytes, bytes.length);
+    buf.pos(1);
+    return buf;
+  }
+
+  private static void checkDouble(String value) {
+    ReadableByteBuf buf = buffer(value);
+    Double expected;
+    try {
+      expected = Double.parseDouble(value);
+    } catch (NumberFormatException e) {
+      assertThrows(NumberFormatException.class, () -> buf.atod(value.length()));
+      return;
+    }
+    assertEquals(expected, (Double) buf.atod(value.length()), value);
+    assertEquals(value.length() + 1, buf.pos());
+  }
+
+  private static void checkFloat(String value) {
+    ReadableByteBuf buf = buffer(value);
+    Float expected;
+    try {
+      expected = Float.parseFloat(value);
+    } catch (NumberFormatException e) {
+      assertThrows(NumberFormatException.class, () -> buf.atof(value.length()));
+      return;
+    }
+    assertEquals(expected, (Float) buf.atof(value.length()), value);
+    assertEquals(value.length() + 1, buf.pos());
+  }
+
+  private static void checkDecimal(String value) {
+    ReadableByteBuf buf = buffer(value);
+    long result = buf.atolDecimal(value.length());
+    long expected;
+    try {
+      expected = new BigDecimal(value).setScale(0, RoundingMode.DOWN).longValueExact();
+    } catch (NumberFormatException | ArithmeticException e) {
+      assertEquals(Long.MIN_VALUE, result, value);
+      assertEquals(1, buf.pos());
+      return;
+    }
+    if (result == Long.MIN_VALUE) {
+      // only plain notation is supported, Long.MIN_VALUE being reserved
+      assertTrue(value.toLowerCase().contains("e") || expected == Long.MIN_VALUE, value);
+      assertEquals(1, buf.pos());
+    } else {
+      assertEquals(expected, result, value);
+      assertEquals(value.length() + 1, buf.pos());
+    }
+  }
+
+  @Test
+  public void parsing() {
+    for (String value : VALUES) {
+      checkDouble(value);
+      checkFloat(value);
+      checkDecimal(value);
+    }
+  }
+
+  @Test
+  public void randomParsing() {
+    Random random = new Random(1);
+    for (int i = 0; i < 200_000; i++) {
+      String value;
+      switch (i % 5) {
+        case 0:
+          value = String.valueOf(random.nextDouble() * Math.pow(10, random.nextInt(40) - 20));
+          break;
+        case 1:
+          value = String.valueOf(Double.longBitsToDouble(random.nextLong()));
+          break;
+        case 2:
+          float scale = (float) Math.pow(10, random.nextInt(20) - 10);
+          value = String.valueOf(random.nextFloat() * scale);
+          break;
+        case 3:
+          // decimal with random precision and scale
+          value =
+              new BigDecimal(random.nextLong())
+                  .movePointLeft(random.nextInt(20))
+                  .setScale(random.nextInt(10), RoundingMode.DOWN)
+                  .toPlainString();
+          break;
+        default:
+          value =
+              (random.nextBoolean() ? "-" : "")
+                  + random.nextInt(1000000)
+                  + "."
+                  + random.nextInt(1000);
+          break;
+      }
+      checkDouble(value);
+      checkFloat(value);
+      checkDecimal(value);
+    }
+  }
+}
@@ -0,0 +1,71 @@
+// SPDX-License-Identifier: LGPL-2.1-or-later
+// Copyright (c) 2012-2014 Monty Program Ab
+// Copyright (c) 2015-2026 MariaDB Corporation Ab
+package org.mariadb.jdbc.unit.client;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import org.junit.jupiter.api.Test;
+import org.mariadb.jdbc.client.ReadableByteBuf;
+import org.mariadb.jdbc.client.util.SlabArena;
+import org.mariadb.jdbc.client.util.SlabRows;
+
+public class SlabRowsTest {
+
+  @Test
+  public void storeAndRead() {
+    SlabArena arena = new SlabArena();
+    SlabRows rows = new SlabRows(arena, 10);
+    List<byte[]> expected = new ArrayList<>();
+    Random random = new Random(1);
+    for (int i = 0; i < 2000; i++) {
+      // some rows bigger than slab
+      int len = i % 500 == 0 ? SlabArena.SLAB_SIZE + 10 : random.nextInt(300) + 1;
+      byte[] data = new byte[len];
+      random.nextBytes(data);
+      byte[] slab = rows.reserve(len);
+      System.arraycopy(data, 0, slab, rows.pendingOffset(), len);
+      if (i % 7 == 0) continue; // not committed, like EOF packet
+      rows.commit();
+      expected.add(data);
+    }
+    assertEquals(expected.size(), rows.size());
+
+    ReadableByteBuf buf = new ReadableByteBuf(null, 0);
+    for (int i = 0; i < expected.size(); i++) {
+      rows.setRow(i, buf);
+      assertTrue(buf.shared());
+      assertArrayEquals(expected.get(i), buf.readBytes(buf.readableBytes()));
+      buf.rewind();
+      assertEquals(expected.get(i)[0], buf.readByte());
+      assertArrayEquals(expected.get(i), rows.copyRow(i));
+    }
+  }
+
+  @Test
+  public void slabReuse() {
+    SlabArena arena = new SlabArena();
+    SlabRows rows = new SlabRows(arena, 10);
+    for (int i = 0; i < 1000; i++) {
+      rows.reserve(200);
+      rows.commit();
+    }
+    rows.clear();
+    assertEquals(0, rows.size());
+    assertEquals(0, arena.retainedSlabs());
+    byte[] slab = rows.reserve(10);
+    rows.commit();
+    rows.release();
+    assertEquals(4, arena.retainedSlabs());
+
+    // next result-set reuse released slabs
+    SlabRows other = new SlabRows(arena, 10);
+    byte[] reused = other.reserve(10);
+    assertEquals(3, arena.retainedSlabs());
+    assertEquals(SlabArena.SLAB_SIZE, reused.length);
+    assertNotNull(slab);
+  }
+}
@@ -0,0 +1,82 @@
+// SPDX-License-Identifier: LGPL-2.1-or-later
+// Copyright (c) 2012-2014 Monty Program Ab
+// Copyright (c) 2015-2026 MariaDB Corporation Ab
+package org.mariadb.jdbc.unit.client;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import org.junit.jupiter.api.Test;
+import org.mariadb.jdbc.client.ReadableByteBuf;
+import org.mariadb.jdbc.client.util.StringDecodeCache;
+
+public class StringDecodeCacheTest {
+
+  private static ReadableByteBuf buffer(String... values) {
+    ByteArrayOutputStream out = new ByteArrayOutputStream();
+    for (String value : values) {
+      byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+      out.write(bytes, 0, bytes.length);
+    }
+    byte[] arr = out.toByteArray();
+    return new ReadableByteBuf(arr, arr.length);
+  }
+
+  private static int length(String value) {
+    return value.getBytes(StandardCharsets.UTF_8).length;
+  }
+
+  @Test
+  public void lowCardinality() {
+    String[] values = new String[] {"EUR", "USD", "", "🌟", "EUR", "USD", "", "🌟", "EU"};
+    ReadableByteBuf buf = buffer(values);
+    StringDecodeCache cache = new StringDecodeCache();
+    String[] results = new String[values.length];
+    for (int i = 0; i < values.length; i++) {
+      results[i] = cache.readString(buf, length(values[i]));
+      assertEquals(values[i], results[i]);
+    }
+    assertEquals(0, buf.readableBytes());
+    for (int i = 0; i < 4; i++) assertSame(results[i], results[i + 4]);
+
+    // hit rate stays good
+    for (int i = 0; i < 10 * StringDecodeCache.SAMPLE_SIZE; i++) {
+      if (i % 4 == 0) buf.pos(0);
+      assertSame(results[i % 4], cache.readString(buf, length(values[i % 4])));
+    }
+    assertTrue(cache.isEnabled());
+  }
+
+  @Test
+  public void longValuesNotCached() {
+    StringBuilder sb = new StringBuilder();
+    for (int i = 0; i <= StringDecodeCache.MAX_LENGTH; i++) sb.append('a');
+    String value = sb.toString();
+    ReadableByteBuf buf = buffer(value, value);
+    StringDecodeCache cache = new StringDecodeCache();
+    String first = cache.readString(buf, value.length());
+    String second = cache.readString(buf, value.length());
+    assertEquals(value, first);
+    assertEquals(value, second);
+    assertNotSame(first, second);
+  }
+
+  @Test
+  public void disabledOnHighCardinality() {
+    StringDecodeCache cache = new StringDecodeCache();
+    for (int i = 0; i < StringDecodeCache.SAMPLE_SIZE; i++) {
+      String value = "value" + i;
+      assertEquals(value, cache.readString(buffer(value), value.length()));
+    }
+    assertFalse(cache.isEnabled());
+
+    // still decoding correctly
+    ReadableByteBuf buf = buffer("EUR", "EUR");
+    String first = cache.readString(buf, 3);
+    String second = cache.readString(buf, 3);
+    assertEquals("EUR", first);
+    assertEquals("EUR", second);
+    assertNotSame(first, second);
+  }
+}
@@ -0,0 +1,57 @@
+// SPDX-License-Identifier: LGPL-2.1-or-later
+// Copyright (c) 2012-2014 Monty Program Ab
+// Copyright (c) 2015-2026 MariaDB Corporation Ab
+package org.mariadb.jdbc.unit.client;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.Test;
+import org.mariadb.jdbc.client.util.TimerWheel;
+
+public class TimerWheelTest {
+
+  @Test
+  public void expiry() throws Exception {
+    CountDownLatch latch = new CountDownLatch(1);
+    long start = System.nanoTime();
+    TimerWheel.getInstance().schedule(latch::countDown, 300, TimeUnit.MILLISECONDS);
+    assertTrue(latch.await(5, TimeUnit.SECONDS));
+    long elapsedMs = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+    assertTrue(elapsedMs >= 300, "elapsed " + elapsedMs);
+  }
+
+  @Test
+  public void cancel() throws Exception {
+    AtomicInteger counter = new AtomicInteger();
+    TimerWheel.Timeout[] timeouts = new TimerWheel.Timeout[1000];
+    for (int i = 0; i < timeouts.length; i++) {
+      timeouts[i] =
+          TimerWheel.getInstance()
+              .schedule(counter::incrementAndGet, 50 + i % 300, TimeUnit.MILLISECONDS);
+    }
+    for (int i = 0; i < timeouts.length; i += 2) {
+      assertTrue(timeouts[i].cancel());
+    }
+    Thread.sleep(800);
+    assertEquals(500, counter.get());
+    assertFalse(timeouts[1].cancel());
+  }
+
+  @Test
+  public void fixedRate() throws Exception {
+    AtomicInteger counter = new AtomicInteger();
+    TimerWheel.Timeout timeout =
+        TimerWheel.getInstance()
+            .scheduleAtFixedRate(counter::incrementAndGet, 100, 100, TimeUnit.MILLISECONDS);
+    Thread.sleep(750);
+    timeout.cancel();
+    timeout.awaitDone();
+    int runs = counter.get();
+    assertTrue(runs >= 3, "runs " + runs);
+    Thread.sleep(300);
+    assertEquals(runs, counter.get());
+  }
+}
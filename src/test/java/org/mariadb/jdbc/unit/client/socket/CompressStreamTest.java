@@ -0,0 +1,60 @@
+// SPDX-License-Identifier: LGPL-2.1-or-later
+// Copyright (c) 2012-2014 Monty Program Ab
+// Copyright (c) 2015-2026 MariaDB Corporation Ab
+package org.mariadb.jdbc.unit.client.socket;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.Random;
+import org.junit.jupiter.api.Test;
+import org.mariadb.jdbc.client.socket.impl.CompressInputStream;
+import org.mariadb.jdbc.client.socket.impl.CompressOutputStream;
+import org.mariadb.jdbc.client.util.MutableByte;
+
+public class CompressStreamTest {
+
+  @Test
+  public void roundTrip() throws IOException {
+    Random random = new Random(1);
+    // compressible, not compressible, and small packets
+    byte[] text = new byte[100_000];
+    for (int i = 0; i < text.length; i++) text[i] = (byte) ('a' + (i % 7));
+    byte[] noise = new byte[50_000];
+    random.nextBytes(noise);
+    byte[] small = new byte[] {1, 2, 3};
+
+    ByteArrayOutputStream baos = new ByteArrayOutputStream();
+    CompressOutputStream out = new CompressOutputStream(baos, new MutableByte(), 1, 1536);
+    out.write(text, 0, text.length);
+    out.write(noise, 0, noise.length);
+    out.write(small, 0, small.length);
+    out.flush();
+
+    byte[] sent = baos.toByteArray();
+    // random data is sent uncompressed : size must not grow more than headers
+    assertTrue(sent.length < text.length / 10 + noise.length + small.length + 3 * 7);
+
+    CompressInputStream in =
+        new CompressInputStream(new ByteArrayInputStream(sent), new MutableByte());
+    assertArrayEquals(text, readFully(in, text.length));
+    assertArrayEquals(noise, readFully(in, noise.length));
+    assertArrayEquals(small, readFully(in, small.length));
+    in.close();
+    out.close();
+  }
+
+  private static byte[] readFully(CompressInputStream in, int len) throws IOException {
+    byte[] b = new byte[len];
+    int off = 0;
+    while (off < len) {
+      // read in chunks, to cross compressed packet boundaries
+      int read = in.read(b, off, Math.min(4096, len - off));
+      assertTrue(read > 0);
+      off += read;
+    }
+    return b;
+  }
+}
@@ -0,0 +1,109 @@
+// SPDX-License-Identifier: LGPL-2.1-or-later
+// Copyright (c) 2012-2014 Monty Program Ab
+// Copyright (c) 2015-2026 MariaDB Corporation Ab
+package org.mariadb.jdbc.unit.client.socket;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.sql.SQLException;
+import org.junit.jupiter.api.Test;
+import org.mariadb.jdbc.Configuration;
+import org.mariadb.jdbc.client.ReadableByteBuf;
+import org.mariadb.jdbc.client.socket.PacketInputStream;
+import org.mariadb.jdbc.client.socket.Reader;
+import org.mariadb.jdbc.client.util.MutableByte;
+
+public class PacketReaderTest {
+
+  private static void writePacket(ByteArrayOutputStream out, int length, int seq) {
+    out.write(length);
+    out.write(length >>> 8);
+    out.write(length >>> 16);
+    out.write(seq);
+    for (int i = 0; i < length; i++) out.write(i);
+  }
+
+  @Test
+  public void reusableBufferAdaptsToPacketSizes() throws IOException, SQLException {
+    ByteArrayOutputStream out = new ByteArrayOutputStream();
+    // 2048 packets of 40K, then 8192 small packets
+    for (int i = 0; i < 2048; i++) writePacket(out, 40_000, i);
+    for (int i = 0; i < 8192; i++) writePacket(out, 100, i);
+
+    Reader reader =
+        new Reader(
+            new ByteArrayInputStream(out.toByteArray()),
+            Configuration.parse("jdbc:mariadb://localhost/"),
+            new MutableByte());
+    assertEquals(8192, reader.bufferSize());
+
+    byte[] previous = null;
+    for (int i = 0; i < 2048; i++) {
+      ReadableByteBuf buf = reader.readReusablePacket();
+      assertEquals(40_000, buf.readableBytes());
+      assertEquals((byte) 39_999, buf.buf()[39_999]);
+      if (i > 1024) {
+        // buffer has grown to p99 packet size : no allocation anymore
+        if (previous != null) assertSame(previous, buf.buf());
+        previous = buf.buf();
+      }
+    }
+    assertEquals(64 * 1024, reader.bufferSize());
+
+    for (int i = 0; i < 8192; i++) {
+      assertEquals(100, reader.readReusablePacket().readableBytes());
+    }
+    // histogram is halved at each window, so buffer shrinks after some small traffic
+    assertEquals(8192, reader.bufferSize());
+  }
+
+  @Test
+  public void releaseBuffer() throws IOException, SQLException {
+    ByteArrayOutputStream out = new ByteArrayOutputStream();
+    for (int i = 0; i < 1024; i++) writePacket(out, 20_000, i);
+    Reader reader =
+        new Reader(
+            new ByteArrayInputStream(out.toByteArray()),
+            Configuration.parse("jdbc:mariadb://localhost/"),
+            new MutableByte());
+    for (int i = 0; i < 1024; i++) reader.readReusablePacket();
+    assertEquals(32 * 1024, reader.bufferSize());
+    reader.releaseBuffer();
+    assertEquals(8192, reader.bufferSize());
+  }
+
+  @Test
+  public void streamPacketBody() throws IOException, SQLException {
+    ByteArrayOutputStream out = new ByteArrayOutputStream();
+    // 16M packet, followed by a continuation packet, then another packet
+    writePacket(out, 0xffffff, 0);
+    writePacket(out, 100, 1);
+    writePacket(out, 10, 2);
+    Reader reader =
+        new Reader(
+            new ByteArrayInputStream(out.toByteArray()),
+            Configuration.parse("jdbc:mariadb://localhost/"),
+            new MutableByte());
+
+    PacketInputStream stream = reader.streamPacketBody(reader.readPacketHeader());
+    byte[] buf = new byte[10];
+    stream.readFully(buf, 0, 10);
+    assertEquals((byte) 9, buf[9]);
+    assertEquals(0xffffff - 15, stream.skip(0xffffff - 15));
+    // read crosses packet boundary
+    stream.readFully(buf, 0, 10);
+    assertEquals((byte) (0xffffff - 1), buf[4]);
+    assertEquals((byte) 4, buf[9]);
+    assertFalse(stream.finished());
+    byte[] remaining = stream.readRemaining();
+    assertEquals(95, remaining.length);
+    assertEquals((byte) 99, remaining[94]);
+    assertTrue(stream.finished());
+    assertEquals(-1, stream.read());
+
+    assertEquals(10, reader.readPacket(false).length);
+  }
+}
@@ -3,10 +3,13 @@
 // Copyright (c) 2015-2026 MariaDB Corporation Ab
 package org.mariadb.jdbc.unit.client.socket;
 
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
 import java.io.IOException;
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.Test;
 import org.mariadb.jdbc.client.socket.Writer;
+import org.mariadb.jdbc.client.util.MutableByte;
 
 public class PacketWriterTest {
 
@@ -25,4 +28,80 @@ public class PacketWriterTest {
       Assertions.assertEquals('a' + i, pw.buf()[i + 8194]);
     }
   }
+
+  @Test
+  public void releaseBufferAfterSmallTraffic() throws IOException {
+    Writer pw =
+        new Writer(new ByteArrayOutputStream(), 0, null, new MutableByte(), new MutableByte());
+    pw.initPacket();
+    pw.writeBytes(new byte[100_000], 0, 100_000);
+    pw.flush();
+    Assertions.assertEquals(128 * 1024, pw.bufferSize());
+
+    // big buffer is kept while traffic stays big
+    for (int i = 0; i < 20; i++) {
+      pw.initPacket();
+      pw.writeBytes(new byte[70_000], 0, 70_000);
+      pw.flush();
+      Assertions.assertEquals(128 * 1024, pw.bufferSize());
+    }
+
+    // released after 16 consecutive small commands
+    for (int i = 0; i < 15; i++) {
+      pw.initPacket();
+      pw.writeAscii("SELECT 1");
+      pw.flush();
+      Assertions.assertEquals(128 * 1024, pw.bufferSize());
+    }
+    pw.initPacket();
+    pw.writeAscii("SELECT 1");
+    pw.flush();
+    Assertions.assertEquals(8192, pw.bufferSize());
+
+    pw.initPacket();
+    pw.writeBytes(new byte[100_000], 0, 100_000);
+    pw.releaseBuffer();
+    Assertions.assertEquals(8192, pw.bufferSize());
+  }
+
+  @Test
+  public void localInfilePackets() throws IOException {
+    byte[] content = new byte[250_000];
+    for (int i = 0; i < content.length; i++) content[i] = (byte) i;
+
+    ByteArrayOutputStream out = new ByteArrayOutputStream();
+    Writer pw = new Writer(out, 0, 100_000, new MutableByte(), null);
+    pw.writeLocalInfile(new ByteArrayInputStream(content));
+    pw.writeEmptyPacket();
+    checkLocalInfilePackets(content, out.toByteArray());
+
+    out.reset();
+    pw = new Writer(out, 0, 100_000, new MutableByte(), null);
+    pw.writeLocalInfile(
+        os -> {
+          os.write(content, 0, 10);
+          for (int i = 10; i < 1000; i++) os.write(content[i]);
+          os.write(content, 1000, content.length - 1000);
+        });
+    pw.writeEmptyPacket();
+    checkLocalInfilePackets(content, out.toByteArray());
+    Assertions.assertEquals(Writer.SMALL_BUFFER_SIZE, pw.buf().length);
+  }
+
+  private void checkLocalInfilePackets(byte[] content, byte[] sent) {
+    // packets must be < max_allowed_packet, last one being empty
+    int[] expectedLengths = {99_999, 99_999, 50_002, 0};
+    int pos = 0;
+    int contentPos = 0;
+    for (int i = 0; i < expectedLengths.length; i++) {
+      int len = (sent[pos] & 0xff) | ((sent[pos + 1] & 0xff) << 8) | ((sent[pos + 2] & 0xff) << 16);
+      Assertions.assertEquals(expectedLengths[i], len);
+      Assertions.assertEquals(i, sent[pos + 3]);
+      for (int j = 0; j < len; j++) {
+        Assertions.assertEquals(content[contentPos++], sent[pos + 4 + j]);
+      }
+      pos += 4 + len;
+    }
+    Assertions.assertEquals(sent.length, pos);
+  }
 }
@@ -4,6 +4,8 @@
 package org.mariadb.jdbc.unit.export;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 
 import java.util.*;
 import java.util.concurrent.ConcurrentHashMap;
@@ -11,6 +13,7 @@ import java.util.concurrent.ConcurrentMap;
 import org.junit.jupiter.api.Test;
 import org.mariadb.jdbc.HostAddress;
 import org.mariadb.jdbc.export.HaMode;
+import org.mariadb.jdbc.export.HostScore;
 
 public class HaModeTest {
   @Test
@@ -202,6 +205,56 @@ public class HaModeTest {
     assertEquals("replica1:25,replica3:75", hostCounter.results());
   }
 
+  @Test
+  public void hostWithBestScore() {
+    List<HostAddress> hostAddresses = new ArrayList<>();
+    hostAddresses.add(HostAddress.from("scorePrim", 3306, true));
+    hostAddresses.add(HostAddress.from("scoreReplica1", 3306, false));
+    hostAddresses.add(HostAddress.from("scoreReplica2", 3306, false));
+    hostAddresses.add(HostAddress.from("scoreReplica3", 3306, false));
+    ConcurrentMap<HostAddress, Long> denyList = new ConcurrentHashMap<>();
+
+    // not all replica scored
+    HostScore.of(hostAddresses.get(1)).recordResponseTime(3_000_000);
+    HostScore.of(hostAddresses.get(2)).recordResponseTime(500_000);
+    assertNull(HaMode.getHostWithBestScore(hostAddresses, denyList, false, 0));
+
+    HostScore.of(hostAddresses.get(3)).recordResponseTime(1_000_000);
+    assertEquals(
+        hostAddresses.get(2), HaMode.getHostWithBestScore(hostAddresses, denyList, false, 0));
+
+    // moving average
+    HostScore score = HostScore.of(hostAddresses.get(2));
+    for (int i = 0; i < 10; i++) score.recordResponseTime(5_000_000);
+    assertTrue(score.responseTime() > 4_000_000);
+    assertEquals(score.responseTime() / 1000, score.getResponseTime());
+    assertEquals(
+        hostAddresses.get(3), HaMode.getHostWithBestScore(hostAddresses, denyList, false, 0));
+
+    // lagging replica and denied replica are skipped
+    HostScore.of(hostAddresses.get(3)).setReplicationLag(30);
+    assertEquals(
+        hostAddresses.get(3), HaMode.getHostWithBestScore(hostAddresses, denyList, false, 0));
+    assertEquals(
+        hostAddresses.get(1), HaMode.getHostWithBestScore(hostAddresses, denyList, false, 10));
+    denyList.put(hostAddresses.get(1), System.currentTimeMillis() + 1000);
+    assertEquals(
+        hostAddresses.get(2), HaMode.getHostWithBestScore(hostAddresses, denyList, false, 10));
+    // all available replicas lagging: primary is used
+    HostScore.of(hostAddresses.get(2)).setReplicationLag(Long.MAX_VALUE);
+    assertEquals(
+        hostAddresses.get(0), HaMode.getHostWithBestScore(hostAddresses, denyList, false, 10));
+    denyList.put(hostAddresses.get(0), System.currentTimeMillis() + 1000);
+    assertNull(HaMode.getHostWithBestScore(hostAddresses, denyList, false, 10));
+
+    // lagging replicas are removed from fallback candidates
+    List<HostAddress> hosts = HaMode.withoutLaggingReplicas(hostAddresses, 10);
+    assertEquals(2, hosts.size());
+    assertEquals(hostAddresses.get(0), hosts.get(0));
+    assertEquals(hostAddresses.get(1), hosts.get(1));
+    assertEquals(hostAddresses, HaMode.withoutLaggingReplicas(hostAddresses, 0));
+  }
+
   private static class HostCounter {
     Map<HostAddress, Integer> hosts = new HashMap<>();
 
@@ -59,9 +59,10 @@ class DefaultTlsSocketPluginTest {
   }
 
   @Test
-  void deferredIdentityWrapperIsPerConnection() throws SQLException {
-    // The deferred-identity (system-trust-store) path must hand each connection its own
-    // MariaDbX509DeferredIdentityTrustManager so the captured fingerprint is per-connection state.
+  void deferredIdentityTrustManagerIsShared() throws SQLException {
+    // The deferred-identity (system-trust-store) path shares its
+    // MariaDbX509DeferredIdentityTrustManager with the cached SSL context: the captured fingerprint
+    // is recorded per socket.
     DefaultTlsSocketPlugin plugin = new DefaultTlsSocketPlugin();
     Configuration conf =
         Configuration.parse("jdbc:mariadb://localhost:3306/test?sslMode=verify_full");
@@ -70,8 +71,7 @@ class DefaultTlsSocketPluginTest {
     TrustManager second = firstTrustManager(plugin, conf);
 
     assertTrue(first instanceof MariaDbX509DeferredIdentityTrustManager);
-    assertNotSame(
-        first, second, "each connection must get its own deferred-identity trust manager");
+    assertSame(first, second, "connections must share the deferred-identity trust manager");
   }
 
   @Test
@@ -142,17 +142,53 @@ class DefaultTlsSocketPluginTest {
   }
 
   @Test
-  void eachCallReturnsFreshSocketFactory() throws SQLException {
-    // The SSLContext/SSLSocketFactory is intentionally NOT cached: a fresh one per connection means
-    // its client SSL session cache is single-use, so TLS session resumption cannot occur across
-    // connections. (Only the underlying trust/key material is cached.)
+  void socketFactoryIsCached() throws SQLException {
+    // The SSLContext/SSLSocketFactory is cached per TLS configuration, so connections share the
+    // client SSL session cache and can resume TLS sessions.
     DefaultTlsSocketPlugin plugin = new DefaultTlsSocketPlugin();
     Configuration conf =
         Configuration.parse("jdbc:mariadb://localhost:3306/test?sslMode=verify_full");
 
+    assertSame(
+        socketFactory(plugin, conf),
+        socketFactory(plugin, conf),
+        "same configuration must reuse the SSLSocketFactory (shared session cache)");
+    assertNotSame(
+        socketFactory(plugin, conf),
+        socketFactory(
+            plugin, Configuration.parse("jdbc:mariadb://localhost:3306/test?sslMode=trust")),
+        "different trust configuration must use another SSLSocketFactory");
+  }
+
+  @Test
+  void changedCertificateFileInvalidatesSocketFactory(@TempDir Path tmp)
+      throws SQLException, IOException {
+    Path cert = tmp.resolve("ca.pem");
+    Files.write(cert, PEM.getBytes(StandardCharsets.UTF_8));
+
+    DefaultTlsSocketPlugin plugin = new DefaultTlsSocketPlugin();
+    Configuration conf =
+        Configuration.parse(
+            "jdbc:mariadb://localhost:3306/test?sslMode=verify_ca&serverSslCert=" + cert);
+
+    SSLSocketFactory first = socketFactory(plugin, conf);
+    assertSame(first, socketFactory(plugin, conf), "unchanged file must stay cached");
+
+    cert.toFile().setLastModified(cert.toFile().lastModified() - 60_000L);
+    assertNotSame(
+        first, socketFactory(plugin, conf), "replacing the certificate file must rebuild it");
+  }
+
+  @Test
+  void socketFactoryCacheCanBeDisabled() throws SQLException {
+    DefaultTlsSocketPlugin plugin = new DefaultTlsSocketPlugin();
+    Configuration conf =
+        Configuration.parse(
+            "jdbc:mariadb://localhost:3306/test?sslMode=verify_full&disableSslContextCache=true");
+
     assertNotSame(
         socketFactory(plugin, conf),
         socketFactory(plugin, conf),
-        "each connection must get its own SSLSocketFactory (no shared session cache)");
+        "disabled cache must build a SSLSocketFactory on each call");
   }
 }
@@ -51,6 +51,22 @@ public class ConfigurationTest {
     assertEquals(50, conf.socketTimeout());
   }
 
+  @Test
+  public void testCompressionLevel() throws SQLException {
+    assertEquals(
+        0,
+        Configuration.parse("jdbc:mariadb://localhost/test?compressionLevel=0")
+            .compressionLevel());
+    Common.assertThrowsContains(
+        SQLException.class,
+        () -> Configuration.parse("jdbc:mariadb://localhost/test?compressionLevel=-1"),
+        "compressionLevel must be between 0 and 9");
+    Common.assertThrowsContains(
+        SQLException.class,
+        () -> Configuration.parse("jdbc:mariadb://localhost/test?compressionLevel=10"),
+        "compressionLevel must be between 0 and 9");
+  }
+
   @Test
   public void testCredentialType() throws SQLException {
     Configuration conf = Configuration.parse("jdbc:mariadb://localhost/test?credentialType=");
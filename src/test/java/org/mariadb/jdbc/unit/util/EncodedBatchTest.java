@@ -0,0 +1,104 @@
+// SPDX-License-Identifier: LGPL-2.1-or-later
+// Copyright (c) 2012-2014 Monty Program Ab
+// Copyright (c) 2015-2026 MariaDB Corporation Ab
+package org.mariadb.jdbc.unit.util;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.io.ByteArrayInputStream;
+import org.junit.jupiter.api.Test;
+import org.mariadb.jdbc.client.DataType;
+import org.mariadb.jdbc.client.socket.Writer;
+import org.mariadb.jdbc.client.util.Parameter;
+import org.mariadb.jdbc.client.util.Parameters;
+import org.mariadb.jdbc.codec.NonNullParameter;
+import org.mariadb.jdbc.plugin.codec.IntCodec;
+import org.mariadb.jdbc.plugin.codec.StreamCodec;
+import org.mariadb.jdbc.plugin.codec.StringCodec;
+import org.mariadb.jdbc.util.EncodedBatch;
+import org.mariadb.jdbc.util.ParameterList;
+
+public class EncodedBatchTest {
+
+  private static byte[] binary(Parameter param) throws Exception {
+    Writer writer = new Writer(null, 0, 0xffffff, null, null);
+    writer.pos(4);
+    param.encodeBinary(writer, null);
+    byte[] res = new byte[writer.pos() - 4];
+    System.arraycopy(writer.buf(), 4, res, 0, res.length);
+    return res;
+  }
+
+  @Test
+  public void encodeRows() throws Exception {
+    EncodedBatch batch = new EncodedBatch(2);
+    ParameterList params = new ParameterList(2);
+    for (int i = 0; i < 100; i++) {
+      params.set(0, new NonNullParameter<>(IntCodec.INSTANCE, i));
+      params.set(
+          1,
+          i % 3 == 0
+              ? org.mariadb.jdbc.codec.Parameter.NULL_PARAMETER
+              : new NonNullParameter<>(StringCodec.INSTANCE, "val" + i));
+      assertTrue(batch.addRow(params, null));
+    }
+    assertEquals(100, batch.size());
+
+    for (int i = 0; i < 100; i++) {
+      Parameters row = batch.get(i);
+      assertEquals(2, row.size());
+      assertEquals(DataType.INTEGER.get(), row.get(0).getBinaryEncodeType());
+      assertArrayEquals(
+          binary(new NonNullParameter<>(IntCodec.INSTANCE, i)), binary(row.get(0)));
+      if (i % 3 == 0) {
+        assertTrue(row.get(1).isNull());
+      } else {
+        assertFalse(row.get(1).isNull());
+        assertArrayEquals(
+            binary(new NonNullParameter<>(StringCodec.INSTANCE, "val" + i)), binary(row.get(1)));
+      }
+    }
+    assertThrows(IndexOutOfBoundsException.class, () -> batch.get(100));
+  }
+
+  @Test
+  public void keepStreamRows() throws Exception {
+    EncodedBatch batch = new EncodedBatch(1);
+    ParameterList first = new ParameterList(1);
+    first.set(0, new NonNullParameter<>(IntCodec.INSTANCE, 1));
+    assertTrue(batch.addRow(first, null));
+
+    ParameterList stream = new ParameterList(1);
+    stream.set(
+        0,
+        new NonNullParameter<>(StreamCodec.INSTANCE, new ByteArrayInputStream(new byte[] {1, 2})));
+    assertFalse(batch.addRow(stream, null));
+
+    ParameterList last = new ParameterList(1);
+    last.set(0, new NonNullParameter<>(IntCodec.INSTANCE, 3));
+    assertTrue(batch.addRow(last, null));
+
+    assertEquals(3, batch.size());
+    assertSame(stream, batch.get(1));
+    assertArrayEquals(binary(last.get(0)), binary(batch.get(2).get(0)));
+  }
+
+  @Test
+  public void snapshot() throws Exception {
+    EncodedBatch batch = new EncodedBatch(1);
+    ParameterList params = new ParameterList(1);
+    params.set(0, new NonNullParameter<>(IntCodec.INSTANCE, 10));
+    batch.addRow(params, null);
+
+    EncodedBatch snapshot = batch.snapshot();
+    batch.clear();
+    params.set(0, new NonNullParameter<>(IntCodec.INSTANCE, 20));
+    batch.addRow(params, null);
+    batch.addRow(params, null);
+
+    assertEquals(2, batch.size());
+    assertEquals(1, snapshot.size());
+    assertArrayEquals(
+        binary(new NonNullParameter<>(IntCodec.INSTANCE, 10)), binary(snapshot.get(0).get(0)));
+  }
+}
@@ -0,0 +1,54 @@
+// SPDX-License-Identifier: LGPL-2.1-or-later
+// Copyright (c) 2012-2014 Monty Program Ab
+// Copyright (c) 2015-2026 MariaDB Corporation Ab
+package org.mariadb.jdbc.unit.util;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import org.junit.jupiter.api.Test;
+import org.mariadb.jdbc.util.ClientParser;
+import org.mariadb.jdbc.util.ParseCache;
+
+public class ParseCacheTest {
+
+  @Test
+  public void sharedParsing() {
+    String sql = "INSERT INTO parseCacheTest(a, b) VALUES (?, ?)";
+    ClientParser parser = ClientParser.parameterParts(sql, false);
+    long hits = ParseCache.hitCount();
+    assertSame(parser, ClientParser.parameterParts(sql, false));
+    assertEquals(hits + 1, ParseCache.hitCount());
+
+    // escape mode and parsing mode are part of the key
+    ClientParser noBackslash = ClientParser.parameterParts(sql, true);
+    assertNotSame(parser, noBackslash);
+    ClientParser rewritable = ClientParser.rewritableParts(sql, false);
+    assertNotSame(parser, rewritable);
+    assertNotNull(rewritable.getValuesBracketPositions());
+    assertSame(rewritable, ClientParser.rewritableParts(sql, false));
+
+    assertThrows(UnsupportedOperationException.class, () -> parser.getParamPositions().add(0));
+  }
+
+  @Test
+  public void bounded() {
+    ParseCache<String> cache = new ParseCache<>();
+    for (int i = 0; i < 10_000; i++) {
+      cache.put("SELECT " + i, "v" + i);
+    }
+    assertTrue(cache.size() <= 2048);
+    assertEquals("v9999", cache.get("SELECT 9999"));
+    assertNull(cache.get("SELECT 0"));
+
+    // old generation entries are promoted
+    String oldKey = "SELECT " + (10_000 - 1024 - 1);
+    assertEquals("v" + (10_000 - 1024 - 1), cache.get(oldKey));
+    for (int i = 0; i < 500; i++) {
+      cache.put("UPDATE " + i, "u" + i);
+    }
+    assertNotNull(cache.get(oldKey));
+
+    cache.clear();
+    assertEquals(0, cache.size());
+  }
+}